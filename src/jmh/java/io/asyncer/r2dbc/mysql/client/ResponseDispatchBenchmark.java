@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.BenchmarkSupport;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.function.Consumer;
+
+/**
+ * Benchmarks for routing server messages from an {@link EmbeddedChannel} to an exchange, by a multicast sink
+ * as before or by the single-subscriber {@link ResponseDispatcher}.  Each invocation subscribes an exchange,
+ * reads a batch of messages and completes the exchange by the last message.
+ */
+@State(Scope.Benchmark)
+@Timeout(time = 1)
+@Testable
+public class ResponseDispatchBenchmark extends BenchmarkSupport {
+
+    private static final int MESSAGES = 64;
+
+    private static final int BUFFER_SIZE = 512;
+
+    private static final ServerMessage MESSAGE = new ServerMessage() { };
+
+    private static final ServerMessage LAST = new ServerMessage() { };
+
+    private final Object[] batch = new Object[MESSAGES];
+
+    private EmbeddedChannel multicastChannel;
+
+    private Flux<ServerMessage> multicast;
+
+    private EmbeddedChannel dispatcherChannel;
+
+    private ResponseDispatcher dispatcher;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        for (int i = 0; i < MESSAGES - 1; ++i) {
+            batch[i] = MESSAGE;
+        }
+
+        batch[MESSAGES - 1] = LAST;
+
+        Sinks.Many<ServerMessage> sink = Sinks.many().multicast().onBackpressureBuffer(BUFFER_SIZE, false);
+
+        multicast = sink.asFlux();
+        multicastChannel = new EmbeddedChannel(new Reader(message ->
+            sink.emitNext(message, Sinks.EmitFailureHandler.FAIL_FAST)));
+        dispatcher = new ResponseDispatcher(BUFFER_SIZE, () -> { });
+        dispatcherChannel = new EmbeddedChannel(new Reader(dispatcher::emitNext));
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() {
+        multicastChannel.finishAndReleaseAll();
+        dispatcherChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    @Testable
+    public int multicastSink() {
+        return exchange(multicast, multicastChannel);
+    }
+
+    @Benchmark
+    @Testable
+    public int singleDispatcher() {
+        return exchange(dispatcher, dispatcherChannel);
+    }
+
+    private int exchange(Flux<ServerMessage> responses, EmbeddedChannel channel) {
+        Counter counter = new Counter();
+
+        responses.<ServerMessage>handle((message, sink) -> {
+            if (message == LAST) {
+                sink.complete();
+            } else {
+                sink.next(message);
+            }
+        }).subscribe(counter);
+        channel.writeInbound(batch);
+
+        return counter.count;
+    }
+
+    private static final class Reader extends ChannelInboundHandlerAdapter {
+
+        private final Consumer<ServerMessage> target;
+
+        private Reader(Consumer<ServerMessage> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            target.accept((ServerMessage) msg);
+        }
+    }
+
+    private static final class Counter extends BaseSubscriber<ServerMessage> {
+
+        private int count;
+
+        @Override
+        protected void hookOnNext(ServerMessage value) {
+            ++count;
+        }
+    }
+}
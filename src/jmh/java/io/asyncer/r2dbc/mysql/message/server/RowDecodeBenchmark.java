@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.asyncer.r2dbc.mysql.BenchmarkSupport;
+import io.asyncer.r2dbc.mysql.MySqlColumnMetadata;
+import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmarks for decoding a wide text row to retained slices per field or to a flyweight offset table, then
+ * reading a few fields of it.
+ */
+@State(Scope.Benchmark)
+@Timeout(time = 1)
+@Testable
+public class RowDecodeBenchmark extends BenchmarkSupport {
+
+    private static final int COLUMNS = 40;
+
+    private static final MySqlColumnMetadata[] METADATA = new MySqlColumnMetadata[COLUMNS];
+
+    private ByteBuf row;
+
+    @Setup(Level.Trial)
+    public void doSetup() {
+        row = PooledByteBufAllocator.DEFAULT.directBuffer();
+
+        for (int i = 0; i < COLUMNS; ++i) {
+            if (i % 10 == 9) {
+                row.writeByte(RowMessage.NULL_VALUE);
+            } else {
+                String value = "value-of-column-" + i;
+
+                row.writeByte(value.length()).writeCharSequence(value, StandardCharsets.US_ASCII);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() {
+        row.release();
+    }
+
+    @Benchmark
+    @Testable
+    public int retainedSlices() {
+        RowMessage message = new RowMessage(new NormalFieldReader(row.retainedDuplicate()));
+        FieldValue[] fields;
+
+        try {
+            fields = message.decode(false, METADATA);
+        } finally {
+            message.release();
+        }
+
+        try {
+            return size(fields[0]) + size(fields[COLUMNS / 2]) + size(fields[COLUMNS - 2]);
+        } finally {
+            NettyBufferUtils.releaseAll(fields);
+        }
+    }
+
+    @Benchmark
+    @Testable
+    public int flyweight() {
+        RowMessage message = new RowMessage(new NormalFieldReader(row.retainedDuplicate()));
+        RowFields fields;
+
+        try {
+            fields = message.decodeFields(false, METADATA);
+        } finally {
+            message.release();
+        }
+
+        try {
+            return size(fields.get(0)) + size(fields.get(COLUMNS / 2)) + size(fields.get(COLUMNS - 2));
+        } finally {
+            fields.release();
+        }
+    }
+
+    private static int size(FieldValue field) {
+        return ((NormalFieldValue) field).getBufferSlice().readableBytes();
+    }
+}
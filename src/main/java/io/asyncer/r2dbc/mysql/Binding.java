@@ -16,8 +16,14 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 
@@ -56,13 +62,14 @@ final class Binding {
      *
      * @param statementId prepared statement identifier.
      * @param immediate   if it should be executed immediate, otherwise return an open cursor message
+     * @param boundTypes  the parameter types bound by the previous execution, or {@code null} if unknown.
      * @return an execute message or open cursor message
      */
-    PreparedExecuteMessage toExecuteMessage(int statementId, boolean immediate) {
+    PreparedExecuteMessage toExecuteMessage(int statementId, boolean immediate, @Nullable int[] boundTypes) {
         if (values.length == 0) {
             QueryLogger.log(statementId, EMPTY_VALUES);
 
-            return new PreparedExecuteMessage(statementId, immediate, EMPTY_VALUES);
+            return new PreparedExecuteMessage(statementId, immediate, EMPTY_VALUES, boundTypes);
         }
 
         if (values[0] == null) {
@@ -73,7 +80,7 @@ final class Binding {
 
         QueryLogger.log(statementId, values);
 
-        return new PreparedExecuteMessage(statementId, immediate, values);
+        return new PreparedExecuteMessage(statementId, immediate, values, boundTypes);
     }
 
     PreparedTextQueryMessage toTextMessage(Query query, String returning) {
@@ -84,6 +91,40 @@ final class Binding {
         return new PreparedTextQueryMessage(query, returning, values);
     }
 
+    /**
+     * Renders binding values into a row of a multi-row {@code INSERT} statement.
+     *
+     * @param row the {@link Query} of the row, e.g. {@code (?, ?)}.
+     * @return the rendered row.
+     */
+    Mono<String> toRowText(Query row) {
+        MySqlParameter[] values = drainValues();
+
+        QueryLogger.log(row, "", values);
+
+        return PreparedTextQueryMessage.render(row, values);
+    }
+
+    /**
+     * Encodes binding values into a row of a bulk execution.
+     *
+     * @param allocator the buffer allocator.
+     * @param types     the types of parameters in the bulk execution.
+     * @return the encoded row.
+     */
+    Mono<ByteBuf> toBulkRow(ByteBufAllocator allocator, MySqlType[] types) {
+        return PreparedBulkExecuteMessage.encodeRow(allocator, types, drainValues());
+    }
+
+    /**
+     * Get binding values without draining them, e.g. for inspecting types.
+     *
+     * @return the values, which may contain {@code null} if they have been drained.
+     */
+    MySqlParameter[] getValues() {
+        return values;
+    }
+
     /**
      * Clear/release binding values.
      */
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
+import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerStatusMessage;
+import io.asyncer.r2dbc.mysql.message.server.WarningMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bindings of a server-preparing statement that can be executed by MariaDB {@code COM_STMT_BULK_EXECUTE},
+ * i.e. non-null values of each parameter have the same type in all bindings, and there is no long data.
+ *
+ * @see PreparedBulkExecuteMessage
+ */
+final class BulkExecute {
+
+    private static final String[] DML_KEYWORDS = { "INSERT", "UPDATE", "DELETE", "REPLACE" };
+
+    private final List<Binding> bindings;
+
+    private final MySqlType[] types;
+
+    private BulkExecute(List<Binding> bindings, MySqlType[] types) {
+        this.bindings = bindings;
+        this.types = types;
+    }
+
+    MySqlType[] getTypes() {
+        return types;
+    }
+
+    /**
+     * Creates lazy chunks of rows, each chunk will not exceed {@code maxBytes} unless it contains only one
+     * row.  Bindings are rendered only when the next chunk is requested.
+     *
+     * @param allocator the buffer allocator.
+     * @param maxBytes  the maximum size of a bulk execution in bytes.
+     * @return the lazy chunks.
+     */
+    Chunks chunks(ByteBufAllocator allocator, int maxBytes) {
+        int headerSize = PreparedBulkExecuteMessage.headerSize(types.length);
+
+        return new Chunks(allocator, new ChunkPredicate(maxBytes - headerSize));
+    }
+
+    /**
+     * Releases rendered rows of a chunk.
+     *
+     * @param rows the rows.
+     */
+    static void release(List<?> rows) {
+        for (Object row : rows) {
+            ReferenceCountUtil.safeRelease(row);
+        }
+    }
+
+    /**
+     * Resolves bulk execution of bindings, the types of parameters are taken from non-null values.  Signed
+     * integers of different sizes are widened to the largest one, e.g. {@code TINYINT} and {@code INT}.
+     *
+     * @param bindings the bindings.
+     * @return the bulk execution, or {@code null} if any parameter has different types or long data.
+     */
+    @Nullable
+    static BulkExecute resolve(List<Binding> bindings) {
+        MySqlType[] types = null;
+
+        for (Binding binding : bindings) {
+            MySqlParameter[] values = binding.getValues();
+
+            if (types == null) {
+                types = new MySqlType[values.length];
+            }
+
+            for (int i = 0; i < values.length; ++i) {
+                MySqlParameter value = values[i];
+
+                if (value == null || value.isNull()) {
+                    continue;
+                }
+
+                if (value.isLongData()) {
+                    return null;
+                }
+
+                MySqlType type = value.getType();
+
+                if (types[i] == null) {
+                    types[i] = type;
+                } else if (types[i].getId() != type.getId()) {
+                    if (!PreparedBulkExecuteMessage.isWidenable(types[i], type)) {
+                        return null;
+                    }
+
+                    if (type.getBinarySize() > types[i].getBinarySize()) {
+                        types[i] = type;
+                    }
+                }
+            }
+        }
+
+        if (types == null) {
+            return null;
+        }
+
+        for (int i = 0; i < types.length; ++i) {
+            if (types[i] == null) {
+                types[i] = MySqlType.NULL;
+            }
+        }
+
+        return new BulkExecute(bindings, types);
+    }
+
+    /**
+     * Checks if the statement is a DML statement that can be executed by bulk, it does not skip comments.
+     *
+     * @param sql the statement.
+     * @return if it is an {@code INSERT}, {@code UPDATE}, {@code DELETE} or {@code REPLACE} statement.
+     */
+    static boolean isDml(String sql) {
+        int length = sql.length();
+        int start = 0;
+
+        while (start < length && Character.isWhitespace(sql.charAt(start))) {
+            ++start;
+        }
+
+        for (String keyword : DML_KEYWORDS) {
+            int end = start + keyword.length();
+
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length()) &&
+                (end >= length || !Character.isJavaIdentifierPart(sql.charAt(end)))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Unit results of a bulk execution, i.e. a result set which contains the generated ID and the affected
+     * rows of each row in the bulk execution.
+     */
+    static final class UnitResults {
+
+        private static final String AFFECTED_ROWS = "Affected_rows";
+
+        private final MySqlColumnDescriptor[] columns;
+
+        private final int idIndex;
+
+        private final int affectedIndex;
+
+        private long[] ids;
+
+        private long[] affectedRows;
+
+        private int size;
+
+        UnitResults(DefinitionMetadataMessage[] metadata, int rows) {
+            MySqlColumnDescriptor[] columns = new MySqlColumnDescriptor[metadata.length];
+            int affectedIndex = 1;
+
+            for (int i = 0; i < metadata.length; ++i) {
+                columns[i] = MySqlColumnDescriptor.create(i, metadata[i]);
+
+                if (AFFECTED_ROWS.equalsIgnoreCase(columns[i].getName())) {
+                    affectedIndex = i;
+                }
+            }
+
+            this.columns = columns;
+            this.affectedIndex = affectedIndex;
+            this.idIndex = affectedIndex == 0 ? 1 : 0;
+            this.ids = new long[rows];
+            this.affectedRows = new long[rows];
+        }
+
+        /**
+         * Adds the result of a row, the {@code row} will be released.
+         *
+         * @param row the row message of the unit results.
+         */
+        void add(RowMessage row) {
+            try {
+                RowFields fields = row.decodeFields(true, columns);
+
+                try {
+                    if (size >= ids.length) {
+                        int capacity = Math.max(size << 1, 1);
+
+                        ids = Arrays.copyOf(ids, capacity);
+                        affectedRows = Arrays.copyOf(affectedRows, capacity);
+                    }
+
+                    ids[size] = valueOf(fields, idIndex);
+                    affectedRows[size] = valueOf(fields, affectedIndex);
+                    ++size;
+                } finally {
+                    fields.release();
+                }
+            } finally {
+                row.release();
+            }
+        }
+
+        /**
+         * Splits the result of each row, only the first row contains warnings.
+         *
+         * @param complete the complete message of the unit results.
+         * @return the {@link SplitMessage} of row results.
+         */
+        SplitMessage split(CompleteMessage complete) {
+            short statuses = complete instanceof ServerStatusMessage ?
+                ((ServerStatusMessage) complete).getServerStatuses() : 0;
+            int warnings = complete instanceof WarningMessage ? ((WarningMessage) complete).getWarnings() : 0;
+            List<ServerMessage> results = new ArrayList<>(size);
+
+            for (int i = 0; i < size; ++i) {
+                results.add(OkMessage.unitResult(affectedRows[i], ids[i], statuses, i == 0 ? warnings : 0));
+            }
+
+            return new SplitMessage(results);
+        }
+
+        private static long valueOf(RowFields fields, int index) {
+            if (fields.isNull(index)) {
+                return 0;
+            }
+
+            ByteBuf buf = ((NormalFieldValue) fields.get(index)).getBufferSlice();
+            int i = buf.readerIndex();
+
+            switch (buf.readableBytes()) {
+                case Byte.BYTES:
+                    return buf.getUnsignedByte(i);
+                case Short.BYTES:
+                    return buf.getUnsignedShortLE(i);
+                case Integer.BYTES:
+                    return buf.getUnsignedIntLE(i);
+                default:
+                    return buf.getLongLE(i);
+            }
+        }
+    }
+
+    /**
+     * Chunks of rows rendered on demand, one chunk per bulk execution.  The row that exceeds the limit of a
+     * chunk is kept as the first row of the next chunk.  It is not thread-safe, chunks should be requested
+     * one-by-one.
+     */
+    final class Chunks {
+
+        private final ByteBufAllocator allocator;
+
+        private final ChunkPredicate predicate;
+
+        private int index;
+
+        @Nullable
+        private ByteBuf pending;
+
+        private volatile boolean disposed;
+
+        private Chunks(ByteBufAllocator allocator, ChunkPredicate predicate) {
+            this.allocator = allocator;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Checks if there are rows that have not been emitted by any chunk.
+         *
+         * @return if the next chunk is available.
+         */
+        boolean hasNext() {
+            return pending != null || index < bindings.size();
+        }
+
+        /**
+         * Renders the next chunk, rows will be released if the rendering fails or is cancelled.
+         *
+         * @return the rendered rows of the next chunk.
+         */
+        Mono<List<ByteBuf>> next() {
+            return Mono.defer(() -> {
+                List<ByteBuf> rows = new ArrayList<>();
+                ByteBuf pending = this.pending;
+
+                if (pending != null) {
+                    this.pending = null;
+                    rows.add(pending);
+                }
+
+                // Without prefetching, next binding is generated after the previous row has been handled,
+                // so the generation stops right after a row is kept for the next chunk.
+                return Flux.<Binding>generate(sink -> {
+                        if (this.pending == null && !disposed && index < bindings.size()) {
+                            sink.next(bindings.get(index++));
+                        } else {
+                            sink.complete();
+                        }
+                    })
+                    .concatMap(binding -> binding.toBulkRow(allocator, types), 0)
+                    .<ByteBuf>handle((row, sink) -> {
+                        if (disposed) {
+                            row.release();
+                        } else if (predicate.test(row)) {
+                            this.pending = row;
+                        } else {
+                            rows.add(row);
+                        }
+                    })
+                    .then(Mono.just(rows))
+                    .doOnError(e -> release(rows))
+                    .doOnCancel(() -> release(rows));
+            });
+        }
+
+        /**
+         * Releases the pending row and clears bindings that have not been rendered.
+         */
+        void dispose() {
+            this.disposed = true;
+
+            ByteBuf pending = this.pending;
+
+            if (pending != null) {
+                this.pending = null;
+                pending.release();
+            }
+
+            while (index < bindings.size()) {
+                bindings.get(index++).clear();
+            }
+        }
+    }
+
+    /**
+     * A stateful {@link Predicate} of {@link Chunks}, which cuts a new chunk before the row that will make
+     * the current chunk exceed the limit.
+     */
+    private static final class ChunkPredicate implements Predicate<ByteBuf> {
+
+        private final int maxBytes;
+
+        private int bytes;
+
+        private int rows;
+
+        private ChunkPredicate(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public boolean test(ByteBuf row) {
+            int size = row.readableBytes();
+
+            if (rows > 0 && bytes + size > maxBytes) {
+                this.bytes = size;
+                this.rows = 1;
+                return true;
+            }
+
+            this.bytes += size;
+            ++this.rows;
+            return false;
+        }
+    }
+}
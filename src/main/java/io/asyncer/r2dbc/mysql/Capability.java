@@ -151,10 +151,16 @@ public final class Capability {
      */
     private static final long DEPRECATE_EOF = 1L << 24;
 
-    // Allow the server not to send column metadata in result set,
-    // should NEVER enable this option.
-//    private static final long OPTIONAL_RESULT_SET_METADATA = 1L << 25;
-//    private static final long Z_STD_COMPRESSION = 1L << 26;
+    /**
+     * Allow the server not to send column metadata in result set, i.e. {@code resultset_metadata = NONE}.
+     * It will be disabled unless the user opts in, see also {@code optionalResultSetMetadata}.
+     */
+    private static final long OPTIONAL_RESULT_SET_METADATA = 1L << 25;
+
+    /**
+     * The Z-Standard compression, it has a compression level in handshake response.
+     */
+    private static final long ZSTD_COMPRESSION = 1L << 26;
 
     // A reserved flag, used to extend the 32-bits capability bitmap to 64-bits.
     // There is no available MySql server version/edition to support it.
@@ -164,14 +170,33 @@ public final class Capability {
 
 //    private static final long MARIADB_CLIENT_PROGRESS = 1L << 32;
 //    private static final long MARIADB_CLIENT_COM_MULTI = 1L << 33;
-//    private static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34;
+
+    /**
+     * The MariaDB server supports {@code COM_STMT_BULK_EXECUTE}, which executes a prepared statement with
+     * multiple rows of parameters in one command.
+     */
+    private static final long MARIADB_CLIENT_STMT_BULK_OPERATIONS = 1L << 34;
+
 //    private static final long MARIADB_CLIENT_EXTENDED_TYPE_INFO = 1L << 35;
-//    private static final long MARIADB_CLIENT_CACHE_METADATA = 1L << 36;
+
+    /**
+     * The MariaDB server can skip column metadata of binary results if the metadata is unchanged since the
+     * statement was prepared or last executed.  Available in MariaDB 10.6+.
+     */
+    private static final long MARIADB_CLIENT_CACHE_METADATA = 1L << 36;
+
+    /**
+     * The MariaDB server can report the result of each row of a bulk execution by a result set, which
+     * contains generated ID and affected rows of each row.  Available in MariaDB 11.5.1+.
+     */
+    private static final long MARIADB_CLIENT_BULK_UNIT_RESULTS = 1L << 38;
 
     private static final long ALL_SUPPORTED = CLIENT_MYSQL | FOUND_ROWS | LONG_FLAG | CONNECT_WITH_DB |
         NO_SCHEMA | COMPRESS | LOCAL_FILES | IGNORE_SPACE | PROTOCOL_41 | INTERACTIVE | SSL |
         TRANSACTIONS | SECURE_SALT | MULTI_STATEMENTS | MULTI_RESULTS | PS_MULTI_RESULTS |
-        PLUGIN_AUTH | CONNECT_ATTRS | VAR_INT_SIZED_AUTH | DEPRECATE_EOF;
+        PLUGIN_AUTH | CONNECT_ATTRS | VAR_INT_SIZED_AUTH | DEPRECATE_EOF | OPTIONAL_RESULT_SET_METADATA |
+        ZSTD_COMPRESSION | MARIADB_CLIENT_STMT_BULK_OPERATIONS | MARIADB_CLIENT_CACHE_METADATA |
+        MARIADB_CLIENT_BULK_UNIT_RESULTS;
 
     private final long bitmap;
 
@@ -202,6 +227,24 @@ public final class Capability {
         return (bitmap & SSL) != 0;
     }
 
+    /**
+     * Checks if the connection will be compressed by the zlib (deflate) compression.
+     *
+     * @return if zlib compression enabled.
+     */
+    public boolean isZlibCompression() {
+        return (bitmap & COMPRESS) != 0;
+    }
+
+    /**
+     * Checks if the connection will be compressed by the Z-Standard compression.
+     *
+     * @return if Z-Standard compression enabled.
+     */
+    public boolean isZstdCompression() {
+        return (bitmap & ZSTD_COMPRESSION) != 0;
+    }
+
     /**
      * Checks if the connection is using protocol 4.1.
      *
@@ -256,6 +299,54 @@ public final class Capability {
         return (bitmap & DEPRECATE_EOF) != 0;
     }
 
+    /**
+     * Checks if the server may omit column metadata of results, and each column count message has a flag
+     * indicates if metadata follows.
+     *
+     * @return if column metadata is optional.
+     */
+    public boolean isOptionalResultSetMetadata() {
+        return (bitmap & OPTIONAL_RESULT_SET_METADATA) != 0;
+    }
+
+    /**
+     * Checks if the MariaDB server may skip unchanged column metadata of binary results, and each column
+     * count message has a flag indicates if metadata follows.
+     *
+     * @return if column metadata is cached by MariaDB.
+     */
+    public boolean isMariaDbCacheMetadata() {
+        return (bitmap & MARIADB_CLIENT_CACHE_METADATA) != 0;
+    }
+
+    /**
+     * Checks if the MariaDB server supports {@code COM_STMT_BULK_EXECUTE}.
+     *
+     * @return if bulk execution supported.
+     */
+    public boolean isMariaDbBulkOperations() {
+        return (bitmap & MARIADB_CLIENT_STMT_BULK_OPERATIONS) != 0;
+    }
+
+    /**
+     * Checks if the MariaDB server reports the result of each row of a bulk execution.
+     *
+     * @return if unit results of bulk execution enabled.
+     */
+    public boolean isMariaDbBulkUnitResults() {
+        return (bitmap & MARIADB_CLIENT_BULK_UNIT_RESULTS) != 0;
+    }
+
+    /**
+     * Checks if column metadata of results may be omitted by the server, either by
+     * {@link #isOptionalResultSetMetadata()} or {@link #isMariaDbCacheMetadata()}.
+     *
+     * @return if column count messages have a flag indicates if metadata follows.
+     */
+    public boolean isMetadataSkippable() {
+        return (bitmap & (OPTIONAL_RESULT_SET_METADATA | MARIADB_CLIENT_CACHE_METADATA)) != 0;
+    }
+
     /**
      * Checks if server uses more than 8 bytes of salt.
      *
@@ -361,6 +452,10 @@ public final class Capability {
             this.bitmap &= ~COMPRESS;
         }
 
+        void disableZstdCompression() {
+            this.bitmap &= ~ZSTD_COMPRESSION;
+        }
+
         void disableLoadDataLocalInfile() {
             this.bitmap &= ~LOCAL_FILES;
         }
@@ -381,6 +476,14 @@ public final class Capability {
             this.bitmap &= ~CONNECT_ATTRS;
         }
 
+        void disableOptionalResultSetMetadata() {
+            this.bitmap &= ~OPTIONAL_RESULT_SET_METADATA;
+        }
+
+        void disableMariaDbBulkUnitResults() {
+            this.bitmap &= ~MARIADB_CLIENT_BULK_UNIT_RESULTS;
+        }
+
         Capability build() {
             return of(this.bitmap);
         }
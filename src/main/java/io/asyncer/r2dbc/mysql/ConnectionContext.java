@@ -21,6 +21,7 @@ import io.asyncer.r2dbc.mysql.collation.CharCollation;
 import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import org.jetbrains.annotations.Nullable;
+import reactor.core.scheduler.Scheduler;
 
 import java.nio.file.Path;
 import java.time.ZoneId;
@@ -37,6 +38,12 @@ public final class ConnectionContext implements CodecContext {
 
     private static final ServerVersion NONE_VERSION = ServerVersion.create(0, 0, 0);
 
+    /**
+     * The default value of {@code max_allowed_packet} before MySQL 8.0, it will be used if the connection
+     * has not been initialized.
+     */
+    static final int DEFAULT_MAX_ALLOWED_PACKET = 4 * 1024 * 1024;
+
     private volatile int connectionId = -1;
 
     private volatile ServerVersion serverVersion = NONE_VERSION;
@@ -48,9 +55,42 @@ public final class ConnectionContext implements CodecContext {
 
     private final int localInfileBufferSize;
 
+    private final int zstdCompressionLevel;
+
+    private final int batchPipelineWindow;
+
+    private final boolean rewriteBatchedStatements;
+
+    private final boolean streamLargeFields;
+
+    private final boolean localInfileZeroCopy;
+
+    private final boolean localInfileFromPublisher;
+
+    private final boolean optionalResultSetMetadata;
+
+    private final boolean bulkUnitResults;
+
+    private final boolean batchRowsPerRead;
+
+    @Nullable
+    private final Scheduler rowMappingScheduler;
+
+    private final int rowMappingConcurrency;
+
+    private final int responseHighWatermark;
+
+    private final int responseLowWatermark;
+
     @Nullable
     private ZoneId serverZoneId;
 
+    private final RowMetadataCache rowMetadataCache = new RowMetadataCache();
+
+    private volatile int maxAllowedPacket = DEFAULT_MAX_ALLOWED_PACKET;
+
+    private volatile long autoIncrementIncrement = 1;
+
     /**
      * Assume that the auto commit is always turned on, it will be set after handshake V10 request message, or
      * OK message which means handshake V9 completed.
@@ -60,12 +100,26 @@ public final class ConnectionContext implements CodecContext {
     @Nullable
     private volatile Capability capability = null;
 
-    ConnectionContext(ZeroDateOption zeroDateOption, @Nullable Path localInfilePath,
-        int localInfileBufferSize, @Nullable ZoneId serverZoneId) {
-        this.zeroDateOption = requireNonNull(zeroDateOption, "zeroDateOption must not be null");
-        this.localInfilePath = localInfilePath;
-        this.localInfileBufferSize = localInfileBufferSize;
-        this.serverZoneId = serverZoneId;
+    ConnectionContext(MySqlConnectionConfiguration configuration) {
+        requireNonNull(configuration, "configuration must not be null");
+
+        this.zeroDateOption = configuration.getZeroDateOption();
+        this.localInfilePath = configuration.getLoadLocalInfilePath();
+        this.localInfileBufferSize = configuration.getLocalInfileBufferSize();
+        this.zstdCompressionLevel = configuration.getZstdCompressionLevel();
+        this.batchPipelineWindow = configuration.getBatchPipelineWindow();
+        this.rewriteBatchedStatements = configuration.isRewriteBatchedStatements();
+        this.streamLargeFields = configuration.isStreamLargeFields();
+        this.localInfileZeroCopy = configuration.isLocalInfileZeroCopy();
+        this.localInfileFromPublisher = configuration.isAllowLoadLocalInfileFromPublisher();
+        this.optionalResultSetMetadata = configuration.isOptionalResultSetMetadata();
+        this.bulkUnitResults = configuration.isBulkUnitResults();
+        this.batchRowsPerRead = configuration.isBatchRowsPerRead();
+        this.rowMappingScheduler = configuration.getRowMappingScheduler();
+        this.rowMappingConcurrency = configuration.getRowMappingConcurrency();
+        this.responseHighWatermark = configuration.getResponseHighWatermark();
+        this.responseLowWatermark = configuration.getResponseLowWatermark();
+        this.serverZoneId = configuration.getServerZoneId();
     }
 
     /**
@@ -148,6 +202,173 @@ public final class ConnectionContext implements CodecContext {
         return localInfileBufferSize;
     }
 
+    /**
+     * Gets the Z-Standard compression level.
+     *
+     * @return the Z-Standard compression level.
+     */
+    public int getZstdCompressionLevel() {
+        return zstdCompressionLevel;
+    }
+
+    /**
+     * Gets the maximum number of in-flight executions of a server-preparing batch.
+     *
+     * @return the maximum number of in-flight executions, {@code 1} means not pipelined.
+     */
+    public int getBatchPipelineWindow() {
+        return batchPipelineWindow;
+    }
+
+    /**
+     * Gets the cache of row metadata keyed by SQL statements.
+     *
+     * @return the cache of row metadata.
+     */
+    RowMetadataCache getRowMetadataCache() {
+        return rowMetadataCache;
+    }
+
+    /**
+     * Checks if a batch of simple {@code INSERT} statement should be rewritten into multi-row statements.
+     *
+     * @return if rewriting batched {@code INSERT} statements.
+     */
+    public boolean isRewriteBatchedStatements() {
+        return rewriteBatchedStatements;
+    }
+
+    /**
+     * Checks if the last field of a row should be streamed if the row is larger than an envelope.
+     *
+     * @return if streaming huge field values.
+     */
+    public boolean isStreamLargeFields() {
+        return streamLargeFields;
+    }
+
+    /**
+     * Checks if the local infile should be sent without copying it into buffers.
+     *
+     * @return if sending the local infile by file regions or memory-mapped slices.
+     */
+    public boolean isLocalInfileZeroCopy() {
+        return localInfileZeroCopy;
+    }
+
+    /**
+     * Checks if {@code LOAD DATA LOCAL INFILE} statement can be executed with rows of a publisher.
+     *
+     * @return if loading data from a publisher is allowed.
+     */
+    public boolean isLocalInfileFromPublisher() {
+        return localInfileFromPublisher;
+    }
+
+    /**
+     * Checks if the server is allowed to omit column metadata of results, the negotiated result is
+     * {@link Capability#isOptionalResultSetMetadata()}.
+     *
+     * @return if column metadata is allowed to be omitted.
+     */
+    public boolean isOptionalResultSetMetadata() {
+        return optionalResultSetMetadata;
+    }
+
+    /**
+     * Checks if the result of each row should be requested for MariaDB bulk executions, the negotiated
+     * result is {@link Capability#isMariaDbBulkUnitResults()}.
+     *
+     * @return if unit results of bulk executions are requested.
+     */
+    public boolean isBulkUnitResults() {
+        return bulkUnitResults;
+    }
+
+    /**
+     * Checks if consecutive rows decoded from a single read of the connection should be emitted as a
+     * {@link io.asyncer.r2dbc.mysql.message.server.RowBatchMessage}.
+     *
+     * @return if rows are batched per read.
+     */
+    public boolean isBatchRowsPerRead() {
+        return batchRowsPerRead;
+    }
+
+    /**
+     * Gets the {@link Scheduler} which maps rows of results in parallel.
+     *
+     * @return the {@link Scheduler}, or {@code null} if rows are mapped by the event loop.
+     */
+    @Nullable
+    public Scheduler getRowMappingScheduler() {
+        return rowMappingScheduler;
+    }
+
+    /**
+     * Gets the maximum number of rows which are being mapped in parallel or waiting to be emitted in order.
+     *
+     * @return the maximum number of rows in flight.
+     */
+    public int getRowMappingConcurrency() {
+        return rowMappingConcurrency;
+    }
+
+    /**
+     * Gets the maximum number of server messages which are received but not consumed, the channel stops
+     * reading when it is reached.
+     *
+     * @return the high watermark of buffered server messages.
+     */
+    public int getResponseHighWatermark() {
+        return responseHighWatermark;
+    }
+
+    /**
+     * Gets the number of server messages which are requested but not consumed, the client requests more
+     * messages up to the high watermark when it is reached.
+     *
+     * @return the low watermark of buffered server messages.
+     */
+    public int getResponseLowWatermark() {
+        return responseLowWatermark;
+    }
+
+    /**
+     * Checks if {@code LOAD DATA LOCAL INFILE} statement is allowed, from a file or a publisher.
+     *
+     * @return if the statement is allowed.
+     */
+    public boolean isLocalInfileAllowed() {
+        return localInfilePath != null || localInfileFromPublisher;
+    }
+
+    /**
+     * Gets the maximum size of a packet that the server accepts, i.e. {@code max_allowed_packet}.
+     *
+     * @return the maximum size of a packet in bytes.
+     */
+    public int getMaxAllowedPacket() {
+        return maxAllowedPacket;
+    }
+
+    void setMaxAllowedPacket(int maxAllowedPacket) {
+        this.maxAllowedPacket = maxAllowedPacket;
+    }
+
+    /**
+     * Gets the step of generated keys, i.e. {@code auto_increment_increment} of the session.
+     *
+     * @return the step of generated keys.
+     */
+    public long getAutoIncrementIncrement() {
+        return autoIncrementIncrement;
+    }
+
+    void setAutoIncrementIncrement(long autoIncrementIncrement) {
+        this.autoIncrementIncrement = autoIncrementIncrement;
+    }
+
     /**
      * Get the bitmap of server statuses.
      *
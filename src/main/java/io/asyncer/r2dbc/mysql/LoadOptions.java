@@ -0,0 +1,232 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonEmpty;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * Options of {@link MySqlConnection#loadData(String, org.reactivestreams.Publisher, LoadOptions)}.
+ *
+ * @since 1.1.2
+ */
+public final class LoadOptions {
+
+    private static final LoadOptions DEFAULT = builder().build();
+
+    private final List<String> columns;
+
+    private final boolean replace;
+
+    private final boolean ignore;
+
+    private final int bufferSize;
+
+    private LoadOptions(List<String> columns, boolean replace, boolean ignore, int bufferSize) {
+        this.columns = columns;
+        this.replace = replace;
+        this.ignore = ignore;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Gets the target columns, an empty list means all columns of the table in order.
+     *
+     * @return the target columns.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Checks if rows that have the same value for a primary key or unique index as an existing row should
+     * replace the existing row, i.e. {@code REPLACE} modifier.
+     *
+     * @return if replacing duplicate rows.
+     */
+    public boolean isReplace() {
+        return replace;
+    }
+
+    /**
+     * Checks if rows that have the same value for a primary key or unique index as an existing row should
+     * be discarded, i.e. {@code IGNORE} modifier.
+     *
+     * @return if ignoring duplicate rows.
+     */
+    public boolean isIgnore() {
+        return ignore;
+    }
+
+    /**
+     * Gets the size of serialized rows buffered before sending them.
+     *
+     * @return the buffer size in bytes.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LoadOptions)) {
+            return false;
+        }
+
+        LoadOptions that = (LoadOptions) o;
+
+        return replace == that.replace && ignore == that.ignore && bufferSize == that.bufferSize &&
+            columns.equals(that.columns);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = columns.hashCode();
+        result = 31 * result + (replace ? 1 : 0);
+        result = 31 * result + (ignore ? 1 : 0);
+        return 31 * result + bufferSize;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadOptions{columns=" + columns + ", replace=" + replace + ", ignore=" + ignore +
+            ", bufferSize=" + bufferSize + '}';
+    }
+
+    /**
+     * Gets the default options, which loads all columns of the table in order, and rows will be buffered up
+     * to {@code 65536} bytes.
+     *
+     * @return the default options.
+     */
+    public static LoadOptions defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a builder of {@link LoadOptions}.
+     *
+     * @return the builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder considers to create {@link LoadOptions}.
+     */
+    public static final class Builder {
+
+        private final List<String> columns = new ArrayList<>();
+
+        private boolean replace;
+
+        private boolean ignore;
+
+        private int bufferSize = 65536;
+
+        /**
+         * Builds the options with current values.
+         *
+         * @return the options.
+         * @throws IllegalArgumentException if both {@code replace} and {@code ignore} are enabled.
+         */
+        public LoadOptions build() {
+            require(!replace || !ignore, "replace and ignore cannot be enabled at the same time");
+
+            List<String> columns = this.columns.isEmpty() ? Collections.emptyList() :
+                Collections.unmodifiableList(new ArrayList<>(this.columns));
+
+            return new LoadOptions(columns, replace, ignore, bufferSize);
+        }
+
+        /**
+         * Configures the target columns in the order of values of each row.  Default to all columns of the
+         * table in order.
+         * <p>
+         * Note: column names will be written into the statement as-is, quote them if necessary.
+         *
+         * @param columns the column names.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code columns} is {@code null} or contains an empty name.
+         */
+        public Builder columns(String... columns) {
+            requireNonNull(columns, "columns must not be null");
+
+            List<String> names = Arrays.asList(columns);
+
+            for (String name : names) {
+                requireNonEmpty(name, "column name must not be empty");
+            }
+
+            this.columns.clear();
+            this.columns.addAll(names);
+
+            return this;
+        }
+
+        /**
+         * Configures to replace existing rows which have the same value for a primary key or unique index.
+         * Default to {@code false}.
+         *
+         * @param replace whether to replace duplicate rows.
+         * @return this {@link Builder}.
+         */
+        public Builder replace(boolean replace) {
+            this.replace = replace;
+            return this;
+        }
+
+        /**
+         * Configures to discard rows which have the same value for a primary key or unique index as an
+         * existing row.  Default to {@code false}.
+         *
+         * @param ignore whether to ignore duplicate rows.
+         * @return this {@link Builder}.
+         */
+        public Builder ignore(boolean ignore) {
+            this.ignore = ignore;
+            return this;
+        }
+
+        /**
+         * Configures the size of serialized rows buffered before sending them.  Default to {@code 65536}.
+         * It will be reduced to fit in an envelope if it is too large.
+         *
+         * @param bufferSize the buffer size in bytes.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code bufferSize} is not positive.
+         */
+        public Builder bufferSize(int bufferSize) {
+            require(bufferSize > 0, "bufferSize must be positive");
+
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        private Builder() { }
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.internal.util.StringUtils;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A simple {@code INSERT ... VALUES (...)} statement that can be rewritten into multi-row statements, which
+ * contains only one row of values, and all parameters are in the row.
+ *
+ * @see Query#getMultiRowInsert()
+ */
+final class MultiRowInsert {
+
+    private final String prefix;
+
+    private final Query row;
+
+    private final String suffix;
+
+    private MultiRowInsert(String prefix, Query row, String suffix) {
+        this.prefix = prefix;
+        this.row = row;
+        this.suffix = suffix;
+    }
+
+    Query getRow() {
+        return row;
+    }
+
+    /**
+     * Creates lazy multi-row statements, each statement will not exceed {@code maxBytes} unless it contains
+     * only one row.  Bindings are rendered only when the next statement is requested.
+     *
+     * @param bindings the bindings, their values will be drained.
+     * @param charset  the charset of the client.
+     * @param maxBytes the maximum size of a statement in bytes.
+     * @return the lazy statements.
+     */
+    Chunks chunks(List<Binding> bindings, Charset charset, int maxBytes) {
+        return new Chunks(bindings, new ChunkPredicate(charset, maxBytes -
+            StringUtils.encodedSize(prefix, charset) - StringUtils.encodedSize(suffix, charset)));
+    }
+
+    /**
+     * Parses a formatted statement, i.e. all parameters are marked by {@literal ?} without names.
+     *
+     * @param sql the formatted statement.
+     * @return the {@link MultiRowInsert}, or {@code null} if the statement can not be rewritten.
+     */
+    @Nullable
+    static MultiRowInsert parse(String sql) {
+        int length = sql.length();
+        int offset = skipBlanks(sql, 0);
+
+        if (offset < 0 || !"INSERT".equalsIgnoreCase(nextWord(sql, offset))) {
+            return null;
+        }
+
+        offset += 6;
+
+        while ((offset = skipBlanks(sql, offset)) >= 0 && offset < length) {
+            char ch = sql.charAt(offset);
+
+            if (Character.isJavaIdentifierStart(ch)) {
+                String word = nextWord(sql, offset);
+
+                offset += word.length();
+
+                switch (word.toUpperCase()) {
+                    case "VALUES":
+                    case "VALUE":
+                        return parseRow(sql, offset);
+                    case "IGNORE":
+                    case "SET":
+                    case "SELECT":
+                    case "TABLE":
+                    case "DUPLICATE":
+                        // Affected rows or generated keys of rows are unknown, or it is not a VALUES clause.
+                        return null;
+                }
+            } else if (ch == '?') {
+                // Parameters outside the row, e.g. PARTITION (?).
+                return null;
+            } else {
+                offset = skipToken(sql, offset);
+
+                if (offset < 0) {
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static MultiRowInsert parseRow(String sql, int start) {
+        int rowStart = skipBlanks(sql, start);
+
+        if (rowStart < 0 || rowStart >= sql.length() || sql.charAt(rowStart) != '(') {
+            return null;
+        }
+
+        int rowEnd = skipToken(sql, rowStart);
+
+        if (rowEnd < 0) {
+            return null;
+        }
+
+        // Only comments, spaces and the statement delimiter can follow the row.
+        int offset = skipBlanks(sql, rowEnd);
+
+        if (offset >= 0 && offset < sql.length() && sql.charAt(offset) == ';') {
+            offset = skipBlanks(sql, offset + 1);
+        }
+
+        if (offset != sql.length()) {
+            return null;
+        }
+
+        return new MultiRowInsert(sql.substring(0, rowStart), Query.parse(sql.substring(rowStart, rowEnd)),
+            sql.substring(rowEnd));
+    }
+
+    /**
+     * Skips spaces and comments.
+     *
+     * @param sql    the statement.
+     * @param offset the offset to start skipping.
+     * @return the offset of next token, or a negative integer if found an executable comment or an
+     * unclosed comment.
+     */
+    private static int skipBlanks(String sql, int offset) {
+        int length = sql.length();
+
+        while (offset < length) {
+            char ch = sql.charAt(offset);
+
+            if (Character.isWhitespace(ch)) {
+                ++offset;
+            } else if (ch == '#' || (ch == '-' && sql.startsWith("-- ", offset))) {
+                while (offset < length && sql.charAt(offset) != '\n') {
+                    ++offset;
+                }
+            } else if (ch == '/' && sql.startsWith("/*", offset)) {
+                if (sql.startsWith("/*!", offset)) {
+                    // Executable comment, e.g. /*!IGNORE*/
+                    return -1;
+                }
+
+                int end = sql.indexOf("*/", offset + 2);
+
+                if (end < 0) {
+                    return -1;
+                }
+
+                offset = end + 2;
+            } else {
+                return offset;
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Skips a token which is not a word, e.g. a quoted literal, a parenthesized expression or a symbol.
+     *
+     * @param sql    the statement.
+     * @param offset the start offset of the token.
+     * @return the end offset of the token, or a negative integer if the token is not closed.
+     */
+    private static int skipToken(String sql, int offset) {
+        int length = sql.length();
+        char ch = sql.charAt(offset++);
+
+        switch (ch) {
+            case '`':
+            case '\'':
+            case '"':
+                while (offset < length) {
+                    // Same as Query, backslash escapes are not considered.
+                    if (sql.charAt(offset++) == ch) {
+                        if (offset >= length || sql.charAt(offset) != ch) {
+                            return offset;
+                        }
+
+                        ++offset;
+                    }
+                }
+
+                return -1;
+            case '(':
+                while ((offset = skipBlanks(sql, offset)) >= 0 && offset < length) {
+                    char now = sql.charAt(offset);
+
+                    if (now == ')') {
+                        return offset + 1;
+                    }
+
+                    offset = now == '(' || now == '`' || now == '\'' || now == '"' ?
+                        skipToken(sql, offset) : offset + 1;
+
+                    if (offset < 0) {
+                        return -1;
+                    }
+                }
+
+                return -1;
+            default:
+                return offset;
+        }
+    }
+
+    private static String nextWord(String sql, int start) {
+        int length = sql.length();
+        int end = start;
+
+        while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+            ++end;
+        }
+
+        return sql.substring(start, end);
+    }
+
+    /**
+     * Multi-row statements rendered on demand, one statement per query.  The row that exceeds the limit of a
+     * statement is kept as the first row of the next statement.  It is not thread-safe, statements should be
+     * requested one-by-one.
+     */
+    final class Chunks {
+
+        private final List<Binding> bindings;
+
+        private final ChunkPredicate predicate;
+
+        private int index;
+
+        @Nullable
+        private String pending;
+
+        private volatile boolean disposed;
+
+        private Chunks(List<Binding> bindings, ChunkPredicate predicate) {
+            this.bindings = bindings;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Checks if there are rows that have not been emitted by any statement.
+         *
+         * @return if the next statement is available.
+         */
+        boolean hasNext() {
+            return pending != null || index < bindings.size();
+        }
+
+        /**
+         * Renders the next statement, it completes without a value if it has been disposed.
+         *
+         * @return the next statement.
+         */
+        Mono<Chunk> next() {
+            return Mono.defer(() -> {
+                List<String> rows = new ArrayList<>();
+                String pending = this.pending;
+
+                if (pending != null) {
+                    this.pending = null;
+                    rows.add(pending);
+                }
+
+                // Without prefetching, next binding is generated after the previous row has been handled,
+                // so the generation stops right after a row is kept for the next statement.
+                return Flux.<Binding>generate(sink -> {
+                        if (this.pending == null && !disposed && index < bindings.size()) {
+                            sink.next(bindings.get(index++));
+                        } else {
+                            sink.complete();
+                        }
+                    })
+                    .concatMap(binding -> binding.toRowText(row), 0)
+                    .doOnNext(row -> {
+                        if (predicate.test(row)) {
+                            this.pending = row;
+                        } else {
+                            rows.add(row);
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> disposed || rows.isEmpty() ? null : toChunk(rows)));
+            });
+        }
+
+        /**
+         * Clears bindings that have not been rendered.
+         */
+        void dispose() {
+            this.disposed = true;
+            this.pending = null;
+
+            while (index < bindings.size()) {
+                bindings.get(index++).clear();
+            }
+        }
+
+        private Chunk toChunk(List<String> rows) {
+            int size = prefix.length() + suffix.length() + rows.size() - 1;
+
+            for (String it : rows) {
+                size += it.length();
+            }
+
+            StringBuilder builder = new StringBuilder(size).append(prefix).append(rows.get(0));
+            int length = rows.size();
+
+            for (int i = 1; i < length; ++i) {
+                builder.append(',').append(rows.get(i));
+            }
+
+            return new Chunk(builder.append(suffix).toString(), length);
+        }
+    }
+
+    /**
+     * A rendered multi-row statement.
+     */
+    static final class Chunk {
+
+        private final String sql;
+
+        private final int rows;
+
+        private Chunk(String sql, int rows) {
+            this.sql = sql;
+            this.rows = rows;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        int getRows() {
+            return rows;
+        }
+    }
+
+    /**
+     * A stateful {@link Predicate} of {@link Chunks}, which cuts a new statement before the row that will
+     * make the current statement exceed the limit.
+     */
+    private static final class ChunkPredicate implements Predicate<String> {
+
+        private final Charset charset;
+
+        private final int maxBytes;
+
+        private int bytes;
+
+        private int rows;
+
+        private ChunkPredicate(Charset charset, int maxBytes) {
+            this.charset = charset;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public boolean test(String row) {
+            // Rows are delimited by a comma.
+            int size = StringUtils.encodedSize(row, charset) + 1;
+
+            if (rows > 0 && bytes + size > maxBytes) {
+                this.bytes = size;
+                this.rows = 1;
+                return true;
+            }
+
+            this.bytes += size;
+            ++this.rows;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PingMessage;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An implementation of {@link FluxExchangeable} that considers rewritten multi-row {@code INSERT} statements.
+ * <p>
+ * The result of each statement will be split into results of its rows, so that each binding has its own
+ * result.
+ */
+final class MultiRowInsertExchangeable extends FluxExchangeable<ServerMessage> {
+
+    private static final InternalLogger logger =
+        InternalLoggerFactory.getInstance(MultiRowInsertExchangeable.class);
+
+    private final Sinks.Many<ClientMessage> requests = Sinks.many().unicast()
+        .onBackpressureBuffer(Queues.<ClientMessage>one().get());
+
+    private final Query query;
+
+    /**
+     * The first statement which has been rendered before the exchange.
+     */
+    private final MultiRowInsert.Chunk first;
+
+    /**
+     * Lazy statements, the next statement is rendered after the previous one is done.
+     */
+    private final MultiRowInsert.Chunks chunks;
+
+    private final long increment;
+
+    private int rows;
+
+    /**
+     * The failure of rendering a statement, it will be emitted after a ping is answered.
+     */
+    @Nullable
+    private Throwable renderError;
+
+    MultiRowInsertExchangeable(Query query, MultiRowInsert.Chunk first, MultiRowInsert.Chunks chunks,
+        long increment) {
+        this.query = query;
+        this.first = first;
+        this.chunks = chunks;
+        this.increment = increment;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ClientMessage> actual) {
+        requests.asFlux().subscribe(actual);
+        emitChunk(first);
+    }
+
+    @Override
+    public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        Throwable renderError = this.renderError;
+
+        if (renderError != null) {
+            // Response of the ping, nothing else is in flight.
+            ReferenceCountUtil.safeRelease(message);
+            sink.error(renderError);
+        } else if (message instanceof ErrorMessage) {
+            sink.next(((ErrorMessage) message).offendedBy(query.getFormattedSql()));
+            sink.complete();
+        } else if (message instanceof OkMessage && ((OkMessage) message).isDone()) {
+            OkMessage ok = (OkMessage) message;
+            List<ServerMessage> split = new ArrayList<>(rows);
+
+            for (int i = 0; i < rows; ++i) {
+                split.add(ok.splitRow(i, increment));
+            }
+
+            sink.next(new SplitMessage(split));
+            tryNextOrComplete(sink);
+        } else {
+            // Unexpected result of an INSERT statement, just emit it.
+            sink.next(message);
+
+            if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                tryNextOrComplete(sink);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // No particular error condition handling for complete signal.
+        requests.tryEmitComplete();
+        chunks.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE);
+    }
+
+    private void tryNextOrComplete(SynchronousSink<ServerMessage> sink) {
+        if (!chunks.hasNext()) {
+            sink.complete();
+            return;
+        }
+
+        // Responses of the previous statement have been received, render the next statement right now.
+        CompletableFuture<MultiRowInsert.Chunk> next = chunks.next().toFuture();
+
+        if (next.isDone() && !next.isCompletedExceptionally()) {
+            // Rendered synchronously, most values are.
+            MultiRowInsert.Chunk chunk = next.join();
+
+            if (chunk == null || !emitChunk(chunk)) {
+                sink.complete();
+            }
+
+            return;
+        }
+
+        next.whenComplete((chunk, e) -> {
+            if (e != null) {
+                failChunk(e);
+            } else if (chunk == null || !emitChunk(chunk)) {
+                // Requests have been terminated, the exchange has been cancelled or disposed.
+                dispose();
+            }
+        });
+    }
+
+    private boolean emitChunk(MultiRowInsert.Chunk chunk) {
+        QueryLogger.log(query, chunk.getRows());
+        this.rows = chunk.getRows();
+
+        Sinks.EmitResult result = this.requests.tryEmitNext(new TextQueryMessage(chunk.getSql()));
+
+        if (result == Sinks.EmitResult.OK) {
+            return true;
+        }
+
+        logger.error("Emit request failed due to {}", result);
+        return false;
+    }
+
+    /**
+     * Fails this exchange only.  Nothing is in flight when rendering a statement, so it sends a ping to
+     * receive a response which terminates the exchange by the error.
+     *
+     * @param e the failure of rendering.
+     */
+    private void failChunk(Throwable e) {
+        if (isDisposed()) {
+            return;
+        }
+
+        this.renderError = e;
+
+        Sinks.EmitResult result = requests.tryEmitNext(PingMessage.INSTANCE);
+
+        if (result != Sinks.EmitResult.OK) {
+            logger.error("Emit ping failed due to {}", result);
+            dispose();
+        }
+    }
+}
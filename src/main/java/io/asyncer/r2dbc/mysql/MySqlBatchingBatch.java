@@ -18,15 +18,21 @@ package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.internal.util.StringUtils;
 import reactor.core.publisher.Flux;
 
-import java.util.StringJoiner;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
 /**
  * An implementation of {@link MySqlBatch} for executing a collection of statements in a batch against the
  * MySQL database.
+ * <p>
+ * The statements will be joined by {@literal ;} into as few multi-statement queries as possible, each of
+ * them does not exceed {@code max_allowed_packet} unless it contains only one statement.
  */
 final class MySqlBatchingBatch extends MySqlBatch {
 
@@ -36,7 +42,7 @@ final class MySqlBatchingBatch extends MySqlBatch {
 
     private final ConnectionContext context;
 
-    private final StringJoiner queries = new StringJoiner(";");
+    private final List<String> queries = new ArrayList<>();
 
     MySqlBatchingBatch(Client client, Codecs codecs, ConnectionContext context) {
         this.client = requireNonNull(client, "client must not be null");
@@ -62,7 +68,11 @@ final class MySqlBatchingBatch extends MySqlBatch {
 
     @Override
     public Flux<MySqlResult> execute() {
-        return QueryFlow.execute(client, getSql())
+        // The first byte of the payload is the command flag.
+        List<String> chunks = getChunks(context.getClientCollation().getCharset(),
+            context.getMaxAllowedPacket() - 1);
+
+        return QueryFlow.execute(client, chunks)
             .map(messages -> MySqlResult.toResult(false, codecs, context, null, messages));
     }
 
@@ -77,7 +87,42 @@ final class MySqlBatchingBatch extends MySqlBatch {
      * @return current batching SQL statement
      */
     String getSql() {
-        return queries.toString();
+        return String.join(";", queries);
+    }
+
+    /**
+     * Accessible for unit test.
+     *
+     * @param charset  the charset of the client.
+     * @param maxBytes the maximum size of a multi-statement query in bytes.
+     * @return the multi-statement queries.
+     */
+    List<String> getChunks(Charset charset, int maxBytes) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        int bytes = 0;
+
+        for (String query : queries) {
+            // Statements are delimited by a semicolon.
+            int size = StringUtils.encodedSize(query, charset) + 1;
+
+            if (bytes > 0 && bytes + size > maxBytes) {
+                chunks.add(builder.toString());
+                builder.setLength(0);
+                bytes = 0;
+            }
+
+            if (bytes > 0) {
+                builder.append(';');
+            }
+
+            builder.append(query);
+            bytes += size;
+        }
+
+        chunks.add(builder.toString());
+
+        return chunks;
     }
 
     private static int lastNonWhitespace(String sql) {
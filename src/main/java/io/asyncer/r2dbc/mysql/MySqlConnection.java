@@ -34,6 +34,7 @@ import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.Lifecycle;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcPermissionDeniedException;
 import io.r2dbc.spi.TransactionDefinition;
 import io.r2dbc.spi.ValidationDepth;
 import org.jetbrains.annotations.Nullable;
@@ -456,10 +457,79 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
         );
     }
 
+    /**
+     * Loads rows into a table by {@code LOAD DATA LOCAL INFILE} statement with default options, see also
+     * {@link #loadData(String, Publisher, LoadOptions)}.
+     *
+     * @param table the target table, it will be written into the statement as-is.
+     * @param rows  the rows, each value will be encoded by the codecs of this connection.
+     * @return the number of loaded rows.
+     * @throws IllegalArgumentException if {@code table} is empty, or {@code rows} is {@code null}.
+     * @since 1.1.2
+     */
+    public Mono<Long> loadData(String table, Publisher<Object[]> rows) {
+        return loadData(table, rows, LoadOptions.defaults());
+    }
+
+    /**
+     * Loads rows into a table by {@code LOAD DATA LOCAL INFILE} statement.  The rows will be serialized to
+     * the tab-separated format on the fly, and streamed as the content of the local in-file with
+     * backpressure, so no temporary file is needed.
+     * <p>
+     * Each value of a row will be encoded by the codecs of this connection, {@code null} will be loaded as
+     * {@code NULL}.  The number of values in each row should be equal to the number of target columns.
+     * <p>
+     * It requires {@code allowLoadLocalInfileFromPublisher} of the connection configuration, and the server
+     * should enable {@code local_infile}.  If {@code rows} emits an error, the loading will be terminated,
+     * and the statement may fail or may have loaded some rows depending on the server.
+     *
+     * @param table   the target table, it will be written into the statement as-is.
+     * @param rows    the rows, each value will be encoded by the codecs of this connection.
+     * @param options the options of loading.
+     * @return the number of loaded rows.
+     * @throws IllegalArgumentException if {@code table} is empty, or {@code rows} or {@code options} is
+     *                                  {@code null}.
+     * @since 1.1.2
+     */
+    public Mono<Long> loadData(String table, Publisher<Object[]> rows, LoadOptions options) {
+        requireNonEmpty(table, "table must not be empty");
+        requireNonNull(rows, "rows must not be null");
+        requireNonNull(options, "options must not be null");
+
+        if (!context.isLocalInfileFromPublisher()) {
+            return Mono.error(new R2dbcPermissionDeniedException(
+                "Loading data from a publisher is not allowed, enable allowLoadLocalInfileFromPublisher"));
+        }
+
+        return QueryFlow.loadData(client, table, Flux.from(rows).map(this::encodeRow), options);
+    }
+
     Flux<ServerMessage> doPingInternal() {
         return client.exchange(PingMessage.INSTANCE, PING);
     }
 
+    private MySqlParameter[] encodeRow(Object[] row) {
+        MySqlParameter[] values = new MySqlParameter[row.length];
+
+        try {
+            for (int i = 0; i < row.length; ++i) {
+                Object value = row[i];
+
+                values[i] = value == null ? codecs.encodeNull() : codecs.encode(value, context);
+            }
+        } catch (Throwable e) {
+            for (MySqlParameter value : values) {
+                if (value != null) {
+                    value.dispose();
+                }
+            }
+
+            throw e;
+        }
+
+        return values;
+    }
+
     boolean isSessionAutoCommit() {
         return (context.getServerStatuses() & ServerStatuses.AUTO_COMMIT) != 0;
     }
@@ -484,7 +554,8 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
         StringBuilder query = new StringBuilder(128)
             .append("SELECT ")
             .append(transactionIsolationColumn(context))
-            .append(",@@innodb_lock_wait_timeout AS l,@@version_comment AS v");
+            .append(",@@innodb_lock_wait_timeout AS l,@@version_comment AS v")
+            .append(",@@max_allowed_packet AS p,@@auto_increment_increment AS a");
 
         Function<MySqlResult, Publisher<InitData>> handler;
 
@@ -506,6 +577,9 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
                     context.setServerZoneId(serverZoneId);
                 }
 
+                context.setMaxAllowedPacket(data.maxAllowedPacket);
+                context.setAutoIncrementIncrement(data.autoIncrementIncrement);
+
                 return new MySqlConnection(client, context, codecs, data.level, data.lockWaitTimeout,
                     queryCache, prepareCache, data.product, prepare);
             });
@@ -533,7 +607,8 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
     private static Publisher<InitData> init(MySqlResult r) {
         return r.map((row, meta) -> new InitData(convertIsolationLevel(row.get(0, String.class)),
             convertLockWaitTimeout(row.get(1, Long.class)),
-            row.get(2, String.class), null));
+            row.get(2, String.class), convertMaxAllowedPacket(row.get(3, Long.class)),
+            convertAutoIncrementIncrement(row.get(4, Long.class)), null));
     }
 
     private static Publisher<InitData> fullInit(MySqlResult r) {
@@ -541,8 +616,10 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
             IsolationLevel level = convertIsolationLevel(row.get(0, String.class));
             long lockWaitTimeout = convertLockWaitTimeout(row.get(1, Long.class));
             String product = row.get(2, String.class);
-            String systemTimeZone = row.get(3, String.class);
-            String timeZone = row.get(4, String.class);
+            int maxAllowedPacket = convertMaxAllowedPacket(row.get(3, Long.class));
+            long autoIncrementIncrement = convertAutoIncrementIncrement(row.get(4, Long.class));
+            String systemTimeZone = row.get(5, String.class);
+            String timeZone = row.get(6, String.class);
             ZoneId zoneId;
 
             if (timeZone == null || timeZone.isEmpty() || "SYSTEM".equalsIgnoreCase(timeZone)) {
@@ -556,7 +633,8 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
                 zoneId = convertZoneId(timeZone);
             }
 
-            return new InitData(level, lockWaitTimeout, product, zoneId);
+            return new InitData(level, lockWaitTimeout, product, maxAllowedPacket, autoIncrementIncrement,
+                zoneId);
         });
     }
 
@@ -624,6 +702,28 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
         return IsolationLevel.REPEATABLE_READ;
     }
 
+    private static int convertMaxAllowedPacket(@Nullable Long size) {
+        if (size == null || size <= 0) {
+            logger.warn("Max allowed packet is {} in current session, fallback to {} bytes", size,
+                ConnectionContext.DEFAULT_MAX_ALLOWED_PACKET);
+
+            return ConnectionContext.DEFAULT_MAX_ALLOWED_PACKET;
+        }
+
+        // The maximum value of max_allowed_packet is 1GB, it always fits in an int.
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long convertAutoIncrementIncrement(@Nullable Long increment) {
+        if (increment == null || increment <= 0) {
+            logger.warn("Auto increment increment is {} in current session, fallback to 1", increment);
+
+            return 1;
+        }
+
+        return increment;
+    }
+
     private static long convertLockWaitTimeout(@Nullable Long timeout) {
         if (timeout == null) {
             logger.error("Lock wait timeout is null, fallback to " + DEFAULT_LOCK_WAIT_TIMEOUT + " seconds");
@@ -665,14 +765,20 @@ public final class MySqlConnection implements Connection, Lifecycle, ConnectionS
         @Nullable
         private final String product;
 
+        private final int maxAllowedPacket;
+
+        private final long autoIncrementIncrement;
+
         @Nullable
         private final ZoneId serverZoneId;
 
         private InitData(IsolationLevel level, long lockWaitTimeout, @Nullable String product,
-            @Nullable ZoneId serverZoneId) {
+            int maxAllowedPacket, long autoIncrementIncrement, @Nullable ZoneId serverZoneId) {
             this.level = level;
             this.lockWaitTimeout = lockWaitTimeout;
             this.product = product;
+            this.maxAllowedPacket = maxAllowedPacket;
+            this.autoIncrementIncrement = autoIncrementIncrement;
             this.serverZoneId = serverZoneId;
         }
     }
@@ -16,12 +16,15 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.asyncer.r2dbc.mysql.extension.Extension;
 import io.netty.handler.ssl.SslContextBuilder;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Publisher;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.resources.LoopResources;
 
 import javax.net.ssl.HostnameVerifier;
 import java.net.Socket;
@@ -30,9 +33,13 @@ import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -68,6 +75,19 @@ public final class MySqlConnectionConfiguration {
 
     private final boolean tcpNoDelay;
 
+    @Nullable
+    private final LoopResources loopResources;
+
+    private final boolean preferNativeTransport;
+
+    private final boolean tcpQuickAck;
+
+    private final int socketReceiveBufferSize;
+
+    private final int socketSendBufferSize;
+
+    private final int busyPollMicros;
+
     @Nullable
     private final Duration connectTimeout;
 
@@ -97,6 +117,37 @@ public final class MySqlConnectionConfiguration {
 
     private final int prepareCacheSize;
 
+    private final Set<CompressionAlgorithm> compressionAlgorithms;
+
+    private final int zstdCompressionLevel;
+
+    private final boolean pipelining;
+
+    private final int batchPipelineWindow;
+
+    private final boolean rewriteBatchedStatements;
+
+    private final boolean streamLargeFields;
+
+    private final boolean localInfileZeroCopy;
+
+    private final boolean allowLoadLocalInfileFromPublisher;
+
+    private final boolean optionalResultSetMetadata;
+
+    private final boolean bulkUnitResults;
+
+    private final boolean batchRowsPerRead;
+
+    @Nullable
+    private final Scheduler rowMappingScheduler;
+
+    private final int rowMappingConcurrency;
+
+    private final int responseHighWatermark;
+
+    private final int responseLowWatermark;
+
     private final Extensions extensions;
 
     @Nullable
@@ -104,12 +155,20 @@ public final class MySqlConnectionConfiguration {
 
     private MySqlConnectionConfiguration(
         boolean isHost, String domain, int port, MySqlSslConfiguration ssl,
-        boolean tcpKeepAlive, boolean tcpNoDelay, @Nullable Duration connectTimeout,
+        boolean tcpKeepAlive, boolean tcpNoDelay, @Nullable LoopResources loopResources,
+        boolean preferNativeTransport, boolean tcpQuickAck, int socketReceiveBufferSize,
+        int socketSendBufferSize, int busyPollMicros, @Nullable Duration connectTimeout,
         ZeroDateOption zeroDateOption, @Nullable ZoneId serverZoneId,
         String user, @Nullable CharSequence password, @Nullable String database,
         boolean createDatabaseIfNotExist, @Nullable Predicate<String> preferPrepareStatement,
         @Nullable Path loadLocalInfilePath, int localInfileBufferSize,
-        int queryCacheSize, int prepareCacheSize, Extensions extensions,
+        int queryCacheSize, int prepareCacheSize, Set<CompressionAlgorithm> compressionAlgorithms,
+        int zstdCompressionLevel, boolean pipelining, int batchPipelineWindow,
+        boolean rewriteBatchedStatements, boolean streamLargeFields, boolean localInfileZeroCopy,
+        boolean allowLoadLocalInfileFromPublisher, boolean optionalResultSetMetadata,
+        boolean bulkUnitResults, boolean batchRowsPerRead, @Nullable Scheduler rowMappingScheduler,
+        int rowMappingConcurrency, int responseHighWatermark, int responseLowWatermark,
+        Extensions extensions,
         @Nullable Publisher<String> passwordPublisher
     ) {
         this.isHost = isHost;
@@ -117,6 +176,12 @@ public final class MySqlConnectionConfiguration {
         this.port = port;
         this.tcpKeepAlive = tcpKeepAlive;
         this.tcpNoDelay = tcpNoDelay;
+        this.loopResources = loopResources;
+        this.preferNativeTransport = preferNativeTransport;
+        this.tcpQuickAck = tcpQuickAck;
+        this.socketReceiveBufferSize = socketReceiveBufferSize;
+        this.socketSendBufferSize = socketSendBufferSize;
+        this.busyPollMicros = busyPollMicros;
         this.connectTimeout = connectTimeout;
         this.ssl = ssl;
         this.serverZoneId = serverZoneId;
@@ -130,6 +195,21 @@ public final class MySqlConnectionConfiguration {
         this.localInfileBufferSize = localInfileBufferSize;
         this.queryCacheSize = queryCacheSize;
         this.prepareCacheSize = prepareCacheSize;
+        this.compressionAlgorithms = compressionAlgorithms;
+        this.zstdCompressionLevel = zstdCompressionLevel;
+        this.pipelining = pipelining;
+        this.batchPipelineWindow = batchPipelineWindow;
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+        this.streamLargeFields = streamLargeFields;
+        this.localInfileZeroCopy = localInfileZeroCopy;
+        this.allowLoadLocalInfileFromPublisher = allowLoadLocalInfileFromPublisher;
+        this.optionalResultSetMetadata = optionalResultSetMetadata;
+        this.bulkUnitResults = bulkUnitResults;
+        this.batchRowsPerRead = batchRowsPerRead;
+        this.rowMappingScheduler = rowMappingScheduler;
+        this.rowMappingConcurrency = rowMappingConcurrency;
+        this.responseHighWatermark = responseHighWatermark;
+        this.responseLowWatermark = responseLowWatermark;
         this.extensions = extensions;
         this.passwordPublisher = passwordPublisher;
     }
@@ -172,6 +252,31 @@ public final class MySqlConnectionConfiguration {
         return this.tcpNoDelay;
     }
 
+    @Nullable
+    LoopResources getLoopResources() {
+        return loopResources;
+    }
+
+    boolean isPreferNativeTransport() {
+        return preferNativeTransport;
+    }
+
+    boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    int getSocketReceiveBufferSize() {
+        return socketReceiveBufferSize;
+    }
+
+    int getSocketSendBufferSize() {
+        return socketSendBufferSize;
+    }
+
+    int getBusyPollMicros() {
+        return busyPollMicros;
+    }
+
     ZeroDateOption getZeroDateOption() {
         return zeroDateOption;
     }
@@ -220,6 +325,67 @@ public final class MySqlConnectionConfiguration {
         return prepareCacheSize;
     }
 
+    Set<CompressionAlgorithm> getCompressionAlgorithms() {
+        return compressionAlgorithms;
+    }
+
+    int getZstdCompressionLevel() {
+        return zstdCompressionLevel;
+    }
+
+    boolean isPipelining() {
+        return pipelining;
+    }
+
+    int getBatchPipelineWindow() {
+        return batchPipelineWindow;
+    }
+
+    boolean isRewriteBatchedStatements() {
+        return rewriteBatchedStatements;
+    }
+
+    boolean isStreamLargeFields() {
+        return streamLargeFields;
+    }
+
+    boolean isLocalInfileZeroCopy() {
+        return localInfileZeroCopy;
+    }
+
+    boolean isAllowLoadLocalInfileFromPublisher() {
+        return allowLoadLocalInfileFromPublisher;
+    }
+
+    boolean isOptionalResultSetMetadata() {
+        return optionalResultSetMetadata;
+    }
+
+    boolean isBulkUnitResults() {
+        return bulkUnitResults;
+    }
+
+    boolean isBatchRowsPerRead() {
+        return batchRowsPerRead;
+    }
+
+    @Nullable
+    Scheduler getRowMappingScheduler() {
+        return rowMappingScheduler;
+    }
+
+    int getRowMappingConcurrency() {
+        return rowMappingConcurrency;
+    }
+
+    int getResponseHighWatermark() {
+        return responseHighWatermark;
+    }
+
+    int getResponseLowWatermark() {
+        return responseLowWatermark;
+    }
+
     Extensions getExtensions() {
         return extensions;
     }
@@ -244,6 +410,12 @@ public final class MySqlConnectionConfiguration {
             ssl.equals(that.ssl) &&
             tcpKeepAlive == that.tcpKeepAlive &&
             tcpNoDelay == that.tcpNoDelay &&
+            Objects.equals(loopResources, that.loopResources) &&
+            preferNativeTransport == that.preferNativeTransport &&
+            tcpQuickAck == that.tcpQuickAck &&
+            socketReceiveBufferSize == that.socketReceiveBufferSize &&
+            socketSendBufferSize == that.socketSendBufferSize &&
+            busyPollMicros == that.busyPollMicros &&
             Objects.equals(connectTimeout, that.connectTimeout) &&
             Objects.equals(serverZoneId, that.serverZoneId) &&
             zeroDateOption == that.zeroDateOption &&
@@ -256,16 +428,37 @@ public final class MySqlConnectionConfiguration {
             localInfileBufferSize == that.localInfileBufferSize &&
             queryCacheSize == that.queryCacheSize &&
             prepareCacheSize == that.prepareCacheSize &&
+            compressionAlgorithms.equals(that.compressionAlgorithms) &&
+            zstdCompressionLevel == that.zstdCompressionLevel &&
+            pipelining == that.pipelining &&
+            batchPipelineWindow == that.batchPipelineWindow &&
+            rewriteBatchedStatements == that.rewriteBatchedStatements &&
+            streamLargeFields == that.streamLargeFields &&
+            localInfileZeroCopy == that.localInfileZeroCopy &&
+            allowLoadLocalInfileFromPublisher == that.allowLoadLocalInfileFromPublisher &&
+            optionalResultSetMetadata == that.optionalResultSetMetadata &&
+            bulkUnitResults == that.bulkUnitResults &&
+            batchRowsPerRead == that.batchRowsPerRead &&
+            Objects.equals(rowMappingScheduler, that.rowMappingScheduler) &&
+            rowMappingConcurrency == that.rowMappingConcurrency &&
+            responseHighWatermark == that.responseHighWatermark &&
+            responseLowWatermark == that.responseLowWatermark &&
             extensions.equals(that.extensions) &&
             Objects.equals(passwordPublisher, that.passwordPublisher);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(isHost, domain, port, ssl, tcpKeepAlive, tcpNoDelay, connectTimeout,
+        return Objects.hash(isHost, domain, port, ssl, tcpKeepAlive, tcpNoDelay, loopResources,
+            preferNativeTransport, tcpQuickAck, socketReceiveBufferSize, socketSendBufferSize,
+            busyPollMicros, connectTimeout,
             serverZoneId, zeroDateOption, user, password, database, createDatabaseIfNotExist,
             preferPrepareStatement, loadLocalInfilePath, localInfileBufferSize, queryCacheSize,
-            prepareCacheSize, extensions, passwordPublisher);
+            prepareCacheSize, compressionAlgorithms, zstdCompressionLevel, pipelining, batchPipelineWindow,
+            rewriteBatchedStatements, streamLargeFields, localInfileZeroCopy,
+            allowLoadLocalInfileFromPublisher, optionalResultSetMetadata, bulkUnitResults,
+            batchRowsPerRead, rowMappingScheduler, rowMappingConcurrency, responseHighWatermark,
+            responseLowWatermark, extensions, passwordPublisher);
     }
 
     @Override
@@ -273,6 +466,9 @@ public final class MySqlConnectionConfiguration {
         if (isHost) {
             return "MySqlConnectionConfiguration{host='" + domain + "', port=" + port + ", ssl=" + ssl +
                 ", tcpNoDelay=" + tcpNoDelay + ", tcpKeepAlive=" + tcpKeepAlive +
+                ", loopResources=" + loopResources + ", preferNativeTransport=" + preferNativeTransport +
+                ", tcpQuickAck=" + tcpQuickAck + ", socketReceiveBufferSize=" + socketReceiveBufferSize +
+                ", socketSendBufferSize=" + socketSendBufferSize + ", busyPollMicros=" + busyPollMicros +
                 ", connectTimeout=" + connectTimeout + ", serverZoneId=" + serverZoneId +
                 ", zeroDateOption=" + zeroDateOption + ", user='" + user + "', password=" + password +
                 ", database='" + database + "', createDatabaseIfNotExist=" + createDatabaseIfNotExist +
@@ -280,18 +476,50 @@ public final class MySqlConnectionConfiguration {
                 ", loadLocalInfilePath=" + loadLocalInfilePath +
                 ", localInfileBufferSize=" + localInfileBufferSize +
                 ", queryCacheSize=" + queryCacheSize + ", prepareCacheSize=" + prepareCacheSize +
+                ", compressionAlgorithms=" + compressionAlgorithms +
+                ", zstdCompressionLevel=" + zstdCompressionLevel +
+                ", pipelining=" + pipelining +
+                ", batchPipelineWindow=" + batchPipelineWindow +
+                ", rewriteBatchedStatements=" + rewriteBatchedStatements +
+                ", streamLargeFields=" + streamLargeFields +
+                ", localInfileZeroCopy=" + localInfileZeroCopy +
+                ", allowLoadLocalInfileFromPublisher=" + allowLoadLocalInfileFromPublisher +
+                ", optionalResultSetMetadata=" + optionalResultSetMetadata +
+                ", bulkUnitResults=" + bulkUnitResults +
+                ", batchRowsPerRead=" + batchRowsPerRead +
+                ", rowMappingScheduler=" + rowMappingScheduler +
+                ", rowMappingConcurrency=" + rowMappingConcurrency +
+                ", responseHighWatermark=" + responseHighWatermark +
+                ", responseLowWatermark=" + responseLowWatermark +
                 ", extensions=" + extensions + ", passwordPublisher=" + passwordPublisher + '}';
         }
 
         return "MySqlConnectionConfiguration{unixSocket='" + domain +
-            "', connectTimeout=" + connectTimeout + ", serverZoneId=" + serverZoneId +
+            "', loopResources=" + loopResources + ", preferNativeTransport=" + preferNativeTransport +
+            ", connectTimeout=" + connectTimeout + ", serverZoneId=" + serverZoneId +
             ", zeroDateOption=" + zeroDateOption + ", user='" + user + "', password=" + password +
             ", database='" + database + "', createDatabaseIfNotExist=" + createDatabaseIfNotExist +
             ", preferPrepareStatement=" + preferPrepareStatement +
             ", loadLocalInfilePath=" + loadLocalInfilePath +
             ", localInfileBufferSize=" + localInfileBufferSize +
             ", queryCacheSize=" + queryCacheSize +
-            ", prepareCacheSize=" + prepareCacheSize + ", extensions=" + extensions +
+            ", prepareCacheSize=" + prepareCacheSize +
+            ", compressionAlgorithms=" + compressionAlgorithms +
+            ", zstdCompressionLevel=" + zstdCompressionLevel +
+            ", pipelining=" + pipelining +
+            ", batchPipelineWindow=" + batchPipelineWindow +
+            ", rewriteBatchedStatements=" + rewriteBatchedStatements +
+            ", streamLargeFields=" + streamLargeFields +
+            ", localInfileZeroCopy=" + localInfileZeroCopy +
+            ", allowLoadLocalInfileFromPublisher=" + allowLoadLocalInfileFromPublisher +
+            ", optionalResultSetMetadata=" + optionalResultSetMetadata +
+            ", bulkUnitResults=" + bulkUnitResults +
+            ", batchRowsPerRead=" + batchRowsPerRead +
+            ", rowMappingScheduler=" + rowMappingScheduler +
+            ", rowMappingConcurrency=" + rowMappingConcurrency +
+            ", responseHighWatermark=" + responseHighWatermark +
+            ", responseLowWatermark=" + responseLowWatermark +
+            ", extensions=" + extensions +
             ", passwordPublisher=" + passwordPublisher + '}';
     }
 
@@ -351,6 +579,19 @@ public final class MySqlConnectionConfiguration {
 
         private boolean tcpNoDelay;
 
+        @Nullable
+        private LoopResources loopResources;
+
+        private boolean preferNativeTransport = LoopResources.DEFAULT_NATIVE;
+
+        private boolean tcpQuickAck;
+
+        private int socketReceiveBufferSize;
+
+        private int socketSendBufferSize;
+
+        private int busyPollMicros;
+
         @Nullable
         private Predicate<String> preferPrepareStatement;
 
@@ -363,6 +604,38 @@ public final class MySqlConnectionConfiguration {
 
         private int prepareCacheSize = 256;
 
+        private Set<CompressionAlgorithm> compressionAlgorithms =
+            Collections.singleton(CompressionAlgorithm.UNCOMPRESSED);
+
+        private int zstdCompressionLevel = 3;
+
+        private boolean pipelining;
+
+        private int batchPipelineWindow = 1;
+
+        private boolean rewriteBatchedStatements;
+
+        private boolean streamLargeFields;
+
+        private boolean localInfileZeroCopy;
+
+        private boolean allowLoadLocalInfileFromPublisher;
+
+        private boolean optionalResultSetMetadata;
+
+        private boolean bulkUnitResults;
+
+        private boolean batchRowsPerRead;
+
+        @Nullable
+        private Scheduler rowMappingScheduler;
+
+        private int rowMappingConcurrency = 32;
+
+        private int responseHighWatermark = 512;
+
+        private int responseLowWatermark = 128;
+
         private boolean autodetectExtensions = true;
 
         private final List<Extension> extensions = new ArrayList<>();
@@ -387,15 +660,25 @@ public final class MySqlConnectionConfiguration {
                 require(!sslMode.startSsl(), "sslMode must be disabled when using unix domain socket");
             }
 
+            require(responseLowWatermark < responseHighWatermark,
+                "responseLowWatermark must be less than responseHighWatermark");
+
             int prepareCacheSize = preferPrepareStatement == null ? 0 : this.prepareCacheSize;
 
             MySqlSslConfiguration ssl = MySqlSslConfiguration.create(sslMode, tlsVersion, sslHostnameVerifier,
                 sslCa, sslKey, sslKeyPassword, sslCert, sslContextBuilderCustomizer);
             return new MySqlConnectionConfiguration(isHost, domain, port, ssl, tcpKeepAlive, tcpNoDelay,
-                connectTimeout, zeroDateOption, serverZoneId, user, password, database,
+                loopResources, preferNativeTransport, tcpQuickAck, socketReceiveBufferSize,
+                socketSendBufferSize, busyPollMicros, connectTimeout, zeroDateOption, serverZoneId, user,
+                password, database,
                 createDatabaseIfNotExist, preferPrepareStatement, loadLocalInfilePath,
-                localInfileBufferSize, queryCacheSize, prepareCacheSize,
-                Extensions.from(extensions, autodetectExtensions), passwordPublisher);
+                localInfileBufferSize, queryCacheSize, prepareCacheSize, compressionAlgorithms,
+                zstdCompressionLevel, pipelining, batchPipelineWindow, rewriteBatchedStatements,
+                streamLargeFields, localInfileZeroCopy, allowLoadLocalInfileFromPublisher,
+                optionalResultSetMetadata, bulkUnitResults, batchRowsPerRead, rowMappingScheduler,
+                rowMappingConcurrency, responseHighWatermark, responseLowWatermark,
+                Extensions.from(extensions, autodetectExtensions),
+                passwordPublisher);
         }
 
         /**
@@ -702,6 +985,111 @@ public final class MySqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configures dedicated {@link LoopResources} for connections of the factory.  Default to
+         * {@code null}, which means connections share the global resources of Reactor Netty, i.e. the same
+         * event loops as other Reactor Netty clients and servers of the application.
+         * <p>
+         * Dedicated event loops keep I/O of the database apart from other network I/O, e.g. an HTTP server.
+         * The {@link LoopResources} are not disposed by the driver, the application should dispose them
+         * after all connections have been closed.
+         *
+         * @param loopResources the {@link LoopResources} of connections, or {@code null} to use the global
+         *                      resources.
+         * @return this {@link Builder}.
+         * @see #preferNativeTransport(boolean)
+         * @since 1.1.2
+         */
+        public Builder loopResources(@Nullable LoopResources loopResources) {
+            this.loopResources = loopResources;
+            return this;
+        }
+
+        /**
+         * Configures whether to prefer a native transport if it is available.  Default to
+         * {@link LoopResources#DEFAULT_NATIVE}, which is {@code true} unless the system property
+         * {@code reactor.netty.native} is {@code false}.
+         * <p>
+         * Reactor Netty chooses the native transport by the platform and classpath, e.g. epoll on Linux, or
+         * io_uring if {@code netty-incubator-transport-native-io_uring} is on the classpath.  Otherwise, it
+         * falls back to the NIO transport.  It is required for Unix domain sockets.
+         *
+         * @param enabled whether to prefer a native transport.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder preferNativeTransport(boolean enabled) {
+            this.preferNativeTransport = enabled;
+            return this;
+        }
+
+        /**
+         * Configures TCP QuickAck, which sends ACKs immediately instead of delaying them.  Default to
+         * {@code false}.  It is used only by the epoll transport on Linux, and ignored by other transports.
+         *
+         * @param enabled whether to enable TCP QuickAck.
+         * @return this {@link Builder}.
+         * @see #preferNativeTransport(boolean)
+         * @since 1.1.2
+         */
+        public Builder tcpQuickAck(boolean enabled) {
+            this.tcpQuickAck = enabled;
+            return this;
+        }
+
+        /**
+         * Configures the size of the socket receive buffer ({@code SO_RCVBUF}) in bytes.  Default to
+         * {@code 0}, which means the default of the operating system.
+         *
+         * @param size the size of the socket receive buffer, or {@code 0} to use the default.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code size} is negative.
+         * @see Socket#setReceiveBufferSize(int)
+         * @since 1.1.2
+         */
+        public Builder socketReceiveBufferSize(int size) {
+            require(size >= 0, "size must not be negative");
+
+            this.socketReceiveBufferSize = size;
+            return this;
+        }
+
+        /**
+         * Configures the size of the socket send buffer ({@code SO_SNDBUF}) in bytes.  Default to {@code 0},
+         * which means the default of the operating system.
+         *
+         * @param size the size of the socket send buffer, or {@code 0} to use the default.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code size} is negative.
+         * @see Socket#setSendBufferSize(int)
+         * @since 1.1.2
+         */
+        public Builder socketSendBufferSize(int size) {
+            require(size >= 0, "size must not be negative");
+
+            this.socketSendBufferSize = size;
+            return this;
+        }
+
+        /**
+         * Configures the busy poll timeout ({@code SO_BUSY_POLL}) in microseconds, which busy waits for
+         * packets on the device queue of the socket before sleeping.  Default to {@code 0}, which means
+         * disabled.  It is used only by the epoll transport on Linux, and ignored by other transports.
+         * <p>
+         * It trades CPU for latency, and it may require {@code CAP_NET_ADMIN} to increase the value.
+         *
+         * @param micros the busy poll timeout in microseconds, or {@code 0} to disable it.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code micros} is negative.
+         * @since 1.1.2
+         */
+        public Builder busyPollMicros(int micros) {
+            require(micros >= 0, "micros must not be negative");
+
+            this.busyPollMicros = micros;
+            return this;
+        }
+
         /**
          * Configure the protocol of parametrized statements to the text protocol.
          * <p>
@@ -822,6 +1210,318 @@ public final class MySqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configures the compression algorithms.  Default to {@link CompressionAlgorithm#UNCOMPRESSED}.
+         * <p>
+         * It will use the first algorithm supported by the server in the order: {@code ZSTD}, {@code ZLIB},
+         * then {@code UNCOMPRESSED}. If no algorithm is supported by the server and {@code UNCOMPRESSED} is
+         * not configured, the connection will fail.
+         * <p>
+         * Note: the compression protocol is enabled only after the connection logon, it works on top of SSL.
+         *
+         * @param compressionAlgorithms the compression algorithms.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code compressionAlgorithms} is {@code null} or empty, or
+         *                                  contains a {@code null} element.
+         * @since 1.1.2
+         */
+        public Builder compressionAlgorithms(CompressionAlgorithm... compressionAlgorithms) {
+            requireNonNull(compressionAlgorithms, "compressionAlgorithms must not be null");
+            require(compressionAlgorithms.length != 0, "compressionAlgorithms must not be empty");
+
+            Set<CompressionAlgorithm> algorithms = EnumSet.noneOf(CompressionAlgorithm.class);
+
+            for (CompressionAlgorithm algorithm : compressionAlgorithms) {
+                algorithms.add(requireNonNull(algorithm, "compressionAlgorithms must not contain null"));
+            }
+
+            this.compressionAlgorithms = Collections.unmodifiableSet(algorithms);
+            return this;
+        }
+
+        /**
+         * Configures the Z-Standard compression level.  Default to {@code 3}.  It is only used if the
+         * connection is using {@link CompressionAlgorithm#ZSTD}.
+         * <p>
+         * Note: MySQL accepts levels from {@code 1} to {@code 22}, a larger level has a higher compression
+         * ratio but costs more CPU.
+         *
+         * @param level the compression level.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code level} is not between 1 and 22.
+         * @since 1.1.2
+         */
+        public Builder zstdCompressionLevel(int level) {
+            require(level >= 1 && level <= 22, "level must be between 1 and 22");
+
+            this.zstdCompressionLevel = level;
+            return this;
+        }
+
+        /**
+         * Configures whether to pipeline commands.  Default to {@code false}.
+         * <p>
+         * If enabled, requests of the exchanges that do not depend on previous responses, e.g. single text
+         * queries, will be written back-to-back without waiting for the previous results, and the responses
+         * will be dispatched in FIFO order.  It reduces the latency of many short queries on a connection.
+         * <p>
+         * Note: it will be ignored if {@code LOAD DATA LOCAL INFILE} is allowed, because the file content
+         * would be interleaved with pipelined commands.
+         *
+         * @param enabled whether to enable command pipelining.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder pipelining(boolean enabled) {
+            this.pipelining = enabled;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of in-flight executions when executing multiple bindings of a
+         * server-preparing statement.  Default to {@code 1}, which means each binding is executed after the
+         * previous result has been received.
+         * <p>
+         * If it is greater than {@code 1}, the executions of bindings will be pipelined, i.e. up to
+         * {@code window} executions are sent without waiting for results.  It only works when the fetch size
+         * of the statement is not set, because cursor fetching depends on the previous results.
+         * <p>
+         * Note: if an execution fails, up to {@code window - 1} subsequent executions may have been sent and
+         * executed by the server.  Their results are still reported after the failed one, and the remaining
+         * bindings will not be executed.  Use a transaction if it matters.
+         *
+         * @param window the maximum number of in-flight executions.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code window} is not positive.
+         * @since 1.1.2
+         */
+        public Builder batchPipelineWindow(int window) {
+            require(window > 0, "window must be positive");
+
+            this.batchPipelineWindow = window;
+            return this;
+        }
+
+        /**
+         * Configures whether to rewrite a batch of simple {@code INSERT ... VALUES (...)} statement into
+         * multi-row {@code INSERT} statements.  Default to {@code false}.
+         * <p>
+         * If enabled, a parametrized statement that has multiple bindings and a single {@code VALUES} row
+         * will be sent as few multi-row text statements, each of them does not exceed
+         * {@code max_allowed_packet} of the server.  The results are still reported per binding, the
+         * generated keys are calculated by the first generated key and {@code auto_increment_increment}.
+         * <p>
+         * Note: {@code INSERT IGNORE}, {@code INSERT ... ON DUPLICATE KEY UPDATE} and statements with
+         * {@code RETURNING} clause will not be rewritten, because their affected rows or generated keys can
+         * not be reported per binding.
+         *
+         * @param enabled whether to rewrite batched {@code INSERT} statements.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder rewriteBatchedStatements(boolean enabled) {
+            this.rewriteBatchedStatements = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to stream huge field values while they are being received.  Default to
+         * {@code false}.
+         * <p>
+         * If enabled, when a row of a result is larger than an envelope (16MB), and its last field is a
+         * variable-length value, the row will be emitted as soon as its leading fields have been received.
+         * The last field can be decoded as a {@link io.r2dbc.spi.Blob} or {@link io.r2dbc.spi.Clob} only,
+         * its {@code stream()} emits chunks as soon as they are received, and the connection stops reading
+         * until the consumer requests more chunks.  So a huge value never needs to be buffered entirely.
+         * <p>
+         * Note: the streaming field must be consumed or discarded before reading any following data of the
+         * connection, e.g. the next row.  It only applies to results which are not fetched by cursor.
+         *
+         * @param enabled whether to stream huge field values.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder streamLargeFields(boolean enabled) {
+            this.streamLargeFields = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to send the file of {@code LOAD DATA LOCAL INFILE} statement without copying it
+         * into buffers.  Default to {@code false}.
+         * <p>
+         * If enabled, the file will be sent by {@link io.netty.channel.FileRegion} on plaintext connections,
+         * which may use {@code sendfile}, or by memory-mapped slices if SSL/TLS or compression is enabled.
+         * Then {@link #localInfileBufferSize(int)} will be ignored.  It is used only if
+         * {@link #allowLoadLocalInfileInPath(String)} is set.
+         * <p>
+         * Note: the file should not be truncated while it is being sent.
+         *
+         * @param enabled whether to send the local infile without copying.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder localInfileZeroCopy(boolean enabled) {
+            this.localInfileZeroCopy = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to allow {@link MySqlConnection#loadData(String, Publisher, LoadOptions)}, which
+         * executes {@code LOAD DATA LOCAL INFILE} statement with rows of a {@link Publisher} instead of a
+         * file.  Default to {@code false}.
+         * <p>
+         * If enabled, the driver declares that it supports {@code LOAD DATA LOCAL INFILE}, but files can
+         * still be loaded only if {@link #allowLoadLocalInfileInPath(String)} is set.  Command pipelining
+         * will be disabled, because the rows would be interleaved with pipelined commands.
+         *
+         * @param enabled whether to allow loading data from a {@link Publisher}.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder allowLoadLocalInfileFromPublisher(boolean enabled) {
+            this.allowLoadLocalInfileFromPublisher = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to allow the server to omit column metadata of results, i.e. negotiates
+         * {@code CLIENT_OPTIONAL_RESULTSET_METADATA}.  Default to {@code false}.
+         * <p>
+         * The server omits metadata only if the session variable {@code resultset_metadata} is set to
+         * {@code NONE}, which is left to the user, e.g. after hot statements have been prepared.  Column
+         * definitions received when preparing a statement will be reused to decode its results.  Results of
+         * text queries, and of statements prepared under {@code NONE}, cannot be decoded without metadata.
+         *
+         * @param enabled whether to allow the server to omit column metadata.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder optionalResultSetMetadata(boolean enabled) {
+            this.optionalResultSetMetadata = enabled;
+            return this;
+        }
+
+        /**
+         * Configures whether to request the result of each row when executing multiple bindings by MariaDB
+         * bulk execution, i.e. negotiates {@code MARIADB_CLIENT_BULK_UNIT_RESULTS}.  Default to
+         * {@code false}.
+         * <p>
+         * Without it, only simple {@code INSERT} statements will be executed by bulk, and each binding is
+         * considered as one affected row with a generated ID derived from the first one by
+         * {@code auto_increment_increment}.  With it, the server reports the exact generated ID and affected
+         * rows of each binding, so other DML statements can also be executed by bulk.  It requires MariaDB
+         * 11.5.1 or above, otherwise it will be ignored.
+         *
+         * @param enabled whether to request the result of each row.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder bulkUnitResults(boolean enabled) {
+            this.bulkUnitResults = enabled;
+            return this;
+        }
+
+        /**
+         * Configures the high watermark of buffered server messages.  Default to {@code 512}.
+         * <p>
+         * The client requests server messages from the channel by the demand of the active exchange.  When
+         * the number of received but not consumed messages reaches the high watermark, the client stops
+         * requesting, so the channel stops reading from the socket, i.e. {@code autoRead} is turned off, and
+         * the server will be blocked by TCP flow control.  It will be resumed after the consumer drains the
+         * buffer to the low watermark, see also {@link #responseLowWatermark(int)}.
+         *
+         * @param highWatermark the maximum number of buffered server messages.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code highWatermark} is not positive.
+         * @since 1.1.2
+         */
+        public Builder responseHighWatermark(int highWatermark) {
+            require(highWatermark > 0, "highWatermark must be positive");
+
+            this.responseHighWatermark = highWatermark;
+            return this;
+        }
+
+        /**
+         * Configures the low watermark of buffered server messages.  Default to {@code 128}.  It must be
+         * less than the high watermark.
+         * <p>
+         * When the number of requested but not consumed server messages drops to the low watermark, the
+         * client requests more messages up to the high watermark, see also
+         * {@link #responseHighWatermark(int)}.  A lower value reads the socket in larger batches, a higher
+         * value keeps the channel reading more continuously.
+         *
+         * @param lowWatermark the number of unconsumed server messages that triggers requesting more.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code lowWatermark} is negative.
+         * @since 1.1.2
+         */
+        public Builder responseLowWatermark(int lowWatermark) {
+            require(lowWatermark >= 0, "lowWatermark must not be negative");
+
+            this.responseLowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Configures whether to batch rows of a result which are decoded from a single read of the
+         * connection.  Default to {@code false}.
+         * <p>
+         * If enabled, consecutive rows received by a socket read are passed through the connection as one
+         * message, so the per-message overhead of reactive operators is amortized across rows.  Use
+         * {@link MySqlResult#mapBatches(Function)} to consume them as batches, other methods of
+         * {@link MySqlResult} still emit rows one by one.  Rows with a streaming field, see
+         * {@link #streamLargeFields(boolean)}, and unit results of bulk executions are never batched.
+         *
+         * @param enabled whether to batch rows per read.
+         * @return this {@link Builder}.
+         * @since 1.1.2
+         */
+        public Builder batchRowsPerRead(boolean enabled) {
+            this.batchRowsPerRead = enabled;
+            return this;
+        }
+
+        /**
+         * Configures a {@link Scheduler} which maps rows of results in parallel.  Default to {@code null},
+         * which means rows are mapped by the event loop of the connection one after another.
+         * <p>
+         * If it is set, {@link MySqlResult#map(BiFunction)} and {@link MySqlResult#map(Function)} decode and
+         * map rows on workers of the {@link Scheduler}, and emit mapped values in the order of rows.  It
+         * lets a single large result use more than one core when rows are expensive to decode, e.g.
+         * {@code DECIMAL}, {@code JSON} or temporal values with time zone conversion.  The mapping function
+         * must be thread-safe, it may be called concurrently for different rows.
+         *
+         * @param scheduler the {@link Scheduler} to map rows, or {@code null} to map rows by the event loop.
+         * @return this {@link Builder}.
+         * @see #rowMappingConcurrency(int)
+         * @since 1.1.2
+         */
+        public Builder rowMappingScheduler(@Nullable Scheduler scheduler) {
+            this.rowMappingScheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of rows which are being mapped or waiting to be emitted in order,
+         * it is used only if {@link #rowMappingScheduler(Scheduler)} is set.  Default to {@code 32}.
+         * <p>
+         * It bounds both the parallelism of mapping and the number of rows held by a result, because a
+         * mapped value must wait for all previous rows before it is emitted.
+         *
+         * @param concurrency the maximum number of rows in flight.
+         * @return this {@link Builder}.
+         * @throws IllegalArgumentException if {@code concurrency} is not positive.
+         * @since 1.1.2
+         */
+        public Builder rowMappingConcurrency(int concurrency) {
+            require(concurrency > 0, "concurrency must be positive");
+
+            this.rowMappingConcurrency = concurrency;
+            return this;
+        }
+
         /**
          * Configures whether to use {@link ServiceLoader} to discover and register extensions. Defaults to
          * {@code true}.
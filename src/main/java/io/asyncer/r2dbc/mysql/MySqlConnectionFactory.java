@@ -90,12 +90,7 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
             String user = configuration.getUser();
             CharSequence password = configuration.getPassword();
             SslMode sslMode = ssl.getSslMode();
-            ConnectionContext context = new ConnectionContext(
-                configuration.getZeroDateOption(),
-                configuration.getLoadLocalInfilePath(),
-                configuration.getLocalInfileBufferSize(),
-                configuration.getServerZoneId()
-            );
+            ConnectionContext context = new ConnectionContext(configuration);
             Extensions extensions = configuration.getExtensions();
             Predicate<String> prepare = configuration.getPreferPrepareStatement();
             int prepareCacheSize = configuration.getPrepareCacheSize();
@@ -138,11 +133,15 @@ public final class MySqlConnectionFactory implements ConnectionFactory {
             final int prepareCacheSize,
             @Nullable final CharSequence password) {
         return Client.connect(ssl, address, configuration.isTcpKeepAlive(), configuration.isTcpNoDelay(),
-                context, configuration.getConnectTimeout())
+                configuration.getLoopResources(), configuration.isPreferNativeTransport(),
+                configuration.isTcpQuickAck(), configuration.getSocketReceiveBufferSize(),
+                configuration.getSocketSendBufferSize(), configuration.getBusyPollMicros(),
+                configuration.isPipelining(), context, configuration.getConnectTimeout())
             .flatMap(client -> {
                 // Lazy init database after handshake/login
                 String db = createDbIfNotExist ? "" : database;
-                return QueryFlow.login(client, sslMode, db, user, password, context);
+                return QueryFlow.login(client, sslMode, db, user, password,
+                    configuration.getCompressionAlgorithms(), context);
             })
             .flatMap(client -> {
                 ByteBufAllocator allocator = client.getByteBufAllocator();
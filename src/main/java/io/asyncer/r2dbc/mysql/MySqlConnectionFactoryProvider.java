@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -24,6 +25,8 @@ import io.r2dbc.spi.ConnectionFactoryOptions;
 import io.r2dbc.spi.ConnectionFactoryProvider;
 import io.r2dbc.spi.Option;
 import org.reactivestreams.Publisher;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.resources.LoopResources;
 
 import javax.net.ssl.HostnameVerifier;
 import java.time.Duration;
@@ -152,6 +155,55 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
      */
     public static final Option<Boolean> TCP_NO_DELAY = Option.valueOf("tcpNoDelay");
 
+    /**
+     * Option to set dedicated {@link LoopResources} for connections.  It accepts only a {@link LoopResources}
+     * instance.  Default to {@code null}, which means connections share the global resources of Reactor
+     * Netty.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<LoopResources> LOOP_RESOURCES = Option.valueOf("loopResources");
+
+    /**
+     * Option to prefer a native transport, e.g. epoll or io_uring, if it is available.  Default to
+     * {@link LoopResources#DEFAULT_NATIVE}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> PREFER_NATIVE_TRANSPORT = Option.valueOf("preferNativeTransport");
+
+    /**
+     * Enable/Disable TCP QuickAck, it is used only by the epoll transport.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> TCP_QUICK_ACK = Option.valueOf("tcpQuickAck");
+
+    /**
+     * Option to set the size of the socket receive buffer in bytes.  Default to {@code 0}, which means the
+     * default of the operating system.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> SOCKET_RECEIVE_BUFFER_SIZE =
+        Option.valueOf("socketReceiveBufferSize");
+
+    /**
+     * Option to set the size of the socket send buffer in bytes.  Default to {@code 0}, which means the
+     * default of the operating system.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> SOCKET_SEND_BUFFER_SIZE = Option.valueOf("socketSendBufferSize");
+
+    /**
+     * Option to set the busy poll timeout in microseconds, it is used only by the epoll transport.  Default
+     * to {@code 0}, which means disabled.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> BUSY_POLL_MICROS = Option.valueOf("busyPollMicros");
+
     /**
      * Enable/Disable database creation if not exist.
      *
@@ -213,6 +265,131 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
      */
     public static final Option<Publisher<String>> PASSWORD_PUBLISHER = Option.valueOf("passwordPublisher");
 
+    /**
+     * Option to set compression algorithms.  Default to [{@link CompressionAlgorithm#UNCOMPRESSED}].
+     * <p>
+     * It can be a {@code CompressionAlgorithm[]} or a {@code Collection<CompressionAlgorithm>}. It can be a
+     * {@link String}, algorithms will be split by {@code ,}. e.g. "zstd,zlib,uncompressed".
+     *
+     * @since 1.1.2
+     */
+    public static final Option<CompressionAlgorithm[]> COMPRESSION_ALGORITHMS =
+        Option.valueOf("compressionAlgorithms");
+
+    /**
+     * Option to set the Z-Standard compression level.  Default to {@code 3}.  It is only used if the
+     * connection is using {@link CompressionAlgorithm#ZSTD}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> ZSTD_COMPRESSION_LEVEL = Option.valueOf("zstdCompressionLevel");
+
+    /**
+     * Option to enable command pipelining.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> PIPELINING = Option.valueOf("pipelining");
+
+    /**
+     * Option to set the maximum number of in-flight executions of a server-preparing batch.  Default to
+     * {@code 1}, which means executions are not pipelined.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> BATCH_PIPELINE_WINDOW = Option.valueOf("batchPipelineWindow");
+
+    /**
+     * Option to rewrite a batch of simple {@code INSERT ... VALUES (...)} statement into multi-row
+     * statements.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> REWRITE_BATCHED_STATEMENTS =
+        Option.valueOf("rewriteBatchedStatements");
+
+    /**
+     * Option to stream huge field values while they are being received.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> STREAM_LARGE_FIELDS = Option.valueOf("streamLargeFields");
+
+    /**
+     * Option to send the file of {@code LOAD DATA LOCAL INFILE} statement without copying it into buffers.
+     * Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> LOCAL_INFILE_ZERO_COPY = Option.valueOf("localInfileZeroCopy");
+
+    /**
+     * Option to allow {@code LOAD DATA LOCAL INFILE} statement with rows of a {@code Publisher} instead of a
+     * file.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> ALLOW_LOAD_LOCAL_INFILE_FROM_PUBLISHER =
+        Option.valueOf("allowLoadLocalInfileFromPublisher");
+
+    /**
+     * Option to allow the server to omit column metadata of results, when the session variable
+     * {@code resultset_metadata} is {@code NONE}.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> OPTIONAL_RESULT_SET_METADATA =
+        Option.valueOf("optionalResultSetMetadata");
+
+    /**
+     * Option to request the result of each row when executing multiple bindings by MariaDB bulk execution.
+     * Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> BULK_UNIT_RESULTS = Option.valueOf("bulkUnitResults");
+
+    /**
+     * Option to batch rows of a result which are decoded from a single read of the connection, see also
+     * {@link MySqlResult#mapBatches(java.util.function.Function)}.  Default to {@code false}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Boolean> BATCH_ROWS_PER_READ = Option.valueOf("batchRowsPerRead");
+
+    /**
+     * Option to map rows of results in parallel on a {@link Scheduler}, mapped values are still emitted in
+     * the order of rows.  It accepts only a {@link Scheduler} instance.  Default to {@code null}, which means
+     * rows are mapped by the event loop of the connection.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Scheduler> ROW_MAPPING_SCHEDULER = Option.valueOf("rowMappingScheduler");
+
+    /**
+     * Option to set the maximum number of rows which are being mapped in parallel or waiting to be emitted in
+     * order, it is used only if {@link #ROW_MAPPING_SCHEDULER} is set.  Default to {@code 32}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> ROW_MAPPING_CONCURRENCY = Option.valueOf("rowMappingConcurrency");
+
+    /**
+     * Option to set the high watermark of buffered server messages, the connection stops reading when it is
+     * reached.  Default to {@code 512}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> RESPONSE_HIGH_WATERMARK = Option.valueOf("responseHighWatermark");
+
+    /**
+     * Option to set the low watermark of buffered server messages, the connection requests more messages
+     * when it is reached.  Default to {@code 128}.
+     *
+     * @since 1.1.2
+     */
+    public static final Option<Integer> RESPONSE_LOW_WATERMARK = Option.valueOf("responseLowWatermark");
+
     @Override
     public ConnectionFactory create(ConnectionFactoryOptions options) {
         requireNonNull(options, "connectionFactoryOptions must not be null");
@@ -254,6 +431,18 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .to(builder::tcpKeepAlive);
         mapper.optional(TCP_NO_DELAY).asBoolean()
             .to(builder::tcpNoDelay);
+        mapper.optional(LOOP_RESOURCES).as(LoopResources.class)
+            .to(builder::loopResources);
+        mapper.optional(PREFER_NATIVE_TRANSPORT).asBoolean()
+            .to(builder::preferNativeTransport);
+        mapper.optional(TCP_QUICK_ACK).asBoolean()
+            .to(builder::tcpQuickAck);
+        mapper.optional(SOCKET_RECEIVE_BUFFER_SIZE).asInt()
+            .to(builder::socketReceiveBufferSize);
+        mapper.optional(SOCKET_SEND_BUFFER_SIZE).asInt()
+            .to(builder::socketSendBufferSize);
+        mapper.optional(BUSY_POLL_MICROS).asInt()
+            .to(builder::busyPollMicros);
         mapper.optional(ZERO_DATE)
             .as(ZeroDateOption.class, id -> ZeroDateOption.valueOf(id.toUpperCase()))
             .to(builder::zeroDateOption);
@@ -275,6 +464,37 @@ public final class MySqlConnectionFactoryProvider implements ConnectionFactoryPr
             .to(builder::createDatabaseIfNotExist);
         mapper.optional(PASSWORD_PUBLISHER).as(Publisher.class)
             .to(builder::passwordPublisher);
+        mapper.optional(COMPRESSION_ALGORITHMS).asArray(CompressionAlgorithm[].class,
+                id -> CompressionAlgorithm.valueOf(id.toUpperCase()), CompressionAlgorithm[]::new)
+            .to(builder::compressionAlgorithms);
+        mapper.optional(ZSTD_COMPRESSION_LEVEL).asInt()
+            .to(builder::zstdCompressionLevel);
+        mapper.optional(PIPELINING).asBoolean()
+            .to(builder::pipelining);
+        mapper.optional(BATCH_PIPELINE_WINDOW).asInt()
+            .to(builder::batchPipelineWindow);
+        mapper.optional(REWRITE_BATCHED_STATEMENTS).asBoolean()
+            .to(builder::rewriteBatchedStatements);
+        mapper.optional(STREAM_LARGE_FIELDS).asBoolean()
+            .to(builder::streamLargeFields);
+        mapper.optional(LOCAL_INFILE_ZERO_COPY).asBoolean()
+            .to(builder::localInfileZeroCopy);
+        mapper.optional(ALLOW_LOAD_LOCAL_INFILE_FROM_PUBLISHER).asBoolean()
+            .to(builder::allowLoadLocalInfileFromPublisher);
+        mapper.optional(OPTIONAL_RESULT_SET_METADATA).asBoolean()
+            .to(builder::optionalResultSetMetadata);
+        mapper.optional(BULK_UNIT_RESULTS).asBoolean()
+            .to(builder::bulkUnitResults);
+        mapper.optional(BATCH_ROWS_PER_READ).asBoolean()
+            .to(builder::batchRowsPerRead);
+        mapper.optional(ROW_MAPPING_SCHEDULER).as(Scheduler.class)
+            .to(builder::rowMappingScheduler);
+        mapper.optional(ROW_MAPPING_CONCURRENCY).asInt()
+            .to(builder::rowMappingConcurrency);
+        mapper.optional(RESPONSE_HIGH_WATERMARK).asInt()
+            .to(builder::responseHighWatermark);
+        mapper.optional(RESPONSE_LOW_WATERMARK).asInt()
+            .to(builder::responseLowWatermark);
 
         return builder.build();
     }
@@ -57,6 +57,46 @@ public interface MySqlParameter extends Disposable {
      */
     Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator);
 
+    /**
+     * Writes the binary encoding synchronously, which is the same as {@link #publishBinary}.  It is a fast
+     * path for small values, e.g. numbers and temporals, so that a whole execution can be encoded into one
+     * buffer without reactive operators.
+     * <p>
+     * Nothing should be written if it returns {@code false}, then {@link #publishBinary} will be used.
+     *
+     * @param buf the buffer to write.
+     * @return {@code true} if it has been written, or {@code false} if it is not supported.
+     * @since 1.1.2
+     */
+    default boolean writeBinary(ByteBuf buf) {
+        return false;
+    }
+
+    /**
+     * Checks if the binary value should be sent as long data, i.e. by chunks before executing the statement
+     * instead of in the execute message.  It is useful for huge values which should not be buffered, e.g.
+     * LOB types.
+     *
+     * @return {@code true} if it should be sent as long data.
+     * @since 1.1.2
+     */
+    default boolean isLongData() {
+        return false;
+    }
+
+    /**
+     * Long data encoding of the binary protocol.  Each buffer is a chunk of the value without length prefix,
+     * the next chunk will be requested after the previous one has been written.  It is used only if
+     * {@link #isLongData()} returns {@code true}.
+     *
+     * @param allocator the buffer allocator.
+     * @return the encoded chunks.
+     * @since 1.1.2
+     */
+    default Publisher<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+        return Mono.error(new UnsupportedOperationException("Long data is not supported by " + getType()));
+    }
+
     /**
      * Text protocol encoding.
      * <p>
@@ -17,12 +17,12 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.codec.Codecs;
-import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
-import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
 import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
 import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
 import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowBatchMessage;
 import io.asyncer.r2dbc.mysql.message.server.RowMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
 import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
@@ -39,8 +39,15 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -56,10 +63,28 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
  */
 public final class MySqlResult implements Result {
 
+    /**
+     * The segments, rows may be batched as {@link MySqlRowBatchSegment} if {@link #batched} is {@code true}.
+     */
     private final Flux<Segment> segments;
 
-    private MySqlResult(Flux<Segment> segments) {
+    private final boolean batched;
+
+    /**
+     * The {@link Scheduler} which maps rows in parallel, or {@code null} if rows are mapped one after
+     * another.
+     */
+    @Nullable
+    private final Scheduler scheduler;
+
+    private final int concurrency;
+
+    private MySqlResult(Flux<Segment> segments, boolean batched, @Nullable Scheduler scheduler,
+        int concurrency) {
         this.segments = segments;
+        this.batched = batched;
+        this.scheduler = scheduler;
+        this.concurrency = concurrency;
     }
 
     @Override
@@ -79,7 +104,13 @@ public final class MySqlResult implements Result {
     public <T> Flux<T> map(BiFunction<Row, RowMetadata, ? extends T> f) {
         requireNonNull(f, "mapping function must not be null");
 
-        return segments.handle((segment, sink) -> {
+        Scheduler scheduler = this.scheduler;
+
+        if (scheduler != null) {
+            return mapInParallel(scheduler, row -> f.apply(row, row.getMetadata()));
+        }
+
+        return rowSegments().handle((segment, sink) -> {
             if (segment instanceof RowSegment) {
                 Row row = ((RowSegment) segment).row();
 
@@ -100,7 +131,13 @@ public final class MySqlResult implements Result {
     public <T> Flux<T> map(Function<? super Readable, ? extends T> f) {
         requireNonNull(f, "mapping function must not be null");
 
-        return segments.handle((segment, sink) -> {
+        Scheduler scheduler = this.scheduler;
+
+        if (scheduler != null) {
+            return mapInParallel(scheduler, f::apply);
+        }
+
+        return rowSegments().handle((segment, sink) -> {
             if (segment instanceof RowSegment) {
                 try {
                     sink.next(f.apply(((RowSegment) segment).row()));
@@ -119,7 +156,7 @@ public final class MySqlResult implements Result {
     public MySqlResult filter(Predicate<Segment> filter) {
         requireNonNull(filter, "filter must not be null");
 
-        return new MySqlResult(segments.filter(segment -> {
+        return new MySqlResult(rowSegments().filter(segment -> {
             if (filter.test(segment)) {
                 return true;
             }
@@ -129,14 +166,14 @@ public final class MySqlResult implements Result {
             }
 
             return false;
-        }));
+        }), false, scheduler, concurrency);
     }
 
     @Override
     public <T> Flux<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> f) {
         requireNonNull(f, "mapping function must not be null");
 
-        return segments.flatMap(segment -> {
+        return rowSegments().flatMap(segment -> {
             Publisher<? extends T> ret = f.apply(segment);
 
             if (ret == null) {
@@ -154,15 +191,116 @@ public final class MySqlResult implements Result {
         });
     }
 
+    /**
+     * Maps rows of this result in batches, each batch contains consecutive rows which are decoded from a
+     * single read of the connection if {@link MySqlConnectionConfiguration.Builder#batchRowsPerRead(boolean)}
+     * is enabled, otherwise each batch contains a single row.  It amortizes the overhead of reactive signals
+     * across rows of a batch.
+     * <p>
+     * The rows are released after the batch has been mapped, so the mapping function must not keep them.
+     * Like {@link #map(Function)}, an error will be emitted if the result contains an error message.
+     *
+     * @param f   the mapping function which is applied to each row.
+     * @param <T> the type of the mapped value.
+     * @return a {@link Flux} of mapped batches, which are never empty.
+     * @throws IllegalArgumentException if {@code f} is {@code null}.
+     * @since 1.1.2
+     */
+    public <T> Flux<List<T>> mapBatches(Function<? super Readable, ? extends T> f) {
+        requireNonNull(f, "mapping function must not be null");
+
+        return segments.handle((segment, sink) -> {
+            if (segment instanceof MySqlRowBatchSegment) {
+                MySqlRowSegment[] rows = ((MySqlRowBatchSegment) segment).rows;
+                List<T> results = new ArrayList<>(rows.length);
+
+                try {
+                    for (MySqlRowSegment row : rows) {
+                        results.add(f.apply(row.row()));
+                    }
+                } finally {
+                    ReferenceCountUtil.safeRelease(segment);
+                }
+
+                sink.next(results);
+            } else if (segment instanceof RowSegment) {
+                try {
+                    sink.next(Collections.singletonList(f.apply(((RowSegment) segment).row())));
+                } finally {
+                    ReferenceCountUtil.safeRelease(segment);
+                }
+            } else if (segment instanceof Message) {
+                sink.error(((Message) segment).exception());
+            } else if (segment instanceof ReferenceCounted) {
+                ReferenceCountUtil.safeRelease(segment);
+            }
+        });
+    }
+
+    /**
+     * Maps rows on workers of the {@code scheduler}, at most {@link #concurrency} rows are in flight, and
+     * emits mapped values in the order of rows.  An error message or a failed mapping is emitted as an error
+     * after all previous rows, same as mapping rows one after another.
+     */
+    private <T> Flux<T> mapInParallel(Scheduler scheduler, Function<Row, ? extends T> f) {
+        return rowSegments().flatMapSequential(segment -> {
+            if (segment instanceof RowSegment) {
+                RowMapping<T> mapping = new RowMapping<>((RowSegment) segment, f);
+
+                return Mono.fromCallable(mapping).subscribeOn(scheduler).doOnCancel(mapping::dispose);
+            } else if (segment instanceof Message) {
+                return Mono.just(new MappingFailure(((Message) segment).exception()));
+            } else if (segment instanceof ReferenceCounted) {
+                ReferenceCountUtil.safeRelease(segment);
+            }
+
+            return Mono.empty();
+        }, concurrency, 1).handle((value, sink) -> {
+            if (value instanceof MappingFailure) {
+                sink.error(((MappingFailure) value).cause);
+            } else {
+                @SuppressWarnings("unchecked")
+                T t = (T) value;
+                sink.next(t);
+            }
+        });
+    }
+
+    /**
+     * Gets segments which each row is a {@link RowSegment}, i.e. batched rows will be split.
+     */
+    private Flux<Segment> rowSegments() {
+        if (!batched) {
+            return segments;
+        }
+
+        return segments.concatMapIterable(segment -> segment instanceof MySqlRowBatchSegment ?
+                Arrays.<Segment>asList(((MySqlRowBatchSegment) segment).rows) :
+                Collections.singletonList(segment))
+            .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::safeRelease);
+    }
+
     static MySqlResult toResult(boolean binary, Codecs codecs, ConnectionContext context,
                                 @Nullable String syntheticKeyName, Flux<ServerMessage> messages) {
+        return toResult(binary, codecs, context, syntheticKeyName, null, messages);
+    }
+
+    /**
+     * Creates a result of a SQL statement, the row metadata of the statement will be cached and reused if
+     * {@code sql} is not {@code null}.
+     */
+    static MySqlResult toResult(boolean binary, Codecs codecs, ConnectionContext context,
+                                @Nullable String syntheticKeyName, @Nullable String sql,
+                                Flux<ServerMessage> messages) {
         requireNonNull(codecs, "codecs must not be null");
         requireNonNull(context, "context must not be null");
         requireNonNull(messages, "messages must not be null");
 
         return new MySqlResult(OperatorUtils.discardOnCancel(messages)
             .doOnDiscard(ReferenceCounted.class, ReferenceCounted::release)
-            .handle(new MySqlSegments(binary, codecs, context, syntheticKeyName)));
+            .handle(new MySqlSegments(binary, codecs, context, syntheticKeyName, sql)),
+            context.isBatchRowsPerRead(), context.getRowMappingScheduler(),
+            context.getRowMappingConcurrency());
     }
 
     private static final class MySqlMessage implements Message {
@@ -198,9 +336,9 @@ public final class MySqlResult implements Result {
 
         private final MySqlRow row;
 
-        private final FieldValue[] fields;
+        private final RowFields fields;
 
-        private MySqlRowSegment(FieldValue[] fields, MySqlRowMetadata metadata, Codecs codecs, boolean binary,
+        private MySqlRowSegment(RowFields fields, MySqlRowMetadata metadata, Codecs codecs, boolean binary,
             ConnectionContext context) {
             this.row = new MySqlRow(fields, metadata, codecs, binary, context);
             this.fields = fields;
@@ -213,8 +351,32 @@ public final class MySqlResult implements Result {
 
         @Override
         public ReferenceCounted touch(Object hint) {
-            for (FieldValue field : this.fields) {
-                field.touch(hint);
+            fields.touch(hint);
+            return this;
+        }
+
+        @Override
+        protected void deallocate() {
+            fields.release();
+        }
+    }
+
+    /**
+     * Consecutive rows which are decoded from a single read of the connection, it is an internal segment
+     * which will never be emitted to users.  Releasing it releases all of its rows.
+     */
+    private static final class MySqlRowBatchSegment extends AbstractReferenceCounted implements Segment {
+
+        private final MySqlRowSegment[] rows;
+
+        private MySqlRowBatchSegment(MySqlRowSegment[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public ReferenceCounted touch(Object hint) {
+            for (MySqlRowSegment row : rows) {
+                row.touch(hint);
             }
 
             return this;
@@ -222,7 +384,64 @@ public final class MySqlResult implements Result {
 
         @Override
         protected void deallocate() {
-            NettyBufferUtils.releaseAll(fields);
+            for (MySqlRowSegment row : rows) {
+                row.release();
+            }
+        }
+    }
+
+    /**
+     * Maps a row on a worker, the row is released after it is mapped or the mapping is cancelled.  Failures
+     * are returned as {@link MappingFailure}s, so they are emitted in the order of rows.
+     */
+    private static final class RowMapping<T> implements Callable<Object> {
+
+        private final AtomicReference<RowSegment> segment;
+
+        private final Function<Row, ? extends T> f;
+
+        private RowMapping(RowSegment segment, Function<Row, ? extends T> f) {
+            this.segment = new AtomicReference<>(segment);
+            this.f = f;
+        }
+
+        @Override
+        @Nullable
+        public Object call() {
+            RowSegment segment = this.segment.getAndSet(null);
+
+            if (segment == null) {
+                // Cancelled before mapping.
+                return null;
+            }
+
+            try {
+                T value = f.apply(segment.row());
+
+                return value == null ?
+                    new MappingFailure(new NullPointerException("The mapper returned a null value")) : value;
+            } catch (Throwable e) {
+                return new MappingFailure(e);
+            } finally {
+                ReferenceCountUtil.safeRelease(segment);
+            }
+        }
+
+        private void dispose() {
+            RowSegment segment = this.segment.getAndSet(null);
+
+            if (segment != null) {
+                ReferenceCountUtil.safeRelease(segment);
+            }
+        }
+    }
+
+    private static final class MappingFailure {
+
+        private final Throwable cause;
+
+        private MappingFailure(Throwable cause) {
+            this.cause = cause;
         }
     }
 
@@ -271,16 +490,20 @@ public final class MySqlResult implements Result {
         @Nullable
         private final String syntheticKeyName;
 
+        @Nullable
+        private final String sql;
+
         private final AtomicLong rowCount = new AtomicLong(0);
 
         private MySqlRowMetadata rowMetadata;
 
         private MySqlSegments(boolean binary, Codecs codecs, ConnectionContext context,
-            @Nullable String syntheticKeyName) {
+            @Nullable String syntheticKeyName, @Nullable String sql) {
             this.binary = binary;
             this.codecs = codecs;
             this.context = context;
             this.syntheticKeyName = syntheticKeyName;
+            this.sql = sql;
         }
 
         @Override
@@ -297,15 +520,17 @@ public final class MySqlResult implements Result {
                     return;
                 }
 
-                FieldValue[] fields;
+                RowFields fields;
 
                 try {
-                    fields = ((RowMessage) message).decode(binary, metadata.unwrap());
+                    fields = ((RowMessage) message).decodeFields(binary, metadata.unwrap());
                 } finally {
                     ReferenceCountUtil.safeRelease(message);
                 }
 
                 sink.next(new MySqlRowSegment(fields, metadata, codecs, binary, context));
+            } else if (message instanceof RowBatchMessage) {
+                acceptBatch((RowBatchMessage) message, sink);
             } else if (message instanceof SyntheticMetadataMessage) {
                 DefinitionMetadataMessage[] metadataMessages = ((SyntheticMetadataMessage) message).unwrap();
 
@@ -313,7 +538,10 @@ public final class MySqlResult implements Result {
                     return;
                 }
 
-                this.rowMetadata = MySqlRowMetadata.create(metadataMessages);
+                String sql = this.sql;
+
+                this.rowMetadata = sql == null ? MySqlRowMetadata.create(metadataMessages) :
+                    context.getRowMetadataCache().get(sql, metadataMessages);
             } else if (message instanceof OkMessage) {
                 OkMessage msg = (OkMessage) message;
 
@@ -332,5 +560,39 @@ public final class MySqlResult implements Result {
                 ReferenceCountUtil.safeRelease(message);
             }
         }
+
+        private void acceptBatch(RowBatchMessage message, SynchronousSink<Segment> sink) {
+            MySqlRowMetadata metadata = this.rowMetadata;
+
+            if (metadata == null) {
+                ReferenceCountUtil.safeRelease(message);
+                sink.error(new IllegalStateException("No MySqlRowMetadata available"));
+                return;
+            }
+
+            RowMessage[] rows = message.getRows();
+            MySqlRowSegment[] segments = new MySqlRowSegment[rows.length];
+            int i = 0;
+
+            rowCount.getAndAdd(rows.length);
+
+            try {
+                for (; i < rows.length; ++i) {
+                    RowFields fields = rows[i].decodeFields(binary, metadata.unwrap());
+
+                    segments[i] = new MySqlRowSegment(fields, metadata, codecs, binary, context);
+                }
+            } catch (Throwable e) {
+                for (int j = 0; j < i; ++j) {
+                    segments[j].release();
+                }
+
+                throw e;
+            } finally {
+                ReferenceCountUtil.safeRelease(message);
+            }
+
+            sink.next(new MySqlRowBatchSegment(segments));
+        }
     }
 }
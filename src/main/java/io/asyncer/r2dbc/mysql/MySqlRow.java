@@ -17,7 +17,7 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.codec.Codecs;
-import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import org.jetbrains.annotations.Nullable;
@@ -31,7 +31,7 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
  */
 public final class MySqlRow implements Row {
 
-    private final FieldValue[] fields;
+    private final RowFields fields;
 
     private final MySqlRowMetadata rowMetadata;
 
@@ -44,7 +44,7 @@ public final class MySqlRow implements Row {
 
     private final ConnectionContext context;
 
-    MySqlRow(FieldValue[] fields, MySqlRowMetadata rowMetadata, Codecs codecs, boolean binary,
+    MySqlRow(RowFields fields, MySqlRowMetadata rowMetadata, Codecs codecs, boolean binary,
         ConnectionContext context) {
         this.fields = requireNonNull(fields, "fields must not be null");
         this.rowMetadata = requireNonNull(rowMetadata, "rowMetadata must not be null");
@@ -58,7 +58,7 @@ public final class MySqlRow implements Row {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
-        return codecs.decode(fields[index], info, type, binary, context);
+        return codecs.decode(fields.get(index), info, type, binary, context);
     }
 
     @Override
@@ -66,7 +66,7 @@ public final class MySqlRow implements Row {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
-        return codecs.decode(fields[info.getIndex()], info, type, binary, context);
+        return codecs.decode(fields.get(info.getIndex()), info, type, binary, context);
     }
 
     /**
@@ -83,7 +83,7 @@ public final class MySqlRow implements Row {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
-        return codecs.decode(fields[index], info, type, binary, context);
+        return codecs.decode(fields.get(index), info, type, binary, context);
     }
 
     /**
@@ -100,7 +100,146 @@ public final class MySqlRow implements Row {
         requireNonNull(type, "type must not be null");
 
         MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
-        return codecs.decode(fields[info.getIndex()], info, type, binary, context);
+        return codecs.decode(fields.get(info.getIndex()), info, type, binary, context);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code long} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(int)} to distinguish it.
+     *
+     * @param index the index of the column starting at {@code 0}.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code long}.
+     * @since 1.1.2
+     */
+    public long getLong(int index) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeLong(fields.get(index), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code long} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(String)} to distinguish it.
+     *
+     * @param name the name of the column.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code long}.
+     * @since 1.1.2
+     */
+    public long getLong(String name) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeLong(fields.get(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as an {@code int} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(int)} to distinguish it.
+     *
+     * @param index the index of the column starting at {@code 0}.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as an {@code int}.
+     * @since 1.1.2
+     */
+    public int getInt(int index) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeInt(fields.get(index), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as an {@code int} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(String)} to distinguish it.
+     *
+     * @param name the name of the column.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as an {@code int}.
+     * @since 1.1.2
+     */
+    public int getInt(String name) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeInt(fields.get(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code double} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(int)} to distinguish it.
+     *
+     * @param index the index of the column starting at {@code 0}.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code double}.
+     * @since 1.1.2
+     */
+    public double getDouble(int index) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeDouble(fields.get(index), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code double} without boxing.  If the value is
+     * {@code null}, it returns {@code 0}, use {@link #isNull(String)} to distinguish it.
+     *
+     * @param name the name of the column.
+     * @return the value for a column in this row, or {@code 0} if the value is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code double}.
+     * @since 1.1.2
+     */
+    public double getDouble(String name) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeDouble(fields.get(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code boolean} without boxing.  If the value is
+     * {@code null}, it returns {@code false}, use {@link #isNull(int)} to distinguish it.
+     *
+     * @param index the index of the column starting at {@code 0}.
+     * @return the value for a column in this row, or {@code false} if the value is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code boolean}.
+     * @since 1.1.2
+     */
+    public boolean getBoolean(int index) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(index);
+        return codecs.decodeBoolean(fields.get(index), info, binary);
+    }
+
+    /**
+     * Returns the value for a column in this row as a {@code boolean} without boxing.  If the value is
+     * {@code null}, it returns {@code false}, use {@link #isNull(String)} to distinguish it.
+     *
+     * @param name the name of the column.
+     * @return the value for a column in this row, or {@code false} if the value is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is {@code null}.
+     * @throws IllegalArgumentException if the value cannot be decoded as a {@code boolean}.
+     * @since 1.1.2
+     */
+    public boolean getBoolean(String name) {
+        MySqlColumnDescriptor info = rowMetadata.getColumnMetadata(name);
+        return codecs.decodeBoolean(fields.get(info.getIndex()), info, binary);
+    }
+
+    /**
+     * Checks if the value for a column in this row is {@code null}.
+     *
+     * @param index the index of the column starting at {@code 0}.
+     * @return if the value is {@code null}.
+     * @since 1.1.2
+     */
+    public boolean isNull(int index) {
+        return fields.isNull(index);
+    }
+
+    /**
+     * Checks if the value for a column in this row is {@code null}.
+     *
+     * @param name the name of the column.
+     * @return if the value is {@code null}.
+     * @throws IllegalArgumentException if {@code name} is {@code null}.
+     * @since 1.1.2
+     */
+    public boolean isNull(String name) {
+        return fields.isNull(rowMetadata.getColumnMetadata(name).getIndex());
     }
 
     /**
@@ -39,7 +39,11 @@ final class MySqlRowMetadata implements RowMetadata {
 
     private final ColumnNameSet nameSet;
 
-    private MySqlRowMetadata(MySqlColumnDescriptor[] metadata) {
+    private final DefinitionMetadataMessage[] columns;
+
+    private MySqlRowMetadata(MySqlColumnDescriptor[] metadata, DefinitionMetadataMessage[] columns) {
+        this.columns = columns;
+
         int size = metadata.length;
 
         switch (size) {
@@ -113,6 +117,16 @@ final class MySqlRowMetadata implements RowMetadata {
         return originMetadata;
     }
 
+    /**
+     * Checks if this metadata is created by the same column definitions.
+     *
+     * @param columns the column definitions.
+     * @return if the column definitions are the same.
+     */
+    boolean isDefinedBy(DefinitionMetadataMessage[] columns) {
+        return this.columns == columns || Arrays.equals(this.columns, columns);
+    }
+
     static MySqlRowMetadata create(DefinitionMetadataMessage[] columns) {
         int size = columns.length;
         MySqlColumnDescriptor[] metadata = new MySqlColumnDescriptor[size];
@@ -121,7 +135,7 @@ final class MySqlRowMetadata implements RowMetadata {
             metadata[i] = MySqlColumnDescriptor.create(i, columns[i]);
         }
 
-        return new MySqlRowMetadata(metadata);
+        return new MySqlRowMetadata(metadata, columns);
     }
 
     private static String[] getNames(MySqlColumnDescriptor[] metadata) {
@@ -59,6 +59,11 @@ public interface MySqlStatement extends Statement {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * If multiple bindings are executed and an execution fails, the remaining bindings will not be executed.
+     * But executions that have been pipelined before the failure are still executed by the server, see
+     * {@link MySqlConnectionConfiguration.Builder#batchPipelineWindow(int)}, their results are reported
+     * after the failed one.
      */
     @Override
     Flux<MySqlResult> execute();
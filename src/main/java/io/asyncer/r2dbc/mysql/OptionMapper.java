@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -122,6 +123,32 @@ final class Source<T> {
         throw new IllegalArgumentException(toMessage(value, "String[]"));
     }
 
+    <E> Source<E[]> asArray(Class<E[]> arrayType, Function<String, E> mapper, IntFunction<E[]> generator) {
+        if (value == null) {
+            return nilSource();
+        }
+
+        if (arrayType.isInstance(value)) {
+            return new Source<>(arrayType.cast(value));
+        } else if (value instanceof String[]) {
+            return new Source<>(mapArray((String[]) value, mapper, generator));
+        } else if (value instanceof String) {
+            return new Source<>(mapArray(((String) value).split(","), mapper, generator));
+        } else if (value instanceof Collection<?>) {
+            Class<E> type = getComponentType(arrayType);
+
+            return new Source<>(((Collection<?>) value).stream().map(e -> {
+                if (type.isInstance(e)) {
+                    return type.cast(e);
+                }
+
+                return mapper.apply(e.toString());
+            }).toArray(generator));
+        }
+
+        throw new IllegalArgumentException(toMessage(value, arrayType.getTypeName()));
+    }
+
     Source<Boolean> asBoolean() {
         if (value == null) {
             return nilSource();
@@ -228,6 +255,21 @@ final class Source<T> {
         return new Source<>(value);
     }
 
+    private static <E> E[] mapArray(String[] input, Function<String, E> mapper, IntFunction<E[]> generator) {
+        E[] result = generator.apply(input.length);
+
+        for (int i = 0; i < input.length; ++i) {
+            result[i] = mapper.apply(input[i].trim());
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Class<E> getComponentType(Class<E[]> arrayType) {
+        return (Class<E>) arrayType.getComponentType();
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> Source<T> nilSource() {
         return (Source<T>) NIL;
@@ -18,6 +18,7 @@ package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
+import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
@@ -123,6 +124,22 @@ abstract class ParametrizedStatementSupport extends MySqlStatementSupport {
 
     abstract protected Flux<MySqlResult> execute(List<Binding> bindings);
 
+    /**
+     * Get the {@link MultiRowInsert} if {@code bindings} should be rewritten into multi-row statements.
+     *
+     * @param bindings the bindings to execute.
+     * @return the {@link MultiRowInsert}, or {@code null} if {@code bindings} should not be rewritten.
+     */
+    @Nullable
+    protected final MultiRowInsert multiRowInsert(List<Binding> bindings) {
+        if (!context.isRewriteBatchedStatements() || bindings.size() <= 1 ||
+            !returningIdentifiers().isEmpty()) {
+            return null;
+        }
+
+        return query.getMultiRowInsert();
+    }
+
     /**
      * Get parameter index(es) by parameter name.
      *
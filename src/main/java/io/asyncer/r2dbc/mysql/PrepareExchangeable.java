@@ -0,0 +1,677 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.cache.PrepareCache;
+import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedCloseMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedFetchMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedResetMessage;
+import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
+import io.asyncer.r2dbc.mysql.message.server.EofMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.PreparedOkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerStatusMessage;
+import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An implementation of {@link FluxExchangeable} that considers server-preparing queries. Which contains a
+ * built-in state machine.
+ * <p>
+ * It will reset a prepared statement if cache has matched it, otherwise it will prepare statement to a new
+ * statement ID and put the ID into the cache. If the statement ID does not exist in the cache after the last
+ * row sent, the ID will be closed.
+ * <p>
+ * On MariaDB, the first execution of a cache miss will be sent right after the preparing by the statement ID
+ * {@link PreparedExecuteMessage#LAST_PREPARED_ID}, without waiting for the prepared OK message.
+ */
+final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PrepareExchangeable.class);
+
+    private static final int PREPARE_OR_RESET = 1;
+
+    private static final int EXECUTE = 2;
+
+    private static final int FETCH = 3;
+
+    private final AtomicBoolean disposed = new AtomicBoolean();
+
+    private final Sinks.Many<ClientMessage> requests;
+
+    private final PrepareCache cache;
+
+    private final String sql;
+
+    private final Iterator<Binding> bindings;
+
+    private final int fetchSize;
+
+    /**
+     * The maximum number of in-flight executions, it is always {@literal 1} when cursor fetching or bulk
+     * execution is used.
+     */
+    private final int window;
+
+    /**
+     * Lazy chunks of bulk executions, or {@code null} if bindings are executed one-by-one.
+     */
+    @Nullable
+    private final BulkExecute.Chunks chunks;
+
+    /**
+     * The first chunk which has been rendered before the exchange, it will be emitted by the first bulk
+     * execution.
+     */
+    @Nullable
+    private List<ByteBuf> firstChunk;
+
+    private final MySqlType[] types;
+
+    private final boolean unitResults;
+
+    private final long increment;
+
+    /**
+     * The number of rows of the in-flight bulk execution.
+     */
+    private int rows;
+
+    @Nullable
+    private BulkExecute.UnitResults results;
+
+    /**
+     * The failure of rendering a bulk chunk, it will be emitted after the statement has been reset.
+     */
+    @Nullable
+    private Throwable renderError;
+
+    /**
+     * If the first execution should be sent right after the preparing when the cache mismatches.
+     */
+    private final boolean pipelined;
+
+    /**
+     * Parameter types bound by the last execution, the next execution will omit them if they are the same.
+     * A resetting does not clear them on the server, so they are shared by exchanges via the prepare cache
+     * after all executions are done.
+     */
+    @Nullable
+    private int[] boundTypes;
+
+    private int inFlight;
+
+    /**
+     * If the preparing has failed while the pipelined execution is in flight.  The result of the execution
+     * should be discarded, because it fails by the same cause.
+     */
+    private boolean failed;
+
+    /**
+     * If an execution has failed while other executions are still in flight.  These executions have been
+     * executed by the server, so their results are still reported, but no more bindings will be executed.
+     */
+    private boolean draining;
+
+    private int mode = PREPARE_OR_RESET;
+
+    @Nullable
+    private Integer statementId;
+
+    private boolean shouldClose;
+
+    PrepareExchangeable(PrepareCache cache, String sql, Iterator<Binding> bindings, int fetchSize,
+        int window, boolean pipelined) {
+        this(cache, sql, bindings, fetchSize, fetchSize > 0 ? 1 : window, null, new MySqlType[0], false, 0,
+            pipelined);
+    }
+
+    PrepareExchangeable(PrepareCache cache, String sql, List<ByteBuf> firstChunk, BulkExecute.Chunks chunks,
+        MySqlType[] types, boolean unitResults, long increment, boolean pipelined) {
+        this(cache, sql, Collections.emptyIterator(), 0, 1, chunks, types, unitResults, increment, pipelined);
+
+        this.firstChunk = firstChunk;
+    }
+
+    private PrepareExchangeable(PrepareCache cache, String sql, Iterator<Binding> bindings, int fetchSize,
+        int window, @Nullable BulkExecute.Chunks chunks, MySqlType[] types, boolean unitResults,
+        long increment, boolean pipelined) {
+        this.cache = cache;
+        this.sql = sql;
+        this.bindings = bindings;
+        this.fetchSize = fetchSize;
+        this.window = window;
+        this.chunks = chunks;
+        this.types = types;
+        this.unitResults = unitResults;
+        this.increment = increment;
+        this.pipelined = pipelined;
+        // Executions, their long data and a closing of evicted statement may be emitted before requested.
+        this.requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<ClientMessage>unbounded().get());
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ClientMessage> actual) {
+        // It is also initialization method.
+        requests.asFlux().subscribe(actual);
+
+        // After subscribe.
+        Integer statementId = cache.getIfPresent(sql);
+        if (statementId == null) {
+            logger.debug("Prepare cache mismatch, try to preparing");
+            this.shouldClose = true;
+            QueryLogger.log(sql);
+            Sinks.EmitResult result = this.requests.tryEmitNext(new PrepareQueryMessage(sql));
+
+            if (result != Sinks.EmitResult.OK) {
+                logger.error("Fail to emit prepare query message due to {}", result);
+            } else if (pipelined) {
+                // Results of the execution will be received after the prepared OK and metadata.
+                logger.debug("Pipeline the first execution after preparing");
+                emitNextExecute(PreparedExecuteMessage.LAST_PREPARED_ID);
+            }
+        } else {
+            logger.debug("Prepare cache matched statement {} when getting", statementId);
+            // Should reset only when it comes from cache.
+            this.shouldClose = false;
+            this.statementId = statementId;
+            this.boundTypes = cache.getBoundTypes(statementId);
+            QueryLogger.log(statementId, sql);
+            Sinks.EmitResult result = this.requests.tryEmitNext(new PreparedResetMessage(statementId));
+
+            if (result != Sinks.EmitResult.OK) {
+                logger.error("Fail to emit reset statement message due to {}", result);
+            }
+        }
+    }
+
+    @Override
+    public void accept(ServerMessage message, SynchronousSink<ServerMessage> sink) {
+        Throwable renderError = this.renderError;
+
+        if (renderError != null) {
+            // Response of the statement resetting, nothing else is in flight.
+            ReferenceCountUtil.safeRelease(message);
+            sink.error(renderError);
+            return;
+        }
+
+        if (failed) {
+            // Discard the result of the pipelined execution.
+            if (message instanceof ErrorMessage ||
+                (message instanceof CompleteMessage && ((CompleteMessage) message).isDone())) {
+                if (--inFlight <= 0) {
+                    sink.complete();
+                }
+            } else {
+                ReferenceCountUtil.safeRelease(message);
+            }
+            return;
+        }
+
+        if (message instanceof ErrorMessage) {
+            sink.next(((ErrorMessage) message).offendedBy(sql));
+
+            if (mode == PREPARE_OR_RESET && inFlight > 0) {
+                // Preparing failed, the pipelined execution will also fail.
+                this.failed = true;
+            } else if (inFlight > 1) {
+                this.draining = true;
+                --inFlight;
+            } else {
+                sink.complete();
+            }
+            return;
+        }
+
+        if (draining) {
+            // Report results of executions that have been sent after the failed execution.
+            sink.next(message);
+
+            if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone() &&
+                --inFlight <= 0) {
+                sink.complete();
+            }
+            return;
+        }
+
+        if (chunks != null && mode != PREPARE_OR_RESET) {
+            acceptBulk(chunks, message, sink);
+            return;
+        }
+
+        switch (mode) {
+            case PREPARE_OR_RESET:
+                if (message instanceof OkMessage) {
+                    // Reset succeed.
+                    Integer statementId = this.statementId;
+                    if (statementId == null) {
+                        logger.error("Reset succeed but statement ID was null");
+                        return;
+                    }
+
+                    doNextExecute(statementId, sink);
+                } else if (message instanceof PreparedOkMessage) {
+                    PreparedOkMessage ok = (PreparedOkMessage) message;
+                    int statementId = ok.getStatementId();
+                    int columns = ok.getTotalColumns();
+                    int parameters = ok.getTotalParameters();
+
+                    this.statementId = statementId;
+                    QueryLogger.log(statementId, sql);
+
+                    // columns + parameters <= 0, or metadata omitted, has not metadata follow in.
+                    if (columns <= -parameters || !ok.isMetadataFollows()) {
+                        onPrepared(statementId, sink);
+                    }
+                } else if (message instanceof SyntheticMetadataMessage &&
+                    ((SyntheticMetadataMessage) message).isCompleted()) {
+                    Integer statementId = this.statementId;
+                    if (statementId == null) {
+                        logger.error("Prepared OK message not found");
+                        return;
+                    }
+
+                    onPrepared(statementId, sink);
+                } else {
+                    ReferenceCountUtil.safeRelease(message);
+                }
+                // Ignore all messages in preparing phase.
+                break;
+            case EXECUTE:
+                if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                    // Complete message means execute or fetch phase done (when cursor is not opened).
+                    onCompleteMessage((CompleteMessage) message, sink);
+                } else if (message instanceof SyntheticMetadataMessage) {
+                    EofMessage eof = ((SyntheticMetadataMessage) message).getEof();
+                    if (eof instanceof ServerStatusMessage) {
+                        // Otherwise, cursor does not be opened, wait for end of row EOF message.
+                        if ((((ServerStatusMessage) eof).getServerStatuses() &
+                            ServerStatuses.CURSOR_EXISTS) != 0) {
+                            if (doNextFetch(sink)) {
+                                sink.next(message);
+                            }
+
+                            break;
+                        }
+                    }
+                    // EOF is deprecated (null) or using EOF without statuses.
+                    // EOF is deprecated: wait for OK message.
+                    // EOF without statuses: means cursor does not be opened, wait for end of row EOF message.
+                    // Metadata message should be always emitted in EXECUTE phase.
+                    setMode(FETCH);
+                    sink.next(message);
+                } else {
+                    sink.next(message);
+                }
+
+                break;
+            default:
+                if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                    onCompleteMessage((CompleteMessage) message, sink);
+                } else {
+                    sink.next(message);
+                }
+                break;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed.compareAndSet(false, true)) {
+            Integer statementId = this.statementId;
+            if (shouldClose && statementId != null) {
+                logger.debug("Closing statement {} after used", statementId);
+
+                Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(statementId));
+
+                if (result != Sinks.EmitResult.OK) {
+                    logger.error("Fail to close statement {} due to {}", statementId, result);
+                }
+            }
+            // No particular error condition handling for complete signal.
+            requests.tryEmitComplete();
+
+            while (bindings.hasNext()) {
+                bindings.next().clear();
+            }
+
+            List<ByteBuf> firstChunk = this.firstChunk;
+
+            if (firstChunk != null) {
+                this.firstChunk = null;
+                BulkExecute.release(firstChunk);
+            }
+
+            if (chunks != null) {
+                chunks.dispose();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed.get();
+    }
+
+    private void putToCache(Integer statementId) {
+        boolean putSucceed;
+
+        try {
+            putSucceed = cache.putIfAbsent(sql, statementId, evictId -> {
+                logger.debug("Prepare cache evicts statement {} when putting", evictId);
+
+                Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(evictId));
+
+                if (result != Sinks.EmitResult.OK) {
+                    logger.error("Fail to close evicted statement {} due to {}", statementId, result);
+                }
+            });
+        } catch (Throwable e) {
+            logger.error("Put statement {} to cache failed", statementId, e);
+            putSucceed = false;
+        }
+
+        // If put failed, should close it.
+        this.shouldClose = !putSucceed;
+        logger.debug("Prepare cache put statement {} is {}", statementId, putSucceed ? "succeed" : "fails");
+    }
+
+    private void onPrepared(int statementId, SynchronousSink<ServerMessage> sink) {
+        putToCache(statementId);
+
+        if (inFlight <= 0) {
+            doNextExecute(statementId, sink);
+            return;
+        }
+
+        // The first execution has been pipelined, fill the window by the prepared statement ID.
+        setMode(EXECUTE);
+
+        while (chunks == null && inFlight < window && bindings.hasNext()) {
+            if (!emitNextExecute(statementId)) {
+                sink.complete();
+                return;
+            }
+        }
+    }
+
+    private void doNextExecute(int statementId, SynchronousSink<ServerMessage> sink) {
+        setMode(EXECUTE);
+
+        do {
+            if (!emitNextExecute(statementId)) {
+                sink.complete();
+                return;
+            }
+        } while (chunks == null && inFlight < window && bindings.hasNext());
+    }
+
+    private boolean emitNextExecute(int statementId) {
+        if (chunks != null) {
+            return emitNextBulk(statementId, chunks);
+        }
+
+        PreparedExecuteMessage message = bindings.next().toExecuteMessage(statementId, fetchSize <= 0,
+            boundTypes);
+        int[] boundTypes = message.getBoundTypes();
+
+        if (!Arrays.equals(boundTypes, this.boundTypes)) {
+            // Types bound on the server are unknown until the execution is done.
+            cache.putBoundTypes(sql, statementId, null);
+        }
+
+        this.boundTypes = boundTypes;
+
+        // Long data has no response, it will be streamed by chunks before the execution.
+        for (PreparedLargeDataMessage data : message.toLargeDataMessages()) {
+            Sinks.EmitResult result = requests.tryEmitNext(data);
+
+            if (result != Sinks.EmitResult.OK) {
+                logger.error("Fail to send long data of {} due to {}", statementId, result);
+                message.dispose();
+                return false;
+            }
+        }
+
+        Sinks.EmitResult result = requests.tryEmitNext(message);
+
+        if (result != Sinks.EmitResult.OK) {
+            logger.error("Fail to execute {} due to {}", statementId, result);
+            message.dispose();
+            return false;
+        }
+
+        ++inFlight;
+        return true;
+    }
+
+    private boolean emitNextBulk(int statementId, BulkExecute.Chunks chunks) {
+        List<ByteBuf> firstChunk = this.firstChunk;
+
+        if (firstChunk != null) {
+            this.firstChunk = null;
+            return emitBulk(statementId, firstChunk);
+        }
+
+        // Responses of the previous execution have been received, render the next chunk right now.
+        CompletableFuture<List<ByteBuf>> next = chunks.next().toFuture();
+
+        if (next.isDone() && !next.isCompletedExceptionally()) {
+            // Rendered synchronously, most values are.
+            return emitBulk(statementId, next.join());
+        }
+
+        next.whenComplete((rows, e) -> {
+            if (e != null) {
+                failBulk(statementId, e);
+            } else if (!emitBulk(statementId, rows)) {
+                // Requests have been terminated, the exchange has been cancelled or disposed.
+                dispose();
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * Fails this exchange only.  Nothing is in flight when rendering a chunk, so it resets the statement to
+     * receive a response which terminates the exchange by the error.
+     *
+     * @param statementId the prepared statement ID.
+     * @param e           the failure of rendering.
+     */
+    private void failBulk(int statementId, Throwable e) {
+        if (isDisposed()) {
+            return;
+        }
+
+        logger.debug("Fail to render bulk execution of {}, resetting it", statementId, e);
+        this.renderError = e;
+
+        Sinks.EmitResult result = requests.tryEmitNext(new PreparedResetMessage(statementId));
+
+        if (result != Sinks.EmitResult.OK) {
+            logger.error("Fail to reset {} due to {}", statementId, result);
+            dispose();
+        }
+    }
+
+    private boolean emitBulk(int statementId, List<ByteBuf> rows) {
+        PreparedBulkExecuteMessage message = new PreparedBulkExecuteMessage(statementId, types, unitResults,
+            rows);
+
+        // Bulk executions always send types, which may be bound on the server.
+        cache.putBoundTypes(sql, statementId, null);
+
+        this.rows = rows.size();
+        QueryLogger.logBulk(statementId, this.rows);
+
+        Sinks.EmitResult result = requests.tryEmitNext(message);
+
+        if (result != Sinks.EmitResult.OK) {
+            logger.error("Fail to execute {} in bulk due to {}", statementId, result);
+            message.dispose();
+            return false;
+        }
+
+        ++inFlight;
+        return true;
+    }
+
+    private void acceptBulk(BulkExecute.Chunks chunks, ServerMessage message,
+        SynchronousSink<ServerMessage> sink) {
+        if (message instanceof SyntheticMetadataMessage) {
+            // Unit results, which contains the generated ID and the affected rows of each row.
+            this.results = new BulkExecute.UnitResults(((SyntheticMetadataMessage) message).unwrap(), rows);
+        } else if (message instanceof RowMessage && this.results != null) {
+            this.results.add((RowMessage) message);
+        } else if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+            BulkExecute.UnitResults results = this.results;
+
+            if (results != null) {
+                this.results = null;
+                sink.next(results.split((CompleteMessage) message));
+            } else if (message instanceof OkMessage) {
+                OkMessage ok = (OkMessage) message;
+                List<ServerMessage> split = new ArrayList<>(rows);
+
+                for (int i = 0; i < rows; ++i) {
+                    split.add(ok.splitRow(i, increment));
+                }
+
+                sink.next(new SplitMessage(split));
+            } else {
+                sink.next(message);
+            }
+
+            --inFlight;
+
+            Integer statementId = this.statementId;
+
+            if (!chunks.hasNext()) {
+                sink.complete();
+            } else if (statementId == null) {
+                sink.error(new IllegalStateException("Statement ID must not be null when executing"));
+            } else if (!emitNextBulk(statementId, chunks)) {
+                sink.complete();
+            }
+        } else {
+            sink.next(message);
+        }
+    }
+
+    private boolean doNextFetch(SynchronousSink<ServerMessage> sink) {
+        Integer statementId = this.statementId;
+
+        if (statementId == null) {
+            sink.error(new IllegalStateException("Statement ID must not be null when fetching"));
+            return false;
+        }
+
+        setMode(FETCH);
+
+        Sinks.EmitResult result = requests.tryEmitNext(new PreparedFetchMessage(statementId, fetchSize));
+
+        if (result == Sinks.EmitResult.OK) {
+            return true;
+        }
+
+        logger.error("Fail to fetch {} due to {}", statementId, result);
+        sink.complete();
+
+        return false;
+    }
+
+    private void setMode(int mode) {
+        logger.debug("Mode is changed to {}", mode == EXECUTE ? "EXECUTE" : "FETCH");
+        this.mode = mode;
+    }
+
+    private void onCompleteMessage(CompleteMessage message, SynchronousSink<ServerMessage> sink) {
+        if (requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE)) {
+            logger.error("Unexpected terminated on requests");
+            sink.next(message);
+            sink.complete();
+            return;
+        }
+
+        if (message instanceof ServerStatusMessage) {
+            short statuses = ((ServerStatusMessage) message).getServerStatuses();
+            if ((statuses & ServerStatuses.CURSOR_EXISTS) != 0 &&
+                (statuses & ServerStatuses.LAST_ROW_SENT) == 0) {
+                doNextFetch(sink);
+                // Not last complete message, no need emit.
+                return;
+            }
+            // Otherwise, it is last row sent or did not open cursor.
+        }
+
+        // The last row complete message should be emitted, whatever cursor has been opened.
+        sink.next(message);
+
+        Integer statementId = this.statementId;
+        int[] boundTypes = this.boundTypes;
+
+        if (--inFlight <= 0 && statementId != null && boundTypes != null) {
+            // All executions are done, bound types are known by the server.
+            cache.putBoundTypes(sql, statementId, boundTypes);
+        }
+
+        if (bindings.hasNext()) {
+            if (statementId == null) {
+                sink.error(new IllegalStateException("Statement ID must not be null when executing"));
+                return;
+            }
+
+            doNextExecute(statementId, sink);
+        } else if (inFlight > 0) {
+            // Wait for results of other in-flight executions.
+            setMode(EXECUTE);
+        } else {
+            sink.complete();
+        }
+    }
+}
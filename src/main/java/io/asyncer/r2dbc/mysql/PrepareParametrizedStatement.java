@@ -20,6 +20,7 @@ import io.asyncer.r2dbc.mysql.cache.PrepareCache;
 import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
 import io.asyncer.r2dbc.mysql.internal.util.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
@@ -43,11 +44,55 @@ final class PrepareParametrizedStatement extends ParametrizedStatementSupport {
 
     @Override
     public Flux<MySqlResult> execute(List<Binding> bindings) {
-        return Flux.defer(() -> QueryFlow.execute(client,
+        MultiRowInsert insert = multiRowInsert(bindings);
+
+        if (insert != null) {
+            // Rewritten statements are text queries, so the results are also text results.
+            return Flux.defer(() -> QueryFlow.execute(client, context, query, insert, bindings))
+                .map(messages -> MySqlResult.toResult(false, codecs, context, syntheticKeyName(), messages));
+        }
+
+        BulkExecute bulk = bulkExecute(bindings);
+
+        if (bulk != null) {
+            return Flux.defer(() -> QueryFlow.execute(client, context, query.getFormattedSql(), bulk,
+                    prepareCache))
+                .map(messages -> MySqlResult.toResult(true, codecs, context, syntheticKeyName(),
+                    query.getFormattedSql(), messages));
+        }
+
+        return Flux.defer(() -> QueryFlow.execute(client, context,
                 StringUtils.extendReturning(query.getFormattedSql(), returningIdentifiers()),
-                bindings, fetchSize, prepareCache
+                bindings, fetchSize, context.getBatchPipelineWindow(), prepareCache
             ))
-            .map(messages -> MySqlResult.toResult(true, codecs, context, syntheticKeyName(), messages));
+            .map(messages -> MySqlResult.toResult(true, codecs, context, syntheticKeyName(),
+                query.getFormattedSql(), messages));
+    }
+
+    /**
+     * Get the {@link BulkExecute} if {@code bindings} should be executed by MariaDB bulk executions.
+     * <p>
+     * Without unit results, the result of a bulk execution can be split only if each row affects exactly
+     * one row, i.e. a simple {@code INSERT} statement.
+     *
+     * @param bindings the bindings to execute.
+     * @return the {@link BulkExecute}, or {@code null} if {@code bindings} should be executed one-by-one.
+     */
+    @Nullable
+    private BulkExecute bulkExecute(List<Binding> bindings) {
+        Capability capability = context.getCapability();
+
+        if (!capability.isMariaDbBulkOperations() || bindings.size() <= 1 || fetchSize > 0 ||
+            !returningIdentifiers().isEmpty()) {
+            return null;
+        }
+
+        if (capability.isMariaDbBulkUnitResults() ? !BulkExecute.isDml(query.getFormattedSql()) :
+            query.getMultiRowInsert() == null) {
+            return null;
+        }
+
+        return BulkExecute.resolve(bindings);
     }
 
     @Override
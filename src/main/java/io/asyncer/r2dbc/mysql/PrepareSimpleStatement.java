@@ -46,9 +46,11 @@ final class PrepareSimpleStatement extends SimpleStatementSupport {
 
     @Override
     public Flux<MySqlResult> execute() {
-        return Flux.defer(() -> QueryFlow.execute(client,
-                StringUtils.extendReturning(sql, returningIdentifiers()), BINDINGS, fetchSize, prepareCache))
-            .map(messages -> MySqlResult.toResult(true, codecs, context, syntheticKeyName(), messages));
+        return Flux.defer(() -> QueryFlow.execute(client, context,
+                StringUtils.extendReturning(sql, returningIdentifiers()), BINDINGS, fetchSize, 1,
+                prepareCache))
+            .map(messages -> MySqlResult.toResult(true, codecs, context, syntheticKeyName(), sql,
+                messages));
     }
 
     @Override
@@ -41,6 +41,11 @@ public final class Query {
     @Nullable
     private String formattedSql;
 
+    private boolean multiRowInsertResolved;
+
+    @Nullable
+    private MultiRowInsert multiRowInsert;
+
     private Query(String sql, Map<String, ParameterIndex> namedIndexes, List<Part> parts, int formattedSize) {
         this.sql = sql;
         this.namedIndexes = namedIndexes;
@@ -120,6 +125,27 @@ public final class Query {
         return formattedSql;
     }
 
+    /**
+     * Get the {@link MultiRowInsert} of this query, it will be resolved when first called.
+     *
+     * @return the {@link MultiRowInsert}, or {@code null} if it is not a simple {@code INSERT} statement.
+     */
+    @Nullable
+    MultiRowInsert getMultiRowInsert() {
+        if (!multiRowInsertResolved) {
+            MultiRowInsert insert = MultiRowInsert.parse(getFormattedSql());
+
+            // All parameters should be in the row of values.
+            if (insert != null && insert.getRow().getParameters() == getParameters()) {
+                this.multiRowInsert = insert;
+            }
+
+            this.multiRowInsertResolved = true;
+        }
+
+        return multiRowInsert;
+    }
+
     Map<String, ParameterIndex> getNamedIndexes() {
         return namedIndexes;
     }
@@ -20,36 +20,29 @@ import io.asyncer.r2dbc.mysql.authentication.MySqlAuthProvider;
 import io.asyncer.r2dbc.mysql.cache.PrepareCache;
 import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.client.FluxExchangeable;
-import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
+import io.asyncer.r2dbc.mysql.collation.CharCollation;
+import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.internal.util.StringUtils;
 import io.asyncer.r2dbc.mysql.message.client.AuthResponse;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.HandshakeResponse;
+import io.asyncer.r2dbc.mysql.message.client.LoadDataResponse;
 import io.asyncer.r2dbc.mysql.message.client.LocalInfileResponse;
 import io.asyncer.r2dbc.mysql.message.client.SubsequenceClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.PingMessage;
-import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
-import io.asyncer.r2dbc.mysql.message.client.PreparedCloseMessage;
-import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
-import io.asyncer.r2dbc.mysql.message.client.PreparedFetchMessage;
-import io.asyncer.r2dbc.mysql.message.client.PreparedResetMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.client.SslRequest;
 import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.server.AuthMoreDataMessage;
 import io.asyncer.r2dbc.mysql.message.server.ChangeAuthMessage;
 import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
-import io.asyncer.r2dbc.mysql.message.server.EofMessage;
 import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
 import io.asyncer.r2dbc.mysql.message.server.HandshakeHeader;
 import io.asyncer.r2dbc.mysql.message.server.HandshakeRequest;
 import io.asyncer.r2dbc.mysql.message.server.LocalInfileRequest;
 import io.asyncer.r2dbc.mysql.message.server.OkMessage;
-import io.asyncer.r2dbc.mysql.message.server.PreparedOkMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
-import io.asyncer.r2dbc.mysql.message.server.ServerStatusMessage;
-import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
 import io.asyncer.r2dbc.mysql.message.server.SyntheticSslResponseMessage;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.ReferenceCounted;
@@ -68,12 +61,14 @@ import reactor.core.publisher.Sinks;
 import reactor.core.publisher.SynchronousSink;
 import reactor.util.concurrent.Queues;
 
+import java.nio.charset.Charset;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -100,27 +95,73 @@ final class QueryFlow {
     };
 
     /**
-     * Execute multiple bindings of a server-preparing statement with one-by-one binary execution. The
-     * execution terminates with the last {@link CompleteMessage} or a {@link ErrorMessage}. If client
-     * receives a {@link ErrorMessage} will cancel subsequent {@link Binding}s. The exchange will be completed
-     * by {@link CompleteMessage} after receive the last result for the last binding.
+     * Execute multiple bindings of a server-preparing statement with binary executions. The execution
+     * terminates with the last {@link CompleteMessage} or a {@link ErrorMessage}. If client receives a
+     * {@link ErrorMessage} will cancel subsequent {@link Binding}s. The exchange will be completed by
+     * {@link CompleteMessage} after receive the last result for the last binding.
+     * <p>
+     * If {@code window} is greater than {@literal 1} and it does not use cursor fetching, up to
+     * {@code window} executions will be sent before their results are received.  Results of the executions
+     * that have been sent after a failed execution will be discarded.
+     * <p>
+     * If the statement is not cached and the server is MariaDB, the first execution will be sent right after
+     * the preparing, so that a cold statement also costs only one round trip.
      *
      * @param client    the {@link Client} to exchange messages with.
+     * @param context   the {@link ConnectionContext} for checking if the first execution can be pipelined.
      * @param sql       the statement for exception tracing.
      * @param bindings  the data of bindings.
      * @param fetchSize the size of fetching, if it less than or equal to {@literal 0} means fetch all rows.
+     * @param window    the maximum number of in-flight executions.
      * @param cache     the cache of server-preparing result.
      * @return the messages received in response to this exchange.
      */
-    static Flux<Flux<ServerMessage>> execute(Client client, String sql, List<Binding> bindings, int fetchSize,
-        PrepareCache cache) {
+    static Flux<Flux<ServerMessage>> execute(Client client, ConnectionContext context, String sql,
+        List<Binding> bindings, int fetchSize, int window, PrepareCache cache) {
         return Flux.defer(() -> {
             if (bindings.isEmpty()) {
                 return Flux.empty();
             }
 
             // Note: the prepared SQL may not be sent when the cache matches.
-            return client.exchange(new PrepareExchangeable(cache, sql, bindings.iterator(), fetchSize))
+            return client.exchange(new PrepareExchangeable(cache, sql, bindings.iterator(), fetchSize,
+                    window, context.isMariaDb()))
+                .windowUntil(RESULT_DONE);
+        });
+    }
+
+    /**
+     * Execute multiple bindings of a server-preparing statement by MariaDB bulk executions. Each bulk
+     * execution will not exceed {@code max_allowed_packet} unless it contains only one row. The result of
+     * each bulk execution will be split into results of bindings, by the unit results if
+     * {@code MARIADB_CLIENT_BULK_UNIT_RESULTS} has been negotiated, otherwise by the affected rows and the
+     * first generated ID. The {@link ErrorMessage} will emit an exception and cancel subsequent bulk
+     * executions.
+     *
+     * @param client  the {@link Client} to exchange messages with.
+     * @param context the {@link ConnectionContext} for rendering and splitting results.
+     * @param sql     the statement for exception tracing.
+     * @param bulk    the {@link BulkExecute} resolved from bindings.
+     * @param cache   the cache of server-preparing result.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Flux<ServerMessage>> execute(
+        Client client, ConnectionContext context, String sql, BulkExecute bulk, PrepareCache cache
+    ) {
+        return Flux.defer(() -> {
+            // The first byte of the payload is the command flag, it is counted by the header size.
+            int maxBytes = context.getMaxAllowedPacket();
+            boolean unitResults = context.getCapability().isMariaDbBulkUnitResults();
+
+            BulkExecute.Chunks chunks = bulk.chunks(client.getByteBufAllocator(), maxBytes);
+
+            // Only the first chunk is rendered before the exchange, others are rendered one-by-one when the
+            // previous execution is done.
+            return chunks.next()
+                .doOnError(e -> chunks.dispose())
+                .flatMapMany(first -> client.exchange(new PrepareExchangeable(cache, sql, first, chunks,
+                    bulk.getTypes(), unitResults, context.getAutoIncrementIncrement(), context.isMariaDb())))
+                .concatMapIterable(SplitMessage::flatten)
                 .windowUntil(RESULT_DONE);
         });
     }
@@ -145,7 +186,44 @@ final class QueryFlow {
                 return Flux.empty();
             }
 
-            return client.exchange(new TextQueryExchangeable(query, returning, bindings.iterator()))
+            return client.exchange(new TextQueryExchangeable(query, returning, bindings.iterator(),
+                    bindings.size() == 1))
+                .windowUntil(RESULT_DONE);
+        });
+    }
+
+    /**
+     * Execute multiple bindings of a simple {@code INSERT} statement by rewritten multi-row text queries.
+     * Each rewritten query will not exceed {@code max_allowed_packet} unless it contains only one row. The
+     * result of each rewritten query will be split into results of bindings. The {@link ErrorMessage} will
+     * emit an exception and cancel subsequent rewritten queries.
+     *
+     * @param client   the {@link Client} to exchange messages with.
+     * @param context  the {@link ConnectionContext} for rendering and splitting results.
+     * @param query    the {@link Query} for exception tracing.
+     * @param insert   the {@link MultiRowInsert} resolved from {@code query}.
+     * @param bindings the data of bindings.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Flux<ServerMessage>> execute(
+        Client client, ConnectionContext context, Query query, MultiRowInsert insert, List<Binding> bindings
+    ) {
+        return Flux.defer(() -> {
+            if (bindings.isEmpty()) {
+                return Flux.empty();
+            }
+
+            Charset charset = context.getClientCollation().getCharset();
+            // The first byte of the payload is the command flag.
+            int maxBytes = context.getMaxAllowedPacket() - 1;
+
+            MultiRowInsert.Chunks chunks = insert.chunks(bindings, charset, maxBytes);
+
+            return chunks.next()
+                .doOnError(e -> chunks.dispose())
+                .flatMapMany(first -> client.exchange(new MultiRowInsertExchangeable(query, first, chunks,
+                    context.getAutoIncrementIncrement())))
+                .concatMapIterable(SplitMessage::flatten)
                 .windowUntil(RESULT_DONE);
         });
     }
@@ -187,6 +265,36 @@ final class QueryFlow {
         });
     }
 
+    /**
+     * Loads rows into a table by {@code LOAD DATA LOCAL INFILE} statement.  The rows will be serialized and
+     * sent as the content of the local in-file after the server requests it.  It will emit an exception
+     * when client receives a {@link ErrorMessage}.
+     *
+     * @param client  the {@link Client} to exchange messages with.
+     * @param table   the target table.
+     * @param rows    the encoded rows.
+     * @param options the options of loading.
+     * @return the number of loaded rows.
+     */
+    static Mono<Long> loadData(Client client, String table, Flux<MySqlParameter[]> rows,
+        LoadOptions options) {
+        return Mono.defer(() -> {
+            String sql = buildLoadData(table, options);
+
+            return client.exchange(new LoadDataExchangeable(sql, rows, options.getBufferSize()))
+                .<Long>handle((message, sink) -> {
+                    if (message instanceof ErrorMessage) {
+                        sink.error(((ErrorMessage) message).toException());
+                    } else if (message instanceof OkMessage) {
+                        sink.next(((OkMessage) message).getAffectedRows());
+                    } else {
+                        ReferenceCountUtil.safeRelease(message);
+                    }
+                })
+                .last(0L);
+        });
+    }
+
     /**
      * Login a {@link Client} and receive the {@code client} after logon. It will emit an exception when
      * client receives a {@link ErrorMessage}.
@@ -196,12 +304,15 @@ final class QueryFlow {
      * @param database the database that will be connected.
      * @param user     the user that will be login.
      * @param password the password of the {@code user}.
+     * @param compressionAlgorithms the compression algorithms that can be negotiated.
      * @param context  the {@link ConnectionContext} for initialization.
      * @return the messages received in response to the login exchange.
      */
     static Mono<Client> login(Client client, SslMode sslMode, String database, String user,
-        @Nullable CharSequence password, ConnectionContext context) {
-        return client.exchange(new LoginExchangeable(client, sslMode, database, user, password, context))
+        @Nullable CharSequence password, Set<CompressionAlgorithm> compressionAlgorithms,
+        ConnectionContext context) {
+        return client.exchange(new LoginExchangeable(client, sslMode, database, user, password,
+                compressionAlgorithms, context))
             .onErrorResume(e -> client.forceClose().then(Mono.error(e)))
             .then(Mono.just(client));
     }
@@ -298,6 +409,32 @@ final class QueryFlow {
         return client.exchange(new SimpleQueryExchangeable(sql));
     }
 
+    private static String buildLoadData(String table, LoadOptions options) {
+        String collation = CharCollation.clientCharCollation().getName();
+        int charsetEnd = collation.indexOf('_');
+        StringBuilder builder = new StringBuilder(160).append("LOAD DATA LOCAL INFILE '")
+            .append(LoadDataExchangeable.MARKER)
+            .append('\'');
+
+        if (options.isReplace()) {
+            builder.append(" REPLACE");
+        } else if (options.isIgnore()) {
+            builder.append(" IGNORE");
+        }
+
+        builder.append(" INTO TABLE ").append(table)
+            .append(" CHARACTER SET ").append(charsetEnd < 0 ? collation : collation.substring(0, charsetEnd))
+            .append(" FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'");
+
+        List<String> columns = options.getColumns();
+
+        if (!columns.isEmpty()) {
+            builder.append(" (").append(String.join(",", columns)).append(')');
+        }
+
+        return builder.toString();
+    }
+
     private QueryFlow() { }
 }
 
@@ -391,6 +528,11 @@ final class SimpleQueryExchangeable extends BaseFluxExchangeable {
         }
     }
 
+    @Override
+    public boolean isPipelineable() {
+        return true;
+    }
+
     @Override
     protected String offendingSql() {
         return sql;
@@ -410,10 +552,13 @@ final class TextQueryExchangeable extends BaseFluxExchangeable {
 
     private final Iterator<Binding> bindings;
 
-    TextQueryExchangeable(Query query, String returning, Iterator<Binding> bindings) {
+    private final boolean pipelineable;
+
+    TextQueryExchangeable(Query query, String returning, Iterator<Binding> bindings, boolean pipelineable) {
         this.query = query;
         this.returning = returning;
         this.bindings = bindings;
+        this.pipelineable = pipelineable;
     }
 
     @Override
@@ -452,6 +597,12 @@ final class TextQueryExchangeable extends BaseFluxExchangeable {
         }
     }
 
+    @Override
+    public boolean isPipelineable() {
+        // Subsequent bindings are sent after the previous result is completed.
+        return pipelineable;
+    }
+
     @Override
     protected String offendingSql() {
         return StringUtils.extendReturning(query.getFormattedSql(), returning);
@@ -511,77 +662,44 @@ final class MultiQueryExchangeable extends BaseFluxExchangeable {
 }
 
 /**
- * An implementation of {@link FluxExchangeable} that considers server-preparing queries. Which contains a
- * built-in state machine.
+ * An implementation of {@link FluxExchangeable} that considers a {@code LOAD DATA LOCAL INFILE} statement
+ * with rows of a publisher.
  * <p>
- * It will reset a prepared statement if cache has matched it, otherwise it will prepare statement to a new
- * statement ID and put the ID into the cache. If the statement ID does not exist in the cache after the last
- * row sent, the ID will be closed.
+ * The statement requests a marker file name, and the rows will be sent only if the server requests the
+ * marker.  Any other file will be handled as a regular local in-file, which is restricted by the allowed
+ * path.
  */
-final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
+final class LoadDataExchangeable extends FluxExchangeable<ServerMessage> {
 
-    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PrepareExchangeable.class);
-
-    private static final int PREPARE_OR_RESET = 1;
-
-    private static final int EXECUTE = 2;
-
-    private static final int FETCH = 3;
-
-    private final AtomicBoolean disposed = new AtomicBoolean();
+    static final String MARKER = "r2dbc-mysql-load-data";
 
     private final Sinks.Many<ClientMessage> requests = Sinks.many().unicast()
         .onBackpressureBuffer(Queues.<ClientMessage>one().get());
 
-    private final PrepareCache cache;
-
     private final String sql;
 
-    private final Iterator<Binding> bindings;
-
-    private final int fetchSize;
-
-    private int mode = PREPARE_OR_RESET;
+    private final Flux<MySqlParameter[]> rows;
 
-    @Nullable
-    private Integer statementId;
+    private final int bufferSize;
 
-    private boolean shouldClose;
+    private boolean loaded;
 
-    PrepareExchangeable(PrepareCache cache, String sql, Iterator<Binding> bindings, int fetchSize) {
-        this.cache = cache;
+    LoadDataExchangeable(String sql, Flux<MySqlParameter[]> rows, int bufferSize) {
         this.sql = sql;
-        this.bindings = bindings;
-        this.fetchSize = fetchSize;
+        this.rows = rows;
+        this.bufferSize = bufferSize;
     }
 
     @Override
     public void subscribe(CoreSubscriber<? super ClientMessage> actual) {
-        // It is also initialization method.
         requests.asFlux().subscribe(actual);
 
-        // After subscribe.
-        Integer statementId = cache.getIfPresent(sql);
-        if (statementId == null) {
-            logger.debug("Prepare cache mismatch, try to preparing");
-            this.shouldClose = true;
-            QueryLogger.log(sql);
-            Sinks.EmitResult result = this.requests.tryEmitNext(new PrepareQueryMessage(sql));
+        QueryLogger.log(sql);
 
-            if (result != Sinks.EmitResult.OK) {
-                logger.error("Fail to emit prepare query message due to {}", result);
-            }
-        } else {
-            logger.debug("Prepare cache matched statement {} when getting", statementId);
-            // Should reset only when it comes from cache.
-            this.shouldClose = false;
-            this.statementId = statementId;
-            QueryLogger.log(statementId, sql);
-            Sinks.EmitResult result = this.requests.tryEmitNext(new PreparedResetMessage(statementId));
+        Sinks.EmitResult result = requests.tryEmitNext(new TextQueryMessage(sql));
 
-            if (result != Sinks.EmitResult.OK) {
-                logger.error("Fail to emit reset statement message due to {}", result);
-            }
+        if (result != Sinks.EmitResult.OK) {
+            QueryFlow.logger.error("Emit request failed due to {}", result);
         }
     }
 
@@ -590,211 +708,39 @@ final class PrepareExchangeable extends FluxExchangeable<ServerMessage> {
         if (message instanceof ErrorMessage) {
             sink.next(((ErrorMessage) message).offendedBy(sql));
             sink.complete();
-            return;
-        }
-
-        switch (mode) {
-            case PREPARE_OR_RESET:
-                if (message instanceof OkMessage) {
-                    // Reset succeed.
-                    Integer statementId = this.statementId;
-                    if (statementId == null) {
-                        logger.error("Reset succeed but statement ID was null");
-                        return;
-                    }
-
-                    doNextExecute(statementId, sink);
-                } else if (message instanceof PreparedOkMessage) {
-                    PreparedOkMessage ok = (PreparedOkMessage) message;
-                    int statementId = ok.getStatementId();
-                    int columns = ok.getTotalColumns();
-                    int parameters = ok.getTotalParameters();
-
-                    this.statementId = statementId;
-                    QueryLogger.log(statementId, sql);
+        } else if (message instanceof LocalInfileRequest) {
+            LocalInfileRequest request = (LocalInfileRequest) message;
+            String path = request.getPath();
+            int envelopeId = request.getEnvelopeId() + 1;
 
-                    // columns + parameters <= 0, has not metadata follow in,
-                    if (columns <= -parameters) {
-                        putToCache(statementId);
-                        doNextExecute(statementId, sink);
-                    }
-                } else if (message instanceof SyntheticMetadataMessage &&
-                    ((SyntheticMetadataMessage) message).isCompleted()) {
-                    Integer statementId = this.statementId;
-                    if (statementId == null) {
-                        logger.error("Prepared OK message not found");
-                        return;
-                    }
+            QueryLogger.logLocalInfile(path);
 
-                    putToCache(statementId);
-                    doNextExecute(statementId, sink);
-                } else {
-                    ReferenceCountUtil.safeRelease(message);
-                }
-                // Ignore all messages in preparing phase.
-                break;
-            case EXECUTE:
-                if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
-                    // Complete message means execute or fetch phase done (when cursor is not opened).
-                    onCompleteMessage((CompleteMessage) message, sink);
-                } else if (message instanceof SyntheticMetadataMessage) {
-                    EofMessage eof = ((SyntheticMetadataMessage) message).getEof();
-                    if (eof instanceof ServerStatusMessage) {
-                        // Otherwise, cursor does not be opened, wait for end of row EOF message.
-                        if ((((ServerStatusMessage) eof).getServerStatuses() &
-                            ServerStatuses.CURSOR_EXISTS) != 0) {
-                            if (doNextFetch(sink)) {
-                                sink.next(message);
-                            }
-
-                            break;
-                        }
-                    }
-                    // EOF is deprecated (null) or using EOF without statuses.
-                    // EOF is deprecated: wait for OK message.
-                    // EOF without statuses: means cursor does not be opened, wait for end of row EOF message.
-                    // Metadata message should be always emitted in EXECUTE phase.
-                    setMode(FETCH);
-                    sink.next(message);
-                } else {
-                    sink.next(message);
-                }
+            if (!loaded && MARKER.equals(path)) {
+                loaded = true;
+                requests.emitNext(new LoadDataResponse(envelopeId, rows, bufferSize, sink),
+                    Sinks.EmitFailureHandler.FAIL_FAST);
+            } else {
+                requests.emitNext(new LocalInfileResponse(envelopeId, path, sink),
+                    Sinks.EmitFailureHandler.FAIL_FAST);
+            }
+        } else {
+            sink.next(message);
 
-                break;
-            default:
-                if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
-                    onCompleteMessage((CompleteMessage) message, sink);
-                } else {
-                    sink.next(message);
-                }
-                break;
+            if (message instanceof CompleteMessage && ((CompleteMessage) message).isDone()) {
+                sink.complete();
+            }
         }
     }
 
     @Override
     public void dispose() {
-        if (disposed.compareAndSet(false, true)) {
-            Integer statementId = this.statementId;
-            if (shouldClose && statementId != null) {
-                logger.debug("Closing statement {} after used", statementId);
-
-                Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(statementId));
-
-                if (result != Sinks.EmitResult.OK) {
-                    logger.error("Fail to close statement {} due to {}", statementId, result);
-                }
-            }
-            // No particular error condition handling for complete signal.
-            requests.tryEmitComplete();
-
-            while (bindings.hasNext()) {
-                bindings.next().clear();
-            }
-        }
+        // No particular error condition handling for complete signal.
+        requests.tryEmitComplete();
     }
 
     @Override
     public boolean isDisposed() {
-        return disposed.get();
-    }
-
-    private void putToCache(Integer statementId) {
-        boolean putSucceed;
-
-        try {
-            putSucceed = cache.putIfAbsent(sql, statementId, evictId -> {
-                logger.debug("Prepare cache evicts statement {} when putting", evictId);
-
-                Sinks.EmitResult result = requests.tryEmitNext(new PreparedCloseMessage(evictId));
-
-                if (result != Sinks.EmitResult.OK) {
-                    logger.error("Fail to close evicted statement {} due to {}", statementId, result);
-                }
-            });
-        } catch (Throwable e) {
-            logger.error("Put statement {} to cache failed", statementId, e);
-            putSucceed = false;
-        }
-
-        // If put failed, should close it.
-        this.shouldClose = !putSucceed;
-        logger.debug("Prepare cache put statement {} is {}", statementId, putSucceed ? "succeed" : "fails");
-    }
-
-    private void doNextExecute(int statementId, SynchronousSink<ServerMessage> sink) {
-        setMode(EXECUTE);
-
-        PreparedExecuteMessage message = bindings.next().toExecuteMessage(statementId, fetchSize <= 0);
-        Sinks.EmitResult result = requests.tryEmitNext(message);
-
-        if (result != Sinks.EmitResult.OK) {
-            logger.error("Fail to execute {} due to {}", statementId, result);
-            message.dispose();
-            sink.complete();
-        }
-    }
-
-    private boolean doNextFetch(SynchronousSink<ServerMessage> sink) {
-        Integer statementId = this.statementId;
-
-        if (statementId == null) {
-            sink.error(new IllegalStateException("Statement ID must not be null when fetching"));
-            return false;
-        }
-
-        setMode(FETCH);
-
-        Sinks.EmitResult result = requests.tryEmitNext(new PreparedFetchMessage(statementId, fetchSize));
-
-        if (result == Sinks.EmitResult.OK) {
-            return true;
-        }
-
-        logger.error("Fail to fetch {} due to {}", statementId, result);
-        sink.complete();
-
-        return false;
-    }
-
-    private void setMode(int mode) {
-        logger.debug("Mode is changed to {}", mode == EXECUTE ? "EXECUTE" : "FETCH");
-        this.mode = mode;
-    }
-
-    private void onCompleteMessage(CompleteMessage message, SynchronousSink<ServerMessage> sink) {
-        if (requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE)) {
-            logger.error("Unexpected terminated on requests");
-            sink.next(message);
-            sink.complete();
-            return;
-        }
-
-        if (message instanceof ServerStatusMessage) {
-            short statuses = ((ServerStatusMessage) message).getServerStatuses();
-            if ((statuses & ServerStatuses.CURSOR_EXISTS) != 0 &&
-                (statuses & ServerStatuses.LAST_ROW_SENT) == 0) {
-                doNextFetch(sink);
-                // Not last complete message, no need emit.
-                return;
-            }
-            // Otherwise, it is last row sent or did not open cursor.
-        }
-
-        // The last row complete message should be emitted, whatever cursor has been opened.
-        sink.next(message);
-
-        if (bindings.hasNext()) {
-            Integer statementId = this.statementId;
-
-            if (statementId == null) {
-                sink.error(new IllegalStateException("Statement ID must not be null when executing"));
-                return;
-            }
-
-            doNextExecute(statementId, sink);
-        } else {
-            sink.complete();
-        }
+        return requests.scanOrDefault(Scannable.Attr.TERMINATED, Boolean.FALSE);
     }
 }
 
@@ -814,6 +760,11 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
 
     private static final int HANDSHAKE_VERSION = 10;
 
+    /**
+     * If {@code com.github.luben:zstd-jni} is in the classpath, it is an optional dependency.
+     */
+    private static final boolean ZSTD_AVAILABLE = isClassPresent("com.github.luben.zstd.Zstd");
+
     private final Sinks.Many<SubsequenceClientMessage> requests = Sinks.many().unicast()
         .onBackpressureBuffer(Queues.<SubsequenceClientMessage>one().get());
 
@@ -828,6 +779,8 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
     @Nullable
     private final CharSequence password;
 
+    private final Set<CompressionAlgorithm> compressionAlgorithms;
+
     private final ConnectionContext context;
 
     private boolean handshake = true;
@@ -841,12 +794,14 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
     private int lastEnvelopeId;
 
     LoginExchangeable(Client client, SslMode sslMode, String database, String user,
-        @Nullable CharSequence password, ConnectionContext context) {
+        @Nullable CharSequence password, Set<CompressionAlgorithm> compressionAlgorithms,
+        ConnectionContext context) {
         this.client = client;
         this.sslMode = sslMode;
         this.database = database;
         this.user = user;
         this.password = password;
+        this.compressionAlgorithms = compressionAlgorithms;
         this.context = context;
         this.sslCompleted = sslMode == SslMode.TUNNEL;
     }
@@ -946,7 +901,6 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
         Capability.Builder builder = serverCapability.mutate();
 
         builder.disableDatabasePinned();
-        builder.disableCompression();
         builder.disableIgnoreAmbiguitySpace();
         builder.disableInteractiveTimeout();
 
@@ -973,15 +927,50 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
             builder.disableConnectWithDatabase();
         }
 
-        if (context.getLocalInfilePath() == null) {
+        if (!context.isLocalInfileAllowed()) {
             builder.disableLoadDataLocalInfile();
         }
 
+        if (!context.isOptionalResultSetMetadata()) {
+            builder.disableOptionalResultSetMetadata();
+        }
+
+        if (!context.isBulkUnitResults()) {
+            builder.disableMariaDbBulkUnitResults();
+        }
+
         if (ATTRIBUTES.isEmpty()) {
             builder.disableConnectAttributes();
         }
 
-        return builder.build();
+        boolean zstd = compressionAlgorithms.contains(CompressionAlgorithm.ZSTD);
+
+        if (zstd && !ZSTD_AVAILABLE) {
+            logger.warn("Compression algorithm ZSTD requires com.github.luben:zstd-jni in the classpath, " +
+                "it will not be negotiated");
+            zstd = false;
+        }
+
+        if (serverCapability.isZstdCompression() && zstd) {
+            // Z-Standard is preferred, only one algorithm can be enabled.
+            builder.disableCompression();
+        } else {
+            builder.disableZstdCompression();
+
+            if (!compressionAlgorithms.contains(CompressionAlgorithm.ZLIB)) {
+                builder.disableCompression();
+            }
+        }
+
+        Capability capability = builder.build();
+
+        if (!capability.isZlibCompression() && !capability.isZstdCompression() &&
+            !compressionAlgorithms.contains(CompressionAlgorithm.UNCOMPRESSED)) {
+            throw new R2dbcPermissionDeniedException("Server version '" + context.getServerVersion() +
+                "' does not support any of compression algorithms " + compressionAlgorithms, CLI_SPECIFIC);
+        }
+
+        return capability;
     }
 
     private Capability initHandshake(HandshakeRequest message) {
@@ -1028,7 +1017,16 @@ final class LoginExchangeable extends FluxExchangeable<Void> {
         }
 
         return HandshakeResponse.from(envelopeId, capability, context.getClientCollation().getId(),
-            user, authorization, authType, database, ATTRIBUTES);
+            user, authorization, authType, database, ATTRIBUTES, context.getZstdCompressionLevel());
+    }
+
+    private static boolean isClassPresent(String name) {
+        try {
+            Class.forName(name, false, LoginExchangeable.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 
     private static String authFails(String authType, String phase) {
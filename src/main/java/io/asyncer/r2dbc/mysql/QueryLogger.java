@@ -42,10 +42,18 @@ final class QueryLogger {
         }
     }
 
+    static void log(Query query, int rows) {
+        logger.debug("Executing statement [{}] rewritten with {} rows", query.getFormattedSql(), rows);
+    }
+
     static void log(int statementId, MySqlParameter[] values) {
         logger.debug("Executing prepared statement {} with {}", statementId, values);
     }
 
+    static void logBulk(int statementId, int rows) {
+        logger.debug("Executing prepared statement {} in bulk with {} rows", statementId, rows);
+    }
+
     static void logLocalInfile(String path) {
         logger.debug("Loading data from: {}", path);
     }
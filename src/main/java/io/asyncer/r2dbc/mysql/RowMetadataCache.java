@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
+
+import javax.annotation.concurrent.GuardedBy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded LRU cache of {@link MySqlRowMetadata} keyed by SQL statements, so that results of the same
+ * statement can reuse the row metadata when the column definitions are not changed.  It uses
+ * {@link ReentrantLock} to ensure correctness, even it should not be used thread concurrently.
+ */
+final class RowMetadataCache {
+
+    static final int CAPACITY = 256;
+
+    @GuardedBy("lock")
+    private final LinkedHashMap<String, MySqlRowMetadata> cache =
+        new LinkedHashMap<String, MySqlRowMetadata>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MySqlRowMetadata> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Gets the cached row metadata of {@code sql} if it is defined by the same {@code columns}, otherwise
+     * creates and caches a new one.
+     *
+     * @param sql     the SQL statement.
+     * @param columns the column definitions.
+     * @return the row metadata.
+     */
+    MySqlRowMetadata get(String sql, DefinitionMetadataMessage[] columns) {
+        lock.lock();
+        try {
+            MySqlRowMetadata present = cache.get(sql);
+
+            if (present != null && present.isDefinedBy(columns)) {
+                return present;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        MySqlRowMetadata metadata = MySqlRowMetadata.create(columns);
+
+        lock.lock();
+        try {
+            cache.put(sql, metadata);
+        } finally {
+            lock.unlock();
+        }
+
+        return metadata;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A synthetic message of results which are split from the result of multiple rows, e.g. a multi-row
+ * {@code INSERT} statement or a bulk execution.  An exchange can emit only one message for each response
+ * message, so split results are carried by this message and flattened before results are windowed.
+ */
+final class SplitMessage implements ServerMessage {
+
+    private final List<ServerMessage> messages;
+
+    SplitMessage(List<ServerMessage> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Flattens a message into the messages it carries.
+     *
+     * @param message the message emitted by an exchange.
+     * @return the split messages if it is a {@link SplitMessage}, otherwise the message itself.
+     */
+    static Iterable<ServerMessage> flatten(ServerMessage message) {
+        if (message instanceof SplitMessage) {
+            return ((SplitMessage) message).messages;
+        }
+
+        return Collections.singletonList(message);
+    }
+
+    @Override
+    public String toString() {
+        return "SplitMessage{messages=" + messages + '}';
+    }
+}
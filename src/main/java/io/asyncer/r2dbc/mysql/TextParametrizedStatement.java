@@ -33,8 +33,16 @@ final class TextParametrizedStatement extends ParametrizedStatementSupport {
 
     @Override
     protected Flux<MySqlResult> execute(List<Binding> bindings) {
-        return Flux.defer(() -> QueryFlow.execute(client, query, returningIdentifiers(),
-                bindings))
-            .map(messages -> MySqlResult.toResult(false, codecs, context, syntheticKeyName(), messages));
+        return Flux.defer(() -> {
+                MultiRowInsert insert = multiRowInsert(bindings);
+
+                if (insert == null) {
+                    return QueryFlow.execute(client, query, returningIdentifiers(), bindings);
+                }
+
+                return QueryFlow.execute(client, context, query, insert, bindings);
+            })
+            .map(messages -> MySqlResult.toResult(false, codecs, context, syntheticKeyName(),
+                query.getFormattedSql(), messages));
     }
 }
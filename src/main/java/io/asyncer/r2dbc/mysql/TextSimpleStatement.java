@@ -35,6 +35,7 @@ final class TextSimpleStatement extends SimpleStatementSupport {
         return Flux.defer(() -> QueryFlow.execute(
             client,
             StringUtils.extendReturning(sql, returningIdentifiers())
-        ).map(messages -> MySqlResult.toResult(false, codecs, context, syntheticKeyName(), messages)));
+        ).map(messages -> MySqlResult.toResult(false, codecs, context, syntheticKeyName(), sql,
+            messages)));
     }
 }
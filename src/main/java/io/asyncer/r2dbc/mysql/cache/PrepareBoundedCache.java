@@ -16,7 +16,10 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.IntConsumer;
 
@@ -34,6 +37,11 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
 
     private final Lru<Integer> protection;
 
+    /**
+     * Parameter types bound by the last execution of cached statements, keyed by statement IDs.
+     */
+    private final Map<Integer, int[]> boundTypes = new HashMap<>();
+
     private final ReentrantLock lock = new ReentrantLock();
 
     PrepareBoundedCache(int capacity) {
@@ -83,6 +91,36 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
         }
     }
 
+    @Override
+    public int[] getBoundTypes(int value) {
+        lock.lock();
+        try {
+            return boundTypes.get(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putBoundTypes(String key, int value, @Nullable int[] types) {
+        lock.lock();
+        try {
+            Lru.Node<Integer> node = super.get(key);
+
+            if (node == null || node.getValue() != value) {
+                return;
+            }
+
+            if (types == null) {
+                boundTypes.remove(value);
+            } else {
+                boundTypes.put(value, types);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public String toString() {
         return window.toString() + probation + protection;
@@ -138,6 +176,7 @@ final class PrepareBoundedCache extends HashMap<String, Lru.Node<Integer>> imple
         }
 
         super.remove(evicted.getKey(), evicted);
+        boundTypes.remove(evicted.getValue());
         evict.accept(evicted.getValue());
     }
 }
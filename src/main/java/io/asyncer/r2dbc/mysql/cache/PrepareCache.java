@@ -44,4 +44,29 @@ public interface PrepareCache {
      * @return {@code true} if {@code value} has been put succeed.
      */
     boolean putIfAbsent(String key, int value, IntConsumer evict);
+
+    /**
+     * Get the parameter types bound by the last execution of a cached prepared statement.
+     *
+     * @param value the prepared statement ID.
+     * @return the type IDs, or {@code null} if unknown.
+     * @since 1.1.2
+     */
+    @Nullable
+    default int[] getBoundTypes(int value) {
+        return null;
+    }
+
+    /**
+     * Put the parameter types bound by the last execution of a prepared statement.  It takes effect only if
+     * {@code value} is cached by {@code key}, and the types will be removed when {@code value} is evicted.
+     *
+     * @param key   the key of {@code value}, which is usually SQL statements.
+     * @param value the prepared statement ID.
+     * @param types the type IDs, or {@code null} to remove the bound types if they become unknown.
+     * @since 1.1.2
+     */
+    default void putBoundTypes(String key, int value, @Nullable int[] types) {
+        // Do nothing by default.
+    }
 }
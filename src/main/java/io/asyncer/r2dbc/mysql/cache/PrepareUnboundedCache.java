@@ -16,6 +16,9 @@
 
 package io.asyncer.r2dbc.mysql.cache;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.IntConsumer;
 
@@ -24,6 +27,11 @@ import java.util.function.IntConsumer;
  */
 final class PrepareUnboundedCache extends ConcurrentHashMap<String, Integer> implements PrepareCache {
 
+    /**
+     * Parameter types bound by the last execution of cached statements, keyed by statement IDs.
+     */
+    private final Map<Integer, int[]> boundTypes = new ConcurrentHashMap<>();
+
     @Override
     public Integer getIfPresent(String key) {
         return super.get(key);
@@ -33,4 +41,24 @@ final class PrepareUnboundedCache extends ConcurrentHashMap<String, Integer> imp
     public boolean putIfAbsent(String key, int value, IntConsumer evict) {
         return super.putIfAbsent(key, value) == null;
     }
+
+    @Override
+    public int[] getBoundTypes(int value) {
+        return boundTypes.get(value);
+    }
+
+    @Override
+    public void putBoundTypes(String key, int value, @Nullable int[] types) {
+        Integer present = super.get(key);
+
+        if (present == null || present != value) {
+            return;
+        }
+
+        if (types == null) {
+            boundTypes.remove(value);
+        } else {
+            boundTypes.put(value, types);
+        }
+    }
 }
@@ -28,7 +28,9 @@ import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
+import reactor.netty.resources.LoopResources;
 import reactor.netty.tcp.TcpClient;
+import reactor.netty.tcp.TcpResources;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -114,6 +116,13 @@ public interface Client {
      * @param address        socket address, may be host address, or Unix Domain Socket address
      * @param tcpKeepAlive   if enable the {@link ChannelOption#SO_KEEPALIVE}
      * @param tcpNoDelay     if enable the {@link ChannelOption#TCP_NODELAY}
+     * @param loopResources  the dedicated event loops, or {@code null} to use the global resources
+     * @param preferNative   if prefer a native transport, e.g. epoll or io_uring
+     * @param tcpQuickAck    if enable the {@code TCP_QUICKACK}, epoll only
+     * @param receiveBuffer  the {@link ChannelOption#SO_RCVBUF}, or {@code 0} to use the default
+     * @param sendBuffer     the {@link ChannelOption#SO_SNDBUF}, or {@code 0} to use the default
+     * @param busyPollMicros the {@code SO_BUSY_POLL}, or {@code 0} to disable, epoll only
+     * @param pipelining     if enable the command pipelining
      * @param context        the connection context
      * @param connectTimeout connect timeout, or {@code null} if it has no timeout
      * @return A {@link Mono} that will emit a connected {@link Client}.
@@ -121,12 +130,15 @@ public interface Client {
      * @throws ArithmeticException      if {@code connectTimeout} milliseconds overflow as an int
      */
     static Mono<Client> connect(MySqlSslConfiguration ssl, SocketAddress address, boolean tcpKeepAlive,
-        boolean tcpNoDelay, ConnectionContext context, @Nullable Duration connectTimeout) {
+        boolean tcpNoDelay, @Nullable LoopResources loopResources, boolean preferNative,
+        boolean tcpQuickAck, int receiveBuffer, int sendBuffer, int busyPollMicros, boolean pipelining,
+        ConnectionContext context, @Nullable Duration connectTimeout) {
         requireNonNull(ssl, "ssl must not be null");
         requireNonNull(address, "address must not be null");
         requireNonNull(context, "context must not be null");
 
-        TcpClient tcpClient = TcpClient.newConnection();
+        TcpClient tcpClient = TcpClient.newConnection()
+            .runOn(loopResources == null ? TcpResources.get() : loopResources, preferNative);
 
         if (connectTimeout != null) {
             tcpClient = tcpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
@@ -136,9 +148,26 @@ public interface Client {
         if (address instanceof InetSocketAddress) {
             tcpClient = tcpClient.option(ChannelOption.SO_KEEPALIVE, tcpKeepAlive);
             tcpClient = tcpClient.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+
+            if (receiveBuffer > 0) {
+                tcpClient = tcpClient.option(ChannelOption.SO_RCVBUF, receiveBuffer);
+            }
+
+            if (sendBuffer > 0) {
+                tcpClient = tcpClient.option(ChannelOption.SO_SNDBUF, sendBuffer);
+            }
+
+            if (tcpQuickAck || busyPollMicros > 0) {
+                if (EpollChannelInitializer.isAvailable()) {
+                    tcpClient = tcpClient.doOnChannelInit(new EpollChannelInitializer(tcpQuickAck,
+                        busyPollMicros));
+                } else {
+                    logger.debug("Epoll options are ignored because epoll is unavailable");
+                }
+            }
         }
 
         return tcpClient.remoteAddress(() -> address).connect()
-            .map(conn -> new ReactorNettyClient(conn, ssl, context));
+            .map(conn -> new ReactorNettyClient(conn, ssl, context, pipelining));
     }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.PromiseCombiner;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * Compress/decompress logic of the compression protocol. It should be placed before {@link EnvelopeSlicer}
+ * and after {@link CompressionSlicer}, and it will be added into the pipeline after the connection logon.
+ * <p>
+ * A compressed envelope contains a 7-bytes header: 3-bytes size of compressed payload, 1-byte compressed
+ * sequence ID and 3-bytes size of uncompressed payload. The uncompressed size is {@code 0} if the payload
+ * is not compressed. The payload of compressed envelopes is a stream of uncompressed envelopes, an
+ * uncompressed envelope may be split into multiple compressed envelopes.
+ * <p>
+ * The compressed sequence ID is independent of the envelope ID, it will be reset to {@code 0} when the
+ * client starts a new command, i.e. writes an envelope with ID {@code 0}.
+ */
+final class CompressionDuplexCodec extends ChannelDuplexHandler {
+
+    static final String NAME = "R2dbcMySqlCompressionDuplexCodec";
+
+    /**
+     * The byte size of compressed envelope header.
+     */
+    static final int HEADER_SIZE = Envelopes.SIZE_FIELD_SIZE + 1 + Envelopes.SIZE_FIELD_SIZE;
+
+    /**
+     * The payload will not be compressed if its size is less than this value, same as Connector/C.
+     */
+    private static final int MIN_COMPRESS_LENGTH = 50;
+
+    private final Compressor compressor;
+
+    private int sequenceId;
+
+    /**
+     * The remaining bytes of the uncompressed envelope payload that is being written.
+     */
+    private int envelopeRemaining;
+
+    @Nullable
+    private CompositeByteBuf cumulated;
+
+    /**
+     * Promises of messages that have been cumulated, they will be completed by futures of compressed
+     * envelopes when the cumulated bytes are drained.
+     */
+    private final List<ChannelPromise> promises = new ArrayList<>();
+
+    /**
+     * Futures of compressed envelopes that have been written since the last drain.
+     */
+    @Nullable
+    private PromiseCombiner combiner;
+
+    CompressionDuplexCodec(Compressor compressor) {
+        this.compressor = requireNonNull(compressor, "compressor must not be null");
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf) {
+            ByteBuf buf = (ByteBuf) msg;
+            ByteBuf payload;
+
+            try {
+                // Skip compressed size, it has been checked by CompressionSlicer.
+                buf.skipBytes(Envelopes.SIZE_FIELD_SIZE);
+                this.sequenceId = (buf.readUnsignedByte() + 1) & 0xFF;
+
+                int uncompressedSize = buf.readUnsignedMediumLE();
+
+                if (uncompressedSize == 0) {
+                    payload = buf.retain();
+                } else {
+                    payload = compressor.decompress(buf, uncompressedSize);
+                }
+            } finally {
+                buf.release();
+            }
+
+            ctx.fireChannelRead(payload);
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof ByteBuf)) {
+            // Other messages, e.g. FileRegion, can not be compressed and would overtake cumulated bytes.
+            ReferenceCountUtil.release(msg);
+            promise.setFailure(new IllegalArgumentException("Compression protocol supports only ByteBuf, " +
+                "but got " + msg.getClass().getName()));
+            return;
+        }
+
+        ByteBuf buf = (ByteBuf) msg;
+
+        try {
+            if (envelopeRemaining == 0 && buf.readableBytes() >= Envelopes.PART_HEADER_SIZE) {
+                // It is an envelope header, envelope ID 0 means a new command.
+                if (buf.getUnsignedByte(buf.readerIndex() + Envelopes.SIZE_FIELD_SIZE) == 0) {
+                    drain(ctx);
+                    this.sequenceId = 0;
+                }
+
+                envelopeRemaining = buf.getUnsignedMediumLE(buf.readerIndex()) + Envelopes.PART_HEADER_SIZE;
+            }
+
+            envelopeRemaining = Math.max(envelopeRemaining - buf.readableBytes(), 0);
+
+            CompositeByteBuf cumulated = this.cumulated;
+
+            if (cumulated == null) {
+                this.cumulated = cumulated = ctx.alloc().compositeBuffer();
+            }
+
+            cumulated.addComponent(true, buf);
+            buf = null;
+            promises.add(promise);
+            promise = null;
+
+            while (cumulated.readableBytes() >= Envelopes.MAX_ENVELOPE_SIZE) {
+                writeCompressed(ctx, cumulated.readRetainedSlice(Envelopes.MAX_ENVELOPE_SIZE));
+                cumulated.discardReadComponents();
+            }
+        } catch (Throwable e) {
+            if (buf != null) {
+                buf.release();
+            }
+
+            if (promise == null) {
+                failPromises(e);
+            } else {
+                promise.setFailure(e);
+            }
+        }
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        drain(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        CompositeByteBuf cumulated = this.cumulated;
+
+        this.cumulated = null;
+
+        if (cumulated != null) {
+            cumulated.release();
+        }
+
+        failPromises(new IllegalStateException("Compression codec has been removed before flushing"));
+        compressor.dispose();
+    }
+
+    private void drain(ChannelHandlerContext ctx) {
+        CompositeByteBuf cumulated = this.cumulated;
+
+        if (cumulated != null) {
+            this.cumulated = null;
+
+            try {
+                while (cumulated.isReadable()) {
+                    int size = Math.min(cumulated.readableBytes(), Envelopes.MAX_ENVELOPE_SIZE);
+
+                    writeCompressed(ctx, cumulated.readRetainedSlice(size));
+                }
+            } catch (Throwable e) {
+                failPromises(e);
+                throw e;
+            } finally {
+                cumulated.release();
+            }
+        }
+
+        completePromises(ctx);
+    }
+
+    /**
+     * Completes promises of drained messages by futures of all compressed envelopes that carried them.
+     *
+     * @param ctx the context of the pipeline.
+     */
+    private void completePromises(ChannelHandlerContext ctx) {
+        PromiseCombiner combiner = this.combiner;
+
+        this.combiner = null;
+
+        if (promises.isEmpty()) {
+            if (combiner != null) {
+                combiner.finish(ctx.voidPromise());
+            }
+
+            return;
+        }
+
+        ChannelPromise[] waiting = promises.toArray(new ChannelPromise[0]);
+
+        promises.clear();
+
+        if (combiner == null) {
+            // Only empty buffers have been written.
+            for (ChannelPromise promise : waiting) {
+                promise.trySuccess();
+            }
+
+            return;
+        }
+
+        ChannelPromise aggregate = ctx.newPromise();
+
+        aggregate.addListener(future -> {
+            Throwable cause = future.cause();
+
+            for (ChannelPromise promise : waiting) {
+                if (cause == null) {
+                    promise.trySuccess();
+                } else {
+                    promise.tryFailure(cause);
+                }
+            }
+        });
+        combiner.finish(aggregate);
+    }
+
+    private void failPromises(Throwable cause) {
+        this.combiner = null;
+
+        for (ChannelPromise promise : promises) {
+            promise.tryFailure(cause);
+        }
+
+        promises.clear();
+    }
+
+    /**
+     * Writes a compressed envelope, the {@code payload} will be released.
+     *
+     * @param ctx     the context of the pipeline.
+     * @param payload the uncompressed payload.
+     */
+    private void writeCompressed(ChannelHandlerContext ctx, ByteBuf payload) {
+        ByteBuf compressed = payload;
+        ByteBuf header = null;
+
+        try {
+            int size = payload.readableBytes();
+
+            if (size >= MIN_COMPRESS_LENGTH) {
+                compressed = compressor.compress(payload);
+            }
+
+            header = ctx.alloc().buffer(HEADER_SIZE);
+
+            if (compressed == payload) {
+                header.writeMediumLE(size).writeByte(sequenceId).writeMediumLE(0);
+            } else {
+                header.writeMediumLE(compressed.readableBytes()).writeByte(sequenceId).writeMediumLE(size);
+                payload.release();
+            }
+
+            this.sequenceId = (sequenceId + 1) & 0xFF;
+        } catch (Throwable e) {
+            if (header != null) {
+                header.release();
+            }
+
+            if (compressed != payload) {
+                compressed.release();
+            }
+
+            payload.release();
+            throw e;
+        }
+
+        PromiseCombiner combiner = this.combiner;
+
+        if (combiner == null) {
+            this.combiner = combiner = new PromiseCombiner(ctx.executor());
+        }
+
+        combiner.add(ctx.write(header));
+        combiner.add(ctx.write(compressed));
+    }
+}
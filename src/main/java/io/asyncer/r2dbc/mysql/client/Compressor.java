@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * An abstraction of the compression algorithm for the compressed protocol.
+ * <p>
+ * It is not thread-safe, each connection should have its own instance. It will be used only in the event
+ * loop of the connection.
+ */
+interface Compressor {
+
+    /**
+     * Compresses a buffer.  It will not release the {@code buf} and will not change the reader index of the
+     * {@code buf}.
+     *
+     * @param buf the buffer to compress.
+     * @return the compressed buffer, or the original {@code buf} if the compressed data is not smaller than
+     * the original data.
+     */
+    ByteBuf compress(ByteBuf buf);
+
+    /**
+     * Decompresses a buffer.  It will not release the {@code buf}.
+     *
+     * @param buf              the buffer to decompress.
+     * @param uncompressedSize the size of the uncompressed data.
+     * @return the decompressed buffer.
+     * @throws io.netty.handler.codec.DecoderException if the data is corrupted.
+     */
+    ByteBuf decompress(ByteBuf buf, int uncompressedSize);
+
+    /**
+     * Releases the native resources of the compressor.  It should be called only once.
+     */
+    void dispose();
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+import reactor.netty.ChannelPipelineConfigurer;
+import reactor.netty.ConnectionObserver;
+
+import java.net.SocketAddress;
+
+/**
+ * A {@link ChannelPipelineConfigurer} that sets epoll only options on channel initialization, other
+ * transports would warn about unknown options.
+ * <p>
+ * Note: it references epoll classes, so it should be used only if {@link #isAvailable()}.
+ */
+final class EpollChannelInitializer implements ChannelPipelineConfigurer {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(
+        EpollChannelInitializer.class);
+
+    private final boolean tcpQuickAck;
+
+    private final int busyPollMicros;
+
+    EpollChannelInitializer(boolean tcpQuickAck, int busyPollMicros) {
+        this.tcpQuickAck = tcpQuickAck;
+        this.busyPollMicros = busyPollMicros;
+    }
+
+    @Override
+    public void onChannelInit(ConnectionObserver observer, Channel channel, @Nullable SocketAddress remote) {
+        if (!(channel instanceof EpollSocketChannel)) {
+            logger.debug("Epoll options are ignored by {}", channel.getClass().getSimpleName());
+            return;
+        }
+
+        ChannelConfig config = channel.config();
+
+        if (tcpQuickAck) {
+            config.setOption(EpollChannelOption.TCP_QUICKACK, true);
+        }
+
+        if (busyPollMicros > 0) {
+            config.setOption(EpollChannelOption.SO_BUSY_POLL, busyPollMicros);
+        }
+    }
+
+    /**
+     * Checks if the epoll transport is available, i.e. classes and the native library of epoll are
+     * present.  Users may exclude the native artifact of epoll.
+     *
+     * @return if epoll is available.
+     */
+    static boolean isAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -32,5 +32,14 @@ import java.util.function.BiConsumer;
 public abstract class FluxExchangeable<T> extends Flux<ClientMessage>
     implements BiConsumer<ServerMessage, SynchronousSink<T>>, Disposable {
 
-    // It is an empty abstraction.
+    /**
+     * Checks if all request messages of this exchange will be emitted on subscription, i.e. no request
+     * message depends on the responses.  If it is {@code true}, the requests can be written before previous
+     * exchanges have completed when command pipelining is enabled.
+     *
+     * @return if the requests can be pipelined, default is {@code false}.
+     */
+    public boolean isPipelineable() {
+        return false;
+    }
 }
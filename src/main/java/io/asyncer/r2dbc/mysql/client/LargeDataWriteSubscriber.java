@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+
+/**
+ * An implementation of {@link CoreSubscriber} for {@link ChannelHandlerContext} write and flush subscribed by
+ * streaming long data commands or streaming content of a local in-file, each {@link ByteBuf} will be written
+ * as one envelope.  For long data commands, each {@link ByteBuf} is a complete command, so all envelope IDs
+ * are {@code 0}.  For content of a local in-file, envelope IDs are increased from the start ID.
+ * <p>
+ * Unlike {@link WriteSubscriber}, it requests commands one by one.  The next command is requested immediately
+ * if the channel is still writable, otherwise it is requested after the previous command has been written.
+ * So only a few commands will be held in memory, even if the long data is huge.
+ * <p>
+ * It ensures {@link #promise} will be complete.
+ */
+final class LargeDataWriteSubscriber implements CoreSubscriber<ByteBuf>, ChannelFutureListener {
+
+    private final ChannelHandlerContext ctx;
+
+    private final ChannelPromise promise;
+
+    private final boolean subsequence;
+
+    private int envelopeId;
+
+    private Subscription s;
+
+    LargeDataWriteSubscriber(ChannelHandlerContext ctx, ChannelPromise promise) {
+        this(ctx, promise, 0, false);
+    }
+
+    LargeDataWriteSubscriber(ChannelHandlerContext ctx, ChannelPromise promise, int envelopeId,
+        boolean subsequence) {
+        this.ctx = ctx;
+        this.promise = promise;
+        this.envelopeId = envelopeId;
+        this.subsequence = subsequence;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        this.s = s;
+        s.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuf buf) {
+        int size = buf.readableBytes();
+        ByteBuf header;
+
+        try {
+            header = ctx.alloc().buffer(Envelopes.PART_HEADER_SIZE)
+                .writeMediumLE(size)
+                .writeByte(subsequence ? envelopeId++ : envelopeId);
+        } catch (Throwable e) {
+            buf.release();
+            s.cancel();
+            onError(e);
+            return;
+        }
+
+        ctx.write(header);
+
+        ChannelFuture future = ctx.writeAndFlush(buf);
+
+        if (ctx.channel().isWritable()) {
+            future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            s.request(1);
+        } else {
+            future.addListener(this);
+        }
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        // Ignore this cause for this promise because it is channel exception.
+        promise.trySuccess();
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void onComplete() {
+        promise.trySuccess();
+    }
+
+    @Override
+    public void operationComplete(ChannelFuture future) {
+        if (future.isSuccess()) {
+            s.request(1);
+        } else {
+            s.cancel();
+            onError(future.cause());
+        }
+    }
+}
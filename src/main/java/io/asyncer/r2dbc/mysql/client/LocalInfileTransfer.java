@@ -0,0 +1,231 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
+import io.asyncer.r2dbc.mysql.message.client.LocalInfileResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A transfer of the local infile which is requested by {@code LOAD DATA LOCAL INFILE}, the file content will
+ * not be copied into the user space if possible.
+ * <p>
+ * The file is split into envelopes, each envelope header is written before the envelope body.  The body is a
+ * {@link DefaultFileRegion} on plaintext connections, which can be sent by {@code sendfile}.  Otherwise, the
+ * connection is encrypted or compressed and the content must pass through handlers, so the body is a
+ * memory-mapped slice of the file.
+ * <p>
+ * The next envelope is written immediately if the channel is still writable, otherwise it is written after
+ * the previous envelope has been written.  The last envelope is always an empty envelope, it will be sent
+ * even if the file cannot be read, and the error will be reported after that.
+ * <p>
+ * It ensures {@link #promise} will be complete.
+ */
+final class LocalInfileTransfer implements ChannelFutureListener {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(LocalInfileTransfer.class);
+
+    /**
+     * The maximum size of an envelope body.  It is less than {@link Envelopes#MAX_ENVELOPE_SIZE}, so that
+     * no envelope is a full-size envelope and no empty envelope is required between them.
+     */
+    private static final int CHUNK_SIZE = Envelopes.MAX_ENVELOPE_SIZE - 1;
+
+    private final ChannelHandlerContext ctx;
+
+    private final LocalInfileResponse response;
+
+    private final ChannelPromise promise;
+
+    private final boolean zeroCopy;
+
+    private int envelopeId;
+
+    @Nullable
+    private File file;
+
+    @Nullable
+    private FileChannel channel;
+
+    private long size;
+
+    private long position;
+
+    private long startTime;
+
+    private LocalInfileTransfer(ChannelHandlerContext ctx, LocalInfileResponse response,
+        ChannelPromise promise) {
+        this.ctx = ctx;
+        this.response = response;
+        this.promise = promise;
+        this.zeroCopy = ctx.pipeline().get(SslHandler.class) == null &&
+            ctx.pipeline().get(CompressionDuplexCodec.NAME) == null;
+        this.envelopeId = response.getEnvelopeId();
+    }
+
+    @Override
+    public void operationComplete(ChannelFuture future) {
+        if (future.isSuccess()) {
+            writeNext();
+        } else {
+            fail(future.cause());
+        }
+    }
+
+    private void start(ConnectionContext context) {
+        try {
+            Path path = response.resolveFile(context);
+
+            this.file = path.toFile();
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = this.channel.size();
+            this.startTime = System.nanoTime();
+        } catch (Throwable e) {
+            closeFile();
+            writeEmpty(e);
+            return;
+        }
+
+        writeNext();
+    }
+
+    private void writeNext() {
+        try {
+            while (position < size) {
+                int length = (int) Math.min(size - position, CHUNK_SIZE);
+                ByteBuf header = ctx.alloc().buffer(Envelopes.PART_HEADER_SIZE)
+                    .writeMediumLE(length)
+                    .writeByte(envelopeId++);
+
+                ctx.write(header, ctx.voidPromise());
+
+                ChannelFuture future = ctx.writeAndFlush(body(position, length));
+
+                position += length;
+
+                if (!ctx.channel().isWritable()) {
+                    future.addListener(this);
+                    return;
+                }
+
+                future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+            }
+        } catch (Throwable e) {
+            fail(e);
+            return;
+        }
+
+        if (logger.isDebugEnabled()) {
+            long elapsed = Math.max(System.nanoTime() - startTime, 1);
+
+            logger.debug("Local infile {} sent {} bytes in {}ms ({} MB/s, {})", file, size,
+                elapsed / 1_000_000, String.format("%.2f", size * 1000.0 / elapsed),
+                zeroCopy ? "file region" : "memory-mapped");
+        }
+
+        closeFile();
+        writeEmpty(null);
+    }
+
+    private Object body(long position, int length) throws IOException {
+        if (zeroCopy) {
+            // It opens the file lazily and closes it after it has been transferred.
+            return new DefaultFileRegion(file, position, length);
+        }
+
+        // The mapping remains valid after the channel has been closed.
+        return Unpooled.wrappedBuffer(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+    }
+
+    private void writeEmpty(@Nullable Throwable error) {
+        ByteBuf header;
+
+        try {
+            header = ctx.alloc().buffer(Envelopes.PART_HEADER_SIZE)
+                .writeMediumLE(0)
+                .writeByte(envelopeId);
+        } catch (Throwable e) {
+            fail(e);
+            return;
+        }
+
+        ctx.writeAndFlush(header).addListener(future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess();
+
+                if (error != null) {
+                    response.reportError(error);
+                }
+            } else {
+                fail(future.cause());
+            }
+        });
+    }
+
+    private void fail(Throwable cause) {
+        closeFile();
+        // Ignore this cause for this promise because it is channel exception.
+        promise.trySuccess();
+        ctx.fireExceptionCaught(cause);
+    }
+
+    private void closeFile() {
+        FileChannel channel = this.channel;
+
+        if (channel == null) {
+            return;
+        }
+
+        this.channel = null;
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close local infile {}", file, e);
+        }
+    }
+
+    /**
+     * Sends the local infile of a {@link LocalInfileResponse}.
+     *
+     * @param ctx      the channel handler context.
+     * @param response the local infile response.
+     * @param context  the connection context.
+     * @param promise  the promise which will be complete after the last envelope has been written.
+     */
+    static void transfer(ChannelHandlerContext ctx, LocalInfileResponse response, ConnectionContext context,
+        ChannelPromise promise) {
+        new LocalInfileTransfer(ctx, response, promise).start(context);
+    }
+}
@@ -19,29 +19,48 @@ package io.asyncer.r2dbc.mysql.client;
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.LoadDataResponse;
+import io.asyncer.r2dbc.mysql.message.client.LocalInfileResponse;
 import io.asyncer.r2dbc.mysql.message.client.SubsequenceClientMessage;
 import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedCloseMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
 import io.asyncer.r2dbc.mysql.message.client.PreparedFetchMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedLargeDataMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedTextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.client.SslRequest;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
 import io.asyncer.r2dbc.mysql.message.server.ColumnCountMessage;
 import io.asyncer.r2dbc.mysql.message.server.CompleteMessage;
 import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
 import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
 import io.asyncer.r2dbc.mysql.message.server.PreparedOkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowBatchMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
 import io.asyncer.r2dbc.mysql.message.server.ServerStatusMessage;
 import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.jetbrains.annotations.Nullable;
 import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
 /**
@@ -57,12 +76,70 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
 
     private final ConnectionContext context;
 
-    private final ServerMessageDecoder decoder = new ServerMessageDecoder();
+    private final ServerMessageDecoder decoder = new ServerMessageDecoder(this::resumeReading);
+
+    /**
+     * If results of the last written query are encoded by binary protocol.
+     */
+    private boolean binaryResult;
+
+    /**
+     * If results of the last written query are unit results of a bulk execution, which are not results of
+     * the statement, so they should never be recorded as known metadata.
+     */
+    private boolean bulkResult;
+
+    /**
+     * Column metadata of prepared statements by statement ID, for decoding results which metadata has been
+     * omitted by the server.  It is used only if {@code CLIENT_OPTIONAL_RESULTSET_METADATA} or
+     * {@code MARIADB_CLIENT_CACHE_METADATA} is negotiated.
+     */
+    private final Map<Integer, DefinitionMetadataMessage[]> preparedMetadata = new HashMap<>();
+
+    /**
+     * The statement ID of the last received prepared OK message.
+     */
+    private int preparingId;
+
+    /**
+     * The number of columns of the last received prepared OK message, reset after its metadata received.
+     */
+    private int preparingColumns;
+
+    /**
+     * The statement ID of the last written execute message, it may be
+     * {@link PreparedExecuteMessage#LAST_PREPARED_ID}.
+     */
+    private int executingId;
+
+    /**
+     * If the metadata of current binary result should replace the known metadata of the executing statement.
+     */
+    private boolean executingMetadata;
+
+    /**
+     * Rows decoded by current read of the channel, they will be emitted as a batch when the read completes or
+     * any other message is decoded.  It is used only if {@link ConnectionContext#isBatchRowsPerRead()}.
+     */
+    private final List<RowMessage> batchedRows = new ArrayList<>();
+
+    /**
+     * If reading is paused by this codec, because chunks of a streaming field have not been consumed.
+     */
+    private boolean readingPaused;
+
+    @Nullable
+    private ChannelHandlerContext ctx;
 
     MessageDuplexCodec(ConnectionContext context) {
         this.context = requireNonNull(context, "context must not be null");
     }
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
         if (msg instanceof ByteBuf) {
@@ -72,8 +149,12 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             if (message != null) {
                 handleDecoded(ctx, message);
             }
+
+            if (this.decoder.isBackpressured()) {
+                pauseReading(ctx);
+            }
         } else if (msg instanceof ServerMessage) {
-            ctx.fireChannelRead(msg);
+            fireRead(ctx, (ServerMessage) msg);
         } else {
             if (logger.isWarnEnabled()) {
                 logger.warn("Unknown message type {} on reading", msg.getClass());
@@ -88,7 +169,19 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             ByteBufAllocator allocator = ctx.alloc();
             Flux<ByteBuf> encoded;
 
-            if (msg instanceof SubsequenceClientMessage) {
+            if (msg instanceof PreparedLargeDataMessage) {
+                // Each buffer is a complete command, write them one by one with backpressure.
+                Flux.from(((ClientMessage) msg).encode(allocator, this.context))
+                    .subscribe(new LargeDataWriteSubscriber(ctx, promise));
+            } else if (msg instanceof LoadDataResponse) {
+                // Each buffer is an envelope of the content, write them one by one with backpressure.
+                LoadDataResponse message = (LoadDataResponse) msg;
+
+                Flux.from(message.encode(allocator, this.context))
+                    .subscribe(new LargeDataWriteSubscriber(ctx, promise, message.getEnvelopeId(), true));
+            } else if (msg instanceof LocalInfileResponse && this.context.isLocalInfileZeroCopy()) {
+                LocalInfileTransfer.transfer(ctx, (LocalInfileResponse) msg, this.context, promise);
+            } else if (msg instanceof SubsequenceClientMessage) {
                 SubsequenceClientMessage message = (SubsequenceClientMessage) msg;
 
                 encoded = Flux.from(message.encode(allocator, this.context));
@@ -97,16 +190,38 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
                 OperatorUtils.envelope(encoded, allocator, envelopeId, false)
                     .subscribe(new WriteSubscriber(ctx, promise));
             } else {
-                encoded = Flux.from(((ClientMessage) msg).encode(allocator, this.context));
+                ByteBuf envelope = msg instanceof PreparedExecuteMessage ?
+                    ((PreparedExecuteMessage) msg).encodeEnvelope(allocator) : null;
 
-                OperatorUtils.envelope(encoded, allocator, 0, true)
-                    .subscribe(new WriteSubscriber(ctx, promise));
+                if (envelope == null) {
+                    encoded = Flux.from(((ClientMessage) msg).encode(allocator, this.context));
+
+                    OperatorUtils.envelope(encoded, allocator, 0, true)
+                        .subscribe(new WriteSubscriber(ctx, promise));
+                } else {
+                    // All parameters have been written synchronously, no need to use reactive encoding.
+                    ctx.writeAndFlush(envelope, promise);
+                }
+            }
+
+            if (msg instanceof PreparedExecuteMessage) {
+                this.binaryResult = true;
+                this.bulkResult = false;
+                this.executingId = ((PreparedExecuteMessage) msg).getStatementId();
+            } else if (msg instanceof PreparedBulkExecuteMessage) {
+                this.binaryResult = true;
+                this.bulkResult = true;
+            } else if (msg instanceof TextQueryMessage || msg instanceof PreparedTextQueryMessage) {
+                this.binaryResult = false;
+                this.bulkResult = false;
             }
 
             if (msg instanceof PrepareQueryMessage) {
                 setDecodeContext(DecodeContext.prepareQuery());
             } else if (msg instanceof PreparedFetchMessage) {
                 setDecodeContext(DecodeContext.fetch());
+            } else if (msg instanceof PreparedCloseMessage) {
+                this.preparedMetadata.remove(((PreparedCloseMessage) msg).getStatementId());
             } else if (msg instanceof SslRequest) {
                 ctx.channel().pipeline().fireUserEventTriggered(SslState.BRIDGING);
             }
@@ -118,9 +233,21 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
         }
     }
 
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        flushRows(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
         decoder.dispose();
+
+        for (RowMessage row : batchedRows) {
+            row.release();
+        }
+
+        batchedRows.clear();
         ctx.fireChannelInactive();
     }
 
@@ -133,22 +260,37 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             // Metadata EOF message will be not receive in here.
             setDecodeContext(DecodeContext.command());
         } else if (msg instanceof SyntheticMetadataMessage) {
-            if (((SyntheticMetadataMessage) msg).isCompleted()) {
+            SyntheticMetadataMessage message = (SyntheticMetadataMessage) msg;
+
+            if (message.isCompleted()) {
+                if (this.preparingColumns > 0 && this.context.getCapability().isMetadataSkippable()) {
+                    // Column metadata is the last bundle of a prepared statement.
+                    this.preparedMetadata.put(this.preparingId, message.unwrap());
+                }
+
+                this.preparingColumns = 0;
                 setDecodeContext(DecodeContext.command());
+            } else if (this.executingMetadata) {
+                // MariaDB sends metadata again only if it has been changed, e.g. altered table.
+                this.executingMetadata = false;
+                this.preparedMetadata.put(executingId(), message.unwrap());
             }
         } else if (msg instanceof ColumnCountMessage) {
-            setDecodeContext(DecodeContext.result(this.context.getCapability().isEofDeprecated(),
-                ((ColumnCountMessage) msg).getTotalColumns()));
+            handleColumnCount(ctx, (ColumnCountMessage) msg);
             return; // Done, no need use generic handle.
         } else if (msg instanceof PreparedOkMessage) {
             PreparedOkMessage message = (PreparedOkMessage) msg;
             int columns = message.getTotalColumns();
             int parameters = message.getTotalParameters();
+            boolean metadataFollows = message.isMetadataFollows();
+
+            this.preparingId = message.getStatementId();
+            this.preparingColumns = metadataFollows ? columns : 0;
 
             // For supports use server-preparing query for simple statements. The count of columns and
             // parameters may all be 0. All is 0 means no EOF message following.
-            // columns + parameters > 0
-            if (columns > -parameters) {
+            // columns + parameters > 0, and the server does not omit metadata.
+            if (columns > -parameters && metadataFollows) {
                 setDecodeContext(DecodeContext.preparedMetadata(this.context.getCapability()
                     .isEofDeprecated(), columns, parameters));
             } else {
@@ -158,10 +300,107 @@ final class MessageDuplexCodec extends ChannelDuplexHandler {
             setDecodeContext(DecodeContext.command());
         }
 
+        if (msg instanceof RowMessage && isBatchable((RowMessage) msg)) {
+            this.batchedRows.add((RowMessage) msg);
+            return;
+        }
+
         // Generic handle.
+        fireRead(ctx, msg);
+    }
+
+    private void handleColumnCount(ChannelHandlerContext ctx, ColumnCountMessage msg) {
+        boolean eofDeprecated = this.context.getCapability().isEofDeprecated();
+
+        if (msg.isMetadataFollows()) {
+            this.executingMetadata = this.binaryResult && !this.bulkResult &&
+                this.context.getCapability().isMetadataSkippable();
+            setDecodeContext(DecodeContext.result(eofDeprecated, msg.getTotalColumns(), this.binaryResult));
+            return;
+        }
+
+        DefinitionMetadataMessage[] metadata = this.binaryResult && !this.bulkResult ?
+            this.preparedMetadata.get(executingId()) : null;
+
+        if (metadata == null || metadata.length != msg.getTotalColumns()) {
+            throw new R2dbcNonTransientResourceException("Column metadata has been omitted by the server " +
+                "but it is unknown by the client, the result of text query or statement prepared when " +
+                "resultset_metadata is NONE cannot be decoded");
+        }
+
+        setDecodeContext(DecodeContext.result(eofDeprecated, metadata, true));
+
+        if (eofDeprecated) {
+            // No EOF message following, so metadata bundle can be generated immediately.
+            fireRead(ctx, SyntheticMetadataMessage.known(metadata));
+        }
+    }
+
+    private boolean isBatchable(RowMessage row) {
+        // Unit results of a bulk execution are consumed row by row, streaming rows pause reading.
+        return this.context.isBatchRowsPerRead() && !this.bulkResult && !row.isStreaming();
+    }
+
+    private void fireRead(ChannelHandlerContext ctx, ServerMessage msg) {
+        // Keep the order of messages, batched rows are always before the message.
+        flushRows(ctx);
         ctx.fireChannelRead(msg);
     }
 
+    private void flushRows(ChannelHandlerContext ctx) {
+        List<RowMessage> rows = this.batchedRows;
+        ServerMessage message;
+
+        switch (rows.size()) {
+            case 0:
+                return;
+            case 1:
+                message = rows.get(0);
+                break;
+            default:
+                message = new RowBatchMessage(rows);
+                break;
+        }
+
+        rows.clear();
+        ctx.fireChannelRead(message);
+    }
+
+    private int executingId() {
+        // A pipelined execution is always after its preparing, so the prepared OK has been received.
+        int id = this.executingId;
+
+        return id == PreparedExecuteMessage.LAST_PREPARED_ID ? this.preparingId : id;
+    }
+
+    private void pauseReading(ChannelHandlerContext ctx) {
+        ChannelConfig config = ctx.channel().config();
+
+        // Reactor Netty may turn on auto-read by its demand, so check it for each received envelope.
+        if (config.isAutoRead()) {
+            logger.debug("Pause reading until the streaming field is requested");
+            this.readingPaused = true;
+            config.setAutoRead(false);
+        }
+    }
+
+    private void resumeReading() {
+        ChannelHandlerContext ctx = this.ctx;
+
+        if (ctx == null) {
+            return;
+        }
+
+        // Make sure it is called after pausing if they are racing.
+        ctx.executor().execute(() -> {
+            if (this.readingPaused) {
+                logger.debug("Resume reading for the streaming field");
+                this.readingPaused = false;
+                ctx.channel().config().setAutoRead(true);
+            }
+        });
+    }
+
     private void setDecodeContext(DecodeContext context) {
         this.decodeContext = context;
         if (logger.isDebugEnabled()) {
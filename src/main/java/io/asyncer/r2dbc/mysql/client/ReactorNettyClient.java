@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql.client;
 
+import io.asyncer.r2dbc.mysql.Capability;
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.MySqlSslConfiguration;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
@@ -24,27 +25,31 @@ import io.asyncer.r2dbc.mysql.message.client.ExitMessage;
 import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
 import io.asyncer.r2dbc.mysql.message.server.WarningMessage;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.ReferenceCounted;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.r2dbc.spi.R2dbcException;
-import org.reactivestreams.Subscriber;
+import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
-import reactor.core.publisher.Sinks.EmitFailureHandler;
 import reactor.core.publisher.SynchronousSink;
 import reactor.netty.Connection;
 import reactor.netty.FutureMono;
 import reactor.util.context.Context;
 import reactor.util.context.ContextView;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -79,20 +84,39 @@ final class ReactorNettyClient implements Client {
 
     private final Sinks.Many<ClientMessage> requests = Sinks.many().unicast().onBackpressureBuffer();
 
-    private final Sinks.Many<ServerMessage> responseProcessor =
-        Sinks.many().multicast().onBackpressureBuffer(512, false);
+    /**
+     * Routes server messages to the active exchange.  It buffers messages which are received but not
+     * consumed, its capacity is the high watermark, so it never overflows, see also
+     * {@link ResponseSubscriber}.
+     */
+    private final ResponseDispatcher dispatcher;
 
     private final RequestQueue requestQueue = new RequestQueue();
 
-    ReactorNettyClient(Connection connection, MySqlSslConfiguration ssl, ConnectionContext context) {
+    private final boolean pipelining;
+
+    /**
+     * Guards the order of pipelined writes and the {@link #unwritten} counter.
+     */
+    private final ReentrantLock pipelineLock = new ReentrantLock();
+
+    /**
+     * The number of submitted exchanges whose requests may not be completely written.  A pipelineable
+     * exchange can be written immediately only if it is {@code 0}.  Guarded by {@link #pipelineLock}.
+     */
+    private int unwritten;
+
+    ReactorNettyClient(Connection connection, MySqlSslConfiguration ssl, ConnectionContext context,
+        boolean pipelining) {
         requireNonNull(connection, "connection must not be null");
         requireNonNull(context, "context must not be null");
         requireNonNull(ssl, "ssl must not be null");
-        require(responseProcessor.asFlux() instanceof Subscriber,
-            "responseProcessor(" + responseProcessor + ") must be a Subscriber");
+        require(context.getResponseLowWatermark() < context.getResponseHighWatermark(),
+            "responseLowWatermark must be less than responseHighWatermark");
 
         this.connection = connection;
         this.context = context;
+        this.pipelining = pipelining;
 
         // Note: encoder/decoder should before reactor bridge.
         connection.addHandlerLast(EnvelopeSlicer.NAME, new EnvelopeSlicer())
@@ -111,6 +135,10 @@ final class ReactorNettyClient implements Client {
         }
 
         ResponseSink sink = new ResponseSink();
+        ResponseSubscriber subscriber = new ResponseSubscriber(sink, context.getResponseHighWatermark(),
+            context.getResponseLowWatermark());
+
+        this.dispatcher = new ResponseDispatcher(context.getResponseHighWatermark(), subscriber::consumed);
 
         connection.inbound().receiveObject()
             .doOnNext(it -> {
@@ -125,7 +153,7 @@ final class ReactorNettyClient implements Client {
                 }
             })
             .onErrorResume(this::resumeError)
-            .subscribe(new ResponseSubscriber(sink));
+            .subscribe(subscriber);
 
         this.requests.asFlux()
             .concatMap(message -> {
@@ -154,8 +182,13 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
+            if (isPipelineEnabled()) {
+                submitPipelined(request, handler, sink);
+                return;
+            }
+
             Flux<T> responses = OperatorUtils.discardOnCancel(
-                responseProcessor.asFlux()
+                dispatcher
                     .doOnSubscribe(ignored -> emitNextRequest(request))
                     .handle(handler)
                     .doOnTerminate(requestQueue)
@@ -180,8 +213,12 @@ final class ReactorNettyClient implements Client {
                 return;
             }
 
-            Flux<T> responses = responseProcessor
-                .asFlux()
+            if (isPipelineEnabled()) {
+                submitPipelined(exchangeable, sink);
+                return;
+            }
+
+            Flux<T> responses = dispatcher
                 .doOnSubscribe(ignored -> exchangeable.subscribe(
                     this::emitNextRequest,
                     e -> requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST)
@@ -250,7 +287,27 @@ final class ReactorNettyClient implements Client {
 
     @Override
     public void loginSuccess() {
-        connection.channel().pipeline().fireUserEventTriggered(Lifecycle.COMMAND);
+        ChannelPipeline pipeline = connection.channel().pipeline();
+
+        Capability capability = context.getCapability();
+        Compressor compressor = null;
+
+        if (capability.isZstdCompression()) {
+            logger.debug("Compression zstd enabled, add compression codec to pipeline");
+            compressor = new ZstdCompressor(connection.channel().alloc(), context.getZstdCompressionLevel());
+        } else if (capability.isZlibCompression()) {
+            logger.debug("Compression zlib enabled, add compression codec to pipeline");
+            compressor = new ZlibCompressor(connection.channel().alloc());
+        }
+
+        if (compressor != null) {
+            // Compression protocol is enabled after logon, compressed envelopes wrap normal envelopes.
+            pipeline.addBefore(EnvelopeSlicer.NAME, CompressionDuplexCodec.NAME,
+                    new CompressionDuplexCodec(compressor))
+                .addBefore(CompressionDuplexCodec.NAME, CompressionSlicer.NAME, new CompressionSlicer());
+        }
+
+        pipeline.fireUserEventTriggered(Lifecycle.COMMAND);
     }
 
     @Override
@@ -259,6 +316,101 @@ final class ReactorNettyClient implements Client {
             isConnected() ? "activating" : "clsoing or closed", context.getConnectionId());
     }
 
+    private boolean isPipelineEnabled() {
+        // The content of local infile would be interleaved with pipelined requests.
+        return pipelining && !context.isLocalInfileAllowed();
+    }
+
+    private <T> void submitPipelined(ClientMessage request,
+        BiConsumer<ServerMessage, SynchronousSink<T>> handler, MonoSink<Flux<T>> sink) {
+        pipelineLock.lock();
+
+        try {
+            if (unwritten == 0) {
+                // All previous requests have been written, write it immediately.
+                emitNextRequest(request);
+
+                Flux<T> responses = OperatorUtils.discardOnCancel(
+                    dispatcher
+                        .handle(handler)
+                        .doOnTerminate(requestQueue)
+                ).doOnDiscard(ReferenceCounted.class, ReferenceCounted::release);
+
+                requestQueue.submit(RequestTask.pipelined(sink, responses, ReactorNettyClient::drain));
+                return;
+            }
+
+            WriteBarrier barrier = new WriteBarrier();
+            Flux<T> responses = OperatorUtils.discardOnCancel(
+                dispatcher
+                    .doOnSubscribe(ignored -> {
+                        emitNextRequest(request);
+                        barrier.dispose();
+                    })
+                    .handle(handler)
+                    .doOnTerminate(requestQueue)
+            ).doOnDiscard(ReferenceCounted.class, ReferenceCounted::release);
+
+            requestQueue.submit(RequestTask.wrap(request, barrier, sink, responses));
+        } finally {
+            pipelineLock.unlock();
+        }
+    }
+
+    private <T> void submitPipelined(FluxExchangeable<T> exchangeable, MonoSink<Flux<T>> sink) {
+        pipelineLock.lock();
+
+        try {
+            if (unwritten == 0 && exchangeable.isPipelineable()) {
+                // All previous requests have been written, write it immediately.
+                exchangeable.subscribe(
+                    this::emitNextRequest,
+                    e -> requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST)
+                );
+
+                Flux<T> responses = dispatcher
+                    .handle(exchangeable)
+                    .doOnTerminate(() -> {
+                        exchangeable.dispose();
+                        requestQueue.run();
+                    });
+
+                requestQueue.submit(RequestTask.pipelined(sink, OperatorUtils.discardOnCancel(responses)
+                    .doOnDiscard(ReferenceCounted.class, ReferenceCounted::release)
+                    .doOnCancel(exchangeable::dispose), ReactorNettyClient::drain));
+                return;
+            }
+
+            // Requests of a non-pipelineable exchange are written until it terminates.
+            boolean pipelineable = exchangeable.isPipelineable();
+            WriteBarrier barrier = new WriteBarrier();
+            Flux<T> responses = dispatcher
+                .doOnSubscribe(ignored -> {
+                    exchangeable.subscribe(
+                        this::emitNextRequest,
+                        e -> requests.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST)
+                    );
+
+                    if (pipelineable) {
+                        barrier.dispose();
+                    }
+                })
+                .handle(exchangeable)
+                .doOnTerminate(() -> {
+                    exchangeable.dispose();
+                    barrier.dispose();
+                    requestQueue.run();
+                });
+
+            requestQueue.submit(RequestTask.wrap(exchangeable, barrier, sink,
+                OperatorUtils.discardOnCancel(responses)
+                    .doOnDiscard(ReferenceCounted.class, ReferenceCounted::release)
+                    .doOnCancel(exchangeable::dispose)));
+        } finally {
+            pipelineLock.unlock();
+        }
+    }
+
     private void emitNextRequest(ClientMessage request) {
         if (isConnected() && requests.tryEmitNext(request) == Sinks.EmitResult.OK) {
             return;
@@ -288,7 +440,7 @@ final class ReactorNettyClient implements Client {
 
     private void drainError(R2dbcException e) {
         this.requestQueue.dispose();
-        responseProcessor.emitError(e, Sinks.EmitFailureHandler.FAIL_FAST);
+        dispatcher.emitError(e);
     }
 
     private void handleClose() {
@@ -309,17 +461,96 @@ final class ReactorNettyClient implements Client {
         }
     }
 
+    private static <T> void drain(Flux<T> responses) {
+        responses.subscribe(it -> {
+            if (it instanceof ReferenceCounted) {
+                ((ReferenceCounted) it).release();
+            }
+        }, e -> logger.debug("Drained a cancelled pipelined exchange with error", e));
+    }
+
+    /**
+     * A barrier that blocks subsequent pipelined writes until the requests of an exchange have been written
+     * completely, or the exchange has been cancelled.  It must be created with {@link #pipelineLock} held.
+     */
+    private final class WriteBarrier implements Disposable {
+
+        private final AtomicBoolean disposed = new AtomicBoolean();
+
+        private WriteBarrier() {
+            ++unwritten;
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                pipelineLock.lock();
+
+                try {
+                    --unwritten;
+                } finally {
+                    pipelineLock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+    }
+
+    /**
+     * A subscriber of inbound messages that requests them by the demand of exchanges.  It requests up to the
+     * high watermark, and requests more only after the exchanges have consumed messages so that the
+     * requested but not consumed messages drop to the low watermark.  Reactor Netty turns off
+     * {@code autoRead} of the channel when there is no demand, so the socket is not read until the
+     * exchanges have consumed enough messages.
+     */
     private final class ResponseSubscriber implements CoreSubscriber<Object> {
 
         private final ResponseSink sink;
 
-        private ResponseSubscriber(ResponseSink sink) {
+        private final int highWatermark;
+
+        private final int lowWatermark;
+
+        /**
+         * The number of messages which are requested but not consumed.
+         */
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        @Nullable
+        private volatile Subscription subscription;
+
+        private ResponseSubscriber(ResponseSink sink, int highWatermark, int lowWatermark) {
             this.sink = sink;
+            this.highWatermark = highWatermark;
+            this.lowWatermark = lowWatermark;
         }
 
         @Override
         public void onSubscribe(Subscription s) {
-            ((Subscriber<?>) responseProcessor.asFlux()).onSubscribe(s);
+            this.subscription = s;
+            this.outstanding.set(highWatermark);
+            s.request(highWatermark);
+        }
+
+        /**
+         * Called when a message has been consumed by an exchange, it requests more messages if the requested
+         * but not consumed messages drop to the low watermark.  The decrement passes the low watermark
+         * exactly once for each batch, so concurrent consumers would not request the batch twice.
+         *
+         */
+        private void consumed() {
+            Subscription s = this.subscription;
+
+            if (s != null && outstanding.decrementAndGet() == lowWatermark) {
+                int n = highWatermark - lowWatermark;
+
+                outstanding.addAndGet(n);
+                s.request(n);
+            }
         }
 
         @Override
@@ -358,7 +589,7 @@ final class ReactorNettyClient implements Client {
 
         @Override
         public void error(Throwable e) {
-            responseProcessor.emitError(ClientExceptions.wrap(e), EmitFailureHandler.FAIL_FAST);
+            dispatcher.emitError(ClientExceptions.wrap(e));
         }
 
         @Override
@@ -376,7 +607,7 @@ final class ReactorNettyClient implements Client {
                 logger.debug("Response: {}", message);
             }
 
-            responseProcessor.emitNext(message, EmitFailureHandler.FAIL_FAST);
+            dispatcher.emitNext(message);
         }
     }
 }
@@ -19,18 +19,35 @@ package io.asyncer.r2dbc.mysql.client;
 import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
 import org.jetbrains.annotations.Nullable;
 import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.MonoSink;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
 /**
  * A task for execute, propagate errors and release resources.
  * <p>
  * If task executed, resources should been released by {@code supplier} instead of task self.
+ * <p>
+ * A pipelined task has written its requests before it runs, so it can not be skipped even if it has been
+ * cancelled, the {@code supplier} will be drained instead of emitted.
  *
  * @param <T> the task result type.
  */
 final class RequestTask<T> {
 
+    private static final int ST_INIT = 0;
+
+    private static final int ST_RUN = 1;
+
+    private static final int ST_CANCELLED = 2;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<RequestTask> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(RequestTask.class, "state");
+
     @Nullable
     private final Disposable disposable;
 
@@ -38,16 +55,30 @@ final class RequestTask<T> {
 
     private final T supplier;
 
+    @Nullable
+    private final Consumer<T> drain;
+
     private volatile boolean isCancelled;
 
-    private RequestTask(@Nullable Disposable disposable, MonoSink<T> sink, T supplier) {
+    private volatile int state = ST_INIT;
+
+    private RequestTask(@Nullable Disposable disposable, MonoSink<T> sink, T supplier,
+        @Nullable Consumer<T> drain) {
         this.disposable = disposable;
         this.sink = sink;
         this.supplier = supplier;
+        this.drain = drain;
     }
 
     void run() {
-        sink.success(supplier);
+        Consumer<T> drain = this.drain;
+
+        if (drain == null || STATE_UPDATER.compareAndSet(this, ST_INIT, ST_RUN)) {
+            sink.success(supplier);
+        } else {
+            // Pipelined but cancelled, its responses still need to be consumed.
+            drain.accept(supplier);
+        }
     }
 
     /**
@@ -71,12 +102,16 @@ final class RequestTask<T> {
         isCancelled = true;
     }
 
+    private void cancelPipelined() {
+        STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED);
+    }
+
     static <T> RequestTask<T> wrap(ClientMessage message, MonoSink<T> sink, T supplier) {
         final RequestTask<T> task;
         if (message instanceof Disposable) {
-            task = new RequestTask<>((Disposable) message, sink, supplier);
+            task = new RequestTask<>((Disposable) message, sink, supplier, null);
         } else {
-            task = new RequestTask<>(null, sink, supplier);
+            task = new RequestTask<>(null, sink, supplier, null);
 
         }
         sink.onCancel(task::cancel0);
@@ -84,17 +119,54 @@ final class RequestTask<T> {
     }
 
     static <T> RequestTask<T> wrap(Flux<? extends ClientMessage> messages, MonoSink<T> sink, T supplier) {
-        final RequestTask<T> task =  new RequestTask<>(new DisposableFlux(messages), sink, supplier);
+        final RequestTask<T> task =  new RequestTask<>(new DisposableFlux(messages), sink, supplier, null);
+        sink.onCancel(task::cancel0);
+        return task;
+    }
+
+    static <T> RequestTask<T> wrap(ClientMessage message, Disposable release, MonoSink<T> sink,
+        T supplier) {
+        final RequestTask<T> task;
+        if (message instanceof Disposable) {
+            task = new RequestTask<>(Disposables.composite((Disposable) message, release), sink, supplier,
+                null);
+        } else {
+            task = new RequestTask<>(release, sink, supplier, null);
+        }
+        sink.onCancel(task::cancel0);
+        return task;
+    }
+
+    static <T> RequestTask<T> wrap(Flux<? extends ClientMessage> messages, Disposable release,
+        MonoSink<T> sink, T supplier) {
+        final RequestTask<T> task = new RequestTask<>(Disposables.composite(new DisposableFlux(messages),
+            release), sink, supplier, null);
         sink.onCancel(task::cancel0);
         return task;
     }
 
     static <T> RequestTask<T> wrap(MonoSink<T> sink, T supplier) {
-        final RequestTask<T> task = new RequestTask<>(null, sink, supplier);
+        final RequestTask<T> task = new RequestTask<>(null, sink, supplier, null);
         sink.onCancel(task::cancel0);
         return task;
     }
 
+    /**
+     * Wraps a task whose requests have been written, i.e. pipelined.  If it is cancelled before running, the
+     * {@code supplier} will be passed to {@code drain} when it runs instead of being skipped.
+     *
+     * @param sink     the sink of the task result.
+     * @param supplier the task result.
+     * @param drain    the consumer to drain the {@code supplier} if the task has been cancelled.
+     * @param <T>      the task result type.
+     * @return the pipelined task.
+     */
+    static <T> RequestTask<T> pipelined(MonoSink<T> sink, T supplier, Consumer<T> drain) {
+        final RequestTask<T> task = new RequestTask<>(null, sink, supplier, drain);
+        sink.onCancel(task::cancelPipelined);
+        return task;
+    }
+
     private static final class DisposableFlux implements Disposable {
 
         private final Flux<? extends ClientMessage> messages;
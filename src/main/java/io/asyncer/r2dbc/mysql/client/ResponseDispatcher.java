@@ -0,0 +1,216 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A dispatcher that routes server messages to the active exchange, i.e. the head of {@link RequestQueue}.
+ * <p>
+ * Exchanges subscribe it one after another, so it accepts only one subscriber at a time, and it can be
+ * subscribed again after the previous subscriber has cancelled or been terminated.  Messages are buffered
+ * until the active subscriber requests them, or until the next subscriber arrives.  It is lock-free, the
+ * producer is the event loop of the connection, and the messages are emitted by a drain loop.
+ * <p>
+ * Once it is terminated by an error, the current and all subsequent subscribers will receive the error after
+ * the buffered messages.
+ */
+final class ResponseDispatcher extends Flux<ServerMessage> {
+
+    private static final AtomicReferenceFieldUpdater<ResponseDispatcher, Inner> CURRENT_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(ResponseDispatcher.class, Inner.class, "current");
+
+    private static final AtomicIntegerFieldUpdater<ResponseDispatcher> WIP_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(ResponseDispatcher.class, "wip");
+
+    private final Queue<ServerMessage> queue;
+
+    private final Runnable consumed;
+
+    @Nullable
+    private volatile Inner current;
+
+    private volatile int wip;
+
+    @Nullable
+    private volatile Throwable error;
+
+    /**
+     * Creates a dispatcher.
+     *
+     * @param capacity the maximum number of buffered messages.
+     * @param consumed called after each message has been emitted to a subscriber.
+     */
+    ResponseDispatcher(int capacity, Runnable consumed) {
+        this.queue = Queues.<ServerMessage>get(capacity).get();
+        this.consumed = consumed;
+    }
+
+    /**
+     * Emits a message, it must be called by the event loop of the connection.
+     *
+     * @param message the server message.
+     */
+    void emitNext(ServerMessage message) {
+        if (error != null) {
+            ReferenceCountUtil.safeRelease(message);
+            return;
+        }
+
+        if (!queue.offer(message)) {
+            ReferenceCountUtil.safeRelease(message);
+            emitError(Exceptions.failWithOverflow("Server messages exceed the buffer of the exchange"));
+            return;
+        }
+
+        drain();
+    }
+
+    /**
+     * Terminates with an error, subsequent errors and messages will be ignored.
+     *
+     * @param e the error.
+     */
+    void emitError(Throwable e) {
+        if (this.error != null) {
+            // Already terminated, e.g. closed after an error.
+            return;
+        }
+
+        this.error = e;
+        drain();
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super ServerMessage> actual) {
+        Inner inner = new Inner(this, actual);
+
+        if (!CURRENT_UPDATER.compareAndSet(this, null, inner)) {
+            Operators.error(actual, new IllegalStateException("ResponseDispatcher allows only one " +
+                "subscriber at a time"));
+            return;
+        }
+
+        actual.onSubscribe(inner);
+        drain();
+    }
+
+    private void drain() {
+        if (WIP_UPDATER.getAndIncrement(this) != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        for (;;) {
+            Inner inner = this.current;
+
+            if (inner != null) {
+                drainTo(inner);
+            }
+
+            missed = WIP_UPDATER.addAndGet(this, -missed);
+
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void drainTo(Inner inner) {
+        long r = inner.requested;
+        long e = 0;
+
+        while (e != r) {
+            if (inner.cancelled) {
+                return;
+            }
+
+            ServerMessage message = queue.poll();
+
+            if (message == null) {
+                break;
+            }
+
+            inner.actual.onNext(message);
+            consumed.run();
+            ++e;
+        }
+
+        if (!inner.cancelled && queue.isEmpty()) {
+            Throwable error = this.error;
+
+            if (error != null && CURRENT_UPDATER.compareAndSet(this, inner, null)) {
+                inner.actual.onError(error);
+                return;
+            }
+        }
+
+        if (e != 0 && r != Long.MAX_VALUE) {
+            Inner.REQUESTED_UPDATER.addAndGet(inner, -e);
+        }
+    }
+
+    private static final class Inner implements Subscription {
+
+        private static final AtomicLongFieldUpdater<Inner> REQUESTED_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(Inner.class, "requested");
+
+        private final ResponseDispatcher parent;
+
+        private final CoreSubscriber<? super ServerMessage> actual;
+
+        private volatile long requested;
+
+        private volatile boolean cancelled;
+
+        private Inner(ResponseDispatcher parent, CoreSubscriber<? super ServerMessage> actual) {
+            this.parent = parent;
+            this.actual = actual;
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                Operators.addCap(REQUESTED_UPDATER, this, n);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                // Detach it, so the next exchange can subscribe and receive the remaining messages.
+                CURRENT_UPDATER.compareAndSet(parent, this, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link Compressor} by the zlib (deflate) compression.
+ * <p>
+ * Note: JDK 8 does not support {@link java.nio.ByteBuffer} in {@link Deflater} and {@link Inflater}, so it
+ * will use heap buffers to compress and decompress data.
+ */
+final class ZlibCompressor implements Compressor {
+
+    private final ByteBufAllocator allocator;
+
+    private final Deflater deflater = new Deflater();
+
+    private final Inflater inflater = new Inflater();
+
+    ZlibCompressor(ByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf buf) {
+        int size = buf.readableBytes();
+        byte[] input;
+        int offset;
+
+        if (buf.hasArray()) {
+            input = buf.array();
+            offset = buf.arrayOffset() + buf.readerIndex();
+        } else {
+            input = ByteBufUtil.getBytes(buf);
+            offset = 0;
+        }
+
+        // If the compressed size is not smaller than the original size, it is useless.
+        byte[] output = new byte[size];
+
+        try {
+            deflater.setInput(input, offset, size);
+            deflater.finish();
+
+            int compressedSize = 0;
+
+            while (!deflater.finished() && compressedSize < size) {
+                compressedSize += deflater.deflate(output, compressedSize, size - compressedSize);
+            }
+
+            if (!deflater.finished()) {
+                return buf;
+            }
+
+            return allocator.heapBuffer(compressedSize).writeBytes(output, 0, compressedSize);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf buf, int uncompressedSize) {
+        int size = buf.readableBytes();
+        byte[] input;
+        int offset;
+
+        if (buf.hasArray()) {
+            input = buf.array();
+            offset = buf.arrayOffset() + buf.readerIndex();
+        } else {
+            input = ByteBufUtil.getBytes(buf);
+            offset = 0;
+        }
+
+        ByteBuf result = allocator.heapBuffer(uncompressedSize);
+
+        try {
+            byte[] output = result.array();
+            int start = result.arrayOffset() + result.writerIndex();
+            int inflated = 0;
+
+            inflater.setInput(input, offset, size);
+
+            while (inflated < uncompressedSize && !inflater.finished()) {
+                int n = inflater.inflate(output, start + inflated, uncompressedSize - inflated);
+
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+
+                inflated += n;
+            }
+
+            if (inflated != uncompressedSize) {
+                throw new DecoderException("Decompressed size " + inflated + " mismatches the expected " +
+                    uncompressedSize);
+            }
+
+            return result.writerIndex(result.writerIndex() + inflated);
+        } catch (DataFormatException e) {
+            result.release();
+            throw new DecoderException("zlib decompression failed", e);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        deflater.end();
+        inflater.end();
+    }
+}
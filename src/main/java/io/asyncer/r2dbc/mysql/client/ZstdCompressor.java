@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdCompressCtx;
+import com.github.luben.zstd.ZstdDecompressCtx;
+import com.github.luben.zstd.ZstdException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * An implementation of {@link Compressor} by the Z-Standard compression.
+ * <p>
+ * Note: it requires {@code com.github.luben:zstd-jni} in the classpath, which is an optional dependency.
+ */
+final class ZstdCompressor implements Compressor {
+
+    private final ByteBufAllocator allocator;
+
+    private final ZstdCompressCtx compressCtx = new ZstdCompressCtx();
+
+    private final ZstdDecompressCtx decompressCtx = new ZstdDecompressCtx();
+
+    ZstdCompressor(ByteBufAllocator allocator, int level) {
+        this.allocator = allocator;
+        this.compressCtx.setLevel(level);
+    }
+
+    @Override
+    public ByteBuf compress(ByteBuf buf) {
+        int size = buf.readableBytes();
+        byte[] input;
+        int offset;
+
+        if (buf.hasArray()) {
+            input = buf.array();
+            offset = buf.arrayOffset() + buf.readerIndex();
+        } else {
+            input = ByteBufUtil.getBytes(buf);
+            offset = 0;
+        }
+
+        ByteBuf result = allocator.heapBuffer((int) Zstd.compressBound(size));
+
+        try {
+            int compressedSize = compressCtx.compressByteArray(result.array(),
+                result.arrayOffset() + result.writerIndex(), result.writableBytes(), input, offset, size);
+
+            if (compressedSize >= size) {
+                // It is useless if the compressed size is not smaller than the original size.
+                result.release();
+                return buf;
+            }
+
+            return result.writerIndex(result.writerIndex() + compressedSize);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public ByteBuf decompress(ByteBuf buf, int uncompressedSize) {
+        int size = buf.readableBytes();
+        byte[] input;
+        int offset;
+
+        if (buf.hasArray()) {
+            input = buf.array();
+            offset = buf.arrayOffset() + buf.readerIndex();
+        } else {
+            input = ByteBufUtil.getBytes(buf);
+            offset = 0;
+        }
+
+        ByteBuf result = allocator.heapBuffer(uncompressedSize);
+
+        try {
+            int decompressed = decompressCtx.decompressByteArray(result.array(),
+                result.arrayOffset() + result.writerIndex(), uncompressedSize, input, offset, size);
+
+            if (decompressed != uncompressedSize) {
+                throw new DecoderException("Decompressed size " + decompressed + " mismatches the expected " +
+                    uncompressedSize);
+            }
+
+            return result.writerIndex(result.writerIndex() + decompressed);
+        } catch (ZstdException e) {
+            result.release();
+            throw new DecoderException("zstd decompression failed", e);
+        } catch (Throwable e) {
+            result.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        compressCtx.close();
+        decompressCtx.close();
+    }
+}
@@ -24,6 +24,7 @@ import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.spi.Blob;
 import org.reactivestreams.Publisher;
@@ -167,6 +168,20 @@ final class BlobCodec implements MassiveCodec<Blob> {
             });
         }
 
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.defer(() -> {
+                Blob blob = this.blob.getAndSet(null);
+
+                if (blob == null) {
+                    return Flux.error(new IllegalStateException("Blob has written, can not write twice"));
+                }
+
+                // No copy, the buffer will be written before requesting the next one.
+                return Flux.from(blob.stream()).map(Unpooled::wrappedBuffer);
+            });
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.defer(() -> {
@@ -38,7 +38,7 @@ final class BooleanCodec extends AbstractPrimitiveCodec<Boolean> {
     @Override
     public Boolean decode(ByteBuf value, MySqlColumnMetadata metadata, Class<?> target, boolean binary,
         CodecContext context) {
-        return binary || metadata.getType() == MySqlType.BIT ? value.readBoolean() : value.readByte() != '0';
+        return decodeBoolean(value, binary, metadata.getType());
     }
 
     @Override
@@ -57,6 +57,10 @@ final class BooleanCodec extends AbstractPrimitiveCodec<Boolean> {
         return (type == MySqlType.BIT || type == MySqlType.TINYINT) && metadata.getNativePrecision() == 1;
     }
 
+    static boolean decodeBoolean(ByteBuf buf, boolean binary, MySqlType type) {
+        return binary || type == MySqlType.BIT ? buf.readBoolean() : buf.readByte() != '0';
+    }
+
     private static final class BooleanMySqlParameter extends AbstractMySqlParameter {
 
         private static final BooleanMySqlParameter TRUE = new BooleanMySqlParameter(true);
@@ -74,6 +78,12 @@ final class BooleanCodec extends AbstractPrimitiveCodec<Boolean> {
             return Mono.fromSupplier(() -> allocator.buffer(Byte.BYTES).writeByte(value ? 1 : 0));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeByte(value ? 1 : 0);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeInt(value ? 1 : 0));
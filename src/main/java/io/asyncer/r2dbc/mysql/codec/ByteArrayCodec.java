@@ -98,6 +98,17 @@ final class ByteArrayCodec extends AbstractClassedCodec<byte[]> {
             return Mono.fromSupplier(() -> encodeBytes(allocator, value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            if (value.length > CodecUtils.MAX_WRITE_BINARY_SIZE) {
+                return false;
+            }
+
+            VarIntUtils.writeVarInt(buf, value.length);
+            buf.writeBytes(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeHex(value));
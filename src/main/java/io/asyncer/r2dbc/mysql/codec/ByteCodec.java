@@ -69,6 +69,12 @@ final class ByteCodec extends AbstractPrimitiveCodec<Byte> {
             return Mono.fromSupplier(() -> allocator.buffer(Byte.BYTES).writeByte(value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeByte(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeInt(value));
@@ -46,6 +46,9 @@ public interface Codec<T> {
 
     /**
      * Check if can decode the field value as specified {@link Class}.
+     * <p>
+     * Note: the result will be cached by the type and native precision of the column and the target, so it
+     * should be determined only by them.
      *
      * @param metadata the metadata of the column.
      * @param target   the specified {@link Class}.
@@ -55,6 +58,10 @@ public interface Codec<T> {
 
     /**
      * Check if can encode the specified value.
+     * <p>
+     * Note: the resolved codec will be cached by the class of the value, and it will be checked again for
+     * subsequent values of the same class.  So a codec should not accept a value whose class has been
+     * rejected by it for other values.
      *
      * @param value the specified value.
      * @return if can encode.
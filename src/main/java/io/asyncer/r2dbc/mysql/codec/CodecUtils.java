@@ -31,6 +31,13 @@ import java.nio.charset.StandardCharsets;
  */
 final class CodecUtils {
 
+    /**
+     * The maximum size in bytes of a variable-length value which can be written by
+     * {@code MySqlParameter#writeBinary}.  Larger values will be published, so that an execution would not
+     * be encoded synchronously with huge values.
+     */
+    static final int MAX_WRITE_BINARY_SIZE = 4096;
+
     private static final String LONG_MAX_VALUE = Long.toString(Long.MAX_VALUE);
 
     /**
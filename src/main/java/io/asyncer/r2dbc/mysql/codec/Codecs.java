@@ -61,6 +61,54 @@ public interface Codecs {
     <T> T decode(FieldValue value, MySqlColumnMetadata metadata, ParameterizedType type, boolean binary,
         CodecContext context);
 
+    /**
+     * Decode a {@link FieldValue} as a primitive {@code long} without boxing.
+     *
+     * @param value    the {@link FieldValue}.
+     * @param metadata the metadata of the column.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @return the decoded result, or {@code 0} if {@code value} is {@code null}.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or {@code value} cannot be decoded.
+     * @since 1.1.2
+     */
+    long decodeLong(FieldValue value, MySqlColumnMetadata metadata, boolean binary);
+
+    /**
+     * Decode a {@link FieldValue} as a primitive {@code int} without boxing.
+     *
+     * @param value    the {@link FieldValue}.
+     * @param metadata the metadata of the column.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @return the decoded result, or {@code 0} if {@code value} is {@code null}.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or {@code value} cannot be decoded.
+     * @since 1.1.2
+     */
+    int decodeInt(FieldValue value, MySqlColumnMetadata metadata, boolean binary);
+
+    /**
+     * Decode a {@link FieldValue} as a primitive {@code double} without boxing.
+     *
+     * @param value    the {@link FieldValue}.
+     * @param metadata the metadata of the column.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @return the decoded result, or {@code 0} if {@code value} is {@code null}.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or {@code value} cannot be decoded.
+     * @since 1.1.2
+     */
+    double decodeDouble(FieldValue value, MySqlColumnMetadata metadata, boolean binary);
+
+    /**
+     * Decode a {@link FieldValue} as a primitive {@code boolean} without boxing.
+     *
+     * @param value    the {@link FieldValue}.
+     * @param metadata the metadata of the column.
+     * @param binary   if the value should be decoded by binary protocol.
+     * @return the decoded result, or {@code false} if {@code value} is {@code null}.
+     * @throws IllegalArgumentException if any parameter is {@code null}, or {@code value} cannot be decoded.
+     * @since 1.1.2
+     */
+    boolean decodeBoolean(FieldValue value, MySqlColumnMetadata metadata, boolean binary);
+
     /**
      * Decode the last inserted ID from {@code OkMessage} as a specified {@link Class type}.
      *
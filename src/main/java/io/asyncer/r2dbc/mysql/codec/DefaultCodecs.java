@@ -18,11 +18,17 @@ package io.asyncer.r2dbc.mysql.codec;
 
 import io.asyncer.r2dbc.mysql.MySqlColumnMetadata;
 import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.codec.lob.LobUtils;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.internal.util.InternalArrays;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
 import io.asyncer.r2dbc.mysql.message.LargeFieldValue;
 import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.Clob;
 import io.r2dbc.spi.Parameter;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,12 +40,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
 /**
  * An implementation of {@link Codecs}.
+ * <p>
+ * Resolved codecs are cached, so that the codec lookup is done once per column type and target type for
+ * decoding, and once per class of values for encoding.  See also {@link Codec#canDecode} and
+ * {@link Codec#canEncode}.
  */
 final class DefaultCodecs implements Codecs {
 
@@ -53,6 +65,12 @@ final class DefaultCodecs implements Codecs {
 
     private final Map<Type, PrimitiveCodec<?>> primitiveCodecs;
 
+    private final ConcurrentHashMap<DecoderKey, Codec<?>> decoders = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<DecoderKey, MassiveCodec<?>> massiveDecoders = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Class<?>, Codec<?>> encoders = new ConcurrentHashMap<>();
+
     private DefaultCodecs(Codec<?>[] codecs) {
         this.codecs = requireNonNull(codecs, "codecs must not be null");
 
@@ -112,6 +130,8 @@ final class DefaultCodecs implements Codecs {
             return decodeNormal((NormalFieldValue) value, metadata, target, binary, context);
         } else if (value instanceof LargeFieldValue) {
             return decodeMassive((LargeFieldValue) value, metadata, target, binary, context);
+        } else if (value instanceof StreamingFieldValue) {
+            return decodeStreaming((StreamingFieldValue) value, metadata, type, context);
         }
 
         throw new IllegalArgumentException("Unknown value " + value.getClass().getSimpleName());
@@ -136,6 +156,34 @@ final class DefaultCodecs implements Codecs {
         throw new IllegalArgumentException("Unknown value " + value.getClass().getSimpleName());
     }
 
+    @Override
+    public long decodeLong(FieldValue value, MySqlColumnMetadata metadata, boolean binary) {
+        ByteBuf buf = primitiveSlice(value, metadata, LongCodec.INSTANCE);
+
+        return buf == null ? 0 : LongCodec.decodeLong(buf, binary, metadata.getType());
+    }
+
+    @Override
+    public int decodeInt(FieldValue value, MySqlColumnMetadata metadata, boolean binary) {
+        ByteBuf buf = primitiveSlice(value, metadata, IntegerCodec.INSTANCE);
+
+        return buf == null ? 0 : IntegerCodec.decodeInt(buf, binary, metadata.getType());
+    }
+
+    @Override
+    public double decodeDouble(FieldValue value, MySqlColumnMetadata metadata, boolean binary) {
+        ByteBuf buf = primitiveSlice(value, metadata, DoubleCodec.INSTANCE);
+
+        return buf == null ? 0 : DoubleCodec.decodeDouble(buf, binary, metadata.getType());
+    }
+
+    @Override
+    public boolean decodeBoolean(FieldValue value, MySqlColumnMetadata metadata, boolean binary) {
+        ByteBuf buf = primitiveSlice(value, metadata, BooleanCodec.INSTANCE);
+
+        return buf != null && BooleanCodec.decodeBoolean(buf, binary, metadata.getType());
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T decodeLastInsertId(long value, Class<?> type) {
@@ -177,13 +225,25 @@ final class DefaultCodecs implements Codecs {
             return encodeNull();
         }
 
+        Class<?> type = valueToEncode.getClass();
+        Codec<?> cached = encoders.get(type);
+
+        if (cached != null && cached.canEncode(valueToEncode)) {
+            return cached.encode(valueToEncode, context);
+        }
+
         for (Codec<?> codec : codecs) {
             if (codec.canEncode(valueToEncode)) {
+                // SetCodec checks elements of a Set, so the codec of a Set class is not determined by class.
+                if (!(valueToEncode instanceof Set<?>)) {
+                    encoders.put(type, codec);
+                }
+
                 return codec.encode(valueToEncode, context);
             }
         }
 
-        throw new IllegalArgumentException("Cannot encode " + valueToEncode.getClass());
+        throw new IllegalArgumentException("Cannot encode " + type);
     }
 
     @Nullable
@@ -214,13 +274,45 @@ final class DefaultCodecs implements Codecs {
             type + " for " + metadata.getType());
     }
 
+    /**
+     * Gets the buffer slice of a value which will be decoded as a primitive data without boxing.
+     *
+     * @return the buffer slice, or {@code null} if the value is {@code null}.
+     */
+    @Nullable
+    private static ByteBuf primitiveSlice(FieldValue value, MySqlColumnMetadata metadata,
+        PrimitiveCodec<?> codec) {
+        requireNonNull(value, "value must not be null");
+        requireNonNull(metadata, "metadata must not be null");
+
+        if (value.isNull()) {
+            return null;
+        } else if (value instanceof NormalFieldValue && codec.canPrimitiveDecode(metadata)) {
+            return ((NormalFieldValue) value).getBufferSlice();
+        }
+
+        throw new IllegalArgumentException("Cannot decode " + value.getClass().getSimpleName() + " of " +
+            codec.getPrimitiveClass() + " for " + metadata.getType());
+    }
+
     @Nullable
     private <T> T decodeNormal(NormalFieldValue value, MySqlColumnMetadata metadata, Class<?> type,
         boolean binary, CodecContext context) {
+        DecoderKey key = new DecoderKey(metadata, type);
+        @SuppressWarnings("unchecked")
+        Codec<T> cached = (Codec<T>) decoders.get(key);
+
+        if (cached != null) {
+            return cached.decode(value.getBufferSlice(), metadata, type, binary, context);
+        }
+
         for (Codec<?> codec : codecs) {
             if (codec.canDecode(metadata, type)) {
                 @SuppressWarnings("unchecked")
                 Codec<T> c = (Codec<T>) codec;
+
+                decoders.put(key, c);
+
                 return c.decode(value.getBufferSlice(), metadata, type, binary, context);
             }
         }
@@ -231,8 +323,19 @@ final class DefaultCodecs implements Codecs {
     @Nullable
     private <T> T decodeNormal(NormalFieldValue value, MySqlColumnMetadata metadata, ParameterizedType type,
         boolean binary, CodecContext context) {
+        DecoderKey key = new DecoderKey(metadata, type);
+        ParametrizedCodec<?> cached = (ParametrizedCodec<?>) decoders.get(key);
+
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T result = (T) cached.decode(value.getBufferSlice(), metadata, type, binary, context);
+            return result;
+        }
+
         for (ParametrizedCodec<?> codec : parametrizedCodecs) {
             if (codec.canDecode(metadata, type)) {
+                decoders.put(key, codec);
+
                 @SuppressWarnings("unchecked")
                 T result = (T) codec.decode(value.getBufferSlice(), metadata, type, binary, context);
                 return result;
@@ -245,10 +348,21 @@ final class DefaultCodecs implements Codecs {
     @Nullable
     private <T> T decodeMassive(LargeFieldValue value, MySqlColumnMetadata metadata, Class<?> type,
         boolean binary, CodecContext context) {
+        DecoderKey key = new DecoderKey(metadata, type);
+        @SuppressWarnings("unchecked")
+        MassiveCodec<T> cached = (MassiveCodec<T>) massiveDecoders.get(key);
+
+        if (cached != null) {
+            return cached.decodeMassive(value.getBufferSlices(), metadata, type, binary, context);
+        }
+
         for (MassiveCodec<?> codec : massiveCodecs) {
             if (codec.canDecode(metadata, type)) {
                 @SuppressWarnings("unchecked")
                 MassiveCodec<T> c = (MassiveCodec<T>) codec;
+
+                massiveDecoders.put(key, c);
+
                 return c.decodeMassive(value.getBufferSlices(), metadata, type, binary, context);
             }
         }
@@ -259,8 +373,19 @@ final class DefaultCodecs implements Codecs {
     @Nullable
     private <T> T decodeMassive(LargeFieldValue value, MySqlColumnMetadata metadata, ParameterizedType type,
         boolean binary, CodecContext context) {
+        DecoderKey key = new DecoderKey(metadata, type);
+        MassiveParametrizedCodec<?> cached = (MassiveParametrizedCodec<?>) massiveDecoders.get(key);
+
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T result = (T) cached.decodeMassive(value.getBufferSlices(), metadata, type, binary, context);
+            return result;
+        }
+
         for (MassiveParametrizedCodec<?> codec : massiveParametrizedCodecs) {
             if (codec.canDecode(metadata, type)) {
+                massiveDecoders.put(key, codec);
+
                 @SuppressWarnings("unchecked")
                 T result = (T) codec.decodeMassive(value.getBufferSlices(), metadata, type, binary, context);
                 return result;
@@ -270,6 +395,26 @@ final class DefaultCodecs implements Codecs {
         throw new IllegalArgumentException("Cannot decode massive  " + type + " for " + metadata.getType());
     }
 
+    /**
+     * Decodes a value which is still being received, it can be decoded as a {@link Clob} or {@link Blob}
+     * only.  It chooses {@link Clob} for non-binary types if both of them are acceptable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T decodeStreaming(StreamingFieldValue value, MySqlColumnMetadata metadata,
+        Class<?> type, CodecContext context) {
+        boolean clob = ClobCodec.INSTANCE.canDecode(metadata, type);
+        boolean blob = BlobCodec.INSTANCE.canDecode(metadata, type);
+
+        if (clob && (!blob || !metadata.getType().isBinary())) {
+            return (T) LobUtils.createClob(value.stream(), metadata.getCharCollation(context));
+        } else if (blob) {
+            return (T) LobUtils.createBlob(value.stream());
+        }
+
+        throw new IllegalArgumentException("Cannot decode streaming value of " + type + " for " +
+            metadata.getType() + ", it can only be decoded as Blob or Clob");
+    }
+
     private static Class<?> chooseClass(MySqlColumnMetadata metadata, Class<?> type) {
         Class<?> javaType = metadata.getType().getJavaType();
         return type.isAssignableFrom(javaType) ? javaType : type;
@@ -316,6 +461,45 @@ final class DefaultCodecs implements Codecs {
         };
     }
 
+    /**
+     * The key of resolved decoders, it contains all of column metadata used by built-in codecs.
+     */
+    private static final class DecoderKey {
+
+        private final MySqlType type;
+
+        private final long precision;
+
+        private final Type target;
+
+        private DecoderKey(MySqlColumnMetadata metadata, Type target) {
+            this.type = metadata.getType();
+            this.precision = metadata.getNativePrecision();
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecoderKey)) {
+                return false;
+            }
+
+            DecoderKey that = (DecoderKey) o;
+
+            return precision == that.precision && type == that.type && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type.hashCode();
+            result = 31 * result + Long.hashCode(precision);
+            return 31 * result + target.hashCode();
+        }
+    }
+
     static final class Builder implements CodecsBuilder {
 
         private final ByteBufAllocator allocator;
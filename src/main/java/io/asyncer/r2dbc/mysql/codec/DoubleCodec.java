@@ -40,21 +40,7 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
     @Override
     public Double decode(ByteBuf value, MySqlColumnMetadata metadata, Class<?> target, boolean binary,
         CodecContext context) {
-        MySqlType type = metadata.getType();
-
-        if (binary) {
-            return decodeBinary(value, type);
-        }
-
-        switch (metadata.getType()) {
-            case FLOAT:
-            case DOUBLE:
-            case DECIMAL:
-            case BIGINT_UNSIGNED:
-                return Double.parseDouble(value.toString(StandardCharsets.US_ASCII));
-            default:
-                return (double) CodecUtils.parseLong(value);
-        }
+        return decodeDouble(value, binary, metadata.getType());
     }
 
     @Override
@@ -72,6 +58,22 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
         return metadata.getType().isNumeric();
     }
 
+    static double decodeDouble(ByteBuf buf, boolean binary, MySqlType type) {
+        if (binary) {
+            return decodeBinary(buf, type);
+        }
+
+        switch (type) {
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case BIGINT_UNSIGNED:
+                return Double.parseDouble(buf.toString(StandardCharsets.US_ASCII));
+            default:
+                return (double) CodecUtils.parseLong(buf);
+        }
+    }
+
     private static double decodeBinary(ByteBuf buf, MySqlType type) {
         switch (type) {
             case BIGINT_UNSIGNED:
@@ -131,6 +133,12 @@ final class DoubleCodec extends AbstractPrimitiveCodec<Double> {
             });
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeDoubleLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeDouble(value));
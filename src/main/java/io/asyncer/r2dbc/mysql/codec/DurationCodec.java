@@ -171,42 +171,10 @@ final class DurationCodec extends AbstractClassedCodec<Duration> {
         @Override
         public Mono<ByteBuf> publishBinary(final ByteBufAllocator allocator) {
             return Mono.fromSupplier(() -> {
-                long seconds = value.getSeconds();
-                int nanos = value.getNano();
-
-                if (seconds == 0 && nanos == 0) {
-                    // It is zero of var int, not terminal.
-                    return allocator.buffer(Byte.BYTES).writeByte(0);
-                }
-
-                boolean isNegative = value.isNegative();
-                if (isNegative) {
-                    if (nanos > 0) {
-                        // Note: nanos should always be a positive integer or 0, see Duration.getNano().
-                        // So the seconds should be humanity seconds - 1, so +1 then negate.
-                        seconds = -(seconds + 1);
-                        nanos = NANOS_OF_SECOND - nanos;
-                    } else {
-                        seconds = -seconds;
-                    }
-                }
-
-                int size = nanos > 0 ? MICRO_TIME_SIZE : TIME_SIZE;
-
-                ByteBuf buf = allocator.buffer(Byte.BYTES + size);
+                ByteBuf buf = allocator.buffer(Byte.BYTES + MICRO_TIME_SIZE);
 
                 try {
-                    buf.writeByte(size)
-                        .writeBoolean(isNegative)
-                        .writeIntLE((int) (seconds / SECONDS_OF_DAY))
-                        .writeByte((int) ((seconds % SECONDS_OF_DAY) / SECONDS_OF_HOUR))
-                        .writeByte((int) ((seconds % SECONDS_OF_HOUR) / SECONDS_OF_MINUTE))
-                        .writeByte((int) (seconds % SECONDS_OF_MINUTE));
-
-                    if (nanos > 0) {
-                        return buf.writeIntLE(nanos / NANOS_OF_MICRO);
-                    }
-
+                    writeBinary(buf);
                     return buf;
                 } catch (Throwable e) {
                     buf.release();
@@ -215,6 +183,45 @@ final class DurationCodec extends AbstractClassedCodec<Duration> {
             });
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            long seconds = value.getSeconds();
+            int nanos = value.getNano();
+
+            if (seconds == 0 && nanos == 0) {
+                // It is zero of var int, not terminal.
+                buf.writeByte(0);
+                return true;
+            }
+
+            boolean isNegative = value.isNegative();
+            if (isNegative) {
+                if (nanos > 0) {
+                    // Note: nanos should always be a positive integer or 0, see Duration.getNano().
+                    // So the seconds should be humanity seconds - 1, so +1 then negate.
+                    seconds = -(seconds + 1);
+                    nanos = NANOS_OF_SECOND - nanos;
+                } else {
+                    seconds = -seconds;
+                }
+            }
+
+            int size = nanos > 0 ? MICRO_TIME_SIZE : TIME_SIZE;
+
+            buf.writeByte(size)
+                .writeBoolean(isNegative)
+                .writeIntLE((int) (seconds / SECONDS_OF_DAY))
+                .writeByte((int) ((seconds % SECONDS_OF_DAY) / SECONDS_OF_HOUR))
+                .writeByte((int) ((seconds % SECONDS_OF_HOUR) / SECONDS_OF_MINUTE))
+                .writeByte((int) (seconds % SECONDS_OF_MINUTE));
+
+            if (nanos > 0) {
+                buf.writeIntLE(nanos / NANOS_OF_MICRO);
+            }
+
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> encodeTo(writer));
@@ -131,6 +131,12 @@ final class FloatCodec extends AbstractPrimitiveCodec<Float> {
             });
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeFloatLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeFloat(value));
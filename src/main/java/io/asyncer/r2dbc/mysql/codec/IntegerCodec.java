@@ -134,6 +134,12 @@ final class IntegerCodec extends AbstractPrimitiveCodec<Integer> {
             return Mono.fromSupplier(() -> allocator.buffer(Integer.BYTES).writeIntLE(value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeIntLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeInt(value));
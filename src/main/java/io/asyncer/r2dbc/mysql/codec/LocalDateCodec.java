@@ -102,16 +102,20 @@ final class LocalDateCodec extends AbstractClassedCodec<LocalDate> {
         ByteBuf buf = alloc.buffer(Byte.BYTES + DateTimes.DATE_SIZE);
 
         try {
-            return buf.writeByte(DateTimes.DATE_SIZE)
-                .writeShortLE(date.getYear())
-                .writeByte(date.getMonthValue())
-                .writeByte(date.getDayOfMonth());
+            return writeDate(buf, date);
         } catch (Throwable e) {
             buf.release();
             throw e;
         }
     }
 
+    static ByteBuf writeDate(ByteBuf buf, LocalDate date) {
+        return buf.writeByte(DateTimes.DATE_SIZE)
+            .writeShortLE(date.getYear())
+            .writeByte(date.getMonthValue())
+            .writeByte(date.getDayOfMonth());
+    }
+
     static void encodeDate(ParameterWriter writer, LocalDate date) {
         boolean isNegative;
         int year = date.getYear();
@@ -171,6 +175,12 @@ final class LocalDateCodec extends AbstractClassedCodec<LocalDate> {
             return Mono.fromSupplier(() -> encodeDate(allocator, value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            writeDate(buf, value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> encodeDate(writer, value));
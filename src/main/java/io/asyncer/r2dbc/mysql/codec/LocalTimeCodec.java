@@ -154,30 +154,39 @@ final class LocalTimeCodec extends AbstractClassedCodec<LocalTime> {
             return alloc.buffer(Byte.BYTES).writeByte(0);
         }
 
-        int nanos = time.getNano();
-        int size = nanos > 0 ? MICRO_TIME_SIZE : TIME_SIZE;
-
-        ByteBuf buf = alloc.buffer(Byte.BYTES + size);
+        ByteBuf buf = alloc.buffer(Byte.BYTES + (time.getNano() > 0 ? MICRO_TIME_SIZE : TIME_SIZE));
 
         try {
-            buf.writeByte(size)
-                .writeBoolean(false)
-                .writeIntLE(0)
-                .writeByte(time.getHour())
-                .writeByte(time.getMinute())
-                .writeByte(time.getSecond());
-
-            if (nanos > 0) {
-                return buf.writeIntLE(nanos / NANOS_OF_MICRO);
-            }
-
-            return buf;
+            return writeBinary(buf, time);
         } catch (Throwable e) {
             buf.release();
             throw e;
         }
     }
 
+    static ByteBuf writeBinary(ByteBuf buf, LocalTime time) {
+        if (LocalTime.MIDNIGHT.equals(time)) {
+            // It is zero of var int, not terminal.
+            return buf.writeByte(0);
+        }
+
+        int nanos = time.getNano();
+        int size = nanos > 0 ? MICRO_TIME_SIZE : TIME_SIZE;
+
+        buf.writeByte(size)
+            .writeBoolean(false)
+            .writeIntLE(0)
+            .writeByte(time.getHour())
+            .writeByte(time.getMinute())
+            .writeByte(time.getSecond());
+
+        if (nanos > 0) {
+            return buf.writeIntLE(nanos / NANOS_OF_MICRO);
+        }
+
+        return buf;
+    }
+
     static void encodeTime(ParameterWriter writer, LocalTime time) {
         int micros = time.getNano() / NANOS_OF_MICRO;
         DurationCodec.encodeTime(writer, false, time.getHour(), time.getMinute(), time.getSecond(), micros);
@@ -208,6 +217,12 @@ final class LocalTimeCodec extends AbstractClassedCodec<LocalTime> {
             return Mono.fromSupplier(() -> encodeBinary(allocator, value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            LocalTimeCodec.writeBinary(buf, value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> encodeTime(writer, value));
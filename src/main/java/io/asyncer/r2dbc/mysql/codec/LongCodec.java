@@ -44,22 +44,7 @@ final class LongCodec extends AbstractPrimitiveCodec<Long> {
     @Override
     public Long decode(ByteBuf value, MySqlColumnMetadata metadata, Class<?> target, boolean binary,
         CodecContext context) {
-        MySqlType type = metadata.getType();
-
-        if (binary) {
-            return decodeBinary(value, type);
-        }
-
-        switch (type) {
-            case FLOAT:
-                return (long) Float.parseFloat(value.toString(StandardCharsets.US_ASCII));
-            case DOUBLE:
-                return (long) Double.parseDouble(value.toString(StandardCharsets.US_ASCII));
-            case DECIMAL:
-                return decimalLong(value);
-            default:
-                return CodecUtils.parseLong(value);
-        }
+        return decodeLong(value, binary, metadata.getType());
     }
 
     @Override
@@ -77,6 +62,23 @@ final class LongCodec extends AbstractPrimitiveCodec<Long> {
         return metadata.getType().isNumeric();
     }
 
+    static long decodeLong(ByteBuf buf, boolean binary, MySqlType type) {
+        if (binary) {
+            return decodeBinary(buf, type);
+        }
+
+        switch (type) {
+            case FLOAT:
+                return (long) Float.parseFloat(buf.toString(StandardCharsets.US_ASCII));
+            case DOUBLE:
+                return (long) Double.parseDouble(buf.toString(StandardCharsets.US_ASCII));
+            case DECIMAL:
+                return decimalLong(buf);
+            default:
+                return CodecUtils.parseLong(buf);
+        }
+    }
+
     static MySqlParameter encodeLong(long v) {
         if ((byte) v == v) {
             return new ByteMySqlParameter((byte) v);
@@ -140,6 +142,12 @@ final class LongCodec extends AbstractPrimitiveCodec<Long> {
             return Mono.fromSupplier(() -> allocator.buffer(Long.BYTES).writeLongLE(value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeLongLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeLong(value));
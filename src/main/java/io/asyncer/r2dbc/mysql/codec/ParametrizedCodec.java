@@ -47,6 +47,9 @@ public interface ParametrizedCodec<T> extends Codec<T> {
 
     /**
      * Check if can decode the field value as specified {@link ParameterizedType}.
+     * <p>
+     * Note: the result will be cached by the type and native precision of the column and the target, so it
+     * should be determined only by them.
      *
      * @param metadata the metadata of the column.
      * @param target   the specified {@link ParameterizedType}.
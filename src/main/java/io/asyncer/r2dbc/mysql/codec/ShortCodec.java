@@ -76,6 +76,12 @@ final class ShortCodec extends AbstractPrimitiveCodec<Short> {
             return Mono.fromSupplier(() -> allocator.buffer(Short.BYTES).writeShortLE(value));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            buf.writeShortLE(value);
+            return true;
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.writeInt(value));
@@ -23,9 +23,11 @@ import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Codec for {@link String}.
@@ -84,6 +86,43 @@ final class StringCodec extends AbstractClassedCodec<String> {
         }
     }
 
+    /**
+     * Writes a {@link CharSequence} with a var integer length into {@code buf}, it is supported only if the
+     * size of encoded bytes can be calculated without encoding, i.e. UTF-8 or single byte charsets, and the
+     * size does not exceed {@link CodecUtils#MAX_WRITE_BINARY_SIZE}.
+     *
+     * @param buf     the buffer to write.
+     * @param value   the value.
+     * @param context the codec context.
+     * @return if it has been written.
+     */
+    static boolean writeCharSequence(ByteBuf buf, CharSequence value, CodecContext context) {
+        if (value.length() > CodecUtils.MAX_WRITE_BINARY_SIZE) {
+            // Each character is encoded as at least one byte.
+            return false;
+        }
+
+        Charset charset = context.getClientCollation().getCharset();
+        int size;
+
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            size = ByteBufUtil.utf8Bytes(value);
+        } else if (StandardCharsets.US_ASCII.equals(charset) || StandardCharsets.ISO_8859_1.equals(charset)) {
+            size = value.length();
+        } else {
+            return false;
+        }
+
+        if (size > CodecUtils.MAX_WRITE_BINARY_SIZE) {
+            return false;
+        }
+
+        VarIntUtils.writeVarInt(buf, size);
+        buf.writeCharSequence(value, charset);
+
+        return true;
+    }
+
     private static class StringMySqlParameter extends AbstractMySqlParameter {
 
         private final CharSequence value;
@@ -100,6 +139,11 @@ final class StringCodec extends AbstractClassedCodec<String> {
             return Mono.fromSupplier(() -> encodeCharSequence(allocator, value, context));
         }
 
+        @Override
+        public boolean writeBinary(ByteBuf buf) {
+            return writeCharSequence(buf, value, context);
+        }
+
         @Override
         public Mono<Void> publishText(ParameterWriter writer) {
             return Mono.fromRunnable(() -> writer.append(value));
@@ -21,6 +21,7 @@ import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.netty.buffer.ByteBuf;
 import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Clob;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -107,5 +108,28 @@ public final class LobUtils {
         }
     }
 
+    /**
+     * Create a {@link Blob} from {@link ByteBuf} chunks which are still being received.
+     *
+     * @param chunks the chunks, each chunk will be released after it has been converted.
+     * @return the {@link Blob} from streaming.
+     * @since 1.1.2
+     */
+    public static Blob createBlob(Flux<ByteBuf> chunks) {
+        return new StreamingBlob(chunks);
+    }
+
+    /**
+     * Create a {@link Clob} from {@link ByteBuf} chunks which are still being received.
+     *
+     * @param chunks    the chunks, each chunk will be released after it has been converted.
+     * @param collation the character collation.
+     * @return the {@link Clob} from streaming.
+     * @since 1.1.2
+     */
+    public static Clob createClob(Flux<ByteBuf> chunks, CharCollation collation) {
+        return new StreamingClob(chunks, collation);
+    }
+
     private LobUtils() { }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.asyncer.r2dbc.mysql.codec.lob;
+
+import io.asyncer.r2dbc.mysql.collation.CharCollation;
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.spi.Clob;
+import reactor.core.publisher.Flux;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import static io.asyncer.r2dbc.mysql.internal.util.InternalArrays.EMPTY_BYTES;
+
+/**
+ * An implementation of {@link Clob} for {@link ByteBuf}s which are still being received.
+ * <p>
+ * A character may be split by chunks, so the trailing bytes of an incomplete character will be decoded with
+ * the next chunk.
+ */
+final class StreamingClob extends StreamingLob<CharSequence> implements Clob {
+
+    /**
+     * The maximum bytes of a character in all supported charsets, e.g. 4 in {@code utf8mb4}.
+     */
+    private static final int MAX_CHAR_BYTES = 8;
+
+    private final CharsetDecoder decoder;
+
+    private byte[] pending = EMPTY_BYTES;
+
+    StreamingClob(Flux<ByteBuf> chunks, CharCollation collation) {
+        super(chunks);
+
+        this.decoder = collation.getCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    protected CharSequence convert(ByteBuf buf) {
+        ByteBuffer in = buf.nioBuffer();
+        byte[] pending = this.pending;
+        CharBuffer out = CharBuffer.allocate((int) ((pending.length + in.remaining()) *
+            (double) decoder.maxCharsPerByte()) + 1);
+
+        if (pending.length > 0) {
+            // Complete the split character with leading bytes of this chunk.
+            int start = in.position();
+            int head = Math.min(in.remaining(), MAX_CHAR_BYTES);
+            ByteBuffer leading = in.duplicate();
+            ByteBuffer joined = ByteBuffer.allocate(pending.length + head);
+
+            // Call methods of Buffer, covariant overrides of ByteBuffer do not exist in Java 8.
+            ((Buffer) leading).limit(start + head);
+            joined.put(pending).put(leading);
+            ((Buffer) joined).flip();
+            decoder.decode(joined, out, false);
+
+            int consumed = joined.position() - pending.length;
+
+            if (consumed < 0) {
+                // Still incomplete, it means this chunk is too short.
+                this.pending = remaining(joined);
+                ((Buffer) out).flip();
+
+                return out.toString();
+            }
+
+            ((Buffer) in).position(start + consumed);
+        }
+
+        decoder.decode(in, out, false);
+        this.pending = remaining(in);
+        ((Buffer) out).flip();
+
+        return out.toString();
+    }
+
+    private static byte[] remaining(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return EMPTY_BYTES;
+        }
+
+        byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        return bytes;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.asyncer.r2dbc.mysql.codec.lob;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base class considers {@link ByteBuf}s which are still being received, it converts and releases each chunk
+ * as soon as it is received.  Chunks will be drained and released on discarding.
+ *
+ * @param <T> the emit data type, it should be {@code ByteBuffer} or {@link CharSequence}.
+ */
+abstract class StreamingLob<T> {
+
+    private final AtomicReference<Flux<ByteBuf>> chunks;
+
+    StreamingLob(Flux<ByteBuf> chunks) {
+        this.chunks = new AtomicReference<>(chunks);
+    }
+
+    public final Flux<T> stream() {
+        return Flux.defer(() -> {
+            Flux<ByteBuf> chunks = this.chunks.getAndSet(null);
+
+            if (chunks == null) {
+                return Flux.error(new IllegalStateException("Source has been released"));
+            }
+
+            return chunks.map(this::consume);
+        });
+    }
+
+    public final Mono<Void> discard() {
+        return Mono.defer(() -> {
+            Flux<ByteBuf> chunks = this.chunks.getAndSet(null);
+
+            if (chunks == null) {
+                return Mono.empty();
+            }
+
+            // Drain the remaining chunks, the connection can not read others before the value is received.
+            return chunks.doOnNext(ByteBuf::release).then();
+        });
+    }
+
+    protected abstract T convert(ByteBuf buf);
+
+    private T consume(ByteBuf buf) {
+        try {
+            return convert(buf);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.constant;
+
+/**
+ * The compression algorithms of the MySQL protocol, it is negotiated in the handshake phase and used after
+ * the connection logon.
+ * <p>
+ * Note: compression trades CPU for network bandwidth. It is useful when the network is slow or billed by
+ * bytes, e.g. across availability zones, and the results are large and compressible.
+ */
+public enum CompressionAlgorithm {
+
+    /**
+     * Do not compress the protocol, it is the default algorithm.
+     * <p>
+     * If it is one of the configured algorithms, the connection will fall back to uncompressed when the
+     * server does not support other configured algorithms, otherwise the connection fails.
+     */
+    UNCOMPRESSED,
+
+    /**
+     * The zlib (deflate) compression, it is supported by almost all versions of MySQL and MariaDB.
+     */
+    ZLIB,
+
+    /**
+     * The Z-Standard compression, it is supported by MySQL 8.0.18 and above. It requires
+     * {@code com.github.luben:zstd-jni} in the classpath, otherwise it will not be negotiated.
+     *
+     * @since 1.1.2
+     */
+    ZSTD
+}
@@ -16,6 +16,11 @@
 
 package io.asyncer.r2dbc.mysql.internal.util;
 
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonEmpty;
 
 /**
@@ -70,6 +75,22 @@ public final class StringUtils {
         return returning.isEmpty() ? sql : sql + " RETURNING " + returning;
     }
 
+    /**
+     * Calculates the size of a string after encoding by a charset.  It is exact for UTF-8, otherwise it is
+     * the maximum possible size.
+     *
+     * @param s       the string.
+     * @param charset the charset to encode the string.
+     * @return the size in bytes.
+     */
+    public static int encodedSize(CharSequence s, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return ByteBufUtil.utf8Bytes(s);
+        }
+
+        return (int) Math.ceil(s.length() * (double) charset.newEncoder().maxBytesPerChar());
+    }
+
     private StringUtils() {
     }
 }
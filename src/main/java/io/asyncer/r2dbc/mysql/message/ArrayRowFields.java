@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.asyncer.r2dbc.mysql.message;
+
+import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link RowFields} considers decoded {@link FieldValue}s.
+ */
+final class ArrayRowFields extends AbstractReferenceCounted implements RowFields {
+
+    private final FieldValue[] fields;
+
+    ArrayRowFields(FieldValue[] fields) {
+        this.fields = requireNonNull(fields, "fields must not be null");
+    }
+
+    @Override
+    public FieldValue get(int index) {
+        return fields[index];
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        for (FieldValue field : this.fields) {
+            field.touch(hint);
+        }
+
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        NettyBufferUtils.releaseAll(fields);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.asyncer.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link RowFields} considers a row which is in a single buffer.  It keeps the buffer
+ * and an offset table instead of a retained slice per field, and creates a {@link NormalFieldValue} only when
+ * the field is got.
+ * <p>
+ * The created {@link NormalFieldValue} wraps a non-retained slice, so it shares the reference count with the
+ * row buffer, and it should NEVER be released.  Codecs which keep the slice (e.g. {@code Blob}) will retain
+ * the slice by themselves.
+ */
+final class FlyweightRowFields extends AbstractReferenceCounted implements RowFields {
+
+    private final ByteBuf buf;
+
+    private final int[] offsets;
+
+    FlyweightRowFields(ByteBuf buf, int[] offsets) {
+        this.buf = requireNonNull(buf, "buf must not be null");
+        this.offsets = requireNonNull(offsets, "offsets must not be null");
+    }
+
+    @Override
+    public FieldValue get(int index) {
+        int i = index << 1;
+        int offset = offsets[i];
+
+        if (offset < 0) {
+            return FieldValue.nullField();
+        }
+
+        return new NormalFieldValue(buf.slice(offset, offsets[i + 1]));
+    }
+
+    @Override
+    public boolean isNull(int index) {
+        return offsets[index << 1] < 0;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        buf.touch(hint);
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        buf.release();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.asyncer.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * Fields of a row, which can be got by index.  It has 2-implementations: {@link ArrayRowFields} which holds
+ * decoded {@link FieldValue}s, and {@link FlyweightRowFields} which holds the row buffer and an offset table,
+ * then creates {@link FieldValue}s lazily.
+ * <p>
+ * Note: a {@link FieldValue} got from it is owned by the {@link RowFields}, should NEVER be released by
+ * the caller.
+ *
+ * @since 1.1.2
+ */
+public interface RowFields extends ReferenceCounted {
+
+    /**
+     * Gets the field by index.
+     *
+     * @param index the index of the field starting at {@code 0}.
+     * @return the field, it is owned by this {@link RowFields}.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    FieldValue get(int index);
+
+    /**
+     * Checks if the field is {@code null} without getting it.
+     *
+     * @param index the index of the field starting at {@code 0}.
+     * @return if the field is {@code null}.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    default boolean isNull(int index) {
+        return get(index).isNull();
+    }
+
+    /**
+     * Creates a {@link RowFields} which holds decoded fields, it will release all fields when it is released.
+     *
+     * @param fields the decoded fields.
+     * @return the {@link RowFields}.
+     * @throws IllegalArgumentException if {@code fields} is {@code null}.
+     */
+    static RowFields of(FieldValue[] fields) {
+        return new ArrayRowFields(fields);
+    }
+
+    /**
+     * Creates a {@link RowFields} which holds the row buffer and an offset table, it will release the buffer
+     * when it is released.
+     * <p>
+     * The offset table contains a pair of absolute index and length for each field, i.e. the field {@code i}
+     * is {@code offsets[i * 2]} and {@code offsets[i * 2 + 1]}.  The index {@code -1} means {@code null}.
+     *
+     * @param buf     the row buffer, it will be owned by the {@link RowFields}.
+     * @param offsets the offset table.
+     * @return the {@link RowFields}.
+     * @throws IllegalArgumentException if {@code buf} or {@code offsets} is {@code null}.
+     */
+    static RowFields flyweight(ByteBuf buf, int[] offsets) {
+        return new FlyweightRowFields(buf, offsets);
+    }
+}
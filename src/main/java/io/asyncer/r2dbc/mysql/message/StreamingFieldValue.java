@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import reactor.core.Scannable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link FieldValue} considers a huge field value which is still being received, it
+ * is the last field of a row which is larger than an envelope.  The chunks of the value are emitted by
+ * {@link #stream()} as soon as they are received.
+ * <p>
+ * The chunks can be streamed only once, and should be consumed or discarded in time, because the following
+ * data of the connection will not be read until the value has been received completely.  If the value is
+ * released without being streamed, the remaining chunks will be discarded.
+ *
+ * @see FieldValue
+ */
+public final class StreamingFieldValue extends AbstractReferenceCounted implements FieldValue {
+
+    private final Sinks.Many<ByteBuf> chunks = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final AtomicBoolean streamed = new AtomicBoolean();
+
+    private final Runnable onDemand;
+
+    /**
+     * Creates a streaming value.
+     *
+     * @param onDemand the callback when the consumer requests more chunks, it may be called by any thread.
+     */
+    public StreamingFieldValue(Runnable onDemand) {
+        this.onDemand = requireNonNull(onDemand, "onDemand must not be null");
+    }
+
+    /**
+     * Takes the chunks of the value.  The ownership of each chunk is transferred to the subscriber.
+     *
+     * @return the chunks of the value.
+     * @throws IllegalStateException if the chunks have been taken.
+     */
+    public Flux<ByteBuf> stream() {
+        if (!streamed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Streaming field value can only be streamed once");
+        }
+
+        return chunks.asFlux()
+            .doOnRequest(ignored -> onDemand.run())
+            .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease);
+    }
+
+    /**
+     * Emits a received chunk.  It should be called by the decoder only.
+     *
+     * @param chunk the received chunk.
+     */
+    public void next(ByteBuf chunk) {
+        if (chunks.tryEmitNext(chunk).isFailure()) {
+            // Cancelled by the consumer, discard the remaining data.
+            chunk.release();
+        }
+    }
+
+    /**
+     * Completes the value after the last chunk has been received.  It should be called by the decoder only.
+     */
+    public void complete() {
+        chunks.tryEmitComplete();
+    }
+
+    /**
+     * Terminates the value with an error, e.g. the connection has been closed.  It should be called by the
+     * decoder only.
+     *
+     * @param e the error.
+     */
+    public void error(Throwable e) {
+        chunks.tryEmitError(e);
+    }
+
+    /**
+     * Checks if received chunks have not been consumed, the decoder should stop reading to wait for them.
+     *
+     * @return if received chunks have not been consumed.
+     */
+    public boolean isBackpressured() {
+        Integer buffered = chunks.scan(Scannable.Attr.BUFFERED);
+
+        return buffered != null && buffered > 0;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        if (streamed.compareAndSet(false, true)) {
+            // Never streamed, drain and release the remaining chunks to keep the connection readable.
+            chunks.asFlux()
+                .doOnRequest(ignored -> onDemand.run())
+                .subscribe(ReferenceCountUtil::safeRelease, ignored -> { });
+        }
+    }
+}
@@ -41,13 +41,15 @@ public interface HandshakeResponse extends SubsequenceClientMessage {
      * @param authType       the authentication plugin type.
      * @param database       the connecting database, may be empty.
      * @param attributes     the connecting attributes.
+     * @param zstdCompressionLevel the Z-Standard compression level, only used if Z-Standard enabled.
      * @return the instance implemented by the specified protocol version.
      */
     static HandshakeResponse from(int envelopeId, Capability capability, int collationId, String user,
-        byte[] authentication, String authType, String database, Map<String, String> attributes) {
+        byte[] authentication, String authType, String database, Map<String, String> attributes,
+        int zstdCompressionLevel) {
         if (capability.isProtocol41()) {
             return new HandshakeResponse41(envelopeId, capability, collationId, user, authentication,
-                authType, database, attributes);
+                authType, database, attributes, zstdCompressionLevel);
         }
 
         return new HandshakeResponse320(envelopeId, capability, user, authentication, database);
@@ -49,16 +49,18 @@ final class HandshakeResponse41 extends ScalarClientMessage implements Handshake
 
     private final Map<String, String> attributes;
 
-    // private final byte zStdCompressionLevel; // When Z-Standard compression supporting
+    private final int zstdCompressionLevel;
 
     HandshakeResponse41(int envelopeId, Capability capability, int collationId, String user,
-        byte[] authentication, String authType, String database, Map<String, String> attributes) {
+        byte[] authentication, String authType, String database, Map<String, String> attributes,
+        int zstdCompressionLevel) {
         this.header = new SslRequest41(envelopeId, capability, collationId);
         this.user = requireNonNull(user, "user must not be null");
         this.authentication = requireNonNull(authentication, "authentication must not be null");
         this.database = requireNonNull(database, "database must not be null");
         this.authType = requireNonNull(authType, "authType must not be null");
         this.attributes = requireNonNull(attributes, "attributes must not be null");
+        this.zstdCompressionLevel = zstdCompressionLevel;
     }
 
     @Override
@@ -79,7 +81,8 @@ final class HandshakeResponse41 extends ScalarClientMessage implements Handshake
 
         return header.equals(that.header) && user.equals(that.user) &&
             Arrays.equals(authentication, that.authentication) && authType.equals(that.authType) &&
-            database.equals(that.database) && attributes.equals(that.attributes);
+            database.equals(that.database) && attributes.equals(that.attributes) &&
+            zstdCompressionLevel == that.zstdCompressionLevel;
     }
 
     @Override
@@ -89,7 +92,8 @@ final class HandshakeResponse41 extends ScalarClientMessage implements Handshake
         result = 31 * result + Arrays.hashCode(authentication);
         result = 31 * result + authType.hashCode();
         result = 31 * result + database.hashCode();
-        return 31 * result + attributes.hashCode();
+        result = 31 * result + attributes.hashCode();
+        return 31 * result + zstdCompressionLevel;
     }
 
     @Override
@@ -98,7 +102,8 @@ final class HandshakeResponse41 extends ScalarClientMessage implements Handshake
             ", capability=" + header.getCapability() +
             ", collationId=" + header.getCollationId() + ", user='" + user +
             "', authentication=REDACTED, authType='" + authType +
-            "', database='" + database + "', attributes=" + attributes + '}';
+            "', database='" + database + "', attributes=" + attributes +
+            ", zstdCompressionLevel=" + zstdCompressionLevel + '}';
     }
 
     @Override
@@ -131,6 +136,10 @@ final class HandshakeResponse41 extends ScalarClientMessage implements Handshake
         if (capability.isConnectionAttributesAllowed()) {
             writeAttrs(buf, charset);
         }
+
+        if (capability.isZstdCompression()) {
+            buf.writeByte(zstdCompressionLevel);
+        }
     }
 
     private void writeAttrs(ByteBuf buf, Charset charset) {
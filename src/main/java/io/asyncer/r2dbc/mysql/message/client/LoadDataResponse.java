@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
+import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A message considers as the content of a local in-file which is serialized from rows on the fly, instead
+ * of reading a file.
+ * <p>
+ * Each encoded buffer contains whole rows (unless a row is larger than an envelope), and it is smaller than
+ * the maximum size of an envelope, so it can be written as an envelope directly.  The last buffer is always
+ * an empty buffer which terminates the content.
+ */
+public final class LoadDataResponse implements SubsequenceClientMessage {
+
+    /**
+     * The maximum size of an encoded buffer, so that no envelope is a full-size envelope.
+     */
+    private static final int MAX_BUFFER_SIZE = Envelopes.MAX_ENVELOPE_SIZE - 1;
+
+    private final int envelopeId;
+
+    private final Flux<MySqlParameter[]> rows;
+
+    private final int bufferSize;
+
+    private final SynchronousSink<?> errorSink;
+
+    /**
+     * Creates a response which serializes rows into the content of a local in-file.
+     *
+     * @param envelopeId the envelope ID of the first envelope.
+     * @param rows       the rows, all parameters will be disposed after written.
+     * @param bufferSize the size of buffered rows before emitting them.
+     * @param errorSink  the sink to report an error after the content has been terminated.
+     */
+    public LoadDataResponse(int envelopeId, Flux<MySqlParameter[]> rows, int bufferSize,
+        SynchronousSink<?> errorSink) {
+        require(bufferSize > 0, "bufferSize must be positive");
+
+        this.envelopeId = envelopeId;
+        this.rows = requireNonNull(rows, "rows must not be null");
+        this.bufferSize = Math.min(bufferSize, MAX_BUFFER_SIZE);
+        this.errorSink = requireNonNull(errorSink, "errorSink must not be null");
+    }
+
+    @Override
+    public Flux<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        return Flux.defer(() -> {
+            LoadDataWriter writer = new LoadDataWriter(allocator, context.getClientCollation().getCharset(),
+                bufferSize);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            return OperatorUtils.discardOnCancel(rows)
+                .doOnDiscard(MySqlParameter[].class, LoadDataResponse::dispose)
+                .concatMap(row -> writeRow(writer, row))
+                .concatWith(Mono.fromCallable(writer::takeRemaining))
+                .concatMapIterable(LoadDataResponse::split)
+                .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease)
+                .onErrorComplete(e -> {
+                    // Server needs an empty buffer, so emit error to upstream instead of encoding stream.
+                    error.set(e);
+                    return true;
+                })
+                .concatWith(Mono.fromCallable(() -> allocator.buffer(0, 0)))
+                .doFinally(ignored -> writer.dispose())
+                .doAfterTerminate(() -> {
+                    Throwable e = error.getAndSet(null);
+
+                    if (e != null) {
+                        errorSink.error(e);
+                    }
+                });
+        });
+    }
+
+    @Override
+    public int getEnvelopeId() {
+        return envelopeId;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadDataResponse{envelopeId=" + envelopeId + ", bufferSize=" + bufferSize + '}';
+    }
+
+    private static Mono<ByteBuf> writeRow(LoadDataWriter writer, MySqlParameter[] row) {
+        return Flux.fromArray(row)
+            .concatMap(value -> {
+                writer.startField();
+                return value.publishText(writer);
+            })
+            .doOnDiscard(MySqlParameter.class, MySqlParameter::dispose)
+            .then(Mono.fromCallable(writer::endRow));
+    }
+
+    private static List<ByteBuf> split(ByteBuf buf) {
+        if (buf.readableBytes() <= MAX_BUFFER_SIZE) {
+            return Collections.singletonList(buf);
+        }
+
+        try {
+            List<ByteBuf> result = new ArrayList<>(buf.readableBytes() / MAX_BUFFER_SIZE + 1);
+
+            while (buf.isReadable()) {
+                result.add(buf.readRetainedSlice(Math.min(buf.readableBytes(), MAX_BUFFER_SIZE)));
+            }
+
+            return result;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void dispose(MySqlParameter[] row) {
+        for (MySqlParameter value : row) {
+            value.dispose();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ParameterWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * An implementation of {@link ParameterWriter} that writes rows in the default format of
+ * {@code LOAD DATA}, i.e. fields terminated by {@code '\t'}, escaped by {@code '\\'} and lines terminated by
+ * {@code '\n'}, without enclosing characters.
+ * <p>
+ * Strings are encoded by the client character set, and binary data are written as raw bytes.  Both of them
+ * will be escaped.
+ * <p>
+ * WARNING: It is not safe for multithreaded access.
+ */
+final class LoadDataWriter extends ParameterWriter {
+
+    private final ByteBufAllocator allocator;
+
+    private final Charset charset;
+
+    private final int bufferSize;
+
+    private final StringBuilder chars = new StringBuilder();
+
+    @Nullable
+    private ByteBuf buf;
+
+    private boolean firstField = true;
+
+    LoadDataWriter(ByteBufAllocator allocator, Charset charset, int bufferSize) {
+        this.allocator = allocator;
+        this.charset = charset;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void writeNull() {
+        chars.append('\\').append('N');
+    }
+
+    @Override
+    public void writeInt(int value) {
+        chars.append(value);
+    }
+
+    @Override
+    public void writeLong(long value) {
+        chars.append(value);
+    }
+
+    @Override
+    public void writeUnsignedLong(long value) {
+        chars.append(Long.toUnsignedString(value));
+    }
+
+    @Override
+    public void writeBigInteger(BigInteger value) {
+        requireNonNull(value, "value must not be null");
+
+        chars.append(value);
+    }
+
+    @Override
+    public void writeFloat(float value) {
+        chars.append(value);
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        chars.append(value);
+    }
+
+    @Override
+    public void writeBigDecimal(BigDecimal value) {
+        requireNonNull(value, "value must not be null");
+
+        chars.append(value);
+    }
+
+    @Override
+    public void writeBinary(boolean bit) {
+        flushChars();
+        escape(buffer(), (byte) (bit ? 1 : 0));
+    }
+
+    @Override
+    public void writeHex(ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer must not be null");
+
+        flushChars();
+
+        ByteBuf buf = buffer();
+        int limit = buffer.limit();
+
+        for (int i = buffer.position(); i < limit; ++i) {
+            escape(buf, buffer.get(i));
+        }
+    }
+
+    @Override
+    public void writeHex(byte[] bytes) {
+        requireNonNull(bytes, "bytes must not be null");
+
+        flushChars();
+
+        ByteBuf buf = buffer();
+
+        for (byte b : bytes) {
+            escape(buf, b);
+        }
+    }
+
+    @Override
+    public void writeHex(long bits) {
+        flushChars();
+
+        ByteBuf buf = buffer();
+
+        // Big-endian without leading zero bytes, at least one byte.
+        for (int shift = Math.max(56 - (Long.numberOfLeadingZeros(bits) & ~7), 0); shift >= 0; shift -= 8) {
+            escape(buf, (byte) (bits >>> shift));
+        }
+    }
+
+    @Override
+    public void startString() {
+        // Strings are not enclosed.
+    }
+
+    @Override
+    public void startHex() {
+        // Binary data are written as raw bytes.
+    }
+
+    @Override
+    public void write(int c) {
+        escape((char) c);
+    }
+
+    @Override
+    public ParameterWriter append(char c) {
+        escape(c);
+        return this;
+    }
+
+    @Override
+    public ParameterWriter append(@Nullable CharSequence csq) {
+        CharSequence s = csq == null ? "null" : csq;
+
+        return append0(s, 0, s.length());
+    }
+
+    @Override
+    public ParameterWriter append(@Nullable CharSequence csq, int start, int end) {
+        CharSequence s = csq == null ? "null" : csq;
+
+        if (start < 0 || start > s.length() || end < start || end > s.length()) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", str length: " +
+                s.length());
+        }
+
+        return append0(s, start, end);
+    }
+
+    @Override
+    public void write(@Nullable String str) {
+        String s = str == null ? "null" : str;
+
+        append0(s, 0, s.length());
+    }
+
+    @Override
+    public void write(@Nullable String str, int off, int len) {
+        String s = str == null ? "null" : str;
+
+        if (off < 0 || off > s.length() || len < 0 || off + len > s.length() || off + len < 0) {
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len + ", str length: " +
+                s.length());
+        }
+
+        append0(s, off, off + len);
+    }
+
+    @Override
+    public void write(@Nullable char[] c) {
+        if (c == null) {
+            write((String) null);
+            return;
+        }
+
+        write0(c, 0, c.length);
+    }
+
+    @Override
+    public void write(@Nullable char[] c, int off, int len) {
+        if (c == null) {
+            write((String) null, off, len);
+            return;
+        }
+
+        if (off < 0 || off > c.length || len < 0 || off + len > c.length || off + len < 0) {
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len + ", chars length: " +
+                c.length);
+        }
+
+        write0(c, off, len);
+    }
+
+    /**
+     * Starts the next field of current row.
+     */
+    void startField() {
+        if (firstField) {
+            firstField = false;
+        } else {
+            chars.append('\t');
+        }
+    }
+
+    /**
+     * Ends current row, and takes the buffered rows if they reach the buffer size.
+     *
+     * @return the buffered rows, or {@code null} if they do not reach the buffer size.
+     */
+    @Nullable
+    ByteBuf endRow() {
+        chars.append('\n');
+        firstField = true;
+        flushChars();
+
+        ByteBuf buf = this.buf;
+
+        if (buf == null || buf.readableBytes() < bufferSize) {
+            return null;
+        }
+
+        this.buf = null;
+
+        return buf;
+    }
+
+    /**
+     * Takes all buffered rows.
+     *
+     * @return the buffered rows, or {@code null} if there is nothing buffered.
+     */
+    @Nullable
+    ByteBuf takeRemaining() {
+        ByteBuf buf = this.buf;
+
+        this.buf = null;
+
+        return buf;
+    }
+
+    /**
+     * Releases all buffered data.
+     */
+    void dispose() {
+        ByteBuf buf = this.buf;
+
+        this.buf = null;
+        this.chars.setLength(0);
+
+        if (buf != null) {
+            buf.release();
+        }
+    }
+
+    private ByteBuf buffer() {
+        ByteBuf buf = this.buf;
+
+        if (buf == null) {
+            return this.buf = allocator.buffer(bufferSize);
+        }
+
+        return buf;
+    }
+
+    private void flushChars() {
+        if (chars.length() > 0) {
+            buffer().writeCharSequence(chars, charset);
+            chars.setLength(0);
+        }
+    }
+
+    private ParameterWriter append0(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            escape(csq.charAt(i));
+        }
+
+        return this;
+    }
+
+    private void write0(char[] s, int off, int len) {
+        int end = len + off;
+
+        for (int i = off; i < end; ++i) {
+            escape(s[i]);
+        }
+    }
+
+    private void escape(char c) {
+        switch (c) {
+            case '\\':
+                chars.append('\\').append('\\');
+                break;
+            case '\t':
+                chars.append('\\').append('t');
+                break;
+            case '\n':
+                chars.append('\\').append('n');
+                break;
+            case '\r':
+                chars.append('\\').append('r');
+                break;
+            case 0:
+                chars.append('\\').append('0');
+                break;
+            default:
+                chars.append(c);
+                break;
+        }
+    }
+
+    private static void escape(ByteBuf buf, byte b) {
+        switch (b) {
+            case '\\':
+                buf.writeByte('\\').writeByte('\\');
+                break;
+            case '\t':
+                buf.writeByte('\\').writeByte('t');
+                break;
+            case '\n':
+                buf.writeByte('\\').writeByte('n');
+                break;
+            case '\r':
+                buf.writeByte('\\').writeByte('r');
+                break;
+            case 0:
+                buf.writeByte('\\').writeByte('0');
+                break;
+            default:
+                buf.writeByte(b);
+                break;
+        }
+    }
+}
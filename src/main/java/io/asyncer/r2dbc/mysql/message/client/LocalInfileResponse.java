@@ -58,41 +58,60 @@ public final class LocalInfileResponse implements SubsequenceClientMessage {
             int bufferSize = context.getLocalInfileBufferSize();
             AtomicReference<Throwable> error = new AtomicReference<>();
 
-            return Mono.<Path>create(sink -> {
-                try {
-                    Path safePath = context.getLocalInfilePath();
-                    Path file = Paths.get(this.path);
-
-                    if (safePath == null) {
-                        String message = "Allowed local file path not set, but attempted to load '" + file +
-                            '\'';
-                        sink.error(new R2dbcPermissionDeniedException(message));
-                    } else if (file.startsWith(safePath)) {
-                        sink.success(file);
-                    } else {
-                        String message = String.format("The file '%s' is not under the safe path '%s'",
-                            file, safePath);
-                        sink.error(new R2dbcPermissionDeniedException(message));
+            return Mono.fromCallable(() -> resolveFile(context))
+                .flatMapMany(p -> NettyBufferUtils.readFile(p, allocator, bufferSize)).onErrorComplete(e -> {
+                    // Server needs an empty buffer, so emit error to upstream instead of encoding stream.
+                    error.set(e);
+                    return true;
+                }).concatWith(Flux.just(allocator.buffer(0, 0))).doAfterTerminate(() -> {
+                    Throwable e = error.getAndSet(null);
+
+                    if (e != null) {
+                        errorSink.error(e);
                     }
-                } catch (InvalidPathException e) {
-                    sink.error(new R2dbcNonTransientResourceException("Invalid path: " + this.path, e));
-                } catch (Throwable e) {
-                    sink.error(e);
-                }
-            }).flatMapMany(p -> NettyBufferUtils.readFile(p, allocator, bufferSize)).onErrorComplete(e -> {
-                // Server needs an empty buffer, so emit error to upstream instead of encoding stream.
-                error.set(e);
-                return true;
-            }).concatWith(Flux.just(allocator.buffer(0, 0))).doAfterTerminate(() -> {
-                Throwable e = error.getAndSet(null);
-
-                if (e != null) {
-                    errorSink.error(e);
-                }
-            });
+                });
         });
     }
 
+    /**
+     * Resolves the requested file, it must be under the allowed local infile path.
+     *
+     * @param context the connection context.
+     * @return the requested file.
+     * @throws R2dbcPermissionDeniedException    if the file is not allowed.
+     * @throws R2dbcNonTransientResourceException if the path is invalid.
+     */
+    public Path resolveFile(ConnectionContext context) {
+        Path safePath = context.getLocalInfilePath();
+        Path file;
+
+        try {
+            file = Paths.get(this.path);
+        } catch (InvalidPathException e) {
+            throw new R2dbcNonTransientResourceException("Invalid path: " + this.path, e);
+        }
+
+        if (safePath == null) {
+            String message = "Allowed local file path not set, but attempted to load '" + file + '\'';
+            throw new R2dbcPermissionDeniedException(message);
+        } else if (!file.startsWith(safePath)) {
+            String message = String.format("The file '%s' is not under the safe path '%s'", file, safePath);
+            throw new R2dbcPermissionDeniedException(message);
+        }
+
+        return file;
+    }
+
+    /**
+     * Reports an error of reading the file to the query, it should be called after the terminal empty
+     * envelope has been sent.
+     *
+     * @param e the error.
+     */
+    public void reportError(Throwable e) {
+        errorSink.error(e);
+    }
+
     @Override
     public int getEnvelopeId() {
         return envelopeId;
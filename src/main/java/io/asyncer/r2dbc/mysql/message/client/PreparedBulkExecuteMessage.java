@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A message to execute a prepared statement with multiple rows of parameters in one command, i.e. MariaDB
+ * {@code COM_STMT_BULK_EXECUTE}.  It requires {@code MARIADB_CLIENT_STMT_BULK_OPERATIONS}.
+ * <p>
+ * Parameter types are sent once, so non-null values of each parameter must have the same type in all rows,
+ * except signed integers which can be widened.  Rows should be encoded by
+ * {@link #encodeRow(ByteBufAllocator, MySqlType[], MySqlParameter[])}, and long data is not supported.
+ */
+public final class PreparedBulkExecuteMessage implements ClientMessage, Disposable {
+
+    private static final byte BULK_EXECUTE_FLAG = (byte) 0xFA;
+
+    private static final int SEND_UNIT_RESULTS = 64;
+
+    private static final int SEND_TYPES_TO_SERVER = 128;
+
+    private static final byte INDICATOR_NONE = 0;
+
+    private static final byte INDICATOR_NULL = 1;
+
+    private final int statementId;
+
+    private final MySqlType[] types;
+
+    private final boolean unitResults;
+
+    private final List<ByteBuf> rows;
+
+    /**
+     * Creates a bulk execution of encoded rows.
+     *
+     * @param statementId the prepared statement ID.
+     * @param types       the types of parameters.
+     * @param unitResults if the server should report the result of each row by a result set.
+     * @param rows        the rows encoded by {@code encodeRow}, they will be released after written.
+     */
+    public PreparedBulkExecuteMessage(int statementId, MySqlType[] types, boolean unitResults,
+        List<ByteBuf> rows) {
+        this.statementId = statementId;
+        this.types = requireNonNull(types, "types must not be null");
+        this.unitResults = unitResults;
+        this.rows = new ArrayList<>(requireNonNull(rows, "rows must not be null"));
+    }
+
+    public int getStatementId() {
+        return statementId;
+    }
+
+    public int getRows() {
+        return rows.size();
+    }
+
+    @Override
+    public Flux<ByteBuf> encode(ByteBufAllocator allocator, ConnectionContext context) {
+        requireNonNull(allocator, "allocator must not be null");
+        requireNonNull(context, "context must not be null");
+
+        return Flux.defer(() -> {
+            List<ByteBuf> rows = new ArrayList<>(this.rows);
+            ByteBuf header = allocator.buffer(headerSize(types.length));
+
+            this.rows.clear();
+
+            try {
+                header.writeByte(BULK_EXECUTE_FLAG)
+                    .writeIntLE(statementId)
+                    .writeShortLE(unitResults ? SEND_TYPES_TO_SERVER | SEND_UNIT_RESULTS :
+                        SEND_TYPES_TO_SERVER);
+
+                for (MySqlType type : types) {
+                    header.writeShortLE(type.getId());
+                }
+
+                return Flux.just(header).concatWith(OperatorUtils.discardOnCancel(Flux.fromIterable(rows))
+                    .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease));
+            } catch (Throwable e) {
+                header.release();
+
+                for (ByteBuf row : rows) {
+                    ReferenceCountUtil.safeRelease(row);
+                }
+
+                return Flux.error(e);
+            }
+        });
+    }
+
+    @Override
+    public void dispose() {
+        for (ByteBuf row : rows) {
+            ReferenceCountUtil.safeRelease(row);
+        }
+
+        rows.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedBulkExecuteMessage{statementId=" + statementId + ", unitResults=" + unitResults +
+            ", has " + rows.size() + " rows of " + types.length + " parameters}";
+    }
+
+    /**
+     * Calculates the size of the command without rows.
+     *
+     * @param parameters the number of parameters.
+     * @return the size in bytes.
+     */
+    public static int headerSize(int parameters) {
+        // Flag, statement ID, bulk flags, and a type with flags for each parameter.
+        return Byte.BYTES + Integer.BYTES + Short.BYTES + Short.BYTES * parameters;
+    }
+
+    /**
+     * Checks if values of two types can be sent as the larger one, i.e. both are signed integers.
+     *
+     * @param left  the type.
+     * @param right the other type.
+     * @return if they can be widened.
+     */
+    public static boolean isWidenable(MySqlType left, MySqlType right) {
+        return isSignedInteger(left) && isSignedInteger(right);
+    }
+
+    /**
+     * Encodes a row of parameters, i.e. an indicator and the binary value (if it is not null) of each
+     * parameter.  Parameters which have not been encoded will be disposed if the encoding is cancelled.
+     *
+     * @param allocator the buffer allocator.
+     * @param types     the types of parameters in the bulk execution, signed integers will be widened to
+     *                  them.
+     * @param values    the parameters of the row.
+     * @return the encoded row.
+     */
+    public static Mono<ByteBuf> encodeRow(ByteBufAllocator allocator, MySqlType[] types,
+        MySqlParameter[] values) {
+        requireNonNull(allocator, "allocator must not be null");
+        requireNonNull(types, "types must not be null");
+        requireNonNull(values, "values must not be null");
+        require(types.length == values.length, "types and values must have the same length");
+
+        return Mono.defer(() -> {
+            ByteBuf row = allocator.buffer();
+
+            return OperatorUtils.discardOnCancel(Flux.range(0, values.length))
+                .doOnDiscard(Integer.class, i -> values[i].dispose())
+                .concatMap(i -> {
+                    MySqlParameter value = values[i];
+
+                    if (value.isNull()) {
+                        row.writeByte(INDICATOR_NULL);
+                        return Mono.empty();
+                    }
+
+                    row.writeByte(INDICATOR_NONE);
+
+                    int size = types[i].getId() == value.getType().getId() ? 0 : types[i].getBinarySize();
+
+                    return Flux.from(value.publishBinary(allocator))
+                        .doOnNext(buf -> {
+                            try {
+                                writeValue(row, buf, size);
+                            } finally {
+                                buf.release();
+                            }
+                        });
+                })
+                .then(Mono.just(row))
+                .doOnError(e -> row.release())
+                .doOnCancel(row::release);
+        });
+    }
+
+    private static void writeValue(ByteBuf row, ByteBuf value, int size) {
+        if (size <= 0) {
+            row.writeBytes(value);
+            return;
+        }
+
+        long v;
+
+        switch (value.readableBytes()) {
+            case Byte.BYTES:
+                v = value.readByte();
+                break;
+            case Short.BYTES:
+                v = value.readShortLE();
+                break;
+            case Integer.BYTES:
+                v = value.readIntLE();
+                break;
+            default:
+                v = value.readLongLE();
+                break;
+        }
+
+        switch (size) {
+            case Short.BYTES:
+                row.writeShortLE((int) v);
+                break;
+            case Integer.BYTES:
+                row.writeIntLE((int) v);
+                break;
+            default:
+                row.writeLongLE(v);
+                break;
+        }
+    }
+
+    private static boolean isSignedInteger(MySqlType type) {
+        switch (type) {
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -33,6 +33,10 @@ public final class PreparedCloseMessage extends SizedClientMessage {
         this.statementId = statementId;
     }
 
+    public int getStatementId() {
+        return statementId;
+    }
+
     @Override
     protected int size() {
         return SIZE;
@@ -18,14 +18,17 @@ package io.asyncer.r2dbc.mysql.message.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
 import io.asyncer.r2dbc.mysql.internal.util.OperatorUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import org.jetbrains.annotations.Nullable;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -35,6 +38,12 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
  */
 public final class PreparedExecuteMessage implements ClientMessage, Disposable {
 
+    /**
+     * The statement ID which means the last prepared statement of the connection, it is supported by MariaDB
+     * only.  It can be used to send an execution right after the preparing without waiting for its result.
+     */
+    public static final int LAST_PREPARED_ID = -1;
+
     /**
      * No cursor, just return entire result without fetch.
      */
@@ -67,10 +76,95 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
 
     private final MySqlParameter[] values;
 
+    /**
+     * IDs of parameter types of this execution.
+     */
+    private final int[] types;
+
+    /**
+     * If parameter types should be sent, they will be omitted if the server has bound the same types.
+     */
+    private final boolean sendTypes;
+
+    /**
+     * IDs of parameter types which are bound on the server after this execution.
+     */
+    @Nullable
+    private final int[] boundTypes;
+
     public PreparedExecuteMessage(int statementId, boolean immediate, MySqlParameter[] values) {
+        this(statementId, immediate, values, null);
+    }
+
+    /**
+     * Creates an execution which omits parameter types if they are the same as the types bound by the
+     * previous execution of the statement, i.e. {@code new_params_bound_flag} is {@code 0}.
+     *
+     * @param statementId the prepared statement ID.
+     * @param immediate   if it should be executed immediately, otherwise open a cursor.
+     * @param values      the parameters.
+     * @param boundTypes  the parameter types bound by the previous execution of the statement, or
+     *                    {@code null} if unknown.
+     */
+    public PreparedExecuteMessage(int statementId, boolean immediate, MySqlParameter[] values,
+        @Nullable int[] boundTypes) {
         this.values = requireNonNull(values, "values must not be null");
         this.statementId = statementId;
         this.immediate = immediate;
+
+        int[] types = new int[values.length];
+        boolean allNull = true;
+
+        for (int i = 0; i < values.length; ++i) {
+            MySqlParameter value = values[i];
+
+            types[i] = value.getType().getId();
+            allNull &= value.isNull();
+        }
+
+        this.types = types;
+        this.sendTypes = boundTypes == null || !Arrays.equals(types, boundTypes);
+        // If all parameters are null, no types will be sent, so the server keeps the previous types.
+        this.boundTypes = allNull ? boundTypes : types;
+    }
+
+    public int getStatementId() {
+        return statementId;
+    }
+
+    /**
+     * Gets IDs of parameter types which are bound on the server after this execution, they can be used to
+     * omit the types of the next execution of the statement.
+     *
+     * @return the bound types, or {@code null} if unknown.
+     */
+    @Nullable
+    public int[] getBoundTypes() {
+        return boundTypes;
+    }
+
+    /**
+     * Creates messages of parameters which should be sent as long data, they must be sent before this
+     * message.  The values of these parameters will not be encoded by this message.
+     *
+     * @return the long data messages, or an empty list if there is no long data.
+     */
+    public List<PreparedLargeDataMessage> toLargeDataMessages() {
+        List<PreparedLargeDataMessage> messages = null;
+
+        for (int i = 0; i < values.length; ++i) {
+            MySqlParameter value = values[i];
+
+            if (!value.isNull() && value.isLongData()) {
+                if (messages == null) {
+                    messages = new ArrayList<>();
+                }
+
+                messages.add(new PreparedLargeDataMessage(statementId, i, value));
+            }
+        }
+
+        return messages == null ? Collections.emptyList() : messages;
     }
 
     @Override
@@ -83,8 +177,8 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
 
     @Override
     public String toString() {
-        return "PreparedExecuteMessage{statementId=" + statementId + ", immediate=" + immediate + ", has " +
-            values.length + " parameters}";
+        return "PreparedExecuteMessage{statementId=" + statementId + ", immediate=" + immediate +
+            ", sendTypes=" + sendTypes + ", has " + values.length + " parameters}";
     }
 
     @Override
@@ -124,12 +218,16 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
                     return Flux.just(buf);
                 }
 
-                buf.writeBoolean(true);
-                writeTypes(buf, size);
+                buf.writeBoolean(sendTypes);
+
+                if (sendTypes) {
+                    writeTypes(buf);
+                }
 
                 Flux<ByteBuf> parameters = OperatorUtils.discardOnCancel(Flux.fromArray(values))
                     .doOnDiscard(MySqlParameter.class, MySqlParameter::dispose)
-                    .concatMap(mySqlParameter -> mySqlParameter.publishBinary(allocator));
+                    .concatMap(mySqlParameter -> mySqlParameter.isLongData() ? Flux.empty() :
+                        mySqlParameter.publishBinary(allocator));
 
                 return Flux.just(buf).concatWith(parameters);
             } catch (Throwable e) {
@@ -140,6 +238,86 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
         });
     }
 
+    /**
+     * Encodes the whole execution as an envelope synchronously, i.e. envelope header and payload in one
+     * buffer.  It is a fast path without reactive operators and buffers of each parameter, which is used if
+     * all parameters support {@link MySqlParameter#writeBinary(ByteBuf)}.
+     *
+     * @param allocator the buffer allocator.
+     * @return the envelope, or {@code null} if it should be encoded by {@link #encode}.
+     */
+    @Nullable
+    public ByteBuf encodeEnvelope(ByteBufAllocator allocator) {
+        requireNonNull(allocator, "allocator must not be null");
+
+        int size = values.length;
+        ByteBuf buf = allocator.buffer();
+
+        try {
+            buf.writeMediumLE(0)
+                .writeByte(0)
+                .writeByte(EXECUTE_FLAG)
+                .writeIntLE(statementId)
+                .writeByte(immediate ? NO_CURSOR : READ_ONLY)
+                .writeIntLE(TIMES);
+
+            if (size > 0 && !writeParameters(buf, size)) {
+                buf.release();
+                return null;
+            }
+
+            int payload = buf.readableBytes() - Envelopes.PART_HEADER_SIZE;
+
+            if (payload >= Envelopes.MAX_ENVELOPE_SIZE) {
+                // It must be split into multiple envelopes.
+                buf.release();
+                return null;
+            }
+
+            return buf.setMediumLE(buf.readerIndex(), payload);
+        } catch (Throwable e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    private boolean writeParameters(ByteBuf buf, int size) {
+        int nullMapIndex = buf.writerIndex();
+        boolean allNull = true;
+
+        buf.writeZero(ceilDiv8(size));
+
+        for (int i = 0; i < size; ++i) {
+            if (values[i].isNull()) {
+                int index = nullMapIndex + (i >> 3);
+
+                buf.setByte(index, buf.getByte(index) | (1 << (i & 7)));
+            } else {
+                allNull = false;
+            }
+        }
+
+        if (allNull) {
+            // No need rebound.
+            buf.writeBoolean(false);
+            return true;
+        }
+
+        buf.writeBoolean(sendTypes);
+
+        if (sendTypes) {
+            writeTypes(buf);
+        }
+
+        for (MySqlParameter value : values) {
+            if (!value.isNull() && !value.isLongData() && !value.writeBinary(buf)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private byte[] fillNullBitmap(int size, List<MySqlParameter> nonNull) {
         byte[] nullMap = new byte[ceilDiv8(size)];
 
@@ -156,9 +334,9 @@ public final class PreparedExecuteMessage implements ClientMessage, Disposable {
         return nullMap;
     }
 
-    private void writeTypes(ByteBuf buf, int size) {
-        for (int i = 0; i < size; ++i) {
-            buf.writeShortLE(values[i].getType().getId());
+    private void writeTypes(ByteBuf buf) {
+        for (int type : types) {
+            buf.writeShortLE(type);
         }
     }
 
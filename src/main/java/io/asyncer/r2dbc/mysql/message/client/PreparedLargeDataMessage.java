@@ -17,22 +17,31 @@
 package io.asyncer.r2dbc.mysql.message.client;
 
 import io.asyncer.r2dbc.mysql.ConnectionContext;
-import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
-import org.reactivestreams.Publisher;
+import io.netty.util.ReferenceCountUtil;
 import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
 
 /**
  * Send parameter long data for prepared statements, it should be used by LOB types. (e.g. BLOB, CLOB)
  * <p>
+ * Each {@link ByteBuf} encoded by this message is a complete {@code COM_STMT_SEND_LONG_DATA} command, the
+ * server will append the data of all commands to the parameter and will not respond to them. So the data
+ * can be streamed chunk by chunk, and the next chunk should be requested after the previous one has been
+ * written.
+ * <p>
  * Note: it must be sent before {@link PreparedExecuteMessage}.
  */
 public final class PreparedLargeDataMessage implements ClientMessage {
 
-    private static final int MIN_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES;
 
     private static final byte LARGE_DATA_FLAG = 0x18;
 
@@ -40,12 +49,12 @@ public final class PreparedLargeDataMessage implements ClientMessage {
 
     private final int parameterId;
 
-    private final Publisher<ByteBuf> data;
+    private final MySqlParameter value;
 
-    public PreparedLargeDataMessage(int statementId, int parameterId, Publisher<ByteBuf> data) {
+    public PreparedLargeDataMessage(int statementId, int parameterId, MySqlParameter value) {
         this.statementId = statementId;
         this.parameterId = parameterId;
-        this.data = requireNonNull(data, "data must not be null");
+        this.value = requireNonNull(value, "value must not be null");
     }
 
     @Override
@@ -53,33 +62,63 @@ public final class PreparedLargeDataMessage implements ClientMessage {
         requireNonNull(allocator, "allocator must not be null");
         requireNonNull(context, "context must not be null");
 
-        return Flux.from(data).collectList().flatMapMany(values -> {
-            int i = 0;
-            int size = values.size();
-            ByteBuf[] results = new ByteBuf[size + 1];
-            long bytes = 0;
+        // Each command must be sent in one envelope, and must not be larger than max_allowed_packet.
+        int maxSize = Math.min(context.getMaxAllowedPacket(), Envelopes.MAX_ENVELOPE_SIZE - 1) - HEADER_SIZE;
+
+        return Flux.from(value.publishLongData(allocator))
+            .concatMap(data -> slice(allocator, data, maxSize))
+            // Server requires long data to bind the parameter, even if it is empty.
+            .switchIfEmpty(Flux.defer(() -> Flux.just(header(allocator))))
+            .doOnDiscard(ByteBuf.class, ReferenceCountUtil::safeRelease);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedLargeDataMessage{statementId=" + statementId + ", parameterId=" + parameterId +
+            ", type=" + value.getType() + '}';
+    }
+
+    private Flux<ByteBuf> slice(ByteBufAllocator allocator, ByteBuf data, int maxSize) {
+        int end = data.writerIndex();
+        List<ByteBuf> commands = new ArrayList<>();
 
-            for (; i < size; ++i) {
-                bytes += (results[i + 1] = values.get(i)).readableBytes();
+        try {
+            // Slices share memory of the data, so there is no copy.
+            for (int i = data.readerIndex(); i < end; i += maxSize) {
+                commands.add(command(allocator, data.retainedSlice(i, Math.min(maxSize, end - i))));
             }
 
-            ByteBuf header = allocator.buffer(MIN_SIZE);
+            return Flux.fromIterable(commands);
+        } catch (Throwable e) {
+            for (ByteBuf command : commands) {
+                command.release();
+            }
 
-            try {
-                header.writeByte(LARGE_DATA_FLAG)
-                    .writeIntLE(statementId)
-                    .writeShortLE(parameterId);
+            return Flux.error(e);
+        } finally {
+            data.release();
+        }
+    }
 
-                VarIntUtils.writeVarInt(header, bytes);
-                results[0] = header;
-                header = null;
+    private ByteBuf command(ByteBufAllocator allocator, ByteBuf data) {
+        ByteBuf header = null;
 
-                return Flux.fromArray(results);
-            } finally {
-                if (header != null) {
-                    header.release();
-                }
+        try {
+            header = header(allocator);
+            return allocator.compositeBuffer(2).addComponents(true, header, data);
+        } catch (Throwable e) {
+            data.release();
+            if (header != null) {
+                header.release();
             }
-        });
+            throw e;
+        }
+    }
+
+    private ByteBuf header(ByteBufAllocator allocator) {
+        return allocator.buffer(HEADER_SIZE)
+            .writeByte(LARGE_DATA_FLAG)
+            .writeIntLE(statementId)
+            .writeShortLE(parameterId);
     }
 }
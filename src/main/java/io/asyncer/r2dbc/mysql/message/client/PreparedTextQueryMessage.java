@@ -107,6 +107,23 @@ public final class PreparedTextQueryMessage extends AtomicReference<MySqlParamet
         });
     }
 
+    /**
+     * Renders a {@link Query} with parameter values by the text protocol, e.g. a row of multi-row
+     * {@code INSERT} statement.
+     *
+     * @param query  the parsed {@link Query}.
+     * @param values the parameter values, they will be disposed after rendering.
+     * @return the rendered statement.
+     * @throws IllegalArgumentException if {@code query} or {@code values} is {@code null}.
+     * @since 1.1.2
+     */
+    public static Mono<String> render(Query query, MySqlParameter[] values) {
+        requireNonNull(query, "query must not be null");
+        requireNonNull(values, "values must not be null");
+
+        return ParamWriter.publish(query, Flux.fromArray(values));
+    }
+
     @Override
     public String toString() {
         return "PreparedTextQueryMessage{sql=REDACTED}";
@@ -24,24 +24,49 @@ import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.require;
 /**
  * A message that is start envelope for {@literal SELECT} query result, {@link #totalColumns}  how many
  * columns will be returned for the result.
+ * <p>
+ * If {@code CLIENT_OPTIONAL_RESULTSET_METADATA} or {@code MARIADB_CLIENT_CACHE_METADATA} has been negotiated,
+ * it has a flag that indicates whether column metadata follows.  Otherwise, column metadata always follows.
  */
 public final class ColumnCountMessage implements ServerMessage {
 
+    private static final short METADATA_NONE = 0;
+
     private final int totalColumns;
 
-    private ColumnCountMessage(int totalColumns) {
+    private final boolean metadataFollows;
+
+    private ColumnCountMessage(int totalColumns, boolean metadataFollows) {
         require(totalColumns > 0, "totalColumns must be a positive integer");
 
         this.totalColumns = totalColumns;
+        this.metadataFollows = metadataFollows;
     }
 
     public int getTotalColumns() {
         return totalColumns;
     }
 
-    static ColumnCountMessage decode(ByteBuf buf) {
+    /**
+     * Checks if column metadata follows this message.  It is {@code false} only if the server omits
+     * metadata, i.e. session variable {@code resultset_metadata} is {@code NONE}, or MariaDB skips the
+     * unchanged metadata of a prepared statement.
+     *
+     * @return if column metadata follows.
+     */
+    public boolean isMetadataFollows() {
+        return metadataFollows;
+    }
+
+    static ColumnCountMessage decode(ByteBuf buf, boolean optionalMetadata) {
         // JVM does NOT support arrays longer than Integer.MAX_VALUE
-        return new ColumnCountMessage(Math.toIntExact(VarIntUtils.readVarInt(buf)));
+        int totalColumns = Math.toIntExact(VarIntUtils.readVarInt(buf));
+
+        if (optionalMetadata) {
+            return new ColumnCountMessage(totalColumns, buf.readUnsignedByte() != METADATA_NONE);
+        }
+
+        return new ColumnCountMessage(totalColumns, true);
     }
 
     @Override
@@ -55,17 +80,17 @@ public final class ColumnCountMessage implements ServerMessage {
 
         ColumnCountMessage that = (ColumnCountMessage) o;
 
-        return totalColumns == that.totalColumns;
-
+        return totalColumns == that.totalColumns && metadataFollows == that.metadataFollows;
     }
 
     @Override
     public int hashCode() {
-        return totalColumns;
+        return 31 * totalColumns + (metadataFollows ? 1 : 0);
     }
 
     @Override
     public String toString() {
-        return "ColumnCountMessage{totalColumns=" + totalColumns + '}';
+        return "ColumnCountMessage{totalColumns=" + totalColumns + ", metadataFollows=" + metadataFollows +
+            '}';
     }
 }
@@ -62,10 +62,24 @@ public interface DecodeContext {
      *
      * @param eofDeprecated if EOF is deprecated.
      * @param totalColumns  the number of total column metadata.
+     * @param binary        if rows are encoded by binary protocol.
      * @return an instance for receive result.
      */
-    static DecodeContext result(boolean eofDeprecated, int totalColumns) {
-        return new ResultDecodeContext(eofDeprecated, totalColumns);
+    static DecodeContext result(boolean eofDeprecated, int totalColumns, boolean binary) {
+        return new ResultDecodeContext(eofDeprecated, totalColumns, binary);
+    }
+
+    /**
+     * Get an instance of {@link DecodeContext} for the result which column metadata has been omitted by the
+     * server, i.e. the column metadata is known by the client.
+     *
+     * @param eofDeprecated if EOF is deprecated.
+     * @param metadata      the known column metadata.
+     * @param binary        if rows are encoded by binary protocol.
+     * @return an instance for receive result.
+     */
+    static DecodeContext result(boolean eofDeprecated, DefinitionMetadataMessage[] metadata, boolean binary) {
+        return new ResultDecodeContext(eofDeprecated, metadata, binary);
     }
 
     /**
@@ -65,6 +65,15 @@ final class NormalFieldReader implements FieldReader {
         return new NormalFieldValue(readVarIntSizedRetained(buf));
     }
 
+    /**
+     * Gets the underlying buffer, it is owned by this reader.
+     *
+     * @return the underlying buffer.
+     */
+    ByteBuf getBuffer() {
+        return buf;
+    }
+
     @Override
     public int refCnt() {
         return buf.refCnt();
@@ -88,6 +88,40 @@ public final class OkMessage implements WarningMessage, ServerStatusMessage, Com
         return (serverStatuses & ServerStatuses.MORE_RESULTS_EXISTS) == 0;
     }
 
+    /**
+     * Splits the result of a row from this message, which is the result of a multi-row {@code INSERT}
+     * statement.  Each row is considered as one affected row, the generated keys of rows are consecutive by
+     * the step of {@code auto_increment_increment}.  Only the first row contains warnings and information.
+     *
+     * @param index     the index of the row in the statement.
+     * @param increment the step of generated keys, i.e. {@code auto_increment_increment}.
+     * @return the result of the row.
+     */
+    public OkMessage splitRow(int index, long increment) {
+        long rows = Long.compareUnsigned(index, affectedRows) < 0 ? 1 : 0;
+        long id = lastInsertId == 0 ? 0 : lastInsertId + index * increment;
+
+        if (index == 0) {
+            return new OkMessage(isEndOfRows, rows, id, serverStatuses, warnings, information);
+        }
+
+        return new OkMessage(isEndOfRows, rows, id, serverStatuses, 0, "");
+    }
+
+    /**
+     * Creates the result of a row in a bulk execution, which is reported by a row of unit results.
+     *
+     * @param affectedRows   the affected rows of the row.
+     * @param lastInsertId   the generated ID of the row.
+     * @param serverStatuses the server statuses of the bulk execution.
+     * @param warnings       the warnings of the row.
+     * @return the result of the row.
+     */
+    public static OkMessage unitResult(long affectedRows, long lastInsertId, short serverStatuses,
+        int warnings) {
+        return new OkMessage(false, affectedRows, lastInsertId, serverStatuses, warnings, "");
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -27,6 +27,8 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
 
     private static final int WARNING_SIZE = MIN_SIZE + Short.BYTES;
 
+    private static final int METADATA_SIZE = WARNING_SIZE + Byte.BYTES;
+
     private final int statementId;
 
     private final int totalColumns;
@@ -35,11 +37,15 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
 
     private final int warnings;
 
-    private PreparedOkMessage(int statementId, int totalColumns, int totalParameters, int warnings) {
+    private final boolean metadataFollows;
+
+    private PreparedOkMessage(int statementId, int totalColumns, int totalParameters, int warnings,
+        boolean metadataFollows) {
         this.statementId = statementId;
         this.totalColumns = totalColumns;
         this.totalParameters = totalParameters;
         this.warnings = warnings;
+        this.metadataFollows = metadataFollows;
     }
 
     public int getStatementId() {
@@ -59,11 +65,23 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
         return warnings;
     }
 
+    /**
+     * Checks if parameter and column metadata follow this message.  It is {@code false} only if the
+     * {@code CLIENT_OPTIONAL_RESULTSET_METADATA} capability is enabled and session variable
+     * {@code resultset_metadata} is {@code NONE}.
+     *
+     * @return if metadata follows.
+     */
+    public boolean isMetadataFollows() {
+        return metadataFollows;
+    }
+
     static boolean isLooksLike(ByteBuf buf) {
         int readerIndex = buf.readerIndex();
         int readableBytes = buf.readableBytes();
 
-        return (readableBytes == MIN_SIZE || readableBytes == WARNING_SIZE) &&
+        return (readableBytes == MIN_SIZE || readableBytes == WARNING_SIZE ||
+            readableBytes == METADATA_SIZE) &&
             buf.getByte(readerIndex) == 0 && buf.getByte(readerIndex + 9) == 0;
     }
 
@@ -81,7 +99,10 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
             warnings = 0;
         }
 
-        return new PreparedOkMessage(statementId, totalColumns, totalParameters, warnings);
+        // Only if CLIENT_OPTIONAL_RESULTSET_METADATA enabled, the metadata_follows flag is present.
+        boolean metadataFollows = !buf.isReadable() || buf.readByte() != 0;
+
+        return new PreparedOkMessage(statementId, totalColumns, totalParameters, warnings, metadataFollows);
     }
 
     @Override
@@ -96,7 +117,8 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
         PreparedOkMessage that = (PreparedOkMessage) o;
 
         return statementId == that.statementId && totalColumns == that.totalColumns &&
-            totalParameters == that.totalParameters && warnings == that.warnings;
+            totalParameters == that.totalParameters && warnings == that.warnings &&
+            metadataFollows == that.metadataFollows;
     }
 
     @Override
@@ -104,17 +126,19 @@ public final class PreparedOkMessage implements ServerMessage, WarningMessage {
         int result = statementId;
         result = 31 * result + totalColumns;
         result = 31 * result + totalParameters;
-        return 31 * result + warnings;
+        result = 31 * result + warnings;
+        return 31 * result + (metadataFollows ? 1 : 0);
     }
 
     @Override
     public String toString() {
         if (warnings == 0) {
             return "PreparedOkMessage{statementId=" + statementId + ", totalColumns=" + totalColumns +
-                ", totalParameters=" + totalParameters + '}';
+                ", totalParameters=" + totalParameters + ", metadataFollows=" + metadataFollows + '}';
         }
 
         return "PreparedOkMessage{statementId=" + statementId + ", totalColumns=" + totalColumns +
-            ", totalParameters=" + totalParameters + ", warnings=" + warnings + '}';
+            ", totalParameters=" + totalParameters + ", warnings=" + warnings + ", metadataFollows=" +
+            metadataFollows + '}';
     }
 }
@@ -16,7 +16,7 @@
 
 package io.asyncer.r2dbc.mysql.message.server;
 
-
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -30,16 +30,38 @@ final class ResultDecodeContext extends MetadataDecodeContext {
 
     private final DefinitionMetadataMessage[] metadataMessages;
 
+    private final boolean binary;
+
     private final AtomicInteger columns = new AtomicInteger();
 
     private boolean inMetadata = true;
 
-    ResultDecodeContext(boolean eofDeprecated, int totalColumns) {
+    ResultDecodeContext(boolean eofDeprecated, int totalColumns, boolean binary) {
         super(eofDeprecated);
 
         require(totalColumns > 0, "result must has least 1 column");
 
         this.metadataMessages = new DefinitionMetadataMessage[totalColumns];
+        this.binary = binary;
+    }
+
+    /**
+     * Creates a context for the result which column metadata has been omitted by the server, so it will
+     * not read any metadata unless EOF is not deprecated, which will be the complete signal.
+     *
+     * @param eofDeprecated    if EOF is deprecated.
+     * @param metadataMessages the known column metadata.
+     * @param binary           if rows are encoded by binary protocol.
+     */
+    ResultDecodeContext(boolean eofDeprecated, DefinitionMetadataMessage[] metadataMessages, boolean binary) {
+        super(eofDeprecated);
+
+        require(metadataMessages.length > 0, "result must has least 1 column");
+
+        this.metadataMessages = metadataMessages;
+        this.binary = binary;
+        this.columns.set(metadataMessages.length);
+        this.inMetadata = !eofDeprecated;
     }
 
     @Override
@@ -52,6 +74,20 @@ final class ResultDecodeContext extends MetadataDecodeContext {
         return inMetadata;
     }
 
+    boolean isBinary() {
+        return binary;
+    }
+
+    int getTotalColumns() {
+        return metadataMessages.length;
+    }
+
+    MySqlType getType(int index) {
+        DefinitionMetadataMessage metadata = metadataMessages[index];
+
+        return MySqlType.of(metadata.getTypeId(), metadata.getDefinition());
+    }
+
     @Override
     protected SyntheticMetadataMessage checkComplete(int index, @Nullable EofMessage eof) {
         if (index == metadataMessages.length) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
+
+/**
+ * A message includes consecutive rows of a result which are decoded from a single read of the connection.
+ * Releasing it releases all of its rows.
+ *
+ * @since 1.1.2
+ */
+public final class RowBatchMessage extends AbstractReferenceCounted implements ServerMessage {
+
+    private final RowMessage[] rows;
+
+    /**
+     * Creates a batch of rows, it takes the ownership of the rows.
+     *
+     * @param rows the rows.
+     * @throws IllegalArgumentException if {@code rows} is {@code null}.
+     */
+    public RowBatchMessage(List<RowMessage> rows) {
+        requireNonNull(rows, "rows must not be null");
+
+        this.rows = rows.toArray(new RowMessage[0]);
+    }
+
+    /**
+     * Gets the rows, they will be released by releasing this batch.
+     *
+     * @return the rows.
+     */
+    public RowMessage[] getRows() {
+        return rows;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        for (RowMessage row : rows) {
+            row.touch(hint);
+        }
+
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        for (RowMessage row : rows) {
+            row.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowBatchMessage{rows=" + rows.length + '}';
+    }
+}
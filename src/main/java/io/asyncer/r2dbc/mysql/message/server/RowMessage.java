@@ -18,7 +18,10 @@ package io.asyncer.r2dbc.mysql.message.server;
 
 import io.asyncer.r2dbc.mysql.MySqlColumnMetadata;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
+import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
+import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
 
 import static io.asyncer.r2dbc.mysql.internal.util.AssertUtils.requireNonNull;
@@ -38,6 +41,17 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         this.reader = requireNonNull(reader, "reader must not be null");
     }
 
+    /**
+     * Checks if the last field of this row is streaming, i.e. the row is emitted before the field has been
+     * completely received.
+     *
+     * @return if it is a streaming row.
+     * @since 1.1.2
+     */
+    public boolean isStreaming() {
+        return reader instanceof StreamingFieldReader;
+    }
+
     /**
      * Decode this message to an array of {@link FieldValue}.
      *
@@ -49,6 +63,29 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         return isBinary ? binary(context) : text(context.length);
     }
 
+    /**
+     * Decode this message to a {@link RowFields}.  If the row is in a single buffer, it will keep the buffer
+     * and an offset table of fields, and the fields will be sliced only when they are got.  Otherwise, it
+     * will decode all fields like {@link #decode(boolean, MySqlColumnMetadata[])}.
+     * <p>
+     * Note: the {@link RowFields} does not share the reference count with this message.
+     *
+     * @param isBinary if decode with binary protocol.
+     * @param context  information context array.
+     * @return the {@link RowFields}.
+     * @since 1.1.2
+     */
+    public RowFields decodeFields(boolean isBinary, MySqlColumnMetadata[] context) {
+        if (!(reader instanceof NormalFieldReader)) {
+            return RowFields.of(decode(isBinary, context));
+        }
+
+        ByteBuf buf = ((NormalFieldReader) reader).getBuffer();
+        int[] offsets = isBinary ? binaryOffsets(buf, context) : textOffsets(buf, context.length);
+
+        return RowFields.flyweight(buf.retain(), offsets);
+    }
+
     private FieldValue[] text(int size) {
         FieldValue[] fields = new FieldValue[size];
 
@@ -110,6 +147,72 @@ public final class RowMessage implements ReferenceCounted, ServerMessage {
         }
     }
 
+    private static int[] textOffsets(ByteBuf buf, int size) {
+        int[] offsets = new int[size << 1];
+
+        for (int i = 0; i < offsets.length; i += 2) {
+            if (NULL_VALUE == buf.getUnsignedByte(buf.readerIndex())) {
+                buf.skipBytes(Byte.BYTES);
+                offsets[i] = -1;
+            } else {
+                readVarIntSized(buf, offsets, i);
+            }
+        }
+
+        return offsets;
+    }
+
+    private static int[] binaryOffsets(ByteBuf buf, MySqlColumnMetadata[] context) {
+        buf.skipBytes(Byte.BYTES); // constant 0x00
+
+        int size = context.length;
+        // MySQL will make sure columns less than 4096, no need check overflow.
+        int bitmapIndex = buf.readerIndex();
+        byte bitMask = BIT_MASK_INIT;
+        int[] offsets = new int[size << 1];
+
+        buf.skipBytes((size + 9) >> 3);
+
+        for (int i = 0; i < size; ++i) {
+            int j = i << 1;
+
+            if ((buf.getByte(bitmapIndex) & bitMask) != 0) {
+                offsets[j] = -1;
+            } else {
+                int bytes = context[i].getType().getBinarySize();
+
+                if (bytes > 0) {
+                    offsets[j] = buf.readerIndex();
+                    offsets[j + 1] = bytes;
+                    buf.skipBytes(bytes);
+                } else {
+                    readVarIntSized(buf, offsets, j);
+                }
+            }
+
+            bitMask <<= 1;
+
+            // Do NOT use `bitMask == 0` only.
+            if ((bitMask & 0xFF) == 0) {
+                // An approach to circular left shift 1-bit.
+                bitMask = 1;
+                // Current byte has been completed by read.
+                ++bitmapIndex;
+            }
+        }
+
+        return offsets;
+    }
+
+    private static void readVarIntSized(ByteBuf buf, int[] offsets, int i) {
+        // Field in a single buffer will NEVER be greater than Integer.MAX_VALUE.
+        int size = (int) VarIntUtils.readVarInt(buf);
+
+        offsets[i] = buf.readerIndex();
+        offsets[i + 1] = size;
+        buf.skipBytes(size);
+    }
+
     @Override
     public int refCnt() {
         return reader.refCnt();
@@ -20,6 +20,7 @@ import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.constant.Envelopes;
 import io.asyncer.r2dbc.mysql.internal.util.NettyBufferUtils;
 import io.asyncer.r2dbc.mysql.internal.util.VarIntUtils;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
@@ -55,6 +56,31 @@ public final class ServerMessageDecoder {
 
     private final List<ByteBuf> parts = new ArrayList<>();
 
+    private final Runnable onDemand;
+
+    /**
+     * The last field of current row which is still being received, see also
+     * {@link ConnectionContext#isStreamLargeFields()}.
+     */
+    @Nullable
+    private StreamingFieldValue streaming;
+
+    /**
+     * Creates a decoder which has no callback for consumers of streaming fields.
+     */
+    public ServerMessageDecoder() {
+        this(() -> { });
+    }
+
+    /**
+     * Creates a decoder with a callback for consumers of streaming fields.
+     *
+     * @param onDemand the callback when the consumer of a streaming field requests more chunks.
+     */
+    public ServerMessageDecoder(Runnable onDemand) {
+        this.onDemand = requireNonNull(onDemand, "onDemand must not be null");
+    }
+
     /**
      * Decode a server-side message from {@link #parts} and current envelope.
      *
@@ -69,19 +95,50 @@ public final class ServerMessageDecoder {
         requireNonNull(context, "context must not be null");
         requireNonNull(decodeContext, "decodeContext must not be null");
 
+        StreamingFieldValue streaming = this.streaming;
+
+        if (streaming != null) {
+            readStreaming(streaming, envelope);
+            return null;
+        }
+
         List<ByteBuf> buffers = this.parts;
         Byte id = readNotFinish(buffers, envelope);
         if (id == null) {
+            if (context.isStreamLargeFields() && decodeContext instanceof ResultDecodeContext) {
+                return startStreaming(buffers, (ResultDecodeContext) decodeContext);
+            }
+
             return null;
         }
 
         return decodeMessage(buffers, id.intValue() & 0xFF, context, decodeContext);
     }
 
+    /**
+     * Checks if the received chunks of the streaming field have not been consumed, the caller should stop
+     * reading until the consumer requests more chunks.
+     *
+     * @return if the received chunks have not been consumed.
+     */
+    public boolean isBackpressured() {
+        StreamingFieldValue streaming = this.streaming;
+
+        return streaming != null && streaming.isBackpressured();
+    }
+
     /**
      * Dispose the underlying resource.
      */
     public void dispose() {
+        StreamingFieldValue streaming = this.streaming;
+
+        if (streaming != null) {
+            this.streaming = null;
+            streaming.error(new R2dbcNonTransientResourceException(
+                "Connection closed before the streaming field has been received"));
+        }
+
         if (parts.isEmpty()) {
             return;
         }
@@ -90,6 +147,186 @@ public final class ServerMessageDecoder {
         parts.clear();
     }
 
+    private void readStreaming(StreamingFieldValue streaming, ByteBuf envelope) {
+        boolean last;
+
+        try {
+            last = envelope.readUnsignedMediumLE() < Envelopes.MAX_ENVELOPE_SIZE;
+            // skip the sequence Id
+            envelope.skipBytes(1);
+        } catch (Throwable e) {
+            envelope.release();
+            throw e;
+        }
+
+        if (last) {
+            this.streaming = null;
+        }
+
+        if (envelope.isReadable()) {
+            streaming.next(envelope);
+        } else {
+            envelope.release();
+        }
+
+        if (last) {
+            streaming.complete();
+        }
+    }
+
+    /**
+     * Starts streaming the last field of current row if all leading fields have been received.
+     *
+     * @param buffers       the received parts of current row, the last part is a full envelope.
+     * @param decodeContext the decode context.
+     * @return the row message with a streaming field, or {@code null} if it should wait for more parts.
+     */
+    @Nullable
+    private RowMessage startStreaming(List<ByteBuf> buffers, ResultDecodeContext decodeContext) {
+        if (decodeContext.isInMetadata()) {
+            return null;
+        }
+
+        ByteBuf row = NettyBufferUtils.composite(buffers);
+        int index;
+
+        try {
+            index = lastFieldIndex(row, decodeContext);
+        } catch (Throwable e) {
+            row.release();
+            throw e;
+        }
+
+        if (index < 0) {
+            // Leading fields have not been received, keep the parts as a composited one.
+            buffers.add(row);
+            return null;
+        }
+
+        StreamingFieldValue value = new StreamingFieldValue(onDemand);
+        ByteBuf leading = null;
+
+        try {
+            leading = row.retainedSlice(row.readerIndex(), index - row.readerIndex());
+            row.readerIndex(index);
+            // Skip the size of the last field, the row will be ended with the field.
+            VarIntUtils.readVarInt(row);
+
+            RowMessage message = new RowMessage(new StreamingFieldReader(leading, value));
+
+            leading = null;
+            this.streaming = value;
+
+            if (row.isReadable()) {
+                value.next(row);
+            } else {
+                row.release();
+            }
+
+            row = null;
+
+            return message;
+        } finally {
+            if (leading != null) {
+                leading.release();
+                value.release();
+            }
+
+            if (row != null) {
+                row.release();
+            }
+        }
+    }
+
+    /**
+     * Finds the index of the last field in a partial row, it is the start of the field size.
+     *
+     * @param row           the received part of a row.
+     * @param decodeContext the decode context of the result.
+     * @return the index, or {@literal -1} if leading fields have not been received completely or the last
+     * field can not be streamed.
+     */
+    private static int lastFieldIndex(ByteBuf row, ResultDecodeContext decodeContext) {
+        ByteBuf view = row.duplicate();
+        int last = decodeContext.getTotalColumns() - 1;
+
+        if (decodeContext.isBinary()) {
+            int bitmapSize = (last + 10) >> 3;
+
+            if (view.readableBytes() <= bitmapSize) {
+                return -1;
+            }
+
+            view.skipBytes(1); // constant 0x00
+
+            byte[] nullBitmap = new byte[bitmapSize];
+
+            view.readBytes(nullBitmap);
+
+            for (int i = 0; i <= last; ++i) {
+                int bit = i + 2;
+                boolean isNull = (nullBitmap[bit >> 3] & (1 << (bit & 7))) != 0;
+                int size = decodeContext.getType(i).getBinarySize();
+
+                if (i == last) {
+                    return isNull || size > 0 ? -1 : fieldIndex(view);
+                } else if (isNull) {
+                    continue;
+                }
+
+                if (size > 0) {
+                    if (view.readableBytes() < size) {
+                        return -1;
+                    }
+
+                    view.skipBytes(size);
+                } else if (!skipVarIntSized(view)) {
+                    return -1;
+                }
+            }
+
+            return -1;
+        }
+
+        for (int i = 0; i < last; ++i) {
+            if (!view.isReadable()) {
+                return -1;
+            }
+
+            if (view.getUnsignedByte(view.readerIndex()) == RowMessage.NULL_VALUE) {
+                view.skipBytes(Byte.BYTES);
+            } else if (!skipVarIntSized(view)) {
+                return -1;
+            }
+        }
+
+        if (!view.isReadable() || view.getUnsignedByte(view.readerIndex()) == RowMessage.NULL_VALUE) {
+            return -1;
+        }
+
+        return fieldIndex(view);
+    }
+
+    private static int fieldIndex(ByteBuf view) {
+        return VarIntUtils.checkNextVarInt(view) < 0 ? -1 : view.readerIndex();
+    }
+
+    private static boolean skipVarIntSized(ByteBuf view) {
+        if (VarIntUtils.checkNextVarInt(view) < 0) {
+            return false;
+        }
+
+        long size = VarIntUtils.readVarInt(view);
+
+        if (Long.compareUnsigned(size, view.readableBytes()) > 0) {
+            return false;
+        }
+
+        view.skipBytes((int) size);
+
+        return true;
+    }
+
     @Nullable
     private static ServerMessage decodeMessage(List<ByteBuf> buffers, int envelopeId,
         ConnectionContext context, DecodeContext decodeContext) {
@@ -225,10 +462,12 @@ public final class ServerMessageDecoder {
                 }
         }
 
-        if (VarIntUtils.checkNextVarInt(buf) == 0) {
+        boolean optionalMetadata = context.getCapability().isMetadataSkippable();
+
+        if (VarIntUtils.checkNextVarInt(buf) == (optionalMetadata ? 1 : 0)) {
             // EOF message must be 5-bytes, it will never be looks like a var integer.
-            // It looks like has only a var integer, should be column count.
-            return ColumnCountMessage.decode(buf);
+            // It looks like has only a var integer (and a metadata flag), should be column count.
+            return ColumnCountMessage.decode(buf, optionalMetadata);
         }
 
         throw new R2dbcNonTransientResourceException("Unknown message header 0x" +
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.AbstractReferenceCounted;
+
+/**
+ * An implementation of {@link FieldReader} considers a row whose last field is still being received.  It
+ * reads the leading fields from a received buffer which ends before the size of the last field, and then
+ * reads the last field as a {@link StreamingFieldValue}.
+ */
+final class StreamingFieldReader extends AbstractReferenceCounted implements FieldReader {
+
+    private final NormalFieldReader leading;
+
+    private final ByteBuf buf;
+
+    private final StreamingFieldValue last;
+
+    StreamingFieldReader(ByteBuf buf, StreamingFieldValue last) {
+        this.leading = new NormalFieldReader(buf);
+        this.buf = buf;
+        this.last = last;
+    }
+
+    @Override
+    public short getUnsignedByte() {
+        // The last field is never null, it only needs to be distinguished from a null value.
+        return buf.isReadable() ? leading.getUnsignedByte() : 0;
+    }
+
+    @Override
+    public void skipOneByte() {
+        leading.skipOneByte();
+    }
+
+    @Override
+    public byte[] readSizeFixedBytes(int length) {
+        return leading.readSizeFixedBytes(length);
+    }
+
+    @Override
+    public FieldValue readSizeFixedField(int length) {
+        return leading.readSizeFixedField(length);
+    }
+
+    @Override
+    public FieldValue readVarIntSizedField() {
+        if (buf.isReadable()) {
+            return leading.readVarIntSizedField();
+        }
+
+        last.retain();
+        return last;
+    }
+
+    @Override
+    public StreamingFieldReader touch(Object hint) {
+        buf.touch(hint);
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        try {
+            buf.release();
+        } finally {
+            last.release();
+        }
+    }
+}
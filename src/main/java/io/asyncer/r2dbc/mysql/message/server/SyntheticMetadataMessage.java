@@ -48,6 +48,17 @@ public final class SyntheticMetadataMessage implements ServerMessage {
         this.eof = eof;
     }
 
+    /**
+     * Creates an uncompleted bundle of known column metadata, for the result which column metadata has been
+     * omitted by the server and EOF has been deprecated.
+     *
+     * @param messages the known column metadata.
+     * @return the metadata bundle.
+     */
+    public static SyntheticMetadataMessage known(DefinitionMetadataMessage[] messages) {
+        return new SyntheticMetadataMessage(false, messages, null);
+    }
+
     public DefinitionMetadataMessage[] unwrap() {
         return messages;
     }
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
+import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.binaryRow;
+import static io.asyncer.r2dbc.mysql.ServerPackets.column;
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BulkExecute}.
+ */
+class BulkExecuteTest {
+
+    private int encoded;
+
+    private int disposed;
+
+    @Test
+    void resolveSameTypes() {
+        BulkExecute bulk = BulkExecute.resolve(Arrays.asList(
+            binding(value(MySqlType.INT, 1), value(MySqlType.VARCHAR, 2)),
+            binding(value(MySqlType.INT, 3), value(MySqlType.VARCHAR, 4))));
+
+        assertThat(bulk).isNotNull();
+        assertThat(bulk.getTypes()).containsExactly(MySqlType.INT, MySqlType.VARCHAR);
+    }
+
+    @Test
+    void resolveWidenedIntegers() {
+        BulkExecute bulk = BulkExecute.resolve(Arrays.asList(
+            binding(value(MySqlType.TINYINT, 1)),
+            binding(value(MySqlType.INT, 2)),
+            binding(value(MySqlType.SMALLINT, 3))));
+
+        assertThat(bulk).isNotNull();
+        assertThat(bulk.getTypes()).containsExactly(MySqlType.INT);
+    }
+
+    @Test
+    void resolveNullValues() {
+        BulkExecute bulk = BulkExecute.resolve(Arrays.asList(
+            binding(nullValue(), value(MySqlType.BIGINT, 1)),
+            binding(nullValue(), nullValue())));
+
+        assertThat(bulk).isNotNull();
+        assertThat(bulk.getTypes()).containsExactly(MySqlType.NULL, MySqlType.BIGINT);
+    }
+
+    @Test
+    void unresolvable() {
+        assertThat(BulkExecute.resolve(Arrays.asList(
+            binding(value(MySqlType.INT, 1)),
+            binding(value(MySqlType.VARCHAR, 2))))).isNull();
+        assertThat(BulkExecute.resolve(Arrays.asList(
+            binding(value(MySqlType.INT, 1)),
+            binding(new Value(MySqlType.BLOB, 2, true))))).isNull();
+        assertThat(BulkExecute.resolve(new ArrayList<>())).isNull();
+    }
+
+    @Test
+    void isDml() {
+        assertThat(BulkExecute.isDml("INSERT INTO t VALUES (?)")).isTrue();
+        assertThat(BulkExecute.isDml("  \n\tupdate t SET v = ?")).isTrue();
+        assertThat(BulkExecute.isDml("Delete FROM t WHERE id = ?")).isTrue();
+        assertThat(BulkExecute.isDml("REPLACE")).isTrue();
+        assertThat(BulkExecute.isDml("INSERT(1)")).isTrue();
+
+        assertThat(BulkExecute.isDml("SELECT * FROM t WHERE id = ?")).isFalse();
+        assertThat(BulkExecute.isDml("INSERTS INTO t VALUES (?)")).isFalse();
+        assertThat(BulkExecute.isDml("UPDATE_t")).isFalse();
+        assertThat(BulkExecute.isDml("/* comment */ INSERT INTO t VALUES (?)")).isFalse();
+        assertThat(BulkExecute.isDml("")).isFalse();
+    }
+
+    @Test
+    void renderChunksLazily() {
+        BulkExecute bulk = BulkExecute.resolve(bindings(5));
+
+        assertThat(bulk).isNotNull();
+
+        // Each row is 2 indicators and 2 INT values, i.e. 10 bytes.
+        BulkExecute.Chunks chunks = bulk.chunks(UnpooledByteBufAllocator.DEFAULT,
+            PreparedBulkExecuteMessage.headerSize(2) + 20);
+
+        assertThat(encoded).isZero();
+        assertThat(chunks.hasNext()).isTrue();
+
+        // The 3rd row has been encoded, it is pending for the next chunk.
+        assertNextChunk(chunks, 2);
+        assertThat(encoded).isEqualTo(6);
+
+        assertNextChunk(chunks, 2);
+        assertThat(encoded).isEqualTo(10);
+        assertThat(chunks.hasNext()).isTrue();
+
+        assertNextChunk(chunks, 1);
+        assertThat(chunks.hasNext()).isFalse();
+    }
+
+    @Test
+    void renderLargeRowAlone() {
+        BulkExecute bulk = BulkExecute.resolve(bindings(2));
+
+        assertThat(bulk).isNotNull();
+
+        BulkExecute.Chunks chunks = bulk.chunks(UnpooledByteBufAllocator.DEFAULT, 1);
+
+        assertNextChunk(chunks, 1);
+        assertNextChunk(chunks, 1);
+        assertThat(chunks.hasNext()).isFalse();
+    }
+
+    @Test
+    void disposeChunks() {
+        List<Binding> bindings = bindings(5);
+        BulkExecute bulk = BulkExecute.resolve(bindings);
+
+        assertThat(bulk).isNotNull();
+
+        BulkExecute.Chunks chunks = bulk.chunks(UnpooledByteBufAllocator.DEFAULT,
+            PreparedBulkExecuteMessage.headerSize(2) + 20);
+
+        assertNextChunk(chunks, 2);
+        chunks.dispose();
+
+        assertThat(chunks.hasNext()).isFalse();
+        // Values of the last 2 bindings have not been encoded.
+        assertThat(disposed).isEqualTo(4);
+        assertThat(bindings.subList(3, 5)).allMatch(binding -> binding.getValues()[0] == null);
+    }
+
+    @Test
+    void unitResults() {
+        ConnectionContext context = ConnectionContextTest.mock(true);
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext decodeContext = DecodeContext.result(true, 2, true);
+
+        decoder.decode(envelope(column("Id", MySqlType.BIGINT)), context, decodeContext);
+
+        ServerMessage metadata = decoder.decode(envelope(column("Affected_rows", MySqlType.BIGINT)),
+            context, decodeContext);
+
+        assertThat(metadata).isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        // Less than the number of rows, it should be grown.
+        BulkExecute.UnitResults results = new BulkExecute.UnitResults(
+            ((SyntheticMetadataMessage) metadata).unwrap(), 1);
+
+        for (long[] row : new long[][] { { 10, 1 }, { 0, 0 }, { 12, 2 } }) {
+            ServerMessage message = decoder.decode(envelope(binaryRow(row)), context, decodeContext);
+
+            assertThat(message).isExactlyInstanceOf(RowMessage.class);
+            results.add((RowMessage) message);
+        }
+
+        OkMessage complete = OkMessage.unitResult(0, 0, (short) 2, 3);
+
+        assertThat(SplitMessage.flatten(results.split(complete))).containsExactly(
+            OkMessage.unitResult(1, 10, (short) 2, 3),
+            OkMessage.unitResult(0, 0, (short) 2, 0),
+            OkMessage.unitResult(2, 12, (short) 2, 0));
+    }
+
+    private static void assertNextChunk(BulkExecute.Chunks chunks, int rows) {
+        StepVerifier.create(chunks.next())
+            .assertNext(chunk -> {
+                try {
+                    assertThat(chunk).hasSize(rows);
+                } finally {
+                    BulkExecute.release(chunk);
+                }
+            })
+            .verifyComplete();
+    }
+
+    private List<Binding> bindings(int size) {
+        List<Binding> bindings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            bindings.add(binding(value(MySqlType.INT, i), value(MySqlType.INT, i)));
+        }
+
+        return bindings;
+    }
+
+    private static Binding binding(MySqlParameter... values) {
+        Binding binding = new Binding(values.length);
+
+        for (int i = 0; i < values.length; ++i) {
+            binding.add(i, values[i]);
+        }
+
+        return binding;
+    }
+
+    private Value value(MySqlType type, long value) {
+        return new Value(type, value, false);
+    }
+
+    private Value nullValue() {
+        return new Value(MySqlType.NULL, 0, false);
+    }
+
+    private final class Value implements MySqlParameter {
+
+        private final MySqlType type;
+
+        private final long value;
+
+        private final boolean longData;
+
+        private Value(MySqlType type, long value, boolean longData) {
+            this.type = type;
+            this.value = value;
+            this.longData = longData;
+        }
+
+        @Override
+        public boolean isNull() {
+            return type == MySqlType.NULL;
+        }
+
+        @Override
+        public Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.fromSupplier(() -> {
+                ++encoded;
+
+                switch (type.getBinarySize()) {
+                    case Byte.BYTES:
+                        return allocator.buffer(Byte.BYTES).writeByte((int) value);
+                    case Short.BYTES:
+                        return allocator.buffer(Short.BYTES).writeShortLE((int) value);
+                    case Integer.BYTES:
+                        return allocator.buffer(Integer.BYTES).writeIntLE((int) value);
+                    default:
+                        return allocator.buffer(Long.BYTES).writeLongLE(value);
+                }
+            });
+        }
+
+        @Override
+        public boolean isLongData() {
+            return longData;
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.fromRunnable(() -> writer.writeLong(value));
+        }
+
+        @Override
+        public MySqlType getType() {
+            return type;
+        }
+
+        @Override
+        public void dispose() {
+            ++disposed;
+        }
+
+        @Override
+        public String toString() {
+            return Long.toString(value);
+        }
+    }
+}
@@ -17,7 +17,6 @@
 package io.asyncer.r2dbc.mysql;
 
 import io.asyncer.r2dbc.mysql.constant.ServerStatuses;
-import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import org.junit.jupiter.api.Test;
 
 import java.time.ZoneId;
@@ -34,9 +33,9 @@ public class ConnectionContextTest {
     void getServerZoneId() {
         for (int i = -12; i <= 12; ++i) {
             String id = i < 0 ? "UTC" + i : "UTC+" + i;
-            ConnectionContext context = new ConnectionContext(
-                ZeroDateOption.USE_NULL, null,
-                8192, ZoneId.of(id));
+            ConnectionContext context = new ConnectionContext(configuration()
+                .serverZoneId(ZoneId.of(id))
+                .build());
 
             assertThat(context.getServerZoneId()).isEqualTo(ZoneId.of(id));
         }
@@ -44,8 +43,7 @@ public class ConnectionContextTest {
 
     @Test
     void shouldSetServerZoneId() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, null);
+        ConnectionContext context = new ConnectionContext(configuration().build());
         assertThat(context.shouldSetServerZoneId()).isTrue();
         context.setServerZoneId(ZoneId.systemDefault());
         assertThat(context.shouldSetServerZoneId()).isFalse();
@@ -53,23 +51,24 @@ public class ConnectionContextTest {
 
     @Test
     void shouldNotSetServerZoneId() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, ZoneId.systemDefault());
+        ConnectionContext context = new ConnectionContext(configuration()
+            .serverZoneId(ZoneId.systemDefault())
+            .build());
         assertThat(context.shouldSetServerZoneId()).isFalse();
     }
 
     @Test
     void setTwiceServerZoneId() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, null);
+        ConnectionContext context = new ConnectionContext(configuration().build());
         context.setServerZoneId(ZoneId.systemDefault());
         assertThatIllegalStateException().isThrownBy(() -> context.setServerZoneId(ZoneId.systemDefault()));
     }
 
     @Test
     void badSetServerZoneId() {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, ZoneId.systemDefault());
+        ConnectionContext context = new ConnectionContext(configuration()
+            .serverZoneId(ZoneId.systemDefault())
+            .build());
         assertThatIllegalStateException().isThrownBy(() -> context.setServerZoneId(ZoneId.systemDefault()));
     }
 
@@ -82,8 +81,11 @@ public class ConnectionContextTest {
     }
 
     public static ConnectionContext mock(boolean isMariaDB, ZoneId zoneId) {
-        ConnectionContext context = new ConnectionContext(ZeroDateOption.USE_NULL, null,
-            8192, zoneId);
+        return mock(isMariaDB, configuration().serverZoneId(zoneId).build());
+    }
+
+    public static ConnectionContext mock(boolean isMariaDB, MySqlConnectionConfiguration configuration) {
+        ConnectionContext context = new ConnectionContext(configuration);
 
         context.init(1, ServerVersion.parse(isMariaDB ? "11.2.22.MOCKED" : "8.0.11.MOCKED"),
             Capability.of(~(isMariaDB ? 1 : 0)));
@@ -91,4 +93,15 @@ public class ConnectionContextTest {
 
         return context;
     }
+
+    /**
+     * Creates a builder of the minimal configuration for mocking contexts.
+     *
+     * @return the builder.
+     */
+    public static MySqlConnectionConfiguration.Builder configuration() {
+        return MySqlConnectionConfiguration.builder()
+            .host("localhost")
+            .user("root");
+    }
 }
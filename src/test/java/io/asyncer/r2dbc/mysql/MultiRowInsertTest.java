@@ -0,0 +1,278 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PingMessage;
+import io.asyncer.r2dbc.mysql.message.client.TextQueryMessage;
+import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static io.asyncer.r2dbc.mysql.ServerPackets.ok;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MultiRowInsert}.
+ */
+class MultiRowInsertTest {
+
+    @Test
+    void rewritable() {
+        assertThat(Query.parse("INSERT INTO `user` (`id`, `name`) VALUES (?, ?)").getMultiRowInsert())
+            .isNotNull();
+        assertThat(Query.parse("insert into user values (?id, ?name);").getMultiRowInsert()).isNotNull();
+        assertThat(Query.parse("INSERT LOW_PRIORITY user VALUE (?, NOW(), ?) -- comment")
+            .getMultiRowInsert()).isNotNull();
+        assertThat(Query.parse("/* hello */ INSERT INTO `values` (`set`) VALUES (CONCAT(')', ?))")
+            .getMultiRowInsert()).isNotNull();
+    }
+
+    @Test
+    void nonRewritable() {
+        assertThat(Query.parse("UPDATE `user` SET `name` = ? WHERE `id` = ?").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT IGNORE INTO `user` VALUES (?, ?)").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` SET `id` = ?, `name` = ?").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` SELECT ?, ?").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?, ?) ON DUPLICATE KEY UPDATE `name` = ?")
+            .getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?, ?), (?, ?)").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` VALUES (?, ?) RETURNING `id`").getMultiRowInsert())
+            .isNull();
+        assertThat(Query.parse("INSERT /*!IGNORE*/ INTO `user` VALUES (?, ?)").getMultiRowInsert()).isNull();
+        assertThat(Query.parse("INSERT INTO `user` PARTITION (?) VALUES (?)").getMultiRowInsert()).isNull();
+    }
+
+    @Test
+    void render() {
+        MultiRowInsert insert = Query.parse("INSERT INTO t VALUES (?, ?);").getMultiRowInsert();
+
+        assertThat(insert).isNotNull();
+
+        // Each row is "(1, 1)", 6 bytes and a comma. The prefix and suffix are 22 bytes.
+        assertThat(render(insert.chunks(bindings(5), StandardCharsets.UTF_8, 22 + 7 * 2)))
+            .extracting(MultiRowInsert.Chunk::getSql)
+            .containsExactly("INSERT INTO t VALUES (0, 0),(1, 1);", "INSERT INTO t VALUES (2, 2),(3, 3);",
+                "INSERT INTO t VALUES (4, 4);");
+
+        // A row is larger than the limit, it should be sent alone.
+        assertThat(render(insert.chunks(bindings(2), StandardCharsets.UTF_8, 1)))
+            .extracting(MultiRowInsert.Chunk::getRows)
+            .containsExactly(1, 1);
+    }
+
+    @Test
+    void renderLazily() {
+        MultiRowInsert insert = Query.parse("INSERT INTO t VALUES (?, ?);").getMultiRowInsert();
+
+        assertThat(insert).isNotNull();
+
+        List<Binding> bindings = bindings(5);
+        MultiRowInsert.Chunks chunks = insert.chunks(bindings, StandardCharsets.UTF_8, 22 + 7 * 2);
+
+        StepVerifier.create(chunks.next().map(MultiRowInsert.Chunk::getRows))
+            .expectNext(2)
+            .verifyComplete();
+
+        // The row that exceeds the limit has been rendered, others are not rendered yet.
+        assertThat(bindings.get(3).findUnbind()).isEqualTo(-1);
+        assertThat(bindings.get(4).findUnbind()).isEqualTo(-1);
+
+        chunks.dispose();
+
+        assertThat(chunks.hasNext()).isFalse();
+        assertThat(bindings.get(4).findUnbind()).isZero();
+    }
+
+    @Test
+    void splitResults() {
+        Query query = Query.parse("INSERT INTO t VALUES (?, ?);");
+        MultiRowInsert insert = query.getMultiRowInsert();
+
+        assertThat(insert).isNotNull();
+
+        MultiRowInsert.Chunks chunks = insert.chunks(bindings(5), StandardCharsets.UTF_8, 22 + 7 * 2);
+        MultiRowInsert.Chunk first = chunks.next().block();
+
+        assertThat(first).isNotNull();
+
+        List<ClientMessage> requests = new ArrayList<>();
+        List<ServerMessage> results = new ArrayList<>();
+        MultiRowInsertExchangeable exchangeable = new MultiRowInsertExchangeable(query, first, chunks, 1);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        exchangeable.subscribe(new BaseSubscriber<ClientMessage>() {
+
+            @Override
+            protected void hookOnNext(ClientMessage value) {
+                requests.add(value);
+            }
+        });
+        responses.asFlux().handle(exchangeable)
+            .concatMapIterable(SplitMessage::flatten)
+            .subscribe(results::add, e -> { }, () -> completed.set(true));
+
+        // Each statement reports affected rows of all its rows, which is split into a result per row.
+        for (int rows : new int[] { 2, 2, 1 }) {
+            assertThat(completed).isFalse();
+            responses.tryEmitNext(decode(ok(rows)));
+        }
+
+        assertThat(requests).hasSize(3).allMatch(TextQueryMessage.class::isInstance);
+        assertThat(results).hasSize(5).allSatisfy(message -> assertThat(message)
+            .isInstanceOfSatisfying(OkMessage.class, ok -> assertThat(ok.getAffectedRows()).isOne()));
+        assertThat(completed).isTrue();
+    }
+
+    @Test
+    void renderingErrorFailsExchange() {
+        Query query = Query.parse("INSERT INTO t VALUES (?, ?);");
+        MultiRowInsert insert = query.getMultiRowInsert();
+
+        assertThat(insert).isNotNull();
+
+        List<Binding> bindings = bindings(3);
+        Binding failure = new Binding(2);
+
+        failure.add(0, new IntParameter(3));
+        failure.add(1, new FailureParameter());
+        bindings.add(failure);
+
+        MultiRowInsert.Chunks chunks = insert.chunks(bindings, StandardCharsets.UTF_8, 22 + 7 * 2);
+        MultiRowInsert.Chunk first = chunks.next().block();
+
+        assertThat(first).isNotNull();
+
+        List<ClientMessage> requests = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        MultiRowInsertExchangeable exchangeable = new MultiRowInsertExchangeable(query, first, chunks, 1);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+
+        exchangeable.subscribe(new BaseSubscriber<ClientMessage>() {
+
+            @Override
+            protected void hookOnNext(ClientMessage value) {
+                requests.add(value);
+            }
+        });
+        responses.asFlux().handle(exchangeable).subscribe(ReferenceCountUtil::safeRelease, error::set);
+
+        // Rendering of the next statement fails, a ping is sent instead of failing the connection.
+        responses.tryEmitNext(decode(ok(2)));
+        assertThat(requests).hasSize(2).last().isSameAs(PingMessage.INSTANCE);
+        assertThat(error.get()).isNull();
+
+        responses.tryEmitNext(decode(ok(0)));
+        assertThat(error.get()).isExactlyInstanceOf(IllegalStateException.class)
+            .hasMessage("Rendering failed");
+    }
+
+    private static ServerMessage decode(byte[] payload) {
+        return new ServerMessageDecoder().decode(envelope(payload), ConnectionContextTest.mock(),
+            DecodeContext.command());
+    }
+
+    private static List<MultiRowInsert.Chunk> render(MultiRowInsert.Chunks chunks) {
+        List<MultiRowInsert.Chunk> results = new ArrayList<>();
+
+        while (chunks.hasNext()) {
+            results.add(chunks.next().block());
+        }
+
+        return results;
+    }
+
+    private static List<Binding> bindings(int size) {
+        List<Binding> bindings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            Binding binding = new Binding(2);
+
+            binding.add(0, new IntParameter(i));
+            binding.add(1, new IntParameter(i));
+            bindings.add(binding);
+        }
+
+        return bindings;
+    }
+
+    private static final class IntParameter implements MySqlParameter {
+
+        private final int value;
+
+        private IntParameter(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.fromSupplier(() -> allocator.buffer(Integer.BYTES).writeIntLE(value));
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.fromRunnable(() -> writer.writeInt(value));
+        }
+
+        @Override
+        public MySqlType getType() {
+            return MySqlType.INT;
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(value);
+        }
+    }
+
+    private static final class FailureParameter implements MySqlParameter {
+
+        @Override
+        public Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.error(new IllegalStateException("Rendering failed"));
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.error(new IllegalStateException("Rendering failed"));
+        }
+
+        @Override
+        public MySqlType getType() {
+            return MySqlType.INT;
+        }
+    }
+}
@@ -20,6 +20,10 @@ import io.asyncer.r2dbc.mysql.client.Client;
 import io.asyncer.r2dbc.mysql.codec.Codecs;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -54,6 +58,23 @@ class MySqlBatchingBatchTest {
             "INSERT INTO `test` VALUES (100)");
     }
 
+    @Test
+    void chunks() {
+        batch.add("INSERT INTO `test` VALUES (100)");
+        batch.add("INSERT INTO `test` VALUES (200);");
+        batch.add("INSERT INTO `test` VALUES (300)");
+
+        // Each statement is 31 bytes and a semicolon.
+        assertEquals(batch.getChunks(StandardCharsets.UTF_8, 64), Arrays.asList(
+            "INSERT INTO `test` VALUES (100);INSERT INTO `test` VALUES (200)",
+            "INSERT INTO `test` VALUES (300)"));
+        assertEquals(batch.getChunks(StandardCharsets.UTF_8, 1), Arrays.asList(
+            "INSERT INTO `test` VALUES (100)", "INSERT INTO `test` VALUES (200)",
+            "INSERT INTO `test` VALUES (300)"));
+        assertEquals(batch.getChunks(StandardCharsets.UTF_8, Integer.MAX_VALUE),
+            Collections.singletonList(batch.getSql()));
+    }
+
     @SuppressWarnings("ConstantConditions")
     @Test
     void badAdd() {
@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.TlsVersions;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
@@ -26,6 +27,8 @@ import org.assertj.core.api.ThrowableTypeAssert;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.LoopResources;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
@@ -52,6 +55,8 @@ class MySqlConnectionConfigurationTest {
 
     private static final String SSL_CA = "/path/to/mysql/ca.pem";
 
+    private static final LoopResources LOOP_RESOURCES = LoopResources.create("r2dbc-mysql-test");
+
     @Test
     void invalid() {
         ThrowableTypeAssert<?> asserted = assertThatIllegalArgumentException();
@@ -128,6 +133,31 @@ class MySqlConnectionConfigurationTest {
         asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().port(65536));
     }
 
+    @Test
+    void invalidResponseWatermarks() {
+        ThrowableTypeAssert<?> asserted = assertThatIllegalArgumentException();
+
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().responseHighWatermark(0));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().responseLowWatermark(-1));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().host(HOST).user(USER)
+            .responseHighWatermark(64).responseLowWatermark(64).build());
+    }
+
+    @Test
+    void invalidSocketOptions() {
+        ThrowableTypeAssert<?> asserted = assertThatIllegalArgumentException();
+
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().socketReceiveBufferSize(-1));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().socketSendBufferSize(-1));
+        asserted.isThrownBy(() -> MySqlConnectionConfiguration.builder().busyPollMicros(-1));
+    }
+
+    @Test
+    void invalidRowMappingConcurrency() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MySqlConnectionConfiguration.builder()
+            .rowMappingConcurrency(0));
+    }
+
     @Test
     void allFillUp() {
         assertThat(filledUp()).extracting(MySqlConnectionConfiguration::getSsl).isNotNull();
@@ -233,6 +263,12 @@ class MySqlConnectionConfigurationTest {
             .createDatabaseIfNotExist(true)
             .tcpKeepAlive(true)
             .tcpNoDelay(true)
+            .loopResources(LOOP_RESOURCES)
+            .preferNativeTransport(false)
+            .tcpQuickAck(true)
+            .socketReceiveBufferSize(262144)
+            .socketSendBufferSize(131072)
+            .busyPollMicros(50)
             .connectTimeout(Duration.ofSeconds(3))
             .sslMode(SslMode.VERIFY_IDENTITY)
             .sslCa(SSL_CA)
@@ -246,6 +282,22 @@ class MySqlConnectionConfigurationTest {
             .queryCacheSize(128)
             .prepareCacheSize(0)
             .autodetectExtensions(false)
+            .compressionAlgorithms(CompressionAlgorithm.ZSTD, CompressionAlgorithm.ZLIB,
+                CompressionAlgorithm.UNCOMPRESSED)
+            .zstdCompressionLevel(5)
+            .pipelining(true)
+            .batchPipelineWindow(16)
+            .rewriteBatchedStatements(true)
+            .streamLargeFields(true)
+            .localInfileZeroCopy(true)
+            .allowLoadLocalInfileFromPublisher(true)
+            .optionalResultSetMetadata(true)
+            .bulkUnitResults(true)
+            .batchRowsPerRead(true)
+            .rowMappingScheduler(Schedulers.parallel())
+            .rowMappingConcurrency(64)
+            .responseHighWatermark(1024)
+            .responseLowWatermark(256)
             .build();
     }
 }
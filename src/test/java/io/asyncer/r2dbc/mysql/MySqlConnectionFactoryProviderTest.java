@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql;
 
+import io.asyncer.r2dbc.mysql.constant.CompressionAlgorithm;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
 import io.asyncer.r2dbc.mysql.constant.ZeroDateOption;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -26,6 +27,8 @@ import org.assertj.core.api.Assert;
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.LoopResources;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSession;
@@ -104,6 +107,7 @@ class MySqlConnectionFactoryProviderTest {
 
     @Test
     void validProgrammaticHost() {
+        LoopResources loopResources = LoopResources.create("r2dbc-mysql-test");
         ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
             .option(DRIVER, "mysql")
             .option(HOST, "127.0.0.1")
@@ -143,6 +147,27 @@ class MySqlConnectionFactoryProviderTest {
             .option(Option.valueOf("sslContextBuilderCustomizer"), SslCustomizer.class.getName())
             .option(Option.valueOf("tcpKeepAlive"), "true")
             .option(Option.valueOf("tcpNoDelay"), "true")
+            .option(Option.valueOf("loopResources"), loopResources)
+            .option(Option.valueOf("preferNativeTransport"), "false")
+            .option(Option.valueOf("tcpQuickAck"), "true")
+            .option(Option.valueOf("socketReceiveBufferSize"), "262144")
+            .option(Option.valueOf("socketSendBufferSize"), "131072")
+            .option(Option.valueOf("busyPollMicros"), "50")
+            .option(Option.valueOf("compressionAlgorithms"), "zstd,zlib,uncompressed")
+            .option(Option.valueOf("zstdCompressionLevel"), "5")
+            .option(Option.valueOf("pipelining"), "true")
+            .option(Option.valueOf("batchPipelineWindow"), "16")
+            .option(Option.valueOf("rewriteBatchedStatements"), "true")
+            .option(Option.valueOf("streamLargeFields"), "true")
+            .option(Option.valueOf("localInfileZeroCopy"), "true")
+            .option(Option.valueOf("allowLoadLocalInfileFromPublisher"), "true")
+            .option(Option.valueOf("optionalResultSetMetadata"), "true")
+            .option(Option.valueOf("bulkUnitResults"), "true")
+            .option(Option.valueOf("batchRowsPerRead"), "true")
+            .option(Option.valueOf("rowMappingScheduler"), Schedulers.parallel())
+            .option(Option.valueOf("rowMappingConcurrency"), "64")
+            .option(Option.valueOf("responseHighWatermark"), "1024")
+            .option(Option.valueOf("responseLowWatermark"), "256")
             .build();
 
         assertThat(ConnectionFactories.get(options)).isExactlyInstanceOf(MySqlConnectionFactory.class);
@@ -159,9 +184,31 @@ class MySqlConnectionFactoryProviderTest {
         assertThat(configuration.getZeroDateOption()).isEqualTo(ZeroDateOption.USE_ROUND);
         assertThat(configuration.isTcpKeepAlive()).isTrue();
         assertThat(configuration.isTcpNoDelay()).isTrue();
+        assertThat(configuration.getLoopResources()).isSameAs(loopResources);
+        assertThat(configuration.isPreferNativeTransport()).isFalse();
+        assertThat(configuration.isTcpQuickAck()).isTrue();
+        assertThat(configuration.getSocketReceiveBufferSize()).isEqualTo(262144);
+        assertThat(configuration.getSocketSendBufferSize()).isEqualTo(131072);
+        assertThat(configuration.getBusyPollMicros()).isEqualTo(50);
         assertThat(configuration.getServerZoneId()).isEqualTo(ZoneId.of("Asia/Tokyo"));
         assertThat(configuration.getPreferPrepareStatement()).isExactlyInstanceOf(AllTruePredicate.class);
         assertThat(configuration.getExtensions()).isEqualTo(Extensions.from(Collections.emptyList(), true));
+        assertThat(configuration.getCompressionAlgorithms()).containsExactlyInAnyOrder(
+            CompressionAlgorithm.ZSTD, CompressionAlgorithm.ZLIB, CompressionAlgorithm.UNCOMPRESSED);
+        assertThat(configuration.getZstdCompressionLevel()).isEqualTo(5);
+        assertThat(configuration.isPipelining()).isTrue();
+        assertThat(configuration.getBatchPipelineWindow()).isEqualTo(16);
+        assertThat(configuration.isRewriteBatchedStatements()).isTrue();
+        assertThat(configuration.isStreamLargeFields()).isTrue();
+        assertThat(configuration.isLocalInfileZeroCopy()).isTrue();
+        assertThat(configuration.isAllowLoadLocalInfileFromPublisher()).isTrue();
+        assertThat(configuration.isOptionalResultSetMetadata()).isTrue();
+        assertThat(configuration.isBulkUnitResults()).isTrue();
+        assertThat(configuration.isBatchRowsPerRead()).isTrue();
+        assertThat(configuration.getRowMappingScheduler()).isSameAs(Schedulers.parallel());
+        assertThat(configuration.getRowMappingConcurrency()).isEqualTo(64);
+        assertThat(configuration.getResponseHighWatermark()).isEqualTo(1024);
+        assertThat(configuration.getResponseLowWatermark()).isEqualTo(256);
 
         assertThat(configuration.getSsl().getSslMode()).isEqualTo(SslMode.VERIFY_IDENTITY);
         assertThat(configuration.getSsl().getTlsVersion()).isEqualTo(new String[] { "TLSv1.3", "TLSv1.2" });
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.r2dbc.spi.R2dbcException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.column;
+import static io.asyncer.r2dbc.mysql.ServerPackets.endOfRows;
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static io.asyncer.r2dbc.mysql.ServerPackets.error;
+import static io.asyncer.r2dbc.mysql.ServerPackets.row;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link MySqlResult}.
+ */
+class MySqlResultTest {
+
+    private static final int ROWS = 64;
+
+    private final Codecs codecs = Codecs.builder(UnpooledByteBufAllocator.DEFAULT).build();
+
+    @Test
+    void mapInParallel() {
+        ConnectionContext context = rowMapping();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<String> expected = IntStream.range(0, ROWS).mapToObj(Integer::toString)
+            .collect(Collectors.toList());
+        MySqlResult result = result(context, expected, endOfRows());
+
+        StepVerifier.create(result.map((row, metadata) -> {
+                String value = row.get(0, String.class);
+
+                threads.add(Thread.currentThread().getName());
+                // Earlier rows are slower, so they will be mapped after later rows without ordering.
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100L * (ROWS - Integer.parseInt(value))));
+
+                return value;
+            }))
+            .expectNextSequence(expected)
+            .verifyComplete();
+
+        assertThat(threads).allMatch(name -> name.startsWith("parallel-"));
+    }
+
+    @Test
+    void errorAfterMappedRows() {
+        ConnectionContext context = rowMapping();
+        List<String> expected = IntStream.range(0, 10).mapToObj(Integer::toString)
+            .collect(Collectors.toList());
+        MySqlResult result = result(context, expected,
+            error(1146, "42S02", "Table 'r2dbc.t' doesn't exist"));
+
+        StepVerifier.create(result.map(readable -> readable.get(0, String.class)))
+            .expectNextSequence(expected)
+            .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(R2dbcException.class)
+                .hasMessage("Table 'r2dbc.t' doesn't exist"))
+            .verify();
+    }
+
+    @Test
+    void mappingFailureInOrder() {
+        ConnectionContext context = rowMapping();
+        List<String> values = IntStream.range(0, ROWS).mapToObj(Integer::toString)
+            .collect(Collectors.toList());
+        MySqlResult result = result(context, values, endOfRows());
+
+        StepVerifier.create(result.map(readable -> {
+                String value = readable.get(0, String.class);
+
+                if ("5".equals(value)) {
+                    throw new IllegalStateException("Failed to map row 5");
+                }
+
+                return value;
+            }))
+            .expectNextSequence(values.subList(0, 5))
+            .verifyErrorMessage("Failed to map row 5");
+    }
+
+    private static ConnectionContext rowMapping() {
+        return ConnectionContextTest.mock(false, ConnectionContextTest.configuration()
+            .serverZoneId(ZoneId.systemDefault())
+            .rowMappingScheduler(Schedulers.parallel())
+            .rowMappingConcurrency(8)
+            .build());
+    }
+
+    private MySqlResult result(ConnectionContext context, List<String> values, byte[] last) {
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext decodeContext = DecodeContext.result(true, 1, false);
+        List<ServerMessage> messages = new ArrayList<>();
+
+        messages.add(decoder.decode(envelope(column("v")), context, decodeContext));
+
+        for (String value : values) {
+            messages.add(decoder.decode(envelope(row(value)), context, decodeContext));
+        }
+
+        messages.add(decoder.decode(envelope(last), context, decodeContext));
+
+        return MySqlResult.toResult(false, codecs, context, null, Flux.fromIterable(messages));
+    }
+}
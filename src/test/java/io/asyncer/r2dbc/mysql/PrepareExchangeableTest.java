@@ -0,0 +1,365 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.cache.Caches;
+import io.asyncer.r2dbc.mysql.cache.PrepareCache;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.client.ClientMessage;
+import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedBulkExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedResetMessage;
+import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static io.asyncer.r2dbc.mysql.ServerPackets.error;
+import static io.asyncer.r2dbc.mysql.ServerPackets.ok;
+import static io.asyncer.r2dbc.mysql.ServerPackets.preparedOk;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PrepareExchangeable}.
+ */
+class PrepareExchangeableTest {
+
+    private static final String SQL = "INSERT INTO test VALUES (?)";
+
+    private final Codecs codecs = Codecs.builder(UnpooledByteBufAllocator.DEFAULT).build();
+
+    private final ConnectionContext context = ConnectionContextTest.mock();
+
+    @Test
+    void pipelineFirstExecution() {
+        List<ClientMessage> messages = subscribe(new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            bindings(2).iterator(), 0, 2, true));
+
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(0)).isExactlyInstanceOf(PrepareQueryMessage.class);
+        assertThat(messages.get(1)).isExactlyInstanceOf(PreparedExecuteMessage.class)
+            .extracting(message -> ((PreparedExecuteMessage) message).getStatementId())
+            .isEqualTo(PreparedExecuteMessage.LAST_PREPARED_ID);
+
+        ((PreparedExecuteMessage) messages.get(1)).dispose();
+    }
+
+    @Test
+    void waitForPreparing() {
+        List<ClientMessage> messages = subscribe(new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            bindings(2).iterator(), 0, 2, false));
+
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0)).isExactlyInstanceOf(PrepareQueryMessage.class);
+    }
+
+    @Test
+    void executionsInWindow() {
+        int window = 2;
+        List<ClientMessage> requests = new ArrayList<>();
+        List<ServerMessage> results = new ArrayList<>();
+        PrepareExchangeable exchangeable = new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            bindings(5).iterator(), 0, window, false);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        try {
+            exchangeable.subscribe(collect(requests));
+            responses.asFlux().handle(exchangeable)
+                .subscribe(results::add, e -> { }, () -> completed.set(true));
+
+            responses.tryEmitNext(decode(preparedOk(1, 0, 0, true), DecodeContext.prepareQuery()));
+            assertThat(executions(requests)).isEqualTo(window);
+
+            for (int done = 1; done <= 5; ++done) {
+                responses.tryEmitNext(decode(ok(done), DecodeContext.command()));
+
+                // Each completed execution makes room for exactly one more.
+                assertThat(executions(requests) - done).isLessThanOrEqualTo(window);
+                assertThat(executions(requests)).isEqualTo(Math.min(5, done + window));
+            }
+
+            assertThat(results).extracting(message -> ((OkMessage) message).getAffectedRows())
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(completed).isTrue();
+        } finally {
+            exchangeable.dispose();
+            dispose(requests);
+        }
+    }
+
+    @Test
+    void errorStopsExecutions() {
+        List<ClientMessage> requests = new ArrayList<>();
+        List<ServerMessage> results = new ArrayList<>();
+        PrepareExchangeable exchangeable = new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            bindings(5).iterator(), 0, 2, false);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        try {
+            exchangeable.subscribe(collect(requests));
+            responses.asFlux().handle(exchangeable)
+                .subscribe(results::add, e -> { }, () -> completed.set(true));
+
+            responses.tryEmitNext(decode(preparedOk(1, 0, 0, true), DecodeContext.prepareQuery()));
+            assertThat(executions(requests)).isEqualTo(2);
+
+            // The first execution fails while the second one is still in flight.
+            responses.tryEmitNext(decode(error(1062, "23000", "Duplicate entry '1' for key 'PRIMARY'"),
+                DecodeContext.command()));
+
+            assertThat(executions(requests)).isEqualTo(2);
+            assertThat(completed).isFalse();
+
+            // The result of the in-flight execution is reported after the failure.
+            responses.tryEmitNext(decode(ok(1), DecodeContext.command()));
+
+            assertThat(executions(requests)).isEqualTo(2);
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0)).isInstanceOf(ErrorMessage.class);
+            assertThat(results.get(1)).isInstanceOf(OkMessage.class);
+            assertThat(completed).isTrue();
+        } finally {
+            exchangeable.dispose();
+            dispose(requests);
+        }
+    }
+
+    @Test
+    void boundTypesSharedByCache() {
+        PrepareCache cache = Caches.createPrepareCache(256);
+        List<ClientMessage> requests = new ArrayList<>();
+
+        for (int i = 0; i < 2; ++i) {
+            PrepareExchangeable exchangeable = new PrepareExchangeable(cache, SQL, bindings(1).iterator(), 0,
+                1, false);
+            Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+
+            try {
+                exchangeable.subscribe(collect(requests));
+                responses.asFlux().handle(exchangeable).subscribe();
+
+                if (i == 0) {
+                    responses.tryEmitNext(decode(preparedOk(1, 0, 0, true), DecodeContext.prepareQuery()));
+                } else {
+                    // Reset the cached statement.
+                    responses.tryEmitNext(decode(ok(0), DecodeContext.command()));
+                }
+
+                responses.tryEmitNext(decode(ok(1), DecodeContext.command()));
+            } finally {
+                exchangeable.dispose();
+            }
+        }
+
+        try {
+            // Types bound by the first exchange are omitted by the second one.
+            assertThat(requests).filteredOn(PreparedExecuteMessage.class::isInstance)
+                .extracting(Object::toString)
+                .satisfiesExactly(first -> assertThat(first).contains("sendTypes=true"),
+                    second -> assertThat(second).contains("sendTypes=false"));
+        } finally {
+            dispose(requests);
+        }
+    }
+
+    @Test
+    void bulkExecutionsOneByOne() {
+        List<ClientMessage> requests = new ArrayList<>();
+        List<ServerMessage> results = new ArrayList<>();
+        BulkExecute bulk = BulkExecute.resolve(bindings(5));
+
+        assertThat(bulk).isNotNull();
+
+        // Each row is an indicator and a TINYINT value, so each chunk contains up to 2 rows.
+        assertThat(bulk.getTypes()).containsExactly(MySqlType.TINYINT);
+
+        BulkExecute.Chunks chunks = bulk.chunks(UnpooledByteBufAllocator.DEFAULT,
+            PreparedBulkExecuteMessage.headerSize(1) + 4);
+        PrepareExchangeable exchangeable = new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            chunks.next().block(), chunks, bulk.getTypes(), false, 1, false);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        try {
+            exchangeable.subscribe(collect(requests));
+            responses.asFlux().handle(exchangeable)
+                .concatMapIterable(SplitMessage::flatten)
+                .subscribe(results::add, e -> { }, () -> completed.set(true));
+
+            responses.tryEmitNext(decode(preparedOk(1, 0, 0, true), DecodeContext.prepareQuery()));
+            assertThat(bulkExecutions(requests)).isOne();
+
+            // The next chunk is rendered and sent only after the previous execution is done.
+            responses.tryEmitNext(decode(ok(2), DecodeContext.command()));
+            assertThat(bulkExecutions(requests)).isEqualTo(2);
+            assertThat(results).hasSize(2);
+
+            responses.tryEmitNext(decode(ok(2), DecodeContext.command()));
+            assertThat(bulkExecutions(requests)).isEqualTo(3);
+            assertThat(completed).isFalse();
+
+            responses.tryEmitNext(decode(ok(1), DecodeContext.command()));
+            assertThat(bulkExecutions(requests)).isEqualTo(3);
+            assertThat(results).extracting(message -> ((OkMessage) message).getAffectedRows())
+                .containsExactly(1L, 1L, 1L, 1L, 1L);
+            assertThat(completed).isTrue();
+        } finally {
+            exchangeable.dispose();
+            dispose(requests);
+        }
+    }
+
+    @Test
+    void bulkRenderingErrorFailsExchange() {
+        List<ClientMessage> requests = new ArrayList<>();
+        List<Binding> bindings = bindings(3);
+        Binding failure = new Binding(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        failure.add(0, new MySqlParameter() {
+
+            @Override
+            public Publisher<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+                return Mono.error(new IllegalStateException("Rendering failed"));
+            }
+
+            @Override
+            public Mono<Void> publishText(ParameterWriter writer) {
+                return Mono.error(new IllegalStateException("Rendering failed"));
+            }
+
+            @Override
+            public MySqlType getType() {
+                return MySqlType.TINYINT;
+            }
+        });
+        bindings.add(failure);
+
+        BulkExecute bulk = BulkExecute.resolve(bindings);
+
+        assertThat(bulk).isNotNull();
+
+        BulkExecute.Chunks chunks = bulk.chunks(UnpooledByteBufAllocator.DEFAULT,
+            PreparedBulkExecuteMessage.headerSize(1) + 4);
+        PrepareExchangeable exchangeable = new PrepareExchangeable(Caches.createPrepareCache(0), SQL,
+            chunks.next().block(), chunks, bulk.getTypes(), false, 1, false);
+        Sinks.Many<ServerMessage> responses = Sinks.many().unicast().onBackpressureBuffer();
+
+        try {
+            exchangeable.subscribe(collect(requests));
+            responses.asFlux().handle(exchangeable)
+                .subscribe(ReferenceCountUtil::safeRelease, error::set, () -> completed.set(true));
+
+            responses.tryEmitNext(decode(preparedOk(1, 0, 0, true), DecodeContext.prepareQuery()));
+            assertThat(bulkExecutions(requests)).isOne();
+
+            // Rendering of the next chunk fails, the statement is reset instead of failing the connection.
+            responses.tryEmitNext(decode(ok(2), DecodeContext.command()));
+            assertThat(bulkExecutions(requests)).isOne();
+            assertThat(requests).last().isInstanceOf(PreparedResetMessage.class);
+            assertThat(error.get()).isNull();
+
+            responses.tryEmitNext(decode(ok(0), DecodeContext.command()));
+            assertThat(error.get()).isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessage("Rendering failed");
+            assertThat(completed).isFalse();
+        } finally {
+            exchangeable.dispose();
+            dispose(requests);
+        }
+    }
+
+    private ServerMessage decode(byte[] payload, DecodeContext decodeContext) {
+        return new ServerMessageDecoder().decode(envelope(payload), context, decodeContext);
+    }
+
+    private List<Binding> bindings(int size) {
+        List<Binding> bindings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; ++i) {
+            Binding binding = new Binding(1);
+
+            binding.add(0, codecs.encode(i + 1, context));
+            bindings.add(binding);
+        }
+
+        return bindings;
+    }
+
+    private static int executions(List<ClientMessage> requests) {
+        return (int) requests.stream().filter(PreparedExecuteMessage.class::isInstance).count();
+    }
+
+    private static int bulkExecutions(List<ClientMessage> requests) {
+        return (int) requests.stream().filter(PreparedBulkExecuteMessage.class::isInstance).count();
+    }
+
+    private static void dispose(List<ClientMessage> requests) {
+        for (ClientMessage request : requests) {
+            if (request instanceof Disposable) {
+                ((Disposable) request).dispose();
+            }
+        }
+    }
+
+    private static BaseSubscriber<ClientMessage> collect(List<ClientMessage> messages) {
+        return new BaseSubscriber<ClientMessage>() {
+
+            @Override
+            protected void hookOnNext(ClientMessage value) {
+                messages.add(value);
+            }
+        };
+    }
+
+    private static List<ClientMessage> subscribe(PrepareExchangeable exchangeable) {
+        List<ClientMessage> messages = new ArrayList<>();
+
+        exchangeable.subscribe(new BaseSubscriber<ClientMessage>() {
+
+            @Override
+            protected void hookOnNext(ClientMessage value) {
+                messages.add(value);
+            }
+        });
+        exchangeable.dispose();
+
+        return messages;
+    }
+}
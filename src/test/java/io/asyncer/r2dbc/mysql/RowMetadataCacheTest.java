@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.message.server.DecodeContext;
+import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessageDecoder;
+import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
+import org.junit.jupiter.api.Test;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.column;
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link RowMetadataCache} and {@link MySqlRowMetadata#isDefinedBy}.
+ */
+class RowMetadataCacheTest {
+
+    private static final String SQL = "SELECT id, name FROM test";
+
+    private final ConnectionContext context = ConnectionContextTest.mock();
+
+    @Test
+    void hitIdenticalDefinitions() {
+        RowMetadataCache cache = new RowMetadataCache();
+        DefinitionMetadataMessage[] columns = columns("id", "name");
+        DefinitionMetadataMessage[] decodedAgain = columns("id", "name");
+        MySqlRowMetadata metadata = cache.get(SQL, columns);
+
+        assertThat(decodedAgain).isNotSameAs(columns);
+        assertThat(metadata.isDefinedBy(decodedAgain)).isTrue();
+        assertThat(cache.get(SQL, decodedAgain)).isSameAs(metadata);
+    }
+
+    @Test
+    void replaceChangedDefinitions() {
+        RowMetadataCache cache = new RowMetadataCache();
+        MySqlRowMetadata metadata = cache.get(SQL, columns("id", "name"));
+        // Column has been renamed by ALTER TABLE.
+        DefinitionMetadataMessage[] altered = columns("id", "full_name");
+
+        assertThat(metadata.isDefinedBy(altered)).isFalse();
+
+        MySqlRowMetadata replaced = cache.get(SQL, altered);
+
+        assertThat(replaced).isNotSameAs(metadata);
+        assertThat(replaced.contains("full_name")).isTrue();
+        assertThat(cache.get(SQL, columns("id", "full_name"))).isSameAs(replaced);
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        RowMetadataCache cache = new RowMetadataCache();
+        DefinitionMetadataMessage[] columns = columns("id", "name");
+        MySqlRowMetadata first = cache.get(sql(0), columns);
+        MySqlRowMetadata second = cache.get(sql(1), columns);
+
+        for (int i = 2; i < RowMetadataCache.CAPACITY; ++i) {
+            cache.get(sql(i), columns);
+        }
+
+        // Access the first statement, so the second one is the eldest.
+        assertThat(cache.get(sql(0), columns)).isSameAs(first);
+
+        cache.get(sql(RowMetadataCache.CAPACITY), columns);
+
+        assertThat(cache.get(sql(0), columns)).isSameAs(first);
+        assertThat(cache.get(sql(1), columns)).isNotSameAs(second);
+    }
+
+    private DefinitionMetadataMessage[] columns(String... names) {
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext decodeContext = DecodeContext.result(true, names.length, false);
+        ServerMessage message = null;
+
+        for (String name : names) {
+            message = decoder.decode(envelope(column(name)), context, decodeContext);
+        }
+
+        assertThat(message).isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        return ((SyntheticMetadataMessage) message).unwrap();
+    }
+
+    private static String sql(int i) {
+        return "SELECT id, name FROM test_" + i;
+    }
+}
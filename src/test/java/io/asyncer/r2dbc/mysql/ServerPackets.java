@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql;
+
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Payloads and envelopes of server packets for unit tests which decode server messages.
+ */
+public final class ServerPackets {
+
+    /**
+     * Creates the payload of an OK packet, e.g. login succeed.
+     *
+     * @return the payload.
+     */
+    public static byte[] ok() {
+        return ok(0);
+    }
+
+    /**
+     * Creates the payload of an OK packet with affected rows, e.g. the result of an update.
+     *
+     * @param affectedRows the affected rows, which must be less than 251.
+     * @return the payload.
+     */
+    public static byte[] ok(int affectedRows) {
+        return new byte[] { 0, (byte) affectedRows, 0, 2, 0, 0, 0 };
+    }
+
+    /**
+     * Creates the payload of an OK packet which ends rows when EOF is deprecated.
+     *
+     * @return the payload.
+     */
+    public static byte[] endOfRows() {
+        return new byte[] { (byte) 0xFE, 0, 0, 2, 0, 0, 0 };
+    }
+
+    /**
+     * Creates the payload of a column definition packet of a {@code VARCHAR(255)} column.
+     *
+     * @param name the column name.
+     * @return the payload.
+     */
+    public static byte[] column(String name) {
+        return column(name, MySqlType.VARCHAR);
+    }
+
+    /**
+     * Creates the payload of a column definition packet, the collation is {@code binary} if the type is not
+     * {@code VARCHAR}.
+     *
+     * @param name the column name.
+     * @param type the column type.
+     * @return the payload.
+     */
+    public static byte[] column(String name, MySqlType type) {
+        ByteBuf buf = Unpooled.buffer();
+        boolean varchar = type == MySqlType.VARCHAR;
+
+        try {
+            buf.writeByte(3).writeCharSequence("def", StandardCharsets.US_ASCII);
+            // Database, table, original table, column and original column.
+            buf.writeByte(0).writeByte(0).writeByte(0);
+            buf.writeByte(name.length()).writeCharSequence(name, StandardCharsets.US_ASCII);
+            buf.writeByte(0);
+            buf.writeByte(0x0C).writeShortLE(varchar ? 33 : 63).writeIntLE(varchar ? 255 : 20)
+                .writeByte(type.getId()).writeShortLE(0).writeByte(0).writeShortLE(0);
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates the payload of a text row packet, each value must be shorter than 251 bytes.
+     *
+     * @param values the values of the row.
+     * @return the payload.
+     */
+    public static byte[] row(String... values) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+
+                buf.writeByte(bytes.length).writeBytes(bytes);
+            }
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates the payload of a binary row packet, each value must be shorter than 251 bytes.
+     *
+     * @param values the values of the row.
+     * @return the payload.
+     */
+    public static byte[] binaryRow(String... values) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            // Header and null bitmap with 2 reserved bits.
+            buf.writeByte(0).writeZero((values.length + 9) >> 3);
+
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+
+                buf.writeByte(bytes.length).writeBytes(bytes);
+            }
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates the payload of a binary row packet of {@code BIGINT} values.
+     *
+     * @param values the values of the row.
+     * @return the payload.
+     */
+    public static byte[] binaryRow(long... values) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            // Header and null bitmap with 2 reserved bits.
+            buf.writeByte(0).writeZero((values.length + 9) >> 3);
+
+            for (long value : values) {
+                buf.writeLongLE(value);
+            }
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates the payload of a prepared OK packet with the {@code metadata_follows} flag, i.e.
+     * {@code CLIENT_OPTIONAL_RESULTSET_METADATA} is enabled.
+     *
+     * @param statementId     the statement ID.
+     * @param columns         the number of columns.
+     * @param parameters      the number of parameters.
+     * @param metadataFollows if metadata follows.
+     * @return the payload.
+     */
+    public static byte[] preparedOk(int statementId, int columns, int parameters, boolean metadataFollows) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            buf.writeByte(0).writeIntLE(statementId).writeShortLE(columns).writeShortLE(parameters)
+                .writeByte(0).writeShortLE(0).writeBoolean(metadataFollows);
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Creates the payload of an error packet with SQL state.
+     *
+     * @param code     the error code.
+     * @param sqlState the SQL state, which must be 5 characters.
+     * @param message  the error message.
+     * @return the payload.
+     */
+    public static byte[] error(int code, String sqlState, String message) {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            buf.writeByte(0xFF).writeShortLE(code).writeByte('#')
+                .writeCharSequence(sqlState + message, StandardCharsets.US_ASCII);
+
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Wraps a payload into an envelope which sequence ID is {@code 0}.
+     *
+     * @param payload the payload.
+     * @return the envelope.
+     */
+    public static ByteBuf envelope(byte[] payload) {
+        return Unpooled.buffer().writeMediumLE(payload.length).writeByte(0).writeBytes(payload);
+    }
+
+    private ServerPackets() { }
+}
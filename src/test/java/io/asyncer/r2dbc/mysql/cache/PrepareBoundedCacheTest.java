@@ -52,6 +52,25 @@ class PrepareBoundedCacheTest {
         assertThat(cache.getIfPresent("SELECT 1")).isEqualTo(1);
     }
 
+    @Test
+    void boundTypes() {
+        PrepareBoundedCache cache = mock();
+        int[] types = { 3, 253 };
+
+        cache.putBoundTypes("SELECT 1", 1, types);
+        assertThat(cache.getBoundTypes(1)).isNull();
+
+        assertThat(cache.putIfAbsent("SELECT 1", 1, ExceptionConsumer.INSTANCE)).isTrue();
+        cache.putBoundTypes("SELECT 1", 2, types);
+        assertThat(cache.getBoundTypes(2)).isNull();
+
+        cache.putBoundTypes("SELECT 1", 1, types);
+        assertThat(cache.getBoundTypes(1)).isEqualTo(types);
+
+        cache.putBoundTypes("SELECT 1", 1, null);
+        assertThat(cache.getBoundTypes(1)).isNull();
+    }
+
     private static PrepareBoundedCache mock() {
         return new PrepareBoundedCache(DEFAULT_CAPACITY);
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.DefaultByteBufHolder;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompressionDuplexCodec}.
+ */
+class CompressionDuplexCodecTest {
+
+    @Test
+    void writeSmallEnvelope() {
+        EmbeddedChannel channel = channel();
+        byte[] payload = "SELECT 1".getBytes(StandardCharsets.US_ASCII);
+
+        channel.writeOutbound(envelopeHeader(payload.length, 0), Unpooled.wrappedBuffer(payload));
+
+        ByteBuf compressed = readOutbound(channel);
+
+        try {
+            assertThat(compressed.readUnsignedMediumLE()).isEqualTo(payload.length + 4);
+            assertThat(compressed.readUnsignedByte()).isEqualTo((short) 0);
+            assertThat(compressed.readUnsignedMediumLE()).isZero();
+            assertThat(compressed.readUnsignedMediumLE()).isEqualTo(payload.length);
+            assertThat(compressed.readUnsignedByte()).isEqualTo((short) 0);
+            assertThat(ByteBufUtil.getBytes(compressed)).isEqualTo(payload);
+        } finally {
+            compressed.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void roundTripLargeEnvelope() {
+        roundTripLargeEnvelope(channel());
+    }
+
+    @Test
+    void roundTripLargeEnvelopeZstd() {
+        roundTripLargeEnvelope(new EmbeddedChannel(new CompressionSlicer(),
+            new CompressionDuplexCodec(new ZstdCompressor(ByteBufAllocator.DEFAULT, 3))));
+    }
+
+    private static void roundTripLargeEnvelope(EmbeddedChannel channel) {
+        byte[] payload = new byte[4096];
+
+        Arrays.fill(payload, (byte) 'x');
+        channel.writeOutbound(envelopeHeader(payload.length, 0), Unpooled.wrappedBuffer(payload));
+
+        ByteBuf compressed = readOutbound(channel);
+
+        try {
+            assertThat(compressed.getUnsignedMediumLE(0)).isLessThan(payload.length);
+            assertThat(compressed.getUnsignedByte(3)).isEqualTo((short) 0);
+            assertThat(compressed.getUnsignedMediumLE(4)).isEqualTo(payload.length + 4);
+
+            // Read it back as a server response.
+            channel.writeInbound(compressed.retain());
+
+            ByteBuf decompressed = channel.readInbound();
+
+            try {
+                assertThat(decompressed.readUnsignedMediumLE()).isEqualTo(payload.length);
+                assertThat(decompressed.readUnsignedByte()).isEqualTo((short) 0);
+                assertThat(ByteBufUtil.getBytes(decompressed)).isEqualTo(payload);
+            } finally {
+                decompressed.release();
+            }
+        } finally {
+            compressed.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void sequenceIdFollowsServer() {
+        EmbeddedChannel channel = channel();
+        byte[] payload = "SELECT 1".getBytes(StandardCharsets.US_ASCII);
+
+        channel.writeOutbound(envelopeHeader(payload.length, 0), Unpooled.wrappedBuffer(payload));
+        readOutbound(channel).release();
+
+        ByteBuf response = Unpooled.buffer();
+
+        response.writeMediumLE(5).writeByte(3).writeMediumLE(0)
+            .writeMediumLE(1).writeByte(1).writeByte(0xFB);
+        channel.writeInbound(response);
+        ((ByteBuf) channel.readInbound()).release();
+
+        // Subsequence envelope of the same command, e.g. local infile data.
+        channel.writeOutbound(envelopeHeader(payload.length, 2), Unpooled.wrappedBuffer(payload));
+
+        ByteBuf subsequence = readOutbound(channel);
+
+        try {
+            assertThat(subsequence.getUnsignedByte(3)).isEqualTo((short) 4);
+        } finally {
+            subsequence.release();
+        }
+
+        // New command resets the compressed sequence ID.
+        channel.writeOutbound(envelopeHeader(payload.length, 0), Unpooled.wrappedBuffer(payload));
+
+        ByteBuf command = readOutbound(channel);
+
+        try {
+            assertThat(command.getUnsignedByte(3)).isEqualTo((short) 0);
+        } finally {
+            command.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void completePromiseAfterFlush() {
+        EmbeddedChannel channel = channel();
+        byte[] payload = "SELECT 1".getBytes(StandardCharsets.US_ASCII);
+
+        ChannelFuture header = channel.write(envelopeHeader(payload.length, 0));
+        ChannelFuture body = channel.write(Unpooled.wrappedBuffer(payload));
+
+        try {
+            assertThat(header.isDone()).isFalse();
+            assertThat(body.isDone()).isFalse();
+
+            channel.flush();
+
+            assertThat(header.isSuccess()).isTrue();
+            assertThat(body.isSuccess()).isTrue();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void rejectNonByteBuf() {
+        EmbeddedChannel channel = channel();
+        ByteBuf content = Unpooled.buffer().writeByte(1);
+        ChannelFuture future = channel.write(new DefaultByteBufHolder(content));
+
+        try {
+            assertThat(future.cause()).isExactlyInstanceOf(IllegalArgumentException.class);
+            assertThat(content.refCnt()).isZero();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static EmbeddedChannel channel() {
+        return new EmbeddedChannel(new CompressionSlicer(),
+            new CompressionDuplexCodec(new ZlibCompressor(ByteBufAllocator.DEFAULT)));
+    }
+
+    private static ByteBuf envelopeHeader(int size, int envelopeId) {
+        return Unpooled.buffer(4).writeMediumLE(size).writeByte(envelopeId);
+    }
+
+    private static ByteBuf readOutbound(EmbeddedChannel channel) {
+        ByteBuf result = Unpooled.buffer();
+        ByteBuf buf;
+
+        while ((buf = channel.readOutbound()) != null) {
+            result.writeBytes(buf);
+            buf.release();
+        }
+
+        return result;
+    }
+}
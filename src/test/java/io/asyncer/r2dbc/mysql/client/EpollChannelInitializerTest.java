@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollSocketChannel;
+import org.junit.jupiter.api.Test;
+import reactor.netty.ConnectionObserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link EpollChannelInitializer}.
+ */
+class EpollChannelInitializerTest {
+
+    @Test
+    void skipNonEpollChannel() {
+        Channel channel = mock(Channel.class);
+        ChannelConfig config = mock(ChannelConfig.class);
+
+        when(channel.config()).thenReturn(config);
+
+        new EpollChannelInitializer(true, 50).onChannelInit(ConnectionObserver.emptyListener(), channel,
+            null);
+
+        verify(config, never()).setOption(any(), any());
+    }
+
+    @Test
+    void applyEpollOptions() {
+        assumeTrue(EpollChannelInitializer.isAvailable(), "Epoll is unavailable");
+
+        EpollSocketChannel channel = new EpollSocketChannel();
+
+        try {
+            // Quick ACK is enabled by default, raising busy poll requires CAP_NET_ADMIN.
+            channel.config().setOption(EpollChannelOption.TCP_QUICKACK, false);
+
+            new EpollChannelInitializer(true, 0).onChannelInit(ConnectionObserver.emptyListener(), channel,
+                null);
+
+            assertThat(channel.config().getOption(EpollChannelOption.TCP_QUICKACK)).isTrue();
+            assertThat(channel.config().getOption(EpollChannelOption.SO_BUSY_POLL)).isZero();
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+    }
+
+    @Test
+    void isAvailable() {
+        assertThat(EpollChannelInitializer.isAvailable()).isEqualTo(Epoll.isAvailable());
+    }
+}
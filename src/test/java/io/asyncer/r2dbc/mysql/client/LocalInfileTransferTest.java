@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.message.client.LocalInfileResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.r2dbc.spi.R2dbcPermissionDeniedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link LocalInfileTransfer}.
+ */
+class LocalInfileTransferTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fileRegion() throws IOException {
+        Path file = Files.write(dir.resolve("data.tsv"), "1\ta\n2\tb\n".getBytes());
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        EmbeddedChannel channel = channel(localInfile(dir));
+
+        channel.writeOutbound(new LocalInfileResponse(2, file.toString(), sink));
+
+        assertHeader(channel.readOutbound(), 8, 2);
+
+        FileRegion region = channel.readOutbound();
+
+        try {
+            assertThat(region.position()).isZero();
+            assertThat(region.count()).isEqualTo(8);
+        } finally {
+            region.release();
+        }
+
+        assertHeader(channel.readOutbound(), 0, 3);
+        assertThat(channel.<Object>readOutbound()).isNull();
+        verify(sink, never()).error(any());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        Path file = Files.createFile(dir.resolve("empty.tsv"));
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        EmbeddedChannel channel = channel(localInfile(dir));
+
+        channel.writeOutbound(new LocalInfileResponse(2, file.toString(), sink));
+
+        assertHeader(channel.readOutbound(), 0, 2);
+        assertThat(channel.<Object>readOutbound()).isNull();
+        verify(sink, never()).error(any());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void notUnderSafePath() throws IOException {
+        Path safe = Files.createDirectory(dir.resolve("safe"));
+        Path file = Files.write(dir.resolve("data.tsv"), "1\ta\n".getBytes());
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        EmbeddedChannel channel = channel(localInfile(safe));
+
+        channel.writeOutbound(new LocalInfileResponse(2, file.toString(), sink));
+
+        assertHeader(channel.readOutbound(), 0, 2);
+        assertThat(channel.<Object>readOutbound()).isNull();
+        verify(sink).error(isA(R2dbcPermissionDeniedException.class));
+        channel.finishAndReleaseAll();
+    }
+
+    private static void assertHeader(ByteBuf header, int size, int envelopeId) {
+        try {
+            assertThat(header.readUnsignedMediumLE()).isEqualTo(size);
+            assertThat(header.readUnsignedByte()).isEqualTo((short) envelopeId);
+            assertThat(header.isReadable()).isFalse();
+        } finally {
+            header.release();
+        }
+    }
+
+    private static ConnectionContext localInfile(Path path) {
+        return ConnectionContextTest.mock(false, ConnectionContextTest.configuration()
+            .allowLoadLocalInfileInPath(path.toString())
+            .localInfileZeroCopy(true)
+            .build());
+    }
+
+    private static EmbeddedChannel channel(ConnectionContext context) {
+        return new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+                LocalInfileTransfer.transfer(ctx, (LocalInfileResponse) msg, context, promise);
+            }
+        });
+    }
+}
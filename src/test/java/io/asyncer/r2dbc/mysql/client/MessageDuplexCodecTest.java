@@ -0,0 +1,247 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.message.client.PrepareQueryMessage;
+import io.asyncer.r2dbc.mysql.message.client.PreparedExecuteMessage;
+import io.asyncer.r2dbc.mysql.message.server.DefinitionMetadataMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.PreparedOkMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowBatchMessage;
+import io.asyncer.r2dbc.mysql.message.server.RowMessage;
+import io.asyncer.r2dbc.mysql.message.server.SyntheticMetadataMessage;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.binaryRow;
+import static io.asyncer.r2dbc.mysql.ServerPackets.column;
+import static io.asyncer.r2dbc.mysql.ServerPackets.endOfRows;
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static io.asyncer.r2dbc.mysql.ServerPackets.ok;
+import static io.asyncer.r2dbc.mysql.ServerPackets.preparedOk;
+import static io.asyncer.r2dbc.mysql.ServerPackets.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link MessageDuplexCodec}.
+ */
+class MessageDuplexCodecTest {
+
+    @Test
+    void batchRowsPerRead() {
+        EmbeddedChannel channel = resultChannel(true);
+
+        try {
+            assertThat(channel.<Object>readInbound()).isInstanceOf(SyntheticMetadataMessage.class);
+
+            RowBatchMessage batch = channel.readInbound();
+
+            try {
+                assertThat(batch.getRows()).hasSize(3);
+            } finally {
+                batch.release();
+            }
+
+            channel.writeInbound(envelope(endOfRows()));
+
+            assertThat(channel.<Object>readInbound()).isInstanceOf(OkMessage.class);
+            assertThat(channel.<Object>readInbound()).isNull();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void rowByRow() {
+        EmbeddedChannel channel = resultChannel(false);
+
+        try {
+            assertThat(channel.<Object>readInbound()).isInstanceOf(SyntheticMetadataMessage.class);
+
+            for (int i = 0; i < 3; ++i) {
+                Object row = channel.readInbound();
+
+                assertThat(row).isInstanceOf(RowMessage.class);
+                ReferenceCountUtil.release(row);
+            }
+
+            assertThat(channel.<Object>readInbound()).isNull();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void preparedOkWithMetadataFollows() {
+        EmbeddedChannel channel = loggedInChannel(false);
+
+        try {
+            prepare(channel, 1, true);
+
+            // Column metadata is omitted by the server, it is known since the statement prepared.
+            execute(channel, 1);
+            channel.writeInbound(envelope(new byte[] { 1, 0 }), envelope(binaryRow("a")),
+                envelope(endOfRows()));
+
+            assertThat(channel.<Object>readInbound()).isInstanceOfSatisfying(SyntheticMetadataMessage.class,
+                metadata -> assertThat(metadata.unwrap()).extracting(DefinitionMetadataMessage::getColumn)
+                    .containsExactly("v"));
+
+            RowMessage row = channel.readInbound();
+
+            row.release();
+            assertThat(channel.<Object>readInbound()).isInstanceOf(OkMessage.class);
+            assertThat(channel.<Object>readInbound()).isNull();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void preparedOkWithoutMetadataFollows() {
+        EmbeddedChannel channel = loggedInChannel(false);
+
+        try {
+            prepare(channel, 1, false);
+
+            // No metadata follows the prepared OK, so the column count is not decoded as a definition.
+            execute(channel, 1);
+            assertThatExceptionOfType(R2dbcNonTransientResourceException.class)
+                .isThrownBy(() -> channel.writeInbound(envelope(new byte[] { 1, 0 })))
+                .withMessageContaining("Column metadata has been omitted by the server");
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void executeReusesPreparedMetadata() {
+        EmbeddedChannel channel = loggedInChannel(false);
+
+        try {
+            prepare(channel, 1, true);
+
+            // Each execution without metadata follows reuses the metadata cached by the preparing.
+            for (int i = 0; i < 2; ++i) {
+                execute(channel, 1);
+                channel.writeInbound(envelope(new byte[] { 1, 0 }), envelope(binaryRow("a")),
+                    envelope(endOfRows()));
+
+                assertThat(readResult(channel)).containsExactly("v");
+            }
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void executeReplacesPreparedMetadata() {
+        EmbeddedChannel channel = loggedInChannel(false);
+
+        try {
+            prepare(channel, 1, true);
+
+            // Metadata has been changed, e.g. altered table, so the server sends it with the result.
+            execute(channel, 1);
+            channel.writeInbound(envelope(new byte[] { 1, 1 }), envelope(column("w")),
+                envelope(binaryRow("a")), envelope(endOfRows()));
+
+            assertThat(readResult(channel)).containsExactly("w");
+
+            // The next execution without metadata follows uses the replaced metadata.
+            execute(channel, 1);
+            channel.writeInbound(envelope(new byte[] { 1, 0 }), envelope(binaryRow("b")),
+                envelope(endOfRows()));
+
+            assertThat(readResult(channel)).containsExactly("w");
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static void prepare(EmbeddedChannel channel, int statementId, boolean metadataFollows) {
+        channel.writeOutbound(new PrepareQueryMessage("SELECT v FROM t"));
+        ReferenceCountUtil.release(channel.readOutbound());
+
+        // The prepared OK packet has 13 bytes, the last one is metadata_follows.
+        channel.writeInbound(envelope(preparedOk(statementId, 1, 0, metadataFollows)));
+
+        if (metadataFollows) {
+            channel.writeInbound(envelope(column("v")));
+        }
+
+        assertThat(channel.<Object>readInbound()).isInstanceOfSatisfying(PreparedOkMessage.class,
+            message -> assertThat(message.isMetadataFollows()).isEqualTo(metadataFollows));
+
+        if (metadataFollows) {
+            assertThat(channel.<Object>readInbound()).isInstanceOfSatisfying(SyntheticMetadataMessage.class,
+                metadata -> assertThat(metadata.isCompleted()).isTrue());
+        }
+
+        assertThat(channel.<Object>readInbound()).isNull();
+    }
+
+    private static void execute(EmbeddedChannel channel, int statementId) {
+        channel.writeOutbound(new PreparedExecuteMessage(statementId, true, new MySqlParameter[0]));
+        ReferenceCountUtil.release(channel.readOutbound());
+    }
+
+    private static List<String> readResult(EmbeddedChannel channel) {
+        SyntheticMetadataMessage metadata = channel.readInbound();
+        RowMessage row = channel.readInbound();
+
+        row.release();
+        assertThat(channel.<Object>readInbound()).isInstanceOf(OkMessage.class);
+        assertThat(channel.<Object>readInbound()).isNull();
+
+        return Arrays.stream(metadata.unwrap()).map(DefinitionMetadataMessage::getColumn)
+            .collect(Collectors.toList());
+    }
+
+    private static EmbeddedChannel resultChannel(boolean batchRowsPerRead) {
+        EmbeddedChannel channel = loggedInChannel(batchRowsPerRead);
+
+        // Column count with metadata follows, a column definition, and rows are received by a read.
+        channel.writeInbound(envelope(new byte[] { 1, 1 }), envelope(column("v")), envelope(row("a")),
+            envelope(row("b")), envelope(row("c")));
+
+        return channel;
+    }
+
+    private static EmbeddedChannel loggedInChannel(boolean batchRowsPerRead) {
+        EmbeddedChannel channel = new EmbeddedChannel(new MessageDuplexCodec(
+            ConnectionContextTest.mock(false, ConnectionContextTest.configuration()
+                .serverZoneId(ZoneId.systemDefault())
+                .batchRowsPerRead(batchRowsPerRead)
+                .build())));
+
+        channel.writeInbound(envelope(ok()));
+        assertThat(channel.<Object>readInbound()).isInstanceOf(OkMessage.class);
+
+        return channel;
+    }
+}
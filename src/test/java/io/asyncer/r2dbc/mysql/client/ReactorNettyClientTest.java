@@ -0,0 +1,282 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlSslConfiguration;
+import io.asyncer.r2dbc.mysql.message.client.PingMessage;
+import io.asyncer.r2dbc.mysql.message.server.ErrorMessage;
+import io.asyncer.r2dbc.mysql.message.server.OkMessage;
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SynchronousSink;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.channel.ChannelOperations;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.asyncer.r2dbc.mysql.ServerPackets.envelope;
+import static io.asyncer.r2dbc.mysql.ServerPackets.error;
+import static io.asyncer.r2dbc.mysql.ServerPackets.ok;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ReactorNettyClient}.
+ */
+class ReactorNettyClientTest {
+
+    private static final int HIGH_WATERMARK = 4;
+
+    private static final int LOW_WATERMARK = 2;
+
+    private static final Method SSL_DISABLED = ReflectionUtils.findMethod(MySqlSslConfiguration.class,
+        "disabled").orElseThrow(RuntimeException::new);
+
+    @Test
+    void responseWatermarks() {
+        EmbeddedChannel channel = channel();
+        ReactorNettyClient client = client(channel, false);
+        List<ServerMessage> messages = new ArrayList<>();
+        ManualSubscriber<ServerMessage> subscriber = new ManualSubscriber<>(messages);
+
+        try {
+            client.<ServerMessage>exchange(PingMessage.INSTANCE, (message, sink) -> sink.next(message))
+                .subscribe(subscriber);
+            releaseOutbound(channel);
+
+            // The first request is the high watermark, so the channel keeps reading until it is exceeded.
+            for (int i = 0; i < HIGH_WATERMARK; ++i) {
+                channel.writeInbound(envelope(ok()));
+                assertThat(channel.config().isAutoRead()).isTrue();
+            }
+
+            channel.writeInbound(envelope(ok()));
+            assertThat(channel.config().isAutoRead()).isFalse();
+
+            // Consume messages until the outstanding messages drop to the low watermark.
+            for (int i = HIGH_WATERMARK; i > LOW_WATERMARK + 1; --i) {
+                subscriber.request(1);
+                assertThat(channel.config().isAutoRead()).isFalse();
+            }
+
+            subscriber.request(1);
+            assertThat(channel.config().isAutoRead()).isTrue();
+
+            // The buffered message has been received, so exactly (high - low - 1) messages can be read.
+            for (int i = 1; i < HIGH_WATERMARK - LOW_WATERMARK; ++i) {
+                channel.writeInbound(envelope(ok()));
+                assertThat(channel.config().isAutoRead()).isTrue();
+            }
+
+            channel.writeInbound(envelope(ok()));
+            assertThat(channel.config().isAutoRead()).isFalse();
+            assertThat(messages).hasSize(HIGH_WATERMARK - LOW_WATERMARK);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pipelinedFifo() {
+        EmbeddedChannel channel = channel();
+        ReactorNettyClient client = client(channel, true);
+
+        try {
+            List<StepVerifier> verifiers = new ArrayList<>();
+
+            for (long i = 1; i <= 3; ++i) {
+                verifiers.add(client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows)
+                    .as(StepVerifier::create)
+                    .expectNext(i)
+                    .expectComplete()
+                    .verifyLater());
+            }
+
+            // All requests have been written before any response.
+            assertThat(releaseOutbound(channel)).isEqualTo(3);
+
+            channel.writeInbound(envelope(ok(1)), envelope(ok(2)), envelope(ok(3)));
+
+            verifiers.forEach(verifier -> verifier.verify(Duration.ofSeconds(5)));
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pipelinedErrorNotAffectNext() {
+        EmbeddedChannel channel = channel();
+        ReactorNettyClient client = client(channel, true);
+
+        try {
+            StepVerifier failed = client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows)
+                .as(StepVerifier::create)
+                .expectErrorMessage("Table 'r2dbc.t' doesn't exist")
+                .verifyLater();
+            StepVerifier next = client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows)
+                .as(StepVerifier::create)
+                .expectNext(2L)
+                .expectComplete()
+                .verifyLater();
+
+            assertThat(releaseOutbound(channel)).isEqualTo(2);
+
+            channel.writeInbound(envelope(error(1146, "42S02", "Table 'r2dbc.t' doesn't exist")),
+                envelope(ok(2)));
+
+            failed.verify(Duration.ofSeconds(5));
+            next.verify(Duration.ofSeconds(5));
+            assertThat(client.isConnected()).isTrue();
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void pipelinedCancel() {
+        EmbeddedChannel channel = channel();
+        ReactorNettyClient client = client(channel, true);
+        List<Long> first = new ArrayList<>();
+        List<Long> third = new ArrayList<>();
+
+        try {
+            client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows).subscribe(first::add);
+
+            Disposable second = client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows)
+                .subscribe();
+
+            client.exchange(PingMessage.INSTANCE, ReactorNettyClientTest::affectedRows).subscribe(third::add);
+
+            assertThat(releaseOutbound(channel)).isEqualTo(3);
+
+            // The request of the cancelled exchange has been written, so its response must be drained.
+            second.dispose();
+            channel.writeInbound(envelope(ok(1)), envelope(ok(2)), envelope(ok(3)));
+
+            assertThat(first).containsExactly(1L);
+            assertThat(third).containsExactly(3L);
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static void affectedRows(ServerMessage message, SynchronousSink<Long> sink) {
+        if (message instanceof OkMessage) {
+            sink.next(((OkMessage) message).getAffectedRows());
+            sink.complete();
+        } else if (message instanceof ErrorMessage) {
+            sink.error(((ErrorMessage) message).toException());
+        } else {
+            ReferenceCountUtil.safeRelease(message);
+        }
+    }
+
+    private static EmbeddedChannel channel() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        ChannelOperations.addReactiveBridge(channel, (conn, listener, msg) ->
+            new ChannelOperations<>(conn, listener), ConnectionObserver.emptyListener());
+        // The channel has been active before the bridge is added, so bind the operations by hand.
+        channel.pipeline().fireChannelActive();
+
+        return channel;
+    }
+
+    private static ReactorNettyClient client(EmbeddedChannel channel, boolean pipelining) {
+        ConnectionContext context = ConnectionContextTest.mock(false, ConnectionContextTest.configuration()
+            .serverZoneId(ZoneId.systemDefault())
+            .responseHighWatermark(HIGH_WATERMARK)
+            .responseLowWatermark(LOW_WATERMARK)
+            .build());
+        Connection connection = ChannelOperations.get(channel);
+
+        assertThat(connection).isNotNull();
+
+        MySqlSslConfiguration ssl = (MySqlSslConfiguration) ReflectionUtils.invokeMethod(SSL_DISABLED, null);
+
+        return new ReactorNettyClient(connection, ssl, context, pipelining);
+    }
+
+    /**
+     * Reads and releases all written buffers.
+     *
+     * @param channel the channel.
+     * @return the number of written envelopes.
+     */
+    private static int releaseOutbound(EmbeddedChannel channel) {
+        ByteBuf written = Unpooled.buffer();
+        int count = 0;
+        ByteBuf buf;
+
+        try {
+            while ((buf = channel.readOutbound()) != null) {
+                written.writeBytes(buf);
+                buf.release();
+            }
+
+            while (written.isReadable()) {
+                int size = written.readUnsignedMediumLE();
+
+                written.skipBytes(size + 1);
+                ++count;
+            }
+
+            return count;
+        } finally {
+            written.release();
+        }
+    }
+
+    private static final class ManualSubscriber<T> extends BaseSubscriber<T> {
+
+        private final List<T> received;
+
+        private ManualSubscriber(List<T> received) {
+            this.received = received;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // Request manually.
+        }
+
+        @Override
+        protected void hookOnNext(T value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            // The connection is closed by the test.
+        }
+    }
+}
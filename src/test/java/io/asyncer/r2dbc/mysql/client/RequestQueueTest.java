@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
@@ -132,6 +133,37 @@ class RequestQueueTest {
         assertThat(sources).extracting(Disposable::isDisposed).containsOnly(true);
     }
 
+    @Test
+    void cancelPipelined() {
+        RequestQueue queue = new RequestQueue();
+        List<Integer> arr = new AddEventList(queue);
+        Sinks.Empty<Void> first = Sinks.empty();
+
+        Mono.<Mono<Void>>create(sink -> queue.submit(RequestTask.wrap(sink, first.asMono())))
+            .flatMap(Function.identity())
+            .subscribe();
+        // The requests of a pipelined task have been written, so it should be drained if it is cancelled.
+        Mono.<Mono<Boolean>>create(sink -> queue.submit(RequestTask.pipelined(sink,
+                Mono.fromSupplier(() -> arr.add(2)), Mono::subscribe)))
+            .flatMap(Function.identity())
+            .subscribe()
+            .dispose();
+
+        Mono.<Mono<Boolean>>create(sink ->
+            queue.submit(RequestTask.wrap(sink, Mono.fromSupplier(() -> arr.add(3)))))
+            .flatMap(Function.identity())
+            .as(StepVerifier::create)
+            .then(() -> {
+                first.tryEmitEmpty();
+                // Mock request completed.
+                queue.run();
+            })
+            .expectNext(true)
+            .verifyComplete();
+
+        assertThat(arr).isEqualTo(Arrays.asList(2, 3));
+    }
+
     @Test
     void keeping() {
         RequestQueue queue = new RequestQueue();
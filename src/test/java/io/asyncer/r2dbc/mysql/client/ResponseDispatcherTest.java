@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.client;
+
+import io.asyncer.r2dbc.mysql.message.server.ServerMessage;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResponseDispatcher}.
+ */
+class ResponseDispatcherTest {
+
+    private final AtomicInteger consumed = new AtomicInteger();
+
+    private final ResponseDispatcher dispatcher = new ResponseDispatcher(8, consumed::incrementAndGet);
+
+    @Test
+    void bufferUntilSubscribed() {
+        ServerMessage first = new TestMessage();
+        ServerMessage second = new TestMessage();
+
+        dispatcher.emitNext(first);
+        dispatcher.emitNext(second);
+
+        assertThat(consumed).hasValue(0);
+
+        StepVerifier.create(dispatcher.take(2))
+            .expectNext(first, second)
+            .verifyComplete();
+
+        assertThat(consumed).hasValue(2);
+    }
+
+    @Test
+    void resubscribeAfterCancel() {
+        ServerMessage first = new TestMessage();
+        ServerMessage second = new TestMessage();
+
+        dispatcher.emitNext(first);
+        dispatcher.emitNext(second);
+
+        StepVerifier.create(dispatcher.take(1))
+            .expectNext(first)
+            .verifyComplete();
+        StepVerifier.create(dispatcher.take(1))
+            .expectNext(second)
+            .verifyComplete();
+    }
+
+    @Test
+    void singleSubscriber() {
+        StepVerifier.create(dispatcher)
+            .then(() -> StepVerifier.create(dispatcher)
+                .verifyError(IllegalStateException.class))
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void respectDemand() {
+        ServerMessage first = new TestMessage();
+        ServerMessage second = new TestMessage();
+
+        StepVerifier.create(dispatcher, 1)
+            .then(() -> {
+                dispatcher.emitNext(first);
+                dispatcher.emitNext(second);
+            })
+            .expectNext(first)
+            .then(() -> assertThat(consumed).hasValue(1))
+            .thenRequest(1)
+            .expectNext(second)
+            .thenCancel()
+            .verify();
+    }
+
+    @Test
+    void errorAfterBuffered() {
+        ServerMessage message = new TestMessage();
+
+        dispatcher.emitNext(message);
+        dispatcher.emitError(new IllegalStateException("closed"));
+        dispatcher.emitError(new IllegalArgumentException("ignored"));
+
+        StepVerifier.create(dispatcher)
+            .expectNext(message)
+            .verifyErrorMessage("closed");
+        StepVerifier.create(dispatcher)
+            .verifyErrorMessage("closed");
+    }
+
+    private static final class TestMessage implements ServerMessage {
+    }
+}
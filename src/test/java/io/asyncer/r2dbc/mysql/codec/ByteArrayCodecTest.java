@@ -18,12 +18,15 @@ package io.asyncer.r2dbc.mysql.codec;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
 import org.testcontainers.shaded.org.bouncycastle.util.encoders.Hex;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Unit tests for {@link ByteArrayCodec}.
  */
@@ -38,6 +41,24 @@ class ByteArrayCodecTest implements CodecTestSupport<byte[]> {
         new byte[] { (byte) 0xFE, (byte) 0xDC, (byte) 0xBA },
     };
 
+    @Test
+    void writeBinaryOnlyBoundedValues() {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            assertThat(getCodec().encode(new byte[CodecUtils.MAX_WRITE_BINARY_SIZE], context())
+                .writeBinary(buf)).isTrue();
+
+            buf.clear();
+
+            assertThat(getCodec().encode(new byte[CodecUtils.MAX_WRITE_BINARY_SIZE + 1], context())
+                .writeBinary(buf)).isFalse();
+            assertThat(buf.isReadable()).isFalse();
+        } finally {
+            buf.release();
+        }
+    }
+
     @Override
     public ByteArrayCodec getCodec() {
         return ByteArrayCodec.INSTANCE;
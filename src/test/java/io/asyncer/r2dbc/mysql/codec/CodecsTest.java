@@ -22,12 +22,19 @@ import io.asyncer.r2dbc.mysql.MySqlTypeMetadata;
 import io.asyncer.r2dbc.mysql.collation.CharCollation;
 import io.asyncer.r2dbc.mysql.constant.MySqlType;
 import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.r2dbc.spi.Nullability;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * Unit tests for {@link Codecs}.
@@ -51,6 +58,57 @@ class CodecsTest {
         assertThat(decodeNullField(MySqlType.BIT, boolean.class)).isNull();
     }
 
+    @Test
+    void decodePrimitive() {
+        FieldValue text = new NormalFieldValue(Unpooled.copiedBuffer("-42", StandardCharsets.US_ASCII));
+        FieldValue binary = new NormalFieldValue(Unpooled.buffer().writeLongLE(1L << 40));
+        MySqlColumnMetadata bigint = new MockMySqlColumnMetadata(MySqlType.BIGINT);
+
+        try {
+            assertThat(CODECS.decodeLong(text, bigint, false)).isEqualTo(-42L);
+            assertThat(CODECS.decodeInt(text, bigint, false)).isEqualTo(-42);
+            assertThat(CODECS.decodeDouble(text, bigint, false)).isEqualTo(-42.0);
+            assertThat(CODECS.decodeLong(binary, bigint, true)).isEqualTo(1L << 40);
+            assertThat(CODECS.decodeDouble(binary, bigint, true)).isEqualTo((double) (1L << 40));
+            assertThat(CODECS.decodeLong(NULL, bigint, false)).isZero();
+            assertThat(CODECS.decodeBoolean(NULL, new MockMySqlColumnMetadata(MySqlType.BIT, 1), true))
+                .isFalse();
+            assertThatIllegalArgumentException().isThrownBy(() -> CODECS.decodeBoolean(text, bigint, false));
+            assertThatIllegalArgumentException().isThrownBy(() -> CODECS.decodeLong(text,
+                new MockMySqlColumnMetadata(MySqlType.VARCHAR), false));
+        } finally {
+            text.release();
+            binary.release();
+        }
+    }
+
+    @Test
+    void decodeByPrecision() {
+        Codecs codecs = Codecs.builder(PooledByteBufAllocator.DEFAULT).build();
+        FieldValue value = new NormalFieldValue(Unpooled.copiedBuffer("1", StandardCharsets.US_ASCII));
+
+        try {
+            assertThat(codecs.<Boolean>decode(value, new MockMySqlColumnMetadata(MySqlType.TINYINT, 1),
+                Boolean.class, false, CONTEXT)).isTrue();
+            assertThatIllegalArgumentException().isThrownBy(() -> codecs.decode(value,
+                new MockMySqlColumnMetadata(MySqlType.TINYINT, 4), Boolean.class, false, CONTEXT));
+            assertThat(codecs.<Boolean>decode(value, new MockMySqlColumnMetadata(MySqlType.TINYINT, 1),
+                Boolean.class, false, CONTEXT)).isTrue();
+        } finally {
+            value.release();
+        }
+    }
+
+    @Test
+    void encodeSetByElements() {
+        Codecs codecs = Codecs.builder(PooledByteBufAllocator.DEFAULT).build();
+
+        assertThat(codecs.encode(new HashSet<>(Arrays.asList("a", "b")), CONTEXT)).isNotNull();
+        assertThatIllegalArgumentException().isThrownBy(() -> codecs.encode(
+            new HashSet<>(Arrays.asList(1, 2)), CONTEXT));
+        assertThat(codecs.encode(new HashSet<>(Arrays.asList("c")), CONTEXT)).isNotNull();
+    }
+
     @Nullable
     private static <T> T decodeNullField(MySqlType type, Class<T> clazz) {
         return CODECS.decode(NULL, new MockMySqlColumnMetadata(type), clazz, false, CONTEXT);
@@ -60,8 +118,15 @@ class CodecsTest {
 
         private final MySqlType type;
 
+        private final long precision;
+
         private MockMySqlColumnMetadata(MySqlType type) {
+            this(type, 0);
+        }
+
+        private MockMySqlColumnMetadata(MySqlType type, long precision) {
             this.type = type;
+            this.precision = precision;
         }
 
         @Override
@@ -86,7 +151,7 @@ class CodecsTest {
 
         @Override
         public long getNativePrecision() {
-            return 0;
+            return precision;
         }
 
         @Override
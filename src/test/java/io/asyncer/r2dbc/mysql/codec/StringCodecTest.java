@@ -18,10 +18,13 @@ package io.asyncer.r2dbc.mysql.codec;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
 
 import java.nio.charset.Charset;
 import java.util.Arrays;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Unit tests for {@link StringCodec}.
  */
@@ -47,6 +50,23 @@ class StringCodecTest implements CodecTestSupport<String> {
         BIG,
     };
 
+    @Test
+    void writeBinaryOnlyBoundedValues() {
+        ByteBuf buf = Unpooled.buffer();
+
+        try {
+            assertThat(getCodec().encode(BIG, context()).writeBinary(buf)).isTrue();
+
+            buf.clear();
+
+            // Less than the limit in characters, but greater than the limit in bytes.
+            assertThat(getCodec().encode(BIG + BIG, context()).writeBinary(buf)).isFalse();
+            assertThat(buf.isReadable()).isFalse();
+        } finally {
+            buf.release();
+        }
+    }
+
     @Override
     public StringCodec getCodec() {
         return StringCodec.INSTANCE;
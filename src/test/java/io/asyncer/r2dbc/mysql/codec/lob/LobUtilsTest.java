@@ -16,6 +16,7 @@
 
 package io.asyncer.r2dbc.mysql.codec.lob;
 
+import io.asyncer.r2dbc.mysql.collation.CharCollation;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,8 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -90,6 +93,26 @@ class LobUtilsTest {
         assertThat(buffers).extracting(ByteBuf::refCnt).containsOnly(0);
     }
 
+    @Test
+    void streamingClob() {
+        byte[] bytes = "Hello, \u4F60\u597D, \u4E16\u754C".getBytes(StandardCharsets.UTF_8);
+        // Split multibyte characters by chunks.
+        int[][] ranges = { { 0, 8 }, { 8, 9 }, { 9, bytes.length } };
+        List<ByteBuf> buffers = Stream.of(ranges)
+            .map(range -> Unpooled.wrappedBuffer(Arrays.copyOfRange(bytes, range[0], range[1])))
+            .collect(Collectors.toList());
+
+        Flux.from(LobUtils.createClob(Flux.fromIterable(buffers), CharCollation.clientCharCollation())
+                .stream())
+            .reduce(new StringBuilder(), StringBuilder::append)
+            .map(StringBuilder::toString)
+            .as(StepVerifier::create)
+            .expectNext("Hello, \u4F60\u597D, \u4E16\u754C")
+            .verifyComplete();
+
+        assertThat(buffers).extracting(ByteBuf::refCnt).containsOnly(0);
+    }
+
     private static ByteBuf createSingle() {
         return Unpooled.wrappedBuffer(SINGLE.getBytes());
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link LoadDataResponse}.
+ */
+class LoadDataResponseTest {
+
+    private final Codecs codecs = Codecs.builder(UnpooledByteBufAllocator.DEFAULT).build();
+
+    private final ConnectionContext context = ConnectionContextTest.mock();
+
+    @Test
+    void escape() {
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        Flux<MySqlParameter[]> rows = Flux.just(
+            row(1, "a\tb\\c\nd", null),
+            row(2L, LocalDate.of(2023, 1, 2), new byte[] { 'x', 0, '\t', (byte) 0xFF }));
+        LoadDataResponse response = new LoadDataResponse(2, rows, 1024, sink);
+
+        StepVerifier.create(response.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertBytes(buf, concat(
+                "1\ta\\tb\\\\c\\nd\t\\N\n2\t2023-01-02\tx\\0\\t".getBytes(StandardCharsets.UTF_8),
+                new byte[] { (byte) 0xFF, '\n' })))
+            .assertNext(buf -> assertBytes(buf, new byte[0]))
+            .verifyComplete();
+
+        verify(sink, never()).error(any());
+    }
+
+    @Test
+    void bufferSize() {
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        Flux<MySqlParameter[]> rows = Flux.just(row("abc"), row("def"), row("g"));
+        LoadDataResponse response = new LoadDataResponse(0, rows, 8, sink);
+
+        StepVerifier.create(response.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertBytes(buf, "abc\ndef\n".getBytes(StandardCharsets.UTF_8)))
+            .assertNext(buf -> assertBytes(buf, "g\n".getBytes(StandardCharsets.UTF_8)))
+            .assertNext(buf -> assertBytes(buf, new byte[0]))
+            .verifyComplete();
+    }
+
+    @Test
+    void error() {
+        SynchronousSink<?> sink = mock(SynchronousSink.class);
+        Flux<MySqlParameter[]> rows = Flux.<MySqlParameter[]>just(row("abc"))
+            .concatWith(Flux.error(new IllegalStateException("failed")));
+        LoadDataResponse response = new LoadDataResponse(0, rows, 8192, sink);
+
+        StepVerifier.create(response.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertBytes(buf, new byte[0]))
+            .verifyComplete();
+
+        verify(sink).error(isA(IllegalStateException.class));
+    }
+
+    private MySqlParameter[] row(Object... values) {
+        MySqlParameter[] row = new MySqlParameter[values.length];
+
+        for (int i = 0; i < values.length; ++i) {
+            Object value = values[i];
+
+            row[i] = value == null ? codecs.encodeNull() : codecs.encode(value, context);
+        }
+
+        return row;
+    }
+
+    private static byte[] concat(byte[] left, byte[] right) {
+        byte[] result = new byte[left.length + right.length];
+
+        System.arraycopy(left, 0, result, 0, left.length);
+        System.arraycopy(right, 0, result, left.length, right.length);
+
+        return result;
+    }
+
+    private static void assertBytes(ByteBuf buf, byte[] expected) {
+        try {
+            assertThat(ByteBufUtil.getBytes(buf)).isEqualTo(expected);
+        } finally {
+            buf.release();
+        }
+    }
+}
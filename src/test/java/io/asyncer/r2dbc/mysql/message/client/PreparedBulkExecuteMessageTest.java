@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedBulkExecuteMessage}.
+ */
+class PreparedBulkExecuteMessageTest {
+
+    private final Codecs codecs = Codecs.builder(UnpooledByteBufAllocator.DEFAULT).build();
+
+    private final ConnectionContext context = ConnectionContextTest.mock();
+
+    @Test
+    void encodeRow() {
+        MySqlParameter[] values = {
+            codecs.encode(1, context), codecs.encodeNull(), codecs.encode(2, context)
+        };
+        MySqlType[] types = { MySqlType.TINYINT, MySqlType.NULL, MySqlType.TINYINT };
+
+        StepVerifier.create(PreparedBulkExecuteMessage.encodeRow(ByteBufAllocator.DEFAULT, types, values))
+            .assertNext(buf -> assertBytes(buf, new byte[] { 0, 1, 1, 0, 2 }))
+            .verifyComplete();
+    }
+
+    @Test
+    void widenIntegers() {
+        MySqlParameter[] values = { codecs.encode(-1, context), codecs.encode((short) 300, context) };
+        MySqlType[] types = { MySqlType.INT, MySqlType.BIGINT };
+
+        assertThat(PreparedBulkExecuteMessage.isWidenable(MySqlType.TINYINT, MySqlType.BIGINT)).isTrue();
+        assertThat(PreparedBulkExecuteMessage.isWidenable(MySqlType.INT, MySqlType.VARCHAR)).isFalse();
+
+        StepVerifier.create(PreparedBulkExecuteMessage.encodeRow(ByteBufAllocator.DEFAULT, types, values))
+            .assertNext(buf -> assertBytes(buf, new byte[] {
+                0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0, 0x2C, 1, 0, 0, 0, 0, 0, 0
+            }))
+            .verifyComplete();
+    }
+
+    @Test
+    void encode() {
+        ByteBuf first = Unpooled.wrappedBuffer(new byte[] { 0, 1 });
+        ByteBuf second = Unpooled.wrappedBuffer(new byte[] { 1 });
+        PreparedBulkExecuteMessage message = new PreparedBulkExecuteMessage(0x01020304,
+            new MySqlType[] { MySqlType.TINYINT, MySqlType.VARCHAR }, true, Arrays.asList(first, second));
+
+        assertThat(message.getRows()).isEqualTo(2);
+
+        StepVerifier.create(message.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertBytes(buf, new byte[] {
+                (byte) 0xFA, 4, 3, 2, 1, (byte) 0xC0, 0, (byte) MySqlType.TINYINT.getId(), 0,
+                (byte) MySqlType.VARCHAR.getId(), 0
+            }))
+            .assertNext(buf -> assertBytes(buf, new byte[] { 0, 1 }))
+            .assertNext(buf -> assertBytes(buf, new byte[] { 1 }))
+            .verifyComplete();
+
+        assertThat(message.getRows()).isZero();
+    }
+
+    @Test
+    void headerSize() {
+        assertThat(PreparedBulkExecuteMessage.headerSize(0)).isEqualTo(7);
+        assertThat(PreparedBulkExecuteMessage.headerSize(3)).isEqualTo(13);
+    }
+
+    private static void assertBytes(ByteBuf buf, byte[] expected) {
+        try {
+            assertThat(ByteBufUtil.getBytes(buf)).isEqualTo(expected);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.codec.Codecs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedExecuteMessage}.
+ */
+class PreparedExecuteMessageTest {
+
+    private final Codecs codecs = Codecs.builder(UnpooledByteBufAllocator.DEFAULT).build();
+
+    private final ConnectionContext context = ConnectionContextTest.mock();
+
+    @Test
+    void sendTypes() {
+        PreparedExecuteMessage message = new PreparedExecuteMessage(1, true, values(1, "a"), null);
+
+        assertThat(message.getBoundTypes()).hasSize(2);
+        assertThat(encode(message)).containsExactly(
+            0x17, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, message.getBoundTypes()[0], 0,
+            message.getBoundTypes()[1], 0, 1, 1, 'a');
+    }
+
+    @Test
+    void omitBoundTypes() {
+        PreparedExecuteMessage first = new PreparedExecuteMessage(1, true, values(1, "a"), null);
+        PreparedExecuteMessage second = new PreparedExecuteMessage(1, true, values(2, "b"),
+            first.getBoundTypes());
+
+        assertThat(second.getBoundTypes()).isEqualTo(first.getBoundTypes());
+        assertThat(encode(second)).containsExactly(0x17, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 2, 1, 'b');
+
+        first.dispose();
+    }
+
+    @Test
+    void resendChangedTypes() {
+        PreparedExecuteMessage first = new PreparedExecuteMessage(1, true, values(1, "a"), null);
+        PreparedExecuteMessage second = new PreparedExecuteMessage(1, true, values("b", 2),
+            first.getBoundTypes());
+
+        int[] bytes = encode(second);
+
+        assertThat(second.getBoundTypes()).isNotEqualTo(first.getBoundTypes());
+        assertThat(bytes).hasSize(19);
+        assertThat(bytes[11]).isEqualTo(1);
+
+        first.dispose();
+    }
+
+    @Test
+    void keepBoundTypesWhenAllNull() {
+        PreparedExecuteMessage first = new PreparedExecuteMessage(1, true, values(1, "a"), null);
+        PreparedExecuteMessage second = new PreparedExecuteMessage(1, true, values(null, null),
+            first.getBoundTypes());
+
+        assertThat(second.getBoundTypes()).isSameAs(first.getBoundTypes());
+        assertThat(encode(second)).containsExactly(0x17, 1, 0, 0, 0, 0, 1, 0, 0, 0, 3, 0);
+
+        first.dispose();
+    }
+
+    @Test
+    void encodeEnvelope() {
+        Object[] values = {
+            1, (short) 300, 100_000, Long.MAX_VALUE, 1.5F, 2.5, true, "abc\u4e2d", null, new byte[] { 1, 2 },
+            LocalDate.of(2023, 1, 2), LocalTime.of(12, 34, 56, 789_000), LocalDateTime.of(2023, 1, 2, 3, 4),
+            Duration.ofSeconds(-90061, 1000)
+        };
+        PreparedExecuteMessage streaming = new PreparedExecuteMessage(1, true, values(values), null);
+        PreparedExecuteMessage envelope = new PreparedExecuteMessage(1, true, values(values), null);
+        int[] payload = encode(streaming);
+        ByteBuf buf = envelope.encodeEnvelope(ByteBufAllocator.DEFAULT);
+
+        assertThat(buf).isNotNull();
+
+        try {
+            assertThat(buf.readUnsignedMediumLE()).isEqualTo(payload.length);
+            assertThat(buf.readByte()).isZero();
+            assertThat(toInts(ByteBufUtil.getBytes(buf))).containsExactly(payload);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void encodeEnvelopeUnsupported() {
+        PreparedExecuteMessage message = new PreparedExecuteMessage(1, true,
+            values(1, new BigDecimal("1.5")), null);
+
+        assertThat(message.encodeEnvelope(ByteBufAllocator.DEFAULT)).isNull();
+        assertThat(encode(message)).hasSize(21);
+    }
+
+    private MySqlParameter[] values(Object... values) {
+        MySqlParameter[] result = new MySqlParameter[values.length];
+
+        for (int i = 0; i < values.length; ++i) {
+            Object value = values[i];
+
+            result[i] = value == null ? codecs.encodeNull() : codecs.encode(value, context);
+        }
+
+        return result;
+    }
+
+    private int[] encode(PreparedExecuteMessage message) {
+        ByteBuf buf = Flux.from(message.encode(ByteBufAllocator.DEFAULT, context))
+            .reduce(ByteBufAllocator.DEFAULT.buffer(), (result, part) -> {
+                try {
+                    return result.writeBytes(part);
+                } finally {
+                    part.release();
+                }
+            })
+            .block();
+
+        try {
+            return toInts(ByteBufUtil.getBytes(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static int[] toInts(byte[] bytes) {
+        int[] result = new int[bytes.length];
+
+        for (int i = 0; i < bytes.length; ++i) {
+            result[i] = bytes[i] & 0xFF;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.client;
+
+import io.asyncer.r2dbc.mysql.ConnectionContext;
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlParameter;
+import io.asyncer.r2dbc.mysql.ParameterWriter;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PreparedLargeDataMessage}.
+ */
+class PreparedLargeDataMessageTest {
+
+    private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Short.BYTES;
+
+    @Test
+    void empty() {
+        ConnectionContext context = ConnectionContextTest.mock();
+        PreparedLargeDataMessage message = new PreparedLargeDataMessage(1, 2,
+            new LongDataParameter(Unpooled.EMPTY_BUFFER));
+
+        StepVerifier.create(message.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertCommand(buf, 1, 2, 0))
+            .verifyComplete();
+    }
+
+    @Test
+    void chunks() {
+        ConnectionContext context = ConnectionContextTest.mock();
+        int maxSize = context.getMaxAllowedPacket() - HEADER_SIZE;
+        byte[] large = new byte[maxSize + 10];
+
+        Arrays.fill(large, (byte) 'a');
+
+        PreparedLargeDataMessage message = new PreparedLargeDataMessage(3, 0, new LongDataParameter(
+            Unpooled.wrappedBuffer(new byte[] { 'b', 'c' }), Unpooled.wrappedBuffer(large)));
+
+        StepVerifier.create(message.encode(ByteBufAllocator.DEFAULT, context))
+            .assertNext(buf -> assertCommand(buf, 3, 0, 2))
+            .assertNext(buf -> assertCommand(buf, 3, 0, maxSize))
+            .assertNext(buf -> assertCommand(buf, 3, 0, 10))
+            .verifyComplete();
+    }
+
+    private static void assertCommand(ByteBuf buf, int statementId, int parameterId, int size) {
+        try {
+            assertThat(buf.readByte()).isEqualTo((byte) 0x18);
+            assertThat(buf.readIntLE()).isEqualTo(statementId);
+            assertThat(buf.readShortLE()).isEqualTo((short) parameterId);
+            assertThat(buf.readableBytes()).isEqualTo(size);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static final class LongDataParameter implements MySqlParameter {
+
+        private final ByteBuf[] data;
+
+        private LongDataParameter(ByteBuf... data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean isLongData() {
+            return true;
+        }
+
+        @Override
+        public Flux<ByteBuf> publishLongData(ByteBufAllocator allocator) {
+            return Flux.fromArray(data);
+        }
+
+        @Override
+        public Mono<ByteBuf> publishBinary(ByteBufAllocator allocator) {
+            return Mono.error(new IllegalStateException("Long data should not be published as binary"));
+        }
+
+        @Override
+        public Mono<Void> publishText(ParameterWriter writer) {
+            return Mono.error(new IllegalStateException("Long data should not be published as text"));
+        }
+
+        @Override
+        public MySqlType getType() {
+            return MySqlType.LONGBLOB;
+        }
+    }
+}
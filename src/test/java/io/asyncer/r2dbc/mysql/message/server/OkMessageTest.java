@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link OkMessage}.
+ */
+class OkMessageTest {
+
+    @Test
+    void splitRow() {
+        // 3 affected rows, the first generated ID is 100, 1 warning.
+        OkMessage message = decode(3, 100, 1);
+
+        assertRow(message.splitRow(0, 2), 1, 100, 1);
+        assertRow(message.splitRow(1, 2), 1, 102, 0);
+        assertRow(message.splitRow(2, 2), 1, 104, 0);
+    }
+
+    @Test
+    void splitRowWithoutAffectedRows() {
+        // e.g. the last row is ignored by INSERT IGNORE.
+        OkMessage message = decode(2, 10, 0);
+
+        assertRow(message.splitRow(1, 1), 1, 11, 0);
+        assertRow(message.splitRow(2, 1), 0, 12, 0);
+    }
+
+    @Test
+    void splitRowWithoutGeneratedId() {
+        OkMessage message = decode(2, 0, 0);
+
+        assertRow(message.splitRow(0, 1), 1, 0, 0);
+        assertRow(message.splitRow(1, 1), 1, 0, 0);
+    }
+
+    private static OkMessage decode(int affectedRows, int lastInsertId, int warnings) {
+        ByteBuf buf = Unpooled.buffer().writeByte(0).writeByte(affectedRows).writeByte(lastInsertId)
+            .writeShortLE(2).writeShortLE(warnings);
+
+        try {
+            return OkMessage.decode(false, buf, ConnectionContextTest.mock());
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void assertRow(OkMessage row, long affectedRows, long lastInsertId, int warnings) {
+        assertThat(row.getAffectedRows()).isEqualTo(affectedRows);
+        assertThat(row.getLastInsertId()).isEqualTo(lastInsertId);
+        assertThat(row.getServerStatuses()).isEqualTo((short) 2);
+        assertThat(row.getWarnings()).isEqualTo(warnings);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 asyncer.io projects
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.asyncer.r2dbc.mysql.message.server;
+
+import io.asyncer.r2dbc.mysql.MySqlColumnMetadata;
+import io.asyncer.r2dbc.mysql.constant.MySqlType;
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.RowFields;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RowMessage}.
+ */
+class RowMessageTest {
+
+    @Test
+    void textFields() {
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(1).writeByte('1')
+            .writeByte(0xFB) // NULL
+            .writeByte(0) // empty string
+            .writeByte(3).writeBytes("abc".getBytes(StandardCharsets.US_ASCII))
+            .writeByte(0xFB); // NULL
+
+        RowMessage message = new RowMessage(new NormalFieldReader(buf));
+        RowFields fields = message.decodeFields(false, new MySqlColumnMetadata[5]);
+
+        message.release();
+
+        try {
+            assertThat(buf.refCnt()).isOne();
+            assertText(fields.get(0), "1");
+            assertThat(fields.get(1).isNull()).isTrue();
+            assertText(fields.get(2), "");
+            assertText(fields.get(3), "abc");
+            assertThat(fields.get(4).isNull()).isTrue();
+        } finally {
+            fields.release();
+        }
+
+        assertThat(buf.refCnt()).isZero();
+    }
+
+    @Test
+    void binaryFields() {
+        MySqlColumnMetadata[] metadata = {
+            column(MySqlType.INT), column(MySqlType.VARCHAR), column(MySqlType.BIGINT),
+            column(MySqlType.VARCHAR),
+        };
+        ByteBuf buf = Unpooled.buffer()
+            .writeByte(0)
+            .writeByte(1 << 4) // null bitmap: the 3rd field is NULL
+            .writeIntLE(42)
+            .writeByte(2).writeShort(('a' << 8) | 'b')
+            .writeByte(1).writeByte('c');
+
+        RowMessage message = new RowMessage(new NormalFieldReader(buf));
+        RowFields fields = message.decodeFields(true, metadata);
+
+        message.release();
+
+        try {
+            assertThat(((NormalFieldValue) fields.get(0)).getBufferSlice().readIntLE()).isEqualTo(42);
+            assertText(fields.get(1), "ab");
+            assertThat(fields.get(2).isNull()).isTrue();
+            assertText(fields.get(3), "c");
+        } finally {
+            fields.release();
+        }
+
+        assertThat(buf.refCnt()).isZero();
+    }
+
+    private static void assertText(FieldValue field, String expected) {
+        assertThat(field).isExactlyInstanceOf(NormalFieldValue.class);
+        assertThat(((NormalFieldValue) field).getBufferSlice().toString(StandardCharsets.US_ASCII))
+            .isEqualTo(expected);
+    }
+
+    private static MySqlColumnMetadata column(MySqlType type) {
+        MySqlColumnMetadata column = mock(MySqlColumnMetadata.class);
+
+        when(column.getType()).thenReturn(type);
+
+        return column;
+    }
+}
@@ -16,12 +16,23 @@
 
 package io.asyncer.r2dbc.mysql.message.server;
 
+import io.asyncer.r2dbc.mysql.ConnectionContext;
 import io.asyncer.r2dbc.mysql.ConnectionContextTest;
+import io.asyncer.r2dbc.mysql.MySqlColumnMetadata;
+import io.asyncer.r2dbc.mysql.constant.Envelopes;
+import io.asyncer.r2dbc.mysql.message.FieldValue;
+import io.asyncer.r2dbc.mysql.message.NormalFieldValue;
+import io.asyncer.r2dbc.mysql.message.StreamingFieldValue;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -49,6 +60,137 @@ class ServerMessageDecoderTest {
         preparedOk.extracting(PreparedOkMessage::getStatementId).isEqualTo(0xFD01); // 64769
         preparedOk.extracting(PreparedOkMessage::getTotalColumns).isEqualTo(1);
         preparedOk.extracting(PreparedOkMessage::getTotalParameters).isEqualTo(1);
+        preparedOk.extracting(PreparedOkMessage::isMetadataFollows).isEqualTo(true);
+    }
+
+    @Test
+    void preparedOkWithMetadataFollows() {
+        for (boolean follows : new boolean[] { true, false }) {
+            ByteBuf payload = Unpooled.buffer().writeByte(0).writeIntLE(1).writeShortLE(2).writeShortLE(1)
+                .writeByte(0).writeShortLE(0).writeBoolean(follows);
+
+            try {
+                AbstractObjectAssert<?, PreparedOkMessage> preparedOk = assertThat(decode(
+                    envelope(ByteBufUtil.getBytes(payload)), DecodeContext.prepareQuery()))
+                    .isExactlyInstanceOf(PreparedOkMessage.class)
+                    .extracting(message -> (PreparedOkMessage) message);
+
+                preparedOk.extracting(PreparedOkMessage::getStatementId).isEqualTo(1);
+                preparedOk.extracting(PreparedOkMessage::getTotalColumns).isEqualTo(2);
+                preparedOk.extracting(PreparedOkMessage::getTotalParameters).isEqualTo(1);
+                preparedOk.extracting(PreparedOkMessage::isMetadataFollows).isEqualTo(follows);
+            } finally {
+                payload.release();
+            }
+        }
+    }
+
+    @Test
+    void streamingLastField() {
+        ConnectionContext context = ConnectionContextTest.mock(false, ConnectionContextTest.configuration()
+            .serverZoneId(ZoneId.systemDefault())
+            .streamLargeFields(true)
+            .build());
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext result = DecodeContext.result(true, 2, false);
+
+        assertThat(decoder.decode(columnDefinition("id", 3), context, result)).isNull();
+        assertThat(decoder.decode(columnDefinition("data", 0xFB), context, result))
+            .isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        int size = Envelopes.MAX_ENVELOPE_SIZE;
+        // A text row: "1" and the value of size, the row will be split into 2 envelopes.
+        byte[] first = new byte[size];
+        first[0] = 1;
+        first[1] = '1';
+        first[2] = (byte) 0xFD;
+        first[3] = (byte) 0xFF;
+        first[4] = (byte) 0xFF;
+        first[5] = (byte) 0xFF;
+
+        ServerMessage message = decoder.decode(envelope(first), context, result);
+
+        assertThat(message).isExactlyInstanceOf(RowMessage.class);
+        assertThat(decoder.isBackpressured()).isTrue();
+
+        RowMessage row = (RowMessage) message;
+        FieldValue[] fields = row.decode(false, new MySqlColumnMetadata[2]);
+
+        row.release();
+
+        try {
+            assertThat(fields[0]).isExactlyInstanceOf(NormalFieldValue.class)
+                .extracting(field -> ((NormalFieldValue) field).getBufferSlice().toString(
+                    StandardCharsets.US_ASCII))
+                .isEqualTo("1");
+            assertThat(fields[1]).isExactlyInstanceOf(StreamingFieldValue.class);
+
+            // The last envelope of the row.
+            assertThat(decoder.decode(envelope(new byte[6]), context, result)).isNull();
+            assertThat(decoder.isBackpressured()).isFalse();
+
+            StepVerifier.create(((StreamingFieldValue) fields[1]).stream()
+                    .map(buf -> {
+                        try {
+                            return (long) buf.readableBytes();
+                        } finally {
+                            buf.release();
+                        }
+                    })
+                    .reduce(Long::sum))
+                .expectNext((long) size)
+                .verifyComplete();
+        } finally {
+            for (FieldValue field : fields) {
+                field.release();
+            }
+        }
+    }
+
+    @Test
+    void resultWithoutMetadata() {
+        ConnectionContext context = ConnectionContextTest.mock();
+        ServerMessageDecoder decoder = new ServerMessageDecoder();
+        DecodeContext result = DecodeContext.result(true, 2, true);
+
+        assertThat(decoder.decode(columnDefinition("id", 3), context, result)).isNull();
+
+        ServerMessage metadata = decoder.decode(columnDefinition("age", 3), context, result);
+
+        assertThat(metadata).isExactlyInstanceOf(SyntheticMetadataMessage.class);
+
+        DefinitionMetadataMessage[] columns = ((SyntheticMetadataMessage) metadata).unwrap();
+
+        assertThat(decoder.decode(envelope(new byte[] { 2, 0 }), context, DecodeContext.command()))
+            .isExactlyInstanceOf(ColumnCountMessage.class)
+            .extracting(message -> (ColumnCountMessage) message)
+            .matches(message -> message.getTotalColumns() == 2 && !message.isMetadataFollows());
+
+        // EOF deprecated, rows follow the column count directly.
+        ServerMessage row = decoder.decode(envelope(new byte[] { 0, 0, 1, 0, 0, 0, 2, 0, 0, 0 }), context,
+            DecodeContext.result(true, columns, true));
+
+        assertThat(row).isExactlyInstanceOf(RowMessage.class);
+        ((RowMessage) row).release();
+
+        // EOF not deprecated, the EOF message completes the known metadata.
+        assertThat(decoder.decode(envelope(new byte[] { (byte) 0xFE, 0, 0, 2, 0 }), context,
+            DecodeContext.result(false, columns, true)))
+            .isExactlyInstanceOf(SyntheticMetadataMessage.class)
+            .extracting(message -> ((SyntheticMetadataMessage) message).unwrap())
+            .isSameAs(columns);
+    }
+
+    @Test
+    void mariaDbCacheMetadata() {
+        ConnectionContext context = ConnectionContextTest.mock(true);
+
+        assertThat(context.getCapability().isMariaDbCacheMetadata()).isTrue();
+        assertThat(new ServerMessageDecoder().decode(envelope(new byte[] { 3, 1 }), context,
+            DecodeContext.command()))
+            .isExactlyInstanceOf(ColumnCountMessage.class)
+            .extracting(message -> (ColumnCountMessage) message)
+            .matches(message -> message.getTotalColumns() == 3 && message.isMetadataFollows());
     }
 
     @Nullable
@@ -56,6 +198,38 @@ class ServerMessageDecoderTest {
         return new ServerMessageDecoder().decode(buf, ConnectionContextTest.mock(), decodeContext);
     }
 
+    private static ByteBuf envelope(byte[] payload) {
+        return Unpooled.buffer(payload.length + Envelopes.PART_HEADER_SIZE)
+            .writeMediumLE(payload.length)
+            .writeByte(0)
+            .writeBytes(payload);
+    }
+
+    private static ByteBuf columnDefinition(String name, int typeId) {
+        ByteBuf buf = Unpooled.buffer();
+
+        for (String part : new String[] { "def", "db", "t", "t", name, name }) {
+            buf.writeByte(part.length()).writeCharSequence(part, StandardCharsets.US_ASCII);
+        }
+
+        buf.writeByte(0x0C)
+            .writeShortLE(45) // utf8mb4_general_ci
+            .writeIntLE(0) // column length
+            .writeByte(typeId)
+            .writeShortLE(0) // flags
+            .writeByte(0) // decimals
+            .writeShortLE(0); // filler
+
+        ByteBuf envelope = Unpooled.buffer(buf.readableBytes() + Envelopes.PART_HEADER_SIZE)
+            .writeMediumLE(buf.readableBytes())
+            .writeByte(0)
+            .writeBytes(buf);
+
+        buf.release();
+
+        return envelope;
+    }
+
     private static ByteBuf okLike() {
         return Unpooled.wrappedBuffer(new byte[] {
             10, 0, 0, // envelope size